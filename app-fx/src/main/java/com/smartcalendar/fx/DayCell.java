@@ -0,0 +1,168 @@
+package com.smartcalendar.fx;
+
+import entity.Event;
+import javafx.scene.control.Label;
+import javafx.scene.control.OverrunStyle;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * One day of the month grid.
+ *
+ * The grid keeps a fixed pool of 42 of these (6 weeks x 7 days) and updates them in
+ * place with {@link #show(LocalDate, List)} instead of rebuilding nodes on every render.
+ * Labels, the tooltip and the mouse handler are created once per cell.
+ */
+public class DayCell extends VBox {
+
+    // Maximum number of pills in each block
+    static final int MAX_PILLS = 3;
+
+    private final Label dayNum = new Label();
+    private final VBox eventBox = new VBox(4);    // container for small event pills
+    private final Label[] pills = new Label[MAX_PILLS];
+    private final String[] pillCategories = new String[MAX_PILLS];
+    private final Label moreLbl = new Label();
+    private final Tooltip moreTooltip = new Tooltip();
+    private boolean tooltipInstalled;
+
+    private LocalDate date;
+    private List<Event> events;
+
+    /**
+     * @param onSelect called with the cell's date on a single click
+     * @param onOpen   called with the cell's date on a double click
+     */
+    public DayCell(Consumer<LocalDate> onSelect, Consumer<LocalDate> onOpen) {
+        super(4);
+        getStyleClass().add("day-cell");
+        setFillWidth(true);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);    // allow stretching
+        GridPane.setHgrow(this, Priority.ALWAYS);
+        GridPane.setVgrow(this, Priority.ALWAYS);
+
+        dayNum.getStyleClass().add("day-num");
+        eventBox.getStyleClass().add("event-box");
+        for (int i = 0; i < MAX_PILLS; i++) {
+            Label pill = new Label();
+            pill.getStyleClass().add("event-pill");
+            pill.setMaxWidth(Double.MAX_VALUE);
+            pill.setTextOverrun(OverrunStyle.ELLIPSIS); // ellipsis for long text
+            pills[i] = pill;
+        }
+        moreLbl.getStyleClass().add("event-more");
+        getChildren().addAll(dayNum, eventBox);
+
+        setOnMouseClicked(e -> {
+            if (date == null) {
+                return;
+            }
+            if (e.getClickCount() == 2) {
+                // double-click: open a small window to create a new event
+                onOpen.accept(date);
+            } else {
+                // single-click: just select day and refresh details
+                onSelect.accept(date);
+            }
+        });
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Show {@code date} with its events. Does nothing if the cell already shows
+     * exactly this date and event list.
+     */
+    public void show(LocalDate date, List<Event> events) {
+        if (date.equals(this.date) && events == this.events) {
+            return;
+        }
+        if (!date.equals(this.date)) {
+            dayNum.setText(Integer.toString(date.getDayOfMonth()));
+        }
+        this.date = date;
+        this.events = events;
+        fillEventPills(events);
+        setVisible(true);
+        setManaged(true);
+    }
+
+    /** Hide the cell (grid slots before the 1st and after the last day of the month). */
+    public void clear() {
+        date = null;
+        events = null;
+        setVisible(false);
+        setManaged(false);
+        setSelected(false);
+    }
+
+    public void setSelected(boolean selected) {
+        if (selected) {
+            if (!getStyleClass().contains("selected")) {
+                getStyleClass().add("selected");
+            }
+        } else {
+            getStyleClass().remove("selected");
+        }
+    }
+
+    private void fillEventPills(List<Event> list) {
+        int shown = Math.min(MAX_PILLS, list.size());
+        boolean overflow = list.size() > MAX_PILLS;
+
+        for (int i = 0; i < shown; i++) {
+            updatePill(i, list.get(i));
+        }
+        // Keep the children list as-is when the number of pills did not change
+        int wanted = shown + (overflow ? 1 : 0);
+        var children = eventBox.getChildren();
+        if (children.size() != wanted || (overflow && children.get(shown) != moreLbl)) {
+            children.setAll(List.of(pills).subList(0, shown));
+            if (overflow) {
+                children.add(moreLbl);
+            }
+        }
+
+        if (overflow) {
+            moreLbl.setText("+" + (list.size() - MAX_PILLS));
+
+            // Tooltip with full list of events on hover
+            StringBuilder all = new StringBuilder();
+            for (Event it : list) {
+                if (!all.isEmpty()) {
+                    all.append('\n');
+                }
+                all.append("• ").append(it.getTitle());
+            }
+            moreTooltip.setText(all.toString());
+            if (!tooltipInstalled) {
+                Tooltip.install(eventBox, moreTooltip);
+                tooltipInstalled = true;
+            }
+        } else if (tooltipInstalled) {
+            Tooltip.uninstall(eventBox, moreTooltip);
+            tooltipInstalled = false;
+        }
+    }
+
+    private void updatePill(int index, Event e) {
+        Label pill = pills[index];
+        pill.setText(e.getTitle());
+        String category = "pill-" + e.getCategory().name().toLowerCase(); // colors-category
+        if (!category.equals(pillCategories[index])) {
+            if (pillCategories[index] != null) {
+                pill.getStyleClass().remove(pillCategories[index]);
+            }
+            pill.getStyleClass().add(category);
+            pillCategories[index] = category;
+        }
+    }
+}
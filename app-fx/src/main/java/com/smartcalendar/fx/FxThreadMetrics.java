@@ -0,0 +1,112 @@
+package com.smartcalendar.fx;
+
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Latency counters for work on the JavaFX Application Thread.
+ *
+ * Two kinds of numbers are kept, per operation name:
+ *   - how long a piece of work ran on the FX thread ({@link #time(String, Runnable)}),
+ *     i.e. how long the UI was blocked by it;
+ *   - "fx-queue-delay": how long a runLater posted every {@link #PROBE_INTERVAL}
+ *     waited before the FX thread got to it. Anything blocking the thread, measured
+ *     or not, shows up here.
+ * Background work can be recorded too (e.g. month loads) to compare against.
+ *
+ * The summary is printed to stderr on JVM shutdown and available from {@link #summary()}.
+ */
+public final class FxThreadMetrics {
+
+    static final Duration PROBE_INTERVAL = Duration.ofMillis(100);
+
+    private static final FxThreadMetrics GLOBAL = new FxThreadMetrics();
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final AtomicBoolean probeStarted = new AtomicBoolean();
+
+    private FxThreadMetrics() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (!stats.isEmpty()) {
+                System.err.println(summary());
+            }
+        }, "fx-metrics-summary"));
+    }
+
+    /** The metrics shared by all controllers of the app. */
+    public static FxThreadMetrics global() {
+        return GLOBAL;
+    }
+
+    /** Run {@code work} and record its duration under {@code operation}. */
+    public void time(String operation, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            record(operation, System.nanoTime() - start);
+        }
+    }
+
+    public void record(String operation, long nanos) {
+        stats.computeIfAbsent(operation, name -> new Stats()).add(nanos);
+    }
+
+    /** Start measuring FX queue delay in the background; later calls do nothing. */
+    public void startProbe() {
+        if (!probeStarted.compareAndSet(false, true)) {
+            return;
+        }
+        ScheduledExecutorService probe = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-latency-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        probe.scheduleAtFixedRate(() -> {
+            long posted = System.nanoTime();
+            Platform.runLater(() -> record("fx-queue-delay", System.nanoTime() - posted));
+        }, PROBE_INTERVAL.toMillis(), PROBE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** One line per operation: count, mean, max and the share of samples over 16 ms (one frame). */
+    public String summary() {
+        StringBuilder out = new StringBuilder("FX thread latency (ms):");
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(stats).entrySet()) {
+            out.append(System.lineSeparator()).append("  ").append(entry.getKey()).append(": ")
+                    .append(entry.getValue());
+        }
+        return out.toString();
+    }
+
+    private static final class Stats {
+        private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long overFrame;
+
+        synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            if (nanos > FRAME_NANOS) {
+                overFrame++;
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("n=%d mean=%.2f max=%.2f over16ms=%d",
+                    count, count == 0 ? 0.0 : totalNanos / 1e6 / count, maxNanos / 1e6, overFrame);
+        }
+    }
+}
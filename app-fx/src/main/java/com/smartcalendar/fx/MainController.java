@@ -2,14 +2,21 @@ package com.smartcalendar.fx;
 
 import entity.Event;
 
+import data_access.BatchingEventWriter;
+import data_access.CachingColorSchemeDataAccessObject;
+import data_access.CachingEventDataAccessObject;
 import data_access.ColorApiDataAccessObject;
+import data_access.LocalColorSchemeDataAccessObject;
+import data_access.ResilientColorSchemeDataAccessObject;
+import data_access.SQLiteConnectionProvider;
 import data_access.SQLiteEventDataAccessObject;
 import interface_adapter.color_scheme.ColorSchemeController;
 import interface_adapter.color_scheme.ColorSchemePresenter;
 import interface_adapter.color_scheme.ColorSchemeState;
 import interface_adapter.color_scheme.ColorSchemeViewModel;
+import interface_adapter.color_scheme.DebouncedColorSchemeRequests;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import use_case.event_changes.EventEdit;
@@ -21,7 +28,6 @@ import use_case.get_color_scheme.GetColorSchemeUserDataAccessInterface;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.time.*;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +37,14 @@ import weather.WeatherUiService;
 
 public class MainController implements PropertyChangeListener {
 
+    /**
+     * System property choosing where color schemes come from: {@code local} computes
+     * them in-process (similar schemes, not the API's exact colors), anything else
+     * (or unset) asks The Color API.
+     * E.g. {@code -Dsmartcalendar.colorSchemes=local}.
+     */
+    public static final String COLOR_SCHEMES_PROPERTY = "smartcalendar.colorSchemes";
+
     // ================== Calendar UI controls ==================
     @FXML private Label lblYearMonth;
     @FXML private GridPane monthGrid;
@@ -59,8 +73,17 @@ public class MainController implements PropertyChangeListener {
     private YearMonth current = YearMonth.now();
     private LocalDate selected = LocalDate.now();
 
-    // DAO for persisting events per user
-    private final SQLiteEventDataAccessObject eventDao = new SQLiteEventDataAccessObject();
+    // DAO for persisting events per user; reads are served from per-month buckets in memory,
+    // writes go through the cache and are batched and flushed in the background
+    private final CachingEventDataAccessObject eventDao =
+            new CachingEventDataAccessObject(new BatchingEventWriter(new SQLiteEventDataAccessObject()));
+
+    // Day cells of the month grid, created once and updated in place by renderMonth
+    private final DayCell[] dayCells = new DayCell[42];
+
+    // Database work runs in the background; results come back on the FX thread
+    private final FxThreadMetrics fxMetrics = FxThreadMetrics.global();
+    private final MonthEventsLoader monthLoader = new MonthEventsLoader(eventDao, fxMetrics);
 
     // The username of the currently logged-in user
     private String currentUsername;
@@ -68,6 +91,9 @@ public class MainController implements PropertyChangeListener {
     // Color scheme components
     private ColorSchemeViewModel colorSchemeViewModel;
     private ColorSchemeController colorSchemeController;
+    // Picker changes go through here: only the color it settles on is fetched, off the FX thread
+    private final DebouncedColorSchemeRequests colorSchemeRequests =
+            new DebouncedColorSchemeRequests(hexColor -> colorSchemeController.execute(hexColor));
 
     // ================== WEATHER: UI fields & service ==================
 
@@ -123,9 +149,16 @@ public class MainController implements PropertyChangeListener {
         if (cityField != null && countryField != null) {
             cityField.setText("Toronto");
             countryField.setText("Canada");
+            // Enter in either field searches too; a newer search replaces a pending one
+            cityField.setOnAction(e -> onWeatherSearchClicked());
+            countryField.setOnAction(e -> onWeatherSearchClicked());
         }
 
+        // Measure how long the FX thread is kept busy (see FxThreadMetrics)
+        fxMetrics.startProbe();
+
         // Render current month
+        buildMonthGrid();
         renderMonth();
 
     // Populate the event list for the selected day (if the ListView exists)
@@ -140,10 +173,10 @@ public class MainController implements PropertyChangeListener {
 
     public void setCurrentUser(String username) {
         this.currentUsername = username;
+        eventDao.setCurrentUsername(username);
 
         // Once we know who the user is, refresh the calendar view for this user
-        refreshDayDetails();
-        renderMonth();
+        reloadMonth();
     }
 
 
@@ -152,16 +185,24 @@ public class MainController implements PropertyChangeListener {
         colorSchemeViewModel = new ColorSchemeViewModel();
         colorSchemeViewModel.addPropertyChangeListener(this);
 
-        // Create Data Access Object
-        GetColorSchemeUserDataAccessInterface colorApiDataAccessObject = new ColorApiDataAccessObject();
-
-        // Create Presenter
+        // Create Data Access Object: local HSL schemes (see COLOR_SCHEMES_PROPERTY), or
+        // The Color API (failing fast and falling back to earlier schemes while it is slow
+        // or down) behind a cache that keeps every scheme fetched so far in the database
+        boolean localColorSchemes = "local".equalsIgnoreCase(System.getProperty(COLOR_SCHEMES_PROPERTY));
+        GetColorSchemeUserDataAccessInterface colorApiDataAccessObject = localColorSchemes
+                ? new LocalColorSchemeDataAccessObject()
+                : new CachingColorSchemeDataAccessObject(
+                        new ResilientColorSchemeDataAccessObject(new ColorApiDataAccessObject()),
+                        CachingColorSchemeDataAccessObject.DEFAULT_MAX_ENTRIES,
+                        SQLiteConnectionProvider.forPath("smartcalendar.db"));
+
+        // Create Presenter (shown only the results of the latest picked color)
         ColorSchemePresenter colorSchemePresenter = new ColorSchemePresenter(colorSchemeViewModel);
 
         // Create Interactor
         GetColorSchemeInteractor getColorSchemeInteractor = new GetColorSchemeInteractor(
                 colorApiDataAccessObject,
-                colorSchemePresenter
+                colorSchemeRequests.latestOnly(colorSchemePresenter)
         );
 
         // Create Controller
@@ -189,7 +230,7 @@ public class MainController implements PropertyChangeListener {
         String hexColor = colorToHex(selectedColor);
 
         colorErrorLabel.setVisible(false);
-        colorSchemeController.execute(hexColor);
+        colorSchemeRequests.request(hexColor);
     }
 
     /**
@@ -237,23 +278,31 @@ public class MainController implements PropertyChangeListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         if (evt.getSource() == colorSchemeViewModel) {
+            // Fired on the color scheme request thread; read the state here, show it on the FX thread
             ColorSchemeState state = colorSchemeViewModel.getState();
-
-            if (state.getErrorMessage() != null) {
-                showError(state.getErrorMessage());
-                // Clear all color displays
-                monochromaticColors.getChildren().clear();
-                analogousColors.getChildren().clear();
-                complementaryColors.getChildren().clear();
-                neutralColors.getChildren().clear();
-            } else {
-                // Display all color schemes
-                displayColors(state.getMonochromaticColors(), monochromaticColors);
-                displayColors(state.getAnalogousColors(), analogousColors);
-                displayColors(state.getComplementaryColors(), complementaryColors);
-                displayColors(state.getNeutralColors(), neutralColors);
-                colorErrorLabel.setVisible(false);
-            }
+            String errorMessage = state.getErrorMessage();
+            List<String> monochromatic = state.getMonochromaticColors();
+            List<String> analogous = state.getAnalogousColors();
+            List<String> complementary = state.getComplementaryColors();
+            List<String> neutral = state.getNeutralColors();
+
+            Platform.runLater(() -> {
+                if (errorMessage != null) {
+                    showError(errorMessage);
+                    // Clear all color displays
+                    monochromaticColors.getChildren().clear();
+                    analogousColors.getChildren().clear();
+                    complementaryColors.getChildren().clear();
+                    neutralColors.getChildren().clear();
+                } else {
+                    // Display all color schemes
+                    displayColors(monochromatic, monochromaticColors);
+                    displayColors(analogous, analogousColors);
+                    displayColors(complementary, complementaryColors);
+                    displayColors(neutral, neutralColors);
+                    colorErrorLabel.setVisible(false);
+                }
+            });
         }
     }
 
@@ -264,14 +313,37 @@ public class MainController implements PropertyChangeListener {
         current = current.plusMonths(delta);
         selected = current.atDay(Math.min(
                 selected.getDayOfMonth(), current.lengthOfMonth()));
-        renderMonth();
+        reloadMonth();
     }
 
-    /** Render the entire month based on the current YearMonth. */
-    private void renderMonth() {
-        lblYearMonth.setText(current.toString()); // e.g. "2025-11"
-        monthGrid.getChildren().clear();
+    /**
+     * Redraw the grid and day details for the displayed month.
+     * The events are read from eventDao's month cache, which writes through this
+     * controller keep current. A month that is not cached yet is drawn empty right
+     * away, fetched in the background with a single range query, and drawn again
+     * once the load completes.
+     */
+    private void reloadMonth() {
+        showMonth();
+        // Before login / username set, show no events
+        if (currentUsername == null || eventDao.isMonthLoaded(currentUsername, current)) {
+            return;
+        }
+        monthLoader.load(currentUsername, current, this::showMonth);
+    }
+
+    private void showMonth() {
+        fxMetrics.time("render month", () -> {
+            refreshDayDetails();
+            renderMonth();
+        });
+    }
 
+    /**
+     * Build the weekday header and the fixed pool of day cells (6 weeks x 7 days).
+     * Called once; {@link #renderMonth()} only updates these nodes afterwards.
+     */
+    private void buildMonthGrid() {
         // Table header (Mon..Sun), Monday at the start
         var headers = List.of("Mon","Tue","Wed","Thu","Fri","Sat","Sun");
         for (int c = 0; c < 7; c++) {
@@ -280,17 +352,29 @@ public class MainController implements PropertyChangeListener {
             monthGrid.add(hdr, c, 0);
         }
 
-        LocalDate first = current.atDay(1);
-        int shift = (first.getDayOfWeek().getValue() + 6) % 7; // Mon=0..Sun=6
-        int days = current.lengthOfMonth();
-
         int rowOffset = 1; // header row is at index 0
-        for (int d = 1; d <= days; d++) {
-            int index = shift + (d - 1);
-            int col = index % 7;
-            int row = index / 7 + rowOffset;
+        for (int i = 0; i < dayCells.length; i++) {
+            dayCells[i] = new DayCell(this::selectDay, this::openNewEventDialog);
+            monthGrid.add(dayCells[i], i % 7, i / 7 + rowOffset);
+        }
+    }
+
+    /** Render the entire month based on the current YearMonth, reusing the day cells. */
+    private void renderMonth() {
+        lblYearMonth.setText(current.toString()); // e.g. "2025-11"
+
+        int shift = firstCellIndex();
+        int days = current.lengthOfMonth();
+        for (int i = 0; i < dayCells.length; i++) {
+            DayCell cell = dayCells[i];
+            int d = i - shift + 1;
+            if (d < 1 || d > days) {
+                cell.clear();   // outside the month
+                continue;
+            }
             LocalDate date = current.atDay(d);
-            monthGrid.add(makeDayCell(date), col, row);
+            cell.show(date, getEventsFor(date));
+            cell.setSelected(date.equals(selected));
         }
     }
 
@@ -319,11 +403,9 @@ public class MainController implements PropertyChangeListener {
                     null
             );
 
-            // Persist to SQLite for this user
-            eventDao.saveEvent(currentUsername, event);
-
-            refreshDayDetails();
-            renderMonth();
+            // Persist to SQLite for this user (in the background), then reload
+            String username = currentUsername;
+            monthLoader.write(() -> eventDao.saveEvent(username, event), this::reloadMonth);
         } catch (Exception ex) {
             System.err.println("Failed to add event: " + ex.getMessage());
         }
@@ -435,9 +517,8 @@ public class MainController implements PropertyChangeListener {
                 System.err.println("No current user set; cannot edit event.");
                 return;
             }
-            eventDao.saveEvent(currentUsername, updated);
-            refreshDayDetails();
-            renderMonth();
+            String username = currentUsername;
+            monthLoader.write(() -> eventDao.saveEvent(username, updated), this::reloadMonth);
         });
 
     }
@@ -453,9 +534,8 @@ public class MainController implements PropertyChangeListener {
 
         Event event = dayEvents.getSelectionModel().getSelectedItem();
         if (event != null) {
-            eventDao.deleteEvent(currentUsername, event.getId());
-            refreshDayDetails();
-            renderMonth();
+            String username = currentUsername;
+            monthLoader.write(() -> eventDao.deleteEvent(username, event.getId()), this::reloadMonth);
         }
     }
 
@@ -477,53 +557,38 @@ public class MainController implements PropertyChangeListener {
                     categoryCombo.getValue(),
                     eventSelect.getReminderMessage()
             );
-            eventDao.saveEvent(currentUsername, updated);
-            refreshDayDetails();
-            renderMonth();
+            String username = currentUsername;
+            monthLoader.write(() -> eventDao.saveEvent(username, updated), this::reloadMonth);
         }
     }
 
 
-    /** Create a single day cell. */
-    private Node makeDayCell(LocalDate date) {
-        VBox box = new VBox(4);
-        box.getStyleClass().add("day-cell");
-        box.setFillWidth(true);
-        box.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);    // allow stretching
-        GridPane.setHgrow(box, Priority.ALWAYS);
-        GridPane.setVgrow(box, Priority.ALWAYS);
-
-        Label title = new Label(Integer.toString(date.getDayOfMonth()));
-        title.getStyleClass().add("day-num");
-
-        VBox eventBox = new VBox(4);             // container for small event pills
-        eventBox.getStyleClass().add("event-box");
-
-        box.getChildren().addAll(title, eventBox);
-
-        // Fill event pills when first rendering
-        fillEventPills(eventBox, date);
-
-        box.setOnMouseClicked(e -> {
-            if (e.getClickCount() == 2) {
-                // double-click: open a small window to create a new event
-                openNewEventDialog(date);
-            } else {
-                // single-click: just select day and refresh details
-                selectDay(date);
-                refreshDayDetails();
-            }
-        });
+    /** Select a specific day. Uses the already loaded month, so no database access. */
+    private void selectDay(LocalDate date) {
+        // Only the previously and newly selected cells change
+        DayCell previous = cellFor(selected);
+        if (previous != null) {
+            previous.setSelected(false);
+        }
+        selected = date;
+        DayCell cell = cellFor(date);
+        if (cell != null) {
+            cell.setSelected(true);
+        }
+        fxMetrics.time("select day", this::refreshDayDetails);   // also refresh details on click
+    }
 
-        if (date.equals(selected)) box.getStyleClass().add("selected");
-        return box;
+    /** The grid cell showing {@code date}, or null if it is not in the displayed month. */
+    private DayCell cellFor(LocalDate date) {
+        if (!YearMonth.from(date).equals(current)) {
+            return null;
+        }
+        return dayCells[firstCellIndex() + date.getDayOfMonth() - 1];
     }
 
-    /** Select a specific day. */
-    private void selectDay(LocalDate date) {
-        selected = date;
-        refreshDayDetails();        // also refresh details on click
-        renderMonth();
+    /** Grid index of the 1st of the displayed month (Mon=0..Sun=6). */
+    private int firstCellIndex() {
+        return (current.atDay(1).getDayOfWeek().getValue() + 6) % 7;
     }
 
     /** Update the event list for the selected day. */
@@ -538,49 +603,15 @@ public class MainController implements PropertyChangeListener {
         dayEvents.getItems().setAll(events);
     }
 
+    /** The date's events if its month is cached; never waits on the database. */
     private List<Event> getEventsFor(LocalDate date) {
-        // Before login / username set, show no events
         if (currentUsername == null) {
-            return new ArrayList<>();
+            return List.of();
         }
-        return eventDao.getEventsForDay(currentUsername, date);
-    }
-
-
-
-    /** Create a single event “pill” label. */
-    private Label makePill(Event e) {
-        Label pill = new Label(e.getTitle());
-        pill.getStyleClass().addAll("event-pill", "pill-"
-                + e.getCategory().name().toLowerCase()); // CN：颜色按类别 EN：colors-category
-        pill.setMaxWidth(Double.MAX_VALUE);
-        pill.setTextOverrun(OverrunStyle.ELLIPSIS); // ellipsis for long text
-        return pill;
+        return eventDao.getLoadedEventsForDay(currentUsername, date);
     }
 
-    /** Fill a day's event container with up to 2–3 pills, plus a "+n" label if there are more. */
-    private void fillEventPills(VBox eventBox, LocalDate date) {
-        eventBox.getChildren().clear();
 
-        List<Event> list = getEventsFor(date);
-        int limit = 3;                      // CN: 每格最多展示数量 EN: Maximum number of pills in each block
-        int shown = Math.min(limit, list.size());
-
-        for (int i = 0; i < shown; i++) {
-            eventBox.getChildren().add(makePill(list.get(i)));
-        }
-        if (list.size() > limit) {
-            int more = list.size() - limit;
-            Label moreLbl = new Label("+" + more);
-            moreLbl.getStyleClass().add("event-more");
-            eventBox.getChildren().add(moreLbl);
-
-            // Tooltip with full list of events on hover
-            String all = list.stream().map(it -> "• "
-                    + it.getTitle()).reduce((a,b)->a+"\n"+b).orElse("");
-            Tooltip.install(eventBox, new Tooltip(all));
-        }
-    }
 
     private void openNewEventDialog(LocalDate defaultDate) {
         // Dialog that returns an Event when user clicks "Create"
@@ -673,9 +704,8 @@ public class MainController implements PropertyChangeListener {
                 System.err.println("No current user set; cannot edit event.");
                 return;
             }
-            eventDao.saveEvent(currentUsername, updated);
-            refreshDayDetails();
-            renderMonth();
+            String username = currentUsername;
+            monthLoader.write(() -> eventDao.saveEvent(username, updated), this::reloadMonth);
         });
     }
 
@@ -688,8 +718,10 @@ public class MainController implements PropertyChangeListener {
      *
      * Flow:
      *   1. Read city and country from the TextFields
-     *   2. Call weatherService.fetchWeather(city, country)
-     *   3. Read display strings from the service and update the labels
+     *   2. Call weatherService.fetchWeatherAsync(city, country); the lookup runs off the
+     *      FX thread, and a search still in flight is cancelled
+     *   3. When it completes, read display strings from the service and update the
+     *      labels on the FX thread
      */
     @FXML
     private void onWeatherSearchClicked() {
@@ -701,10 +733,15 @@ public class MainController implements PropertyChangeListener {
         String city = cityField.getText();
         String country = countryField.getText();
 
-        // 1) Invoke the core weather use case via the UI service
-        weatherService.fetchWeather(city, country);
+        // 1) Invoke the core weather use case via the UI service.
+        //    A cancelled (superseded) search never reaches the labels.
+        weatherService.fetchWeatherAsync(city, country)
+                .thenRun(() -> Platform.runLater(
+                        () -> fxMetrics.time("show weather", this::showWeather)));
+    }
 
-        // 2) Read the result from the UI service / ViewModel
+    /** Copy the latest result from the UI service / ViewModel into the labels. */
+    private void showWeather() {
         String error = weatherService.getError();
         if (error != null && !error.isBlank()) {
             // Error: show the error message and clear the other labels
@@ -0,0 +1,91 @@
+package com.smartcalendar.fx;
+
+import data_access.UserEventDataAccessInterface;
+import javafx.application.Platform;
+
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the calendar's database work off the JavaFX Application Thread.
+ *
+ * Month loads run on virtual threads and fill the event DAO's month cache, which
+ * the calendar then reads from memory. Only the most recent load is delivered:
+ * starting a new one cancels the previous one, and a result that arrives after a
+ * newer load was requested is dropped, so flipping months quickly never shows an
+ * old month. Results are handed to the FX thread with {@code Platform.runLater}.
+ *
+ * Writes run one at a time on their own thread, in the order they were submitted,
+ * and are never cancelled; their callback also runs on the FX thread.
+ */
+public class MonthEventsLoader implements AutoCloseable {
+
+    private final UserEventDataAccessInterface eventDao;
+    private final FxThreadMetrics metrics;
+    private final ExecutorService loads = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService writes = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "calendar-writes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only touched on the FX thread
+    private long generation;
+    private CompletableFuture<?> pendingLoad;
+
+    public MonthEventsLoader(UserEventDataAccessInterface eventDao, FxThreadMetrics metrics) {
+        this.eventDao = eventDao;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Load a user's events for one month in the background.
+     * Must be called on the FX thread; {@code onLoaded} runs there too, unless a newer
+     * load has been started in the meantime.
+     */
+    public void load(String username, YearMonth month, Runnable onLoaded) {
+        long token = ++generation;
+        if (pendingLoad != null) {
+            pendingLoad.cancel(false);
+        }
+        CompletableFuture<Void> load = CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            eventDao.getEventsBetween(username, month.atDay(1), month.atEndOfMonth());
+            metrics.record("month-load (background)", System.nanoTime() - start);
+        }, loads);
+        pendingLoad = load;
+        load.whenComplete((ignored, error) -> Platform.runLater(() -> {
+            if (token != generation) {
+                return; // superseded (and cancelled) by a newer load
+            }
+            pendingLoad = null;
+            if (error != null) {
+                System.err.println("Failed to load events: " + error.getMessage());
+                return;
+            }
+            metrics.time("apply month", onLoaded);
+        }));
+    }
+
+    /**
+     * Run a save or delete in the background, then {@code onDone} on the FX thread
+     * (whether or not the write succeeded).
+     */
+    public void write(Runnable write, Runnable onDone) {
+        CompletableFuture.runAsync(write, writes)
+                .whenComplete((ignored, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        System.err.println("Failed to save changes: " + error.getMessage());
+                    }
+                    onDone.run();
+                }));
+    }
+
+    @Override
+    public void close() {
+        loads.shutdownNow();
+        writes.shutdown();
+    }
+}
@@ -1,12 +1,21 @@
 package weather;
 
+import data_access.http.RequestPriority;
+import data_access.resilience.ResilientCaller;
+import data_access.weather.CachingWeatherApiGateway;
+import data_access.weather.CoalescingWeatherApiGateway;
 import data_access.weather.OpenMeteoWeatherApiGateway;
+import data_access.weather.ResilientWeatherApiGateway;
+import data_access.weather.SQLiteGeocodeStore;
 import interface_adapter.controllers.GetCurrentWeatherController;
 import interface_adapter.presenters.GetCurrentWeatherPresenter;
 import interface_adapter.presenters.WeatherViewModel;
+import use_case.get_current_weather.GetCurrentWeatherAsyncInteractor;
 import use_case.get_current_weather.GetCurrentWeatherInteractor;
 import use_case.get_current_weather.WeatherApiGateway;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * CoreWeatherUiService is the bridge between the JavaFX UI
  * and the clean-architecture weather use case.
@@ -31,15 +40,32 @@ public class CoreWeatherUiService implements WeatherUiService {
         // 2. Presenter writes into the view model.
         GetCurrentWeatherPresenter presenter = new GetCurrentWeatherPresenter(viewModel);
 
-        // 3. Gateway calls the Open-Meteo API.
-        WeatherApiGateway gateway = new OpenMeteoWeatherApiGateway();
+        // 3. Gateway calls the Open-Meteo API; repeated lookups are served from the cache,
+        //    and cities geocoded once are remembered in the database across restarts.
+        //    Identical lookups that miss the cache at the same time share one request.
+        //    While Open-Meteo is slow or down, calls fail fast and the last known
+        //    result is shown instead. Background refreshes of stale forecasts share
+        //    the same breakers but wait behind lookups the user is waiting for.
+        OpenMeteoWeatherApiGateway api = new OpenMeteoWeatherApiGateway();
+        ResilientCaller caller = new ResilientCaller();
+        ResilientWeatherApiGateway resilient = new ResilientWeatherApiGateway(
+                api, api, caller, ResilientWeatherApiGateway.DEFAULT_MAX_FALLBACK_ENTRIES);
+        OpenMeteoWeatherApiGateway backgroundApi = api.withPriority(RequestPriority.BACKGROUND);
+        ResilientWeatherApiGateway background = new ResilientWeatherApiGateway(
+                backgroundApi, backgroundApi, caller, ResilientWeatherApiGateway.DEFAULT_MAX_FALLBACK_ENTRIES);
+        CoalescingWeatherApiGateway singleFlight = new CoalescingWeatherApiGateway(
+                new SQLiteGeocodeStore("smartcalendar.db", resilient), resilient);
+        WeatherApiGateway gateway = new CachingWeatherApiGateway(singleFlight, singleFlight, background);
 
-        // 4. Interactor is the use-case logic.
+        // 4. Interactor is the use-case logic; the async one runs it off the caller's
+        //    thread and drops results of requests that were replaced by a newer one.
         GetCurrentWeatherInteractor interactor =
                 new GetCurrentWeatherInteractor(gateway, presenter);
+        GetCurrentWeatherAsyncInteractor asyncInteractor =
+                new GetCurrentWeatherAsyncInteractor(gateway, presenter);
 
         // 5. Controller is called by this UI service.
-        this.controller = new GetCurrentWeatherController(interactor);
+        this.controller = new GetCurrentWeatherController(interactor, asyncInteractor);
     }
 
     /**
@@ -52,6 +78,11 @@ public class CoreWeatherUiService implements WeatherUiService {
         controller.onGetCurrentWeather(city, country);
     }
 
+    @Override
+    public CompletableFuture<Void> fetchWeatherAsync(String city, String country) {
+        return controller.onGetCurrentWeatherAsync(city, country);
+    }
+
     // --- Getter methods: the UI reads from the view model through this service ---
 
     @Override
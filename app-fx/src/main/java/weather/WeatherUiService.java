@@ -1,5 +1,7 @@
 package weather;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Simple interface that the JavaFX UI can use to work with the
  * "get current weather" feature.
@@ -18,6 +20,15 @@ public interface WeatherUiService {
      */
     void fetchWeather(String city, String country);
 
+    /**
+     * Same as {@link #fetchWeather(String, String)}, but returns immediately.
+     * Starting a new fetch cancels the one still in flight.
+     *
+     * @return completes (on a background thread) once the getters below return the
+     *         new result; cancelled if a newer fetch replaced this one
+     */
+    CompletableFuture<Void> fetchWeatherAsync(String city, String country);
+
     /** @return The location text to display, e.g. "Toronto, Canada". */
     String getLocationDisplay();
 
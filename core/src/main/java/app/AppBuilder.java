@@ -1,5 +1,6 @@
 package app;
 
+import data_access.CachingUserDataAccessObject;
 import data_access.SQLiteUserDataAccessObject;
 import entity.UserFactory;
 import interface_adapter.ViewManagerModel;
@@ -44,14 +45,16 @@ public class AppBuilder {
     // set which data access implementation to use, can be any
     // of the classes from the data_access package
 
-    // DAO version using SQLite database
-    final SQLiteUserDataAccessObject userDataAccessObject = new SQLiteUserDataAccessObject("smartcalendar.db", userFactory);
+    // DAO version using SQLite database, with recently looked-up users kept in memory
+    final CachingUserDataAccessObject userDataAccessObject = new CachingUserDataAccessObject(
+            new SQLiteUserDataAccessObject("smartcalendar.db", userFactory));
 
     // DAO version using local file storage (CSV)
     // final FileUserDataAccessObject userDataAccessObject = new FileUserDataAccessObject("users.csv", userFactory);
 
     // DAO version using a shared external database (REST API)
-    // final DBUserDataAccessObject userDataAccessObject = new DBUserDataAccessObject(userFactory);
+    // final CachingUserDataAccessObject userDataAccessObject =
+    //         new CachingUserDataAccessObject(new DBUserDataAccessObject(userFactory));
 
     private SignupView signupView;
     private SignupViewModel signupViewModel;
@@ -0,0 +1,315 @@
+package data_access;
+
+import entity.Event;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind front for {@link SQLiteEventDataAccessObject}.
+ *
+ * Saves and deletes are queued and coalesced by event id (only the latest write
+ * per event is kept), then written in a single transaction once the queue
+ * reaches {@code maxBatchSize} or {@code maxDelay} has passed since the first
+ * queued write. Bulk edits therefore cost one fsync instead of one per event.
+ *
+ * Reads go to SQLite and then have the queued writes applied on top, so a
+ * caller always sees its own writes even before they are flushed.
+ * Pending writes are flushed by {@link #flush()}, {@link #close()}, and when the
+ * underlying connection provider is closed (including on JVM shutdown).
+ */
+public class BatchingEventWriter implements UserEventDataAccessInterface, AutoCloseable {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(200);
+
+    private final SQLiteEventDataAccessObject delegate;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final ScheduledExecutorService scheduler;
+    private final Runnable flushOnClose = this::flush;
+
+    private final Object lock = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private LinkedHashMap<UUID, PendingEventWrite> pending = new LinkedHashMap<>();
+    // Writes taken off the queue by a flush that has not committed yet; still visible to reads.
+    private Map<UUID, PendingEventWrite> inFlight = Map.of();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchingEventWriter(SQLiteEventDataAccessObject delegate) {
+        this(delegate, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * @param delegate the DAO that performs the actual writes
+     * @param maxBatchSize flush as soon as this many distinct events are queued
+     * @param maxDelay flush at the latest this long after the first queued write
+     */
+    public BatchingEventWriter(SQLiteEventDataAccessObject delegate, int maxBatchSize, Duration maxDelay) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        delegate.connectionProvider().addCloseListener(flushOnClose);
+    }
+
+    @Override
+    public void saveEvent(String username, Event event) {
+        enqueue(PendingEventWrite.save(username, event));
+    }
+
+    @Override
+    public void deleteEvent(String username, UUID eventId) {
+        enqueue(PendingEventWrite.delete(username, eventId));
+    }
+
+    @Override
+    public void saveEvents(String username, List<Event> events) {
+        List<PendingEventWrite> writes = new ArrayList<>(events.size());
+        for (Event event : events) {
+            writes.add(PendingEventWrite.save(username, event));
+        }
+        enqueue(writes);
+    }
+
+    @Override
+    public void deleteEvents(String username, Collection<UUID> eventIds) {
+        List<PendingEventWrite> writes = new ArrayList<>(eventIds.size());
+        for (UUID eventId : eventIds) {
+            writes.add(PendingEventWrite.delete(username, eventId));
+        }
+        enqueue(writes);
+    }
+
+    @Override
+    public Map<UUID, Event> getEventsByIds(String username, Collection<UUID> eventIds) {
+        Map<UUID, PendingEventWrite> overlay = snapshot();
+        Map<UUID, Event> found = new HashMap<>();
+        List<UUID> unqueued = new ArrayList<>();
+        for (UUID eventId : eventIds) {
+            PendingEventWrite write = overlay.get(eventId);
+            if (write == null || !write.getUsername().equals(username)) {
+                unqueued.add(eventId);
+            } else if (!write.isDelete()) {
+                found.put(eventId, write.getEvent());
+            }
+        }
+        if (!unqueued.isEmpty()) {
+            found.putAll(delegate.getEventsByIds(username, unqueued));
+        }
+        return found;
+    }
+
+    @Override
+    public Event getEvent(String username, UUID eventId) {
+        PendingEventWrite write = snapshot().get(eventId);
+        if (write != null && write.getUsername().equals(username)) {
+            return write.getEvent(); // null for a queued delete
+        }
+        return delegate.getEvent(username, eventId);
+    }
+
+    @Override
+    public List<Event> getEventsForDay(String username, LocalDate date) {
+        // Take the overlay before reading, so a flush finishing in between cannot hide a write.
+        Map<UUID, PendingEventWrite> overlay = snapshot();
+        List<Event> stored = delegate.getEventsForDay(username, date);
+        return applyOverlay(stored, overlay, username, startsBetween(date, date));
+    }
+
+    @Override
+    public Map<LocalDate, List<Event>> getEventsBetween(String username, LocalDate from, LocalDate to) {
+        Map<UUID, PendingEventWrite> overlay = snapshot();
+        List<Event> stored = new ArrayList<>();
+        for (List<Event> day : delegate.getEventsBetween(username, from, to).values()) {
+            stored.addAll(day);
+        }
+
+        Map<LocalDate, List<Event>> byDay = new TreeMap<>();
+        for (Event event : applyOverlay(stored, overlay, username, startsBetween(from, to))) {
+            byDay.computeIfAbsent(event.getStart().toLocalDate(), day -> new ArrayList<>()).add(event);
+        }
+        return byDay;
+    }
+
+    @Override
+    public List<Event> getEventsOverlapping(String username, LocalDateTime start, LocalDateTime end) {
+        Map<UUID, PendingEventWrite> overlay = snapshot();
+        List<Event> stored = delegate.getEventsOverlapping(username, start, end);
+        return applyOverlay(stored, overlay, username,
+                event -> !event.getStart().isAfter(end) && !event.getEnd().isBefore(start));
+    }
+
+    /** @return number of distinct events waiting to be written */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Write every queued save and delete in one transaction.
+     * If the write fails, the writes stay queued and the exception is rethrown.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<UUID, PendingEventWrite> batch;
+            synchronized (lock) {
+                cancelScheduledFlush();
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                inFlight = batch;
+                pending = new LinkedHashMap<>();
+            }
+
+            try {
+                delegate.writeBatch(batch.values());
+            } catch (RuntimeException ex) {
+                synchronized (lock) {
+                    // Put the batch back in front of anything queued meanwhile; newer writes win.
+                    LinkedHashMap<UUID, PendingEventWrite> restored = new LinkedHashMap<>(batch);
+                    restored.putAll(pending);
+                    pending = restored;
+                    inFlight = Map.of();
+                }
+                throw ex;
+            }
+
+            synchronized (lock) {
+                inFlight = Map.of();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Flush pending writes and stop the background flush thread. */
+    @Override
+    public void close() {
+        delegate.connectionProvider().removeCloseListener(flushOnClose);
+        try {
+            flush();
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private void enqueue(PendingEventWrite write) {
+        enqueue(List.of(write));
+    }
+
+    private void enqueue(List<PendingEventWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        boolean flushNow;
+        synchronized (lock) {
+            for (PendingEventWrite write : writes) {
+                pending.remove(write.getEventId()); // re-insert so the map keeps write order
+                pending.put(write.getEventId(), write);
+            }
+            flushNow = pending.size() >= maxBatchSize;
+            if (!flushNow && scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flushInBackground,
+                        maxDelay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    private void flushInBackground() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            System.err.println("Failed to flush queued event writes: " + ex.getMessage());
+            synchronized (lock) {
+                if (scheduledFlush == null && !pending.isEmpty()) {
+                    scheduledFlush = scheduler.schedule(this::flushInBackground,
+                            maxDelay.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    /** In-flight writes overlaid with queued ones (queued wins). */
+    private Map<UUID, PendingEventWrite> snapshot() {
+        synchronized (lock) {
+            if (pending.isEmpty() && inFlight.isEmpty()) {
+                return Map.of();
+            }
+            Map<UUID, PendingEventWrite> overlay = new LinkedHashMap<>(inFlight);
+            overlay.putAll(pending);
+            return overlay;
+        }
+    }
+
+    private static Predicate<Event> startsBetween(LocalDate from, LocalDate to) {
+        return event -> {
+            LocalDate day = event.getStart().toLocalDate();
+            return !day.isBefore(from) && !day.isAfter(to);
+        };
+    }
+
+    /**
+     * Replace stored events with their queued version, drop queued deletes and add
+     * queued saves of this user that match the query.
+     */
+    private static List<Event> applyOverlay(List<Event> stored, Map<UUID, PendingEventWrite> overlay,
+                                            String username, Predicate<Event> matches) {
+        if (overlay.isEmpty()) {
+            return stored;
+        }
+        List<Event> result = new ArrayList<>();
+        for (Event event : stored) {
+            PendingEventWrite write = overlay.get(event.getId());
+            if (write == null || !write.getUsername().equals(username)) {
+                result.add(event);
+            }
+        }
+        for (PendingEventWrite write : overlay.values()) {
+            if (write.isDelete() || !write.getUsername().equals(username)) {
+                continue;
+            }
+            if (matches.test(write.getEvent())) {
+                result.add(write.getEvent());
+            }
+        }
+        result.sort(Comparator.comparing(Event::getStart));
+        return result;
+    }
+}
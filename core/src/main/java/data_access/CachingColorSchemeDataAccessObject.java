@@ -0,0 +1,260 @@
+package data_access;
+
+import use_case.get_color_scheme.ColorSchemeMode;
+import use_case.get_color_scheme.GetColorSchemeUserDataAccessInterface;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Caching decorator for color schemes, keyed on the scheme mode and the normalized
+ * hex color (no {@code #}, upper case).
+ *
+ * A scheme depends on nothing but its key, so entries never expire. At most
+ * {@code maxEntries} are kept in memory, evicting the least recently used first.
+ * When given a {@link SQLiteConnectionProvider}, schemes are also written to a
+ * {@code color_schemes} table and read back from it on a memory miss, so they
+ * survive restarts and evictions. Failed lookups are not cached.
+ */
+public class CachingColorSchemeDataAccessObject implements GetColorSchemeUserDataAccessInterface {
+
+    public static final int DEFAULT_MAX_ENTRIES = 512;
+
+    private static final String SELECT_SQL = """
+            SELECT colors FROM color_schemes WHERE hex = ? AND mode = ?
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT OR REPLACE INTO color_schemes (hex, mode, colors) VALUES (?, ?, ?)
+            """;
+
+    private final GetColorSchemeUserDataAccessInterface delegate;
+    private final int maxEntries;
+    private final SQLiteConnectionProvider connections;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, List<String>> schemes;
+
+    private long hits;
+    private long storedHits;
+    private long misses;
+    private long evictions;
+
+    /** Keep up to {@link #DEFAULT_MAX_ENTRIES} schemes in memory only. */
+    public CachingColorSchemeDataAccessObject(GetColorSchemeUserDataAccessInterface delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, null);
+    }
+
+    /**
+     * @param delegate    where to get schemes that are not cached
+     * @param maxEntries  maximum number of schemes kept in memory
+     * @param connections database to persist schemes in, or null to keep them in memory only
+     */
+    public CachingColorSchemeDataAccessObject(GetColorSchemeUserDataAccessInterface delegate,
+                                              int maxEntries,
+                                              SQLiteConnectionProvider connections) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.connections = connections;
+        this.schemes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                if (size() > CachingColorSchemeDataAccessObject.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        if (connections != null) {
+            initializeDatabase();
+        }
+    }
+
+    private void initializeDatabase() {
+        String createTableSQL = """
+            CREATE TABLE IF NOT EXISTS color_schemes (
+                hex    TEXT NOT NULL,
+                mode   TEXT NOT NULL,
+                colors TEXT NOT NULL,
+                PRIMARY KEY (hex, mode)
+            )
+            """;
+        try {
+            connections.write(session -> {
+                try (Statement statement = session.connection().createStatement()) {
+                    statement.execute(createTableSQL);
+                }
+                return null;
+            });
+        } catch (SQLException ex) {
+            throw new RuntimeException("Failed to initialize color_schemes table", ex);
+        }
+    }
+
+    @Override
+    public List<String> getMonochromaticScheme(String hexColor) {
+        return getScheme(ColorSchemeMode.MONOCHROMATIC, hexColor);
+    }
+
+    @Override
+    public List<String> getAnalogousScheme(String hexColor) {
+        return getScheme(ColorSchemeMode.ANALOGOUS, hexColor);
+    }
+
+    @Override
+    public List<String> getComplementaryScheme(String hexColor) {
+        return getScheme(ColorSchemeMode.COMPLEMENTARY, hexColor);
+    }
+
+    @Override
+    public List<String> getNeutralScheme(String hexColor) {
+        return getScheme(ColorSchemeMode.NEUTRAL, hexColor);
+    }
+
+    @Override
+    public List<String> getScheme(ColorSchemeMode mode, String hexColor) {
+        String hex = normalize(hexColor);
+        List<String> cached = lookup(mode, hex);
+        if (cached != null) {
+            return cached;
+        }
+        return remember(mode, hex, delegate.getScheme(mode, hexColor));
+    }
+
+    /**
+     * Cached schemes complete right away; others are fetched by the delegate's own async
+     * path, which cancelling the returned future cancels too.
+     */
+    @Override
+    public CompletableFuture<List<String>> getSchemeAsync(ColorSchemeMode mode, String hexColor, Executor executor) {
+        String hex = normalize(hexColor);
+        List<String> cached = lookup(mode, hex);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<List<String>> fetch = delegate.getSchemeAsync(mode, hexColor, executor);
+        CompletableFuture<List<String>> result = fetch.thenApply(scheme -> remember(mode, hex, scheme));
+        result.whenComplete((scheme, error) -> {
+            if (result.isCancelled()) {
+                fetch.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private List<String> lookup(ColorSchemeMode mode, String hex) {
+        String key = mode + ":" + hex;
+        synchronized (this) {
+            List<String> cached = schemes.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+        }
+        List<String> stored = connections == null ? null : find(mode, hex);
+        synchronized (this) {
+            if (stored == null) {
+                misses++;
+                return null;
+            }
+            storedHits++;
+            schemes.put(key, stored);
+            return stored;
+        }
+    }
+
+    private List<String> remember(ColorSchemeMode mode, String hex, List<String> scheme) {
+        List<String> copy = List.copyOf(scheme);
+        synchronized (this) {
+            schemes.put(mode + ":" + hex, copy);
+        }
+        if (connections != null) {
+            store(mode, hex, copy);
+        }
+        return copy;
+    }
+
+    /** The stored scheme, or null if it was never fetched. */
+    private List<String> find(ColorSchemeMode mode, String hex) {
+        try {
+            return connections.read(session -> {
+                PreparedStatement statement = session.prepare(SELECT_SQL);
+                statement.setString(1, hex);
+                statement.setString(2, mode.name());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        String colors = resultSet.getString("colors");
+                        return colors.isEmpty() ? List.<String>of() : List.of(colors.split(","));
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException ex) {
+            // Treat as not stored; the scheme is fetched again
+            System.err.println("Failed to read color scheme " + mode + " " + hex + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private void store(ColorSchemeMode mode, String hex, List<String> scheme) {
+        try {
+            connections.write(session -> {
+                PreparedStatement statement = session.prepare(UPSERT_SQL);
+                statement.setString(1, hex);
+                statement.setString(2, mode.name());
+                statement.setString(3, String.join(",", scheme));
+                return statement.executeUpdate();
+            });
+        } catch (SQLException ex) {
+            // The lookup itself succeeded; it will simply be fetched again after a restart
+            System.err.println("Failed to store color scheme " + mode + " " + hex + ": " + ex.getMessage());
+        }
+    }
+
+    private static String normalize(String hexColor) {
+        return hexColor.replace("#", "").trim().toUpperCase(Locale.ROOT);
+    }
+
+    // ---- metrics ----
+
+    /** Lookups answered from memory. */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /** Lookups answered from the database after missing in memory. */
+    public synchronized long getStoredHitCount() {
+        return storedHits;
+    }
+
+    /** Lookups that went to the delegate. */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /** Share of lookups answered from memory or the database, 0 if there were none. */
+    public synchronized double getHitRatio() {
+        long total = hits + storedHits + misses;
+        return total == 0 ? 0 : (double) (hits + storedHits) / total;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized int getCachedSchemeCount() {
+        return schemes.size();
+    }
+}
@@ -0,0 +1,599 @@
+package data_access;
+
+import entity.Event;
+import use_case.addEvent.EventMethodsDataAccessInterface;
+import use_case.edit_events.EditEventEventDataAccessInterface;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Read-through cache in front of an event DAO.
+ *
+ * Events are cached per (user, month): the first read that touches a month loads
+ * the whole month with one range query, and every later read of a day, a month or
+ * an event id in that month is answered from memory. At most {@code maxMonths}
+ * buckets are kept across all users; the least recently used one is evicted first.
+ *
+ * Saves and deletes are written through to the delegate and then applied to the
+ * loaded buckets, so the cache never serves an event that was changed or removed
+ * through this object. Writes that bypass it are not seen until the bucket is
+ * evicted or {@link #invalidateAll()} is called.
+ *
+ * Overlap queries and conflict checks, which the add and edit interactors make for
+ * every event, are answered from per-(user, month) windows: the events overlapping
+ * the month, loaded with one bounded query the first time, in one
+ * {@link EventIntervalTree} per location. A conflict check only looks at the tree
+ * of the event's location. At most {@code maxMonths} windows are kept, like the
+ * buckets, and the same writes keep them up to date. Queries spanning more months
+ * than that go to the delegate.
+ *
+ * The use case ports have no username parameter; they act on the user set with
+ * {@link #setCurrentUsername(String)}, like the user DAOs do.
+ */
+public class CachingEventDataAccessObject implements UserEventDataAccessInterface,
+                                                     EventMethodsDataAccessInterface,
+                                                     EditEventEventDataAccessInterface {
+
+    public static final int DEFAULT_MAX_MONTHS = 24;
+
+    private final UserEventDataAccessInterface delegate;
+    private final int maxMonths;
+
+    // Access-ordered, so iteration starts at the least recently used bucket
+    private final LinkedHashMap<BucketKey, MonthBucket> buckets;
+
+    // Conflict index per (user, month), also access-ordered; see OverlapIndex
+    private final LinkedHashMap<BucketKey, OverlapIndex> overlapWindows;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private String currentUsername;
+
+    public CachingEventDataAccessObject(UserEventDataAccessInterface delegate) {
+        this(delegate, DEFAULT_MAX_MONTHS);
+    }
+
+    /**
+     * @param delegate the DAO to load from and write through to
+     * @param maxMonths how many (user, month) buckets, and as many overlap windows, to keep in memory
+     */
+    public CachingEventDataAccessObject(UserEventDataAccessInterface delegate, int maxMonths) {
+        if (maxMonths < 1) {
+            throw new IllegalArgumentException("maxMonths must be at least 1");
+        }
+        this.delegate = delegate;
+        this.maxMonths = maxMonths;
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BucketKey, MonthBucket> eldest) {
+                if (size() > CachingEventDataAccessObject.this.maxMonths) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.overlapWindows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BucketKey, OverlapIndex> eldest) {
+                if (size() > CachingEventDataAccessObject.this.maxMonths) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized void setCurrentUsername(String username) {
+        this.currentUsername = username;
+    }
+
+    public synchronized String getCurrentUsername() {
+        return currentUsername;
+    }
+
+    // ---- UserEventDataAccessInterface ----
+
+    @Override
+    public synchronized void saveEvent(String username, Event event) {
+        delegate.saveEvent(username, event);
+        // The event may have moved to another month, so drop the old copy everywhere first
+        removeFromLoadedBuckets(username, event.getId());
+        MonthBucket bucket = buckets.get(new BucketKey(username, YearMonth.from(event.getStart())));
+        if (bucket != null) {
+            bucket.add(event);
+        }
+        indexSaved(username, event);
+    }
+
+    @Override
+    public synchronized void deleteEvent(String username, UUID eventId) {
+        delegate.deleteEvent(username, eventId);
+        removeFromLoadedBuckets(username, eventId);
+        indexDeleted(username, eventId);
+    }
+
+    @Override
+    public synchronized void saveEvents(String username, List<Event> events) {
+        delegate.saveEvents(username, events);
+        for (Event event : events) {
+            removeFromLoadedBuckets(username, event.getId());
+            MonthBucket bucket = buckets.get(new BucketKey(username, YearMonth.from(event.getStart())));
+            if (bucket != null) {
+                bucket.add(event);
+            }
+            indexSaved(username, event);
+        }
+    }
+
+    @Override
+    public synchronized void deleteEvents(String username, Collection<UUID> eventIds) {
+        delegate.deleteEvents(username, eventIds);
+        for (UUID eventId : eventIds) {
+            removeFromLoadedBuckets(username, eventId);
+            indexDeleted(username, eventId);
+        }
+    }
+
+    /** Ids found in loaded months are hits; the rest are fetched from the delegate in one call. */
+    @Override
+    public synchronized Map<UUID, Event> getEventsByIds(String username, Collection<UUID> eventIds) {
+        Map<UUID, Event> found = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID eventId : eventIds) {
+            Event event = findLoaded(username, eventId);
+            if (event != null) {
+                hits++;
+                found.put(eventId, event);
+            } else {
+                misses++;
+                missing.add(eventId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            found.putAll(delegate.getEventsByIds(username, missing));
+        }
+        return found;
+    }
+
+    /**
+     * Served from memory when the event lies in a loaded month; otherwise looked up
+     * in the delegate (without loading its month).
+     */
+    @Override
+    public synchronized Event getEvent(String username, UUID eventId) {
+        Event event = findLoaded(username, eventId);
+        if (event != null) {
+            hits++;
+            return event;
+        }
+        misses++;
+        return delegate.getEvent(username, eventId);
+    }
+
+    @Override
+    public synchronized List<Event> getEventsForDay(String username, LocalDate date) {
+        return new ArrayList<>(bucket(username, YearMonth.from(date)).day(date));
+    }
+
+    @Override
+    public synchronized Map<LocalDate, List<Event>> getEventsBetween(String username, LocalDate from, LocalDate to) {
+        Map<LocalDate, List<Event>> byDay = new TreeMap<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            for (Map.Entry<LocalDate, List<Event>> day : bucket(username, month).byDay.entrySet()) {
+                if (!day.getKey().isBefore(from) && !day.getKey().isAfter(to)) {
+                    byDay.put(day.getKey(), new ArrayList<>(day.getValue()));
+                }
+            }
+        }
+        return byDay;
+    }
+
+    /** Answered from the overlap windows of the months [start, end] touches. */
+    @Override
+    public synchronized List<Event> getEventsOverlapping(String username, LocalDateTime start, LocalDateTime end) {
+        List<OverlapIndex> windows = windows(username, start, end);
+        if (windows == null) {
+            return delegate.getEventsOverlapping(username, start, end);
+        }
+        // An event spanning several months is in each of their windows
+        Map<UUID, Event> found = new LinkedHashMap<>();
+        for (OverlapIndex window : windows) {
+            for (Event event : window.overlapping(start, end)) {
+                found.put(event.getId(), event);
+            }
+        }
+        List<Event> result = new ArrayList<>(found.values());
+        result.sort(Comparator.comparing(Event::getStart));
+        return result;
+    }
+
+    /**
+     * Whether an event at {@code location} (ignoring case), other than those in
+     * {@code excludeIds}, overlaps [start, end]. Only the location's interval tree
+     * in each month window is searched.
+     * @param username  whose events to check
+     * @param start     the start of the range
+     * @param end       the end of the range
+     * @param location  the location to check
+     * @param excludeIds events that do not count, e.g. the ones being edited
+     * @return true if there is a conflict
+     */
+    public synchronized boolean hasConflict(String username, LocalDateTime start, LocalDateTime end,
+                                            String location, Collection<UUID> excludeIds) {
+        List<OverlapIndex> windows = windows(username, start, end);
+        if (windows == null) {
+            for (Event other : delegate.getEventsOverlapping(username, start, end)) {
+                if (!excludeIds.contains(other.getId()) && other.getLocation().equalsIgnoreCase(location)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (OverlapIndex window : windows) {
+            if (window.conflicts(location, start, end, excludeIds)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ---- Use case ports (current user) ----
+
+    @Override
+    public boolean existById(UUID id) {
+        return get(id) != null;
+    }
+
+    @Override
+    public boolean exists(UUID id) {
+        return get(id) != null;
+    }
+
+    @Override
+    public synchronized void save(Event event) {
+        saveEvent(requireCurrentUsername(), event);
+    }
+
+    @Override
+    public synchronized Event get(UUID id) {
+        return getEvent(requireCurrentUsername(), id);
+    }
+
+    @Override
+    public synchronized void delete(UUID id) {
+        deleteEvent(requireCurrentUsername(), id);
+    }
+
+    @Override
+    public synchronized List<Event> getEventsForDay(LocalDate date) {
+        return getEventsForDay(requireCurrentUsername(), date);
+    }
+
+    @Override
+    public synchronized void saveAll(List<Event> events) {
+        saveEvents(requireCurrentUsername(), events);
+    }
+
+    @Override
+    public synchronized Map<UUID, Event> getByIds(Collection<UUID> ids) {
+        return getEventsByIds(requireCurrentUsername(), ids);
+    }
+
+    @Override
+    public synchronized void deleteAll(Collection<UUID> ids) {
+        deleteEvents(requireCurrentUsername(), ids);
+    }
+
+    @Override
+    public synchronized List<Event> getEventsOverlapping(LocalDateTime start, LocalDateTime end) {
+        return getEventsOverlapping(requireCurrentUsername(), start, end);
+    }
+
+    @Override
+    public synchronized List<Event> getEventsOverlapping(LocalDateTime start, LocalDateTime end, UUID excludeId) {
+        List<Event> result = new ArrayList<>(getEventsOverlapping(requireCurrentUsername(), start, end));
+        result.removeIf(event -> event.getId().equals(excludeId));
+        return result;
+    }
+
+    @Override
+    public synchronized boolean hasConflict(LocalDateTime start, LocalDateTime end, String location) {
+        return hasConflict(requireCurrentUsername(), start, end, location, Set.of());
+    }
+
+    @Override
+    public synchronized boolean hasConflict(LocalDateTime start, LocalDateTime end, String location,
+                                            Collection<UUID> excludeIds) {
+        return hasConflict(requireCurrentUsername(), start, end, location, excludeIds);
+    }
+
+    // ---- Memory-only reads, e.g. for a UI thread that must not wait on the database ----
+
+    /** @return true if the user's month is loaded, so reads of it are answered from memory */
+    public synchronized boolean isMonthLoaded(String username, YearMonth month) {
+        return buckets.containsKey(new BucketKey(username, month));
+    }
+
+    /**
+     * The user's events starting on {@code date}, ordered by start, if the month is
+     * loaded; an empty list otherwise. Never goes to the delegate.
+     */
+    public synchronized List<Event> getLoadedEventsForDay(String username, LocalDate date) {
+        MonthBucket bucket = buckets.get(new BucketKey(username, YearMonth.from(date)));
+        if (bucket == null) {
+            return new ArrayList<>();
+        }
+        hits++;
+        return new ArrayList<>(bucket.day(date));
+    }
+
+    // ---- Cache management and statistics ----
+
+    /** Drop every cached month, e.g. after another process changed the database. */
+    public synchronized void invalidateAll() {
+        buckets.clear();
+        overlapWindows.clear();
+    }
+
+    /** Drop the cached months of one user, e.g. on logout. */
+    public synchronized void invalidateUser(String username) {
+        buckets.keySet().removeIf(key -> key.username.equals(username));
+        overlapWindows.keySet().removeIf(key -> key.username.equals(username));
+    }
+
+    /** @return number of reads answered from memory */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /** @return number of reads that had to go to the delegate */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /** @return hits / (hits + misses), or 0 before the first read */
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /** @return number of month buckets and overlap windows dropped to stay within the size limit */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /** @return number of (user, month) buckets currently held */
+    public synchronized int getCachedMonthCount() {
+        return buckets.size();
+    }
+
+    private MonthBucket bucket(String username, YearMonth month) {
+        BucketKey key = new BucketKey(username, month);
+        MonthBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            hits++;
+            return bucket;
+        }
+        misses++;
+        bucket = new MonthBucket();
+        for (List<Event> day : delegate.getEventsBetween(username, month.atDay(1), month.atEndOfMonth()).values()) {
+            for (Event event : day) {
+                bucket.add(event);
+            }
+        }
+        buckets.put(key, bucket);
+        return bucket;
+    }
+
+    /**
+     * The overlap windows of the months [start, end] touches, loading the missing ones,
+     * or null if there are more of them than the cache holds.
+     */
+    private List<OverlapIndex> windows(String username, LocalDateTime start, LocalDateTime end) {
+        YearMonth first = YearMonth.from(start);
+        YearMonth last = YearMonth.from(end);
+        if (first.plusMonths(maxMonths - 1L).isBefore(last)) {
+            misses++;
+            return null;
+        }
+        List<OverlapIndex> windows = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            BucketKey key = new BucketKey(username, month);
+            OverlapIndex window = overlapWindows.get(key);
+            if (window != null) {
+                hits++;
+            } else {
+                misses++;
+                window = new OverlapIndex(month);
+                for (Event event : delegate.getEventsOverlapping(username, window.from, window.to)) {
+                    window.add(event);
+                }
+                overlapWindows.put(key, window);
+            }
+            windows.add(window);
+        }
+        return windows;
+    }
+
+    private void indexSaved(String username, Event event) {
+        for (Map.Entry<BucketKey, OverlapIndex> entry : overlapWindows.entrySet()) {
+            if (entry.getKey().username.equals(username)) {
+                OverlapIndex window = entry.getValue();
+                window.remove(event.getId());
+                if (window.covers(event)) {
+                    window.add(event);
+                }
+            }
+        }
+    }
+
+    private void indexDeleted(String username, UUID eventId) {
+        for (Map.Entry<BucketKey, OverlapIndex> entry : overlapWindows.entrySet()) {
+            if (entry.getKey().username.equals(username)) {
+                entry.getValue().remove(eventId);
+            }
+        }
+    }
+
+    private Event findLoaded(String username, UUID eventId) {
+        for (Map.Entry<BucketKey, MonthBucket> entry : buckets.entrySet()) {
+            if (entry.getKey().username.equals(username)) {
+                Event event = entry.getValue().byId.get(eventId);
+                if (event != null) {
+                    return event;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void removeFromLoadedBuckets(String username, UUID eventId) {
+        // Iterating the entries does not count as an access, so LRU order is kept
+        for (Map.Entry<BucketKey, MonthBucket> entry : buckets.entrySet()) {
+            if (entry.getKey().username.equals(username)) {
+                entry.getValue().remove(eventId);
+            }
+        }
+    }
+
+    private String requireCurrentUsername() {
+        if (currentUsername == null) {
+            throw new IllegalStateException("No current user set");
+        }
+        return currentUsername;
+    }
+
+    private static final class BucketKey {
+        private final String username;
+        private final YearMonth month;
+
+        BucketKey(String username, YearMonth month) {
+            this.username = username;
+            this.month = month;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BucketKey)) return false;
+            BucketKey other = (BucketKey) o;
+            return username.equals(other.username) && month.equals(other.month);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(username, month);
+        }
+    }
+
+    /**
+     * One user's events overlapping one month, in one interval tree per location
+     * (compared ignoring case).
+     */
+    private static final class OverlapIndex {
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final Map<String, EventIntervalTree> byLocation = new HashMap<>();
+        private final Map<UUID, EventIntervalTree> treeById = new HashMap<>();
+
+        OverlapIndex(YearMonth month) {
+            this.from = month.atDay(1).atStartOfDay();
+            this.to = month.atEndOfMonth().atTime(LocalTime.MAX);
+        }
+
+        boolean covers(Event event) {
+            return !event.getStart().isAfter(to) && !event.getEnd().isBefore(from);
+        }
+
+        void add(Event event) {
+            remove(event.getId());
+            EventIntervalTree tree = byLocation.computeIfAbsent(key(event.getLocation()), l -> new EventIntervalTree());
+            tree.insert(event);
+            treeById.put(event.getId(), tree);
+        }
+
+        void remove(UUID id) {
+            EventIntervalTree tree = treeById.remove(id);
+            if (tree != null) {
+                tree.remove(id);
+            }
+        }
+
+        List<Event> overlapping(LocalDateTime start, LocalDateTime end) {
+            List<Event> result = new ArrayList<>();
+            for (EventIntervalTree tree : byLocation.values()) {
+                result.addAll(tree.overlapping(start, end));
+            }
+            return result;
+        }
+
+        boolean conflicts(String location, LocalDateTime start, LocalDateTime end, Collection<UUID> excludeIds) {
+            EventIntervalTree tree = byLocation.get(key(location));
+            if (tree == null) {
+                return false;
+            }
+            if (excludeIds.isEmpty()) {
+                return tree.anyOverlap(start, end);
+            }
+            for (Event other : tree.overlapping(start, end)) {
+                if (!excludeIds.contains(other.getId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String key(String location) {
+            return location == null ? "" : location.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** One user's events in one month, indexed by id and by start date (ordered by start). */
+    private static final class MonthBucket {
+        private final Map<UUID, Event> byId = new LinkedHashMap<>();
+        private final Map<LocalDate, List<Event>> byDay = new TreeMap<>();
+
+        void add(Event event) {
+            byId.put(event.getId(), event);
+            List<Event> day = byDay.computeIfAbsent(event.getStart().toLocalDate(), d -> new ArrayList<>());
+            day.add(event);
+            day.sort(Comparator.comparing(Event::getStart));
+        }
+
+        void remove(UUID id) {
+            Event removed = byId.remove(id);
+            if (removed == null) {
+                return;
+            }
+            LocalDate date = removed.getStart().toLocalDate();
+            List<Event> day = byDay.get(date);
+            day.removeIf(event -> event.getId().equals(id));
+            if (day.isEmpty()) {
+                byDay.remove(date);
+            }
+        }
+
+        List<Event> day(LocalDate date) {
+            return byDay.getOrDefault(date, List.of());
+        }
+    }
+}
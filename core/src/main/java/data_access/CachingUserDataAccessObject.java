@@ -0,0 +1,173 @@
+package data_access;
+
+import entity.User;
+import use_case.change_password.ChangePasswordUserDataAccessInterface;
+import use_case.login.LoginUserDataAccessInterface;
+import use_case.logout.LogoutUserDataAccessInterface;
+import use_case.signup.SignupUserDataAccessInterface;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache of users in front of a user DAO, such as
+ * {@link SQLiteUserDataAccessObject} or {@link DBUserDataAccessObject}.
+ *
+ * {@link #findByName(String)} and {@link #get(String)} are answered from memory
+ * after the first lookup of a username, so a repeated login costs no query at all
+ * and a first one costs a single lookup. At most {@code maxEntries} users are kept;
+ * the least recently used one is evicted first. Unknown usernames are not cached,
+ * so a user that signs up elsewhere can log in right away.
+ *
+ * {@link #save(User)} and {@link #changePassword(User)} are written through to the
+ * delegate and drop the cached user, so the next lookup reads it back. A lookup that
+ * was already running when one of them happened is not cached either. Writes that
+ * bypass this object are not seen until the user is evicted or
+ * {@link #invalidate(String)} is called.
+ */
+public class CachingUserDataAccessObject implements SignupUserDataAccessInterface,
+                                                    LoginUserDataAccessInterface,
+                                                    ChangePasswordUserDataAccessInterface,
+                                                    LogoutUserDataAccessInterface {
+
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final LoginUserDataAccessInterface delegate;
+    private final ChangePasswordUserDataAccessInterface passwords;
+    private final int maxEntries;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, User> users;
+
+    // Bumped by every write, so a lookup that raced with one is not cached
+    private long writes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /** Keep up to {@link #DEFAULT_MAX_ENTRIES} users. */
+    public <T extends LoginUserDataAccessInterface & ChangePasswordUserDataAccessInterface>
+            CachingUserDataAccessObject(T delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param delegate   the DAO to look users up in and write through to
+     * @param maxEntries maximum number of users kept in memory
+     */
+    public <T extends LoginUserDataAccessInterface & ChangePasswordUserDataAccessInterface>
+            CachingUserDataAccessObject(T delegate, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.delegate = delegate;
+        this.passwords = delegate;
+        this.maxEntries = maxEntries;
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, User> eldest) {
+                if (size() > CachingUserDataAccessObject.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Optional<User> findByName(String username) {
+        long writesBefore;
+        synchronized (this) {
+            User cached = users.get(username);
+            if (cached != null) {
+                hits++;
+                return Optional.of(cached);
+            }
+            misses++;
+            writesBefore = writes;
+        }
+        Optional<User> found = delegate.findByName(username);
+        if (found.isPresent()) {
+            synchronized (this) {
+                if (writes == writesBefore) {
+                    users.put(username, found.get());
+                }
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public User get(String username) {
+        return findByName(username).orElse(null);
+    }
+
+    @Override
+    public boolean existsByName(String username) {
+        synchronized (this) {
+            if (users.containsKey(username)) {
+                hits++;
+                return true;
+            }
+            misses++;
+        }
+        return delegate.existsByName(username);
+    }
+
+    @Override
+    public void save(User user) {
+        try {
+            delegate.save(user);
+        } finally {
+            invalidate(user.getName());
+        }
+    }
+
+    @Override
+    public void changePassword(User user) {
+        try {
+            passwords.changePassword(user);
+        } finally {
+            invalidate(user.getName());
+        }
+    }
+
+    /** Drop {@code username}, e.g. after it was changed without going through this object. */
+    public synchronized void invalidate(String username) {
+        users.remove(username);
+        writes++;
+    }
+
+    @Override
+    public void setCurrentUsername(String name) {
+        delegate.setCurrentUsername(name);
+    }
+
+    @Override
+    public String getCurrentUsername() {
+        return delegate.getCurrentUsername();
+    }
+
+    // ---- metrics ----
+
+    /** Lookups answered from memory. */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /** Lookups that went to the delegate. */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized int getCachedUserCount() {
+        return users.size();
+    }
+}
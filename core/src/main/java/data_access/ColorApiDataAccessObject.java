@@ -1,8 +1,10 @@
 package data_access;
 
-import okhttp3.*;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import data_access.http.JsonReader;
+import data_access.http.SharedHttpClient;
+import okhttp3.Request;
+import okio.BufferedSource;
+import org.json.JSONException;
 import use_case.get_color_scheme.GetColorSchemeUserDataAccessInterface;
 
 import java.io.IOException;
@@ -14,12 +16,26 @@ import java.util.List;
  * Implements fetching color schemes from https://www.thecolorapi.com
  */
 public class ColorApiDataAccessObject implements GetColorSchemeUserDataAccessInterface {
-    private static final String BASE_URL = "https://www.thecolorapi.com/scheme";
+    public static final String BASE_URL = "https://www.thecolorapi.com/scheme";
     private static final int COLOR_COUNT = 5;
-    private final OkHttpClient client;
+
+    private static final JsonReader.Options SCHEME_FIELDS = JsonReader.Options.of("colors");
+    private static final JsonReader.Options COLOR_FIELDS = JsonReader.Options.of("hex");
+    private static final JsonReader.Options HEX_FIELDS = JsonReader.Options.of("clean");
+    private final SharedHttpClient http;
+    private final String baseUrl;
 
     public ColorApiDataAccessObject() {
-        this.client = new OkHttpClient().newBuilder().build();
+        this(SharedHttpClient.get(), BASE_URL);
+    }
+
+    /**
+     * @param http    HTTP client to use
+     * @param baseUrl URL of the scheme endpoint
+     */
+    public ColorApiDataAccessObject(SharedHttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
     }
 
     @Override
@@ -50,7 +66,7 @@ public class ColorApiDataAccessObject implements GetColorSchemeUserDataAccessInt
      * @return list of hex color codes
      */
     private List<String> getColorScheme(String hexColor, String mode, int count) {
-        String url = String.format("%s?hex=%s&mode=%s&count=%d", BASE_URL, hexColor, mode, count);
+        String url = String.format("%s?hex=%s&mode=%s&count=%d", baseUrl, hexColor, mode, count);
         
         Request request = new Request.Builder()
                 .url(url)
@@ -58,28 +74,65 @@ public class ColorApiDataAccessObject implements GetColorSchemeUserDataAccessInt
                 .build();
 
         try {
-            Response response = client.newCall(request).execute();
-            
-            if (!response.isSuccessful()) {
-                throw new IOException("Unexpected code " + response);
+            return http.fetch(request, ColorApiDataAccessObject::decodeScheme);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to fetch color scheme from API", e);
+        }
+    }
+
+    /**
+     * Reads {@code colors[].hex.clean} off the response body. A scheme response
+     * describes every color in several color spaces; all of that is skipped.
+     */
+    static List<String> decodeScheme(BufferedSource body) throws IOException {
+        JsonReader reader = new JsonReader(body);
+        List<String> hexColors = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.selectName(SCHEME_FIELDS) == 0) {
+                hexColors = new ArrayList<>(COLOR_COUNT);
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    hexColors.add(decodeCleanHex(reader));
+                }
+                reader.endArray();
+            } else {
+                reader.skipName();
+                reader.skipValue();
             }
+        }
+        reader.endObject();
+        if (hexColors == null) {
+            throw new JSONException("JSONObject[\"colors\"] not found.");
+        }
+        return hexColors;
+    }
 
-            String responseBody = response.body().string();
-            JSONObject jsonResponse = new JSONObject(responseBody);
-            JSONArray colorsArray = jsonResponse.getJSONArray("colors");
-            
-            List<String> hexColors = new ArrayList<>();
-            for (int i = 0; i < colorsArray.length(); i++) {
-                JSONObject colorObj = colorsArray.getJSONObject(i);
-                JSONObject hexObj = colorObj.getJSONObject("hex");
-                String cleanHex = hexObj.getString("clean");
-                hexColors.add(cleanHex);
+    private static String decodeCleanHex(JsonReader reader) throws IOException {
+        String clean = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.selectName(COLOR_FIELDS) == 0) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.selectName(HEX_FIELDS) == 0) {
+                        clean = reader.nextString();
+                    } else {
+                        reader.skipName();
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } else {
+                reader.skipName();
+                reader.skipValue();
             }
-            
-            return hexColors;
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to fetch color scheme from API", e);
         }
+        reader.endObject();
+        if (clean == null) {
+            throw new JSONException("JSONObject[\"clean\"] not found.");
+        }
+        return clean;
     }
 }
 
@@ -1,5 +1,6 @@
 package data_access;
 
+import data_access.http.SharedHttpClient;
 import entity.User;
 import entity.UserFactory;
 import okhttp3.*;
@@ -11,6 +12,7 @@ import use_case.logout.LogoutUserDataAccessInterface;
 import use_case.signup.SignupUserDataAccessInterface;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * The DAO for user data.
@@ -27,25 +29,24 @@ public class DBUserDataAccessObject implements SignupUserDataAccessInterface,
     private static final String PASSWORD = "password";
     private static final String MESSAGE = "message";
     private final UserFactory userFactory;
+    private final SharedHttpClient http;
 
     private String currentUsername;
 
     public DBUserDataAccessObject(UserFactory userFactory) {
+        this(userFactory, SharedHttpClient.get());
+    }
+
+    public DBUserDataAccessObject(UserFactory userFactory, SharedHttpClient http) {
         this.userFactory = userFactory;
+        this.http = http;
     }
 
     @Override
     public User get(String username) {
         // Make an API call to get the user object.
-        final OkHttpClient client = new OkHttpClient().newBuilder().build();
-        final Request request = new Request.Builder()
-                .url(String.format("http://vm003.teach.cs.toronto.edu:20112/user?username=%s", username))
-                .addHeader("Content-Type", CONTENT_TYPE_JSON)
-                .build();
         try {
-            final Response response = client.newCall(request).execute();
-
-            final JSONObject responseBody = new JSONObject(response.body().string());
+            final JSONObject responseBody = new JSONObject(readBody(userRequest(username)));
 
             if (responseBody.getInt(STATUS_CODE_LABEL) == SUCCESS_CODE) {
                 final JSONObject userJSONObject = responseBody.getJSONObject("user");
@@ -63,6 +64,36 @@ public class DBUserDataAccessObject implements SignupUserDataAccessInterface,
         }
     }
 
+    /**
+     * Gets the user with a single API call, instead of checking that it exists first.
+     * The service answers with a non-success status_code when there is no such user.
+     */
+    @Override
+    public Optional<User> findByName(String username) {
+        try {
+            final JSONObject responseBody = new JSONObject(readBody(userRequest(username)));
+
+            if (responseBody.getInt(STATUS_CODE_LABEL) != SUCCESS_CODE) {
+                return Optional.empty();
+            }
+            final JSONObject userJSONObject = responseBody.getJSONObject("user");
+            final String name = userJSONObject.getString(USERNAME);
+            final String password = userJSONObject.getString(PASSWORD);
+
+            return Optional.of(userFactory.create(name, password));
+        }
+        catch (IOException | JSONException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static Request userRequest(String username) {
+        return new Request.Builder()
+                .url(String.format("http://vm003.teach.cs.toronto.edu:20112/user?username=%s", username))
+                .addHeader(CONTENT_TYPE_LABEL, CONTENT_TYPE_JSON)
+                .build();
+    }
+
     @Override
     public void setCurrentUsername(String name) {
         currentUsername = name;
@@ -75,16 +106,12 @@ public class DBUserDataAccessObject implements SignupUserDataAccessInterface,
 
     @Override
     public boolean existsByName(String username) {
-        final OkHttpClient client = new OkHttpClient().newBuilder()
-                .build();
         final Request request = new Request.Builder()
                 .url(String.format("http://vm003.teach.cs.toronto.edu:20112/checkIfUserExists?username=%s", username))
                 .addHeader(CONTENT_TYPE_LABEL, CONTENT_TYPE_JSON)
                 .build();
         try {
-            final Response response = client.newCall(request).execute();
-
-            final JSONObject responseBody = new JSONObject(response.body().string());
+            final JSONObject responseBody = new JSONObject(readBody(request));
 
             //                throw new RuntimeException(responseBody.getString("message"));
             return responseBody.getInt(STATUS_CODE_LABEL) == SUCCESS_CODE;
@@ -96,9 +123,6 @@ public class DBUserDataAccessObject implements SignupUserDataAccessInterface,
 
     @Override
     public void save(User user) {
-        final OkHttpClient client = new OkHttpClient().newBuilder()
-                .build();
-
         // POST METHOD
         final MediaType mediaType = MediaType.parse(CONTENT_TYPE_JSON);
         final JSONObject requestBody = new JSONObject();
@@ -111,9 +135,7 @@ public class DBUserDataAccessObject implements SignupUserDataAccessInterface,
                 .addHeader(CONTENT_TYPE_LABEL, CONTENT_TYPE_JSON)
                 .build();
         try {
-            final Response response = client.newCall(request).execute();
-
-            final JSONObject responseBody = new JSONObject(response.body().string());
+            final JSONObject responseBody = new JSONObject(readBody(request));
 
             if (responseBody.getInt(STATUS_CODE_LABEL) == SUCCESS_CODE) {
                 // success!
@@ -129,9 +151,6 @@ public class DBUserDataAccessObject implements SignupUserDataAccessInterface,
 
     @Override
     public void changePassword(User user) {
-        final OkHttpClient client = new OkHttpClient().newBuilder()
-                                        .build();
-
         // POST METHOD
         final MediaType mediaType = MediaType.parse(CONTENT_TYPE_JSON);
         final JSONObject requestBody = new JSONObject();
@@ -144,9 +163,7 @@ public class DBUserDataAccessObject implements SignupUserDataAccessInterface,
                                     .addHeader(CONTENT_TYPE_LABEL, CONTENT_TYPE_JSON)
                                     .build();
         try {
-            final Response response = client.newCall(request).execute();
-
-            final JSONObject responseBody = new JSONObject(response.body().string());
+            final JSONObject responseBody = new JSONObject(readBody(request));
 
             if (responseBody.getInt(STATUS_CODE_LABEL) == SUCCESS_CODE) {
                 // success!
@@ -159,4 +176,12 @@ public class DBUserDataAccessObject implements SignupUserDataAccessInterface,
             throw new RuntimeException(ex);
         }
     }
+
+    /**
+     * The body of the response to {@code request}, whatever its status: the user
+     * service reports errors in the body's status_code.
+     */
+    private String readBody(Request request) throws IOException {
+        return http.execute(request, response -> response.body().string());
+    }
 }
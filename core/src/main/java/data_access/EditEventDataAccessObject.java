@@ -3,6 +3,12 @@ package data_access;
 import entity.Event;
 import use_case.edit_events.EditEventEventDataAccessInterface;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -28,4 +34,36 @@ public class EditEventDataAccessObject implements EditEventEventDataAccessInterf
     public boolean exists(UUID id) {
         return events.containsKey(id);
     }
+
+    @Override
+    public Map<UUID, Event> getByIds(Collection<UUID> ids) {
+        Map<UUID, Event> found = new HashMap<>();
+        for (UUID id : ids) {
+            Event event = events.get(id);
+            if (event != null) {
+                found.put(id, event);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void saveAll(List<Event> events) {
+        for (Event event : events) {
+            this.events.put(event.getId(), event);
+        }
+    }
+
+    @Override
+    public List<Event> getEventsOverlapping(LocalDateTime start, LocalDateTime end, UUID excludeId) {
+        List<Event> result = new ArrayList<>();
+        for (Event event : events.values()) {
+            if (!event.getId().equals(excludeId)
+                    && !event.getStart().isAfter(end) && !event.getEnd().isBefore(start)) {
+                result.add(event);
+            }
+        }
+        result.sort(Comparator.comparing(Event::getStart));
+        return result;
+    }
 }
\ No newline at end of file
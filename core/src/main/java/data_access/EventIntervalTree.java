@@ -0,0 +1,248 @@
+package data_access;
+
+import entity.Event;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Interval index over events, for conflict checks.
+ *
+ * An AVL tree ordered by (start, end, id) where every node also stores the
+ * largest end time in its subtree. Overlap queries skip every subtree whose
+ * largest end lies before the query start, and everything right of a node that
+ * starts after the query end, so they run in O(log n + k) for k matches.
+ * Inserts and removals are O(log n).
+ *
+ * Intervals are closed: events that only touch at an endpoint overlap, which is
+ * the rule {@code AddEventInteractor} has always used. Times are keyed as epoch
+ * millis (wall clock read as UTC), like the SQLite DAO's epoch columns.
+ *
+ * The tree holds whatever set of events it is given, so callers build one per
+ * user, per location, or per (user, location) as needed. Not thread-safe.
+ */
+public class EventIntervalTree {
+
+    private Node root;
+    private final Map<UUID, Node> nodesById = new HashMap<>();
+
+    /** Add an event, replacing any event already in the tree with the same id. */
+    public void insert(Event event) {
+        remove(event.getId());
+        Node node = new Node(event);
+        root = insert(root, node);
+        nodesById.put(event.getId(), node);
+    }
+
+    /**
+     * Remove the event with the given id.
+     * @return true if the tree contained it
+     */
+    public boolean remove(UUID id) {
+        Node node = nodesById.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = remove(root, node);
+        return true;
+    }
+
+    public boolean contains(UUID id) {
+        return nodesById.containsKey(id);
+    }
+
+    public Event get(UUID id) {
+        Node node = nodesById.get(id);
+        return node == null ? null : node.event;
+    }
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    /** @return true if any event overlaps [start, end] */
+    public boolean anyOverlap(LocalDateTime start, LocalDateTime end) {
+        return anyOverlap(root, toEpochMillis(start), toEpochMillis(end));
+    }
+
+    /** @return every event overlapping [start, end], ordered by start */
+    public List<Event> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<Event> result = new ArrayList<>();
+        collect(root, toEpochMillis(start), toEpochMillis(end), result);
+        return result;
+    }
+
+    static long toEpochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // ---- queries ----
+
+    private static boolean anyOverlap(Node node, long start, long end) {
+        while (node != null && node.maxEnd >= start) {
+            if (node.left != null && node.left.maxEnd >= start) {
+                // Something on the left ends late enough; it overlaps iff it starts early enough,
+                // and if nothing on the left does, nothing further right can either.
+                node = node.left;
+                continue;
+            }
+            if (node.start > end) {
+                return false;
+            }
+            if (node.end >= start) {
+                return true;
+            }
+            node = node.right;
+        }
+        return false;
+    }
+
+    private static void collect(Node node, long start, long end, List<Event> out) {
+        if (node == null || node.maxEnd < start) {
+            return;
+        }
+        collect(node.left, start, end, out);
+        if (node.start > end) {
+            return; // this node and its right subtree start after the query ends
+        }
+        if (node.end >= start) {
+            out.add(node.event);
+        }
+        collect(node.right, start, end, out);
+    }
+
+    // ---- AVL maintenance ----
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private static Node remove(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(removed, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, removed);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, removed);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace with the smallest node of the right subtree
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int compare(Node a, Node b) {
+        int cmp = Long.compare(a.start, b.start);
+        if (cmp == 0) {
+            cmp = Long.compare(a.end, b.end);
+        }
+        if (cmp == 0) {
+            cmp = a.event.getId().compareTo(b.event.getId());
+        }
+        return cmp;
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        private final Event event;
+        private final long start;
+        private final long end;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        Node(Event event) {
+            this.event = event;
+            this.start = toEpochMillis(event.getStart());
+            this.end = toEpochMillis(event.getEnd());
+            this.maxEnd = end;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.io.*;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * DAO for user data implemented using a File to persist the data.
@@ -100,6 +101,11 @@ public class FileUserDataAccessObject implements SignupUserDataAccessInterface,
         return accounts.get(username);
     }
 
+    @Override
+    public Optional<User> findByName(String username) {
+        return Optional.ofNullable(accounts.get(username));
+    }
+
     @Override
     public void setCurrentUsername(String name) {
         currentUsername = name;
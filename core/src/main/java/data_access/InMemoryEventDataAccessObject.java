@@ -0,0 +1,94 @@
+package data_access;
+
+import entity.Event;
+import use_case.addEvent.EventMethodsDataAccessInterface;
+import use_case.edit_events.EditEventEventDataAccessInterface;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory implementation of the event DAO for a single calendar.
+ * Events are kept in an {@link EventIntervalTree}, so overlap checks stay
+ * logarithmic however many events are stored. Nothing is persisted.
+ */
+public class InMemoryEventDataAccessObject implements EventMethodsDataAccessInterface,
+                                                      EditEventEventDataAccessInterface {
+
+    private final EventIntervalTree events = new EventIntervalTree();
+
+    @Override
+    public boolean existById(UUID id) {
+        return events.contains(id);
+    }
+
+    @Override
+    public boolean exists(UUID id) {
+        return events.contains(id);
+    }
+
+    @Override
+    public void save(Event event) {
+        events.insert(event);
+    }
+
+    @Override
+    public Event get(UUID id) {
+        return events.get(id);
+    }
+
+    @Override
+    public void delete(UUID id) {
+        events.remove(id);
+    }
+
+    @Override
+    public void saveAll(List<Event> events) {
+        for (Event event : events) {
+            this.events.insert(event);
+        }
+    }
+
+    @Override
+    public Map<UUID, Event> getByIds(Collection<UUID> ids) {
+        Map<UUID, Event> found = new HashMap<>();
+        for (UUID id : ids) {
+            Event event = events.get(id);
+            if (event != null) {
+                found.put(id, event);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        for (UUID id : ids) {
+            events.remove(id);
+        }
+    }
+
+    @Override
+    public List<Event> getEventsForDay(LocalDate date) {
+        return events.overlapping(date.atStartOfDay(), date.atTime(23, 59, 59, 999_999_999)).stream()
+                .filter(event -> event.getStart().toLocalDate().equals(date))
+                .toList();
+    }
+
+    @Override
+    public List<Event> getEventsOverlapping(LocalDateTime start, LocalDateTime end) {
+        return events.overlapping(start, end);
+    }
+
+    @Override
+    public List<Event> getEventsOverlapping(LocalDateTime start, LocalDateTime end, UUID excludeId) {
+        List<Event> result = events.overlapping(start, end);
+        result.removeIf(event -> event.getId().equals(excludeId));
+        return result;
+    }
+}
@@ -8,6 +8,7 @@ import use_case.signup.SignupUserDataAccessInterface;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * In-memory implementation of the DAO for storing user data. This implementation does
@@ -37,6 +38,11 @@ public class InMemoryUserDataAccessObject implements SignupUserDataAccessInterfa
         return users.get(username);
     }
 
+    @Override
+    public Optional<User> findByName(String username) {
+        return Optional.ofNullable(users.get(username));
+    }
+
     @Override
     public void setCurrentUsername(String name) {
         currentUsername = name;
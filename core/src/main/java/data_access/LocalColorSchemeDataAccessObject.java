@@ -0,0 +1,162 @@
+package data_access;
+
+import use_case.get_color_scheme.ColorSchemeMode;
+import use_case.get_color_scheme.GetColorSchemeUserDataAccessInterface;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Color schemes computed in-process instead of fetched from The Color API.
+ *
+ * These are our own HSL transforms, in the spirit of the API's monochrome,
+ * analogic, complement and monochrome-light modes, computed in microseconds and
+ * without the network. They are not checked against the API and its colors will
+ * differ; the complementary scheme in particular is our own guess. With the picked
+ * color's hue H, saturation S and lightness L, for {@code count} colors:
+ * <ul>
+ *   <li>monochromatic: hue H, saturation S, lightness stepping from dark up to L;</li>
+ *   <li>analogous: saturation S and lightness L, hues {@link #ANALOGOUS_STEP} degrees
+ *       apart centered on H;</li>
+ *   <li>complementary: as monochromatic, on the opposite hue;</li>
+ *   <li>neutral: hue H, saturation S, lightness stepping from L up towards white.</li>
+ * </ul>
+ */
+public class LocalColorSchemeDataAccessObject implements GetColorSchemeUserDataAccessInterface {
+
+    public static final int DEFAULT_COUNT = 5;
+    public static final double ANALOGOUS_STEP = 30;
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final int count;
+
+    public LocalColorSchemeDataAccessObject() {
+        this(DEFAULT_COUNT);
+    }
+
+    /**
+     * @param count number of colors in each scheme
+     */
+    public LocalColorSchemeDataAccessObject(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be at least 1");
+        }
+        this.count = count;
+    }
+
+    @Override
+    public List<String> getMonochromaticScheme(String hexColor) {
+        return getScheme(ColorSchemeMode.MONOCHROMATIC, hexColor);
+    }
+
+    @Override
+    public List<String> getAnalogousScheme(String hexColor) {
+        return getScheme(ColorSchemeMode.ANALOGOUS, hexColor);
+    }
+
+    @Override
+    public List<String> getComplementaryScheme(String hexColor) {
+        return getScheme(ColorSchemeMode.COMPLEMENTARY, hexColor);
+    }
+
+    @Override
+    public List<String> getNeutralScheme(String hexColor) {
+        return getScheme(ColorSchemeMode.NEUTRAL, hexColor);
+    }
+
+    @Override
+    public List<String> getScheme(ColorSchemeMode mode, String hexColor) {
+        int rgb = parseHex(hexColor);
+        double r = ((rgb >> 16) & 0xFF) / 255.0;
+        double g = ((rgb >> 8) & 0xFF) / 255.0;
+        double b = (rgb & 0xFF) / 255.0;
+
+        // RGB -> HSL, hue in degrees, saturation and lightness in 0..1
+        double max = Math.max(r, Math.max(g, b));
+        double min = Math.min(r, Math.min(g, b));
+        double lightness = (max + min) / 2;
+        double hue = 0;
+        double saturation = 0;
+        double chroma = max - min;
+        if (chroma > 0) {
+            saturation = chroma / (1 - Math.abs(2 * lightness - 1));
+            if (max == r) {
+                hue = 60 * (((g - b) / chroma) % 6);
+            } else if (max == g) {
+                hue = 60 * ((b - r) / chroma + 2);
+            } else {
+                hue = 60 * ((r - g) / chroma + 4);
+            }
+        }
+
+        String[] colors = new String[count];
+        for (int i = 0; i < count; i++) {
+            switch (mode) {
+                case MONOCHROMATIC:
+                    colors[i] = toHex(hue, saturation, lightness * (i + 1) / count);
+                    break;
+                case ANALOGOUS:
+                    colors[i] = toHex(hue + (i - (count - 1) / 2.0) * ANALOGOUS_STEP, saturation, lightness);
+                    break;
+                case COMPLEMENTARY:
+                    colors[i] = toHex(hue + 180, saturation, lightness * (i + 1) / count);
+                    break;
+                default:
+                    colors[i] = toHex(hue, saturation, lightness + (1 - lightness) * i / count);
+            }
+        }
+        return Arrays.asList(colors);
+    }
+
+    /** Nothing to wait for, so the scheme is computed on the caller's thread. */
+    @Override
+    public CompletableFuture<List<String>> getSchemeAsync(ColorSchemeMode mode, String hexColor, Executor executor) {
+        try {
+            return CompletableFuture.completedFuture(getScheme(mode, hexColor));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static int parseHex(String hexColor) {
+        String hex = hexColor.startsWith("#") ? hexColor.substring(1) : hexColor;
+        if (hex.length() != 6) {
+            throw new IllegalArgumentException("Invalid hex color: " + hexColor);
+        }
+        int rgb = 0;
+        for (int i = 0; i < 6; i++) {
+            int digit = Character.digit(hex.charAt(i), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid hex color: " + hexColor);
+            }
+            rgb = rgb << 4 | digit;
+        }
+        return rgb;
+    }
+
+    /** HSL -> uppercase RRGGBB, like the API's {@code hex.clean}. */
+    private static String toHex(double hue, double saturation, double lightness) {
+        double h = ((hue % 360) + 360) % 360;
+        double a = saturation * Math.min(lightness, 1 - lightness);
+        char[] hex = new char[6];
+        putByte(hex, 0, channel(0, h, a, lightness));
+        putByte(hex, 2, channel(8, h, a, lightness));
+        putByte(hex, 4, channel(4, h, a, lightness));
+        return new String(hex);
+    }
+
+    // One RGB channel of an HSL color: n is 0 for red, 8 for green, 4 for blue
+    private static double channel(int n, double hue, double a, double lightness) {
+        double k = (n + hue / 30) % 12;
+        return lightness - a * Math.max(-1, Math.min(Math.min(k - 3, 9 - k), 1));
+    }
+
+    private static void putByte(char[] hex, int at, double channel) {
+        int value = (int) Math.round(Math.max(0, Math.min(1, channel)) * 255);
+        hex[at] = HEX_DIGITS[value >> 4];
+        hex[at + 1] = HEX_DIGITS[value & 0xF];
+    }
+}
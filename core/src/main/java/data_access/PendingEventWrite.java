@@ -0,0 +1,34 @@
+package data_access;
+
+import entity.Event;
+
+import java.util.UUID;
+
+/**
+ * A save or delete waiting in {@link BatchingEventWriter} to be written to SQLite.
+ * A delete has no event.
+ */
+class PendingEventWrite {
+    private final String username;
+    private final UUID eventId;
+    private final Event event;
+
+    private PendingEventWrite(String username, UUID eventId, Event event) {
+        this.username = username;
+        this.eventId = eventId;
+        this.event = event;
+    }
+
+    static PendingEventWrite save(String username, Event event) {
+        return new PendingEventWrite(username, event.getId(), event);
+    }
+
+    static PendingEventWrite delete(String username, UUID eventId) {
+        return new PendingEventWrite(username, eventId, null);
+    }
+
+    String getUsername() { return username; }
+    UUID getEventId() { return eventId; }
+    Event getEvent() { return event; }
+    boolean isDelete() { return event == null; }
+}
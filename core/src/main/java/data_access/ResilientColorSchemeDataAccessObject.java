@@ -0,0 +1,115 @@
+package data_access;
+
+import data_access.resilience.ResilienceException;
+import data_access.resilience.ResilientCaller;
+import use_case.get_color_scheme.GetColorSchemeUserDataAccessInterface;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Color scheme DAO that stays responsive while The Color API is slow or down.
+ *
+ * Every scheme request goes through a {@link ResilientCaller} endpoint shared by the
+ * four scheme modes, so once the API is found unreachable the remaining requests of
+ * an action fail in milliseconds instead of each waiting for its own timeout. The
+ * last good scheme for each (mode, color) is remembered, at most {@code maxFallbackEntries}
+ * of them, and returned when the API cannot be reached.
+ */
+public class ResilientColorSchemeDataAccessObject implements GetColorSchemeUserDataAccessInterface {
+
+    public static final String ENDPOINT = "thecolorapi";
+    public static final int DEFAULT_MAX_FALLBACK_ENTRIES = 256;
+
+    private final GetColorSchemeUserDataAccessInterface delegate;
+    private final ResilientCaller caller;
+    private final int maxFallbackEntries;
+
+    // Access-ordered, so iteration starts at the least recently used scheme
+    private final LinkedHashMap<String, List<String>> lastSchemes;
+
+    private long fallbacks;
+
+    public ResilientColorSchemeDataAccessObject(GetColorSchemeUserDataAccessInterface delegate) {
+        this(delegate, new ResilientCaller(), DEFAULT_MAX_FALLBACK_ENTRIES);
+    }
+
+    /**
+     * @param delegate           where to fetch schemes
+     * @param caller             runs the calls with breaker, timeout and retries
+     * @param maxFallbackEntries maximum number of last good schemes kept
+     */
+    public ResilientColorSchemeDataAccessObject(GetColorSchemeUserDataAccessInterface delegate,
+                                                ResilientCaller caller,
+                                                int maxFallbackEntries) {
+        if (maxFallbackEntries < 1) {
+            throw new IllegalArgumentException("maxFallbackEntries must be at least 1");
+        }
+        this.delegate = delegate;
+        this.caller = caller;
+        this.maxFallbackEntries = maxFallbackEntries;
+        this.lastSchemes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                return size() > ResilientColorSchemeDataAccessObject.this.maxFallbackEntries;
+            }
+        };
+    }
+
+    @Override
+    public List<String> getMonochromaticScheme(String hexColor) {
+        return fetch("monochrome", hexColor, () -> delegate.getMonochromaticScheme(hexColor));
+    }
+
+    @Override
+    public List<String> getAnalogousScheme(String hexColor) {
+        return fetch("analogic", hexColor, () -> delegate.getAnalogousScheme(hexColor));
+    }
+
+    @Override
+    public List<String> getComplementaryScheme(String hexColor) {
+        return fetch("complement", hexColor, () -> delegate.getComplementaryScheme(hexColor));
+    }
+
+    @Override
+    public List<String> getNeutralScheme(String hexColor) {
+        return fetch("monochrome-light", hexColor, () -> delegate.getNeutralScheme(hexColor));
+    }
+
+    private List<String> fetch(String mode, String hexColor, ResilientCaller.UpstreamCall<List<String>> upstream) {
+        String key = mode + ":" + hexColor.toUpperCase(Locale.ROOT);
+        try {
+            List<String> scheme = caller.call(ENDPOINT, upstream);
+            synchronized (this) {
+                lastSchemes.put(key, scheme);
+            }
+            return scheme;
+        } catch (ResilienceException ex) {
+            if (!ex.isUnavailable() && ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            List<String> last;
+            synchronized (this) {
+                last = ex.isUnavailable() ? lastSchemes.get(key) : null;
+                if (last != null) {
+                    fallbacks++;
+                }
+            }
+            if (last == null) {
+                throw new RuntimeException("Failed to fetch color scheme: " + ex.getMessage(), ex);
+            }
+            return last;
+        }
+    }
+
+    /** Schemes answered with an earlier result because the API could not be reached in time. */
+    public synchronized long getFallbackCount() {
+        return fallbacks;
+    }
+
+    public ResilientCaller getCaller() {
+        return caller;
+    }
+}
@@ -0,0 +1,295 @@
+package data_access;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shared, long-lived connections to one SQLite database file.
+ *
+ * SQLite only ever allows one writer at a time, so this provider keeps a single
+ * writer connection (guarded by a lock) plus a small bounded pool of reader
+ * connections that are opened lazily. Every connection runs in WAL mode with
+ * synchronous=NORMAL, and keeps its own prepared-statement cache so a DAO only
+ * pays for parsing a statement the first time it is used.
+ *
+ * DAOs should obtain the provider through {@link #forPath(String)} so that all
+ * DAOs pointing at the same file share the same connections.
+ */
+public class SQLiteConnectionProvider implements AutoCloseable {
+
+    private static final String DB_URL_PREFIX = "jdbc:sqlite:";
+    private static final int DEFAULT_READER_COUNT = 4;
+    private static final int BUSY_TIMEOUT_MS = 5000;
+
+    private static final Map<String, SQLiteConnectionProvider> SHARED = new ConcurrentHashMap<>();
+
+    // Explicitly load the SQLite JDBC driver
+    static {
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("SQLite JDBC driver not found. Make sure sqlite-jdbc is on the classpath.", e);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(SQLiteConnectionProvider::closeAll,
+                "sqlite-connection-shutdown"));
+    }
+
+    /**
+     * Work to run against a pooled connection.
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T apply(Session session) throws SQLException;
+    }
+
+    private final String url;
+    private final int maxReaders;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final BlockingQueue<Session> idleReaders;
+    private final List<Session> allReaders = new ArrayList<>();
+    private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+    private Session writer;
+    private volatile boolean closed;
+
+    /**
+     * Returns the provider shared by every DAO using the given database file.
+     * @param dbPath the path to the SQLite database file
+     * @return the shared provider for that file
+     */
+    public static SQLiteConnectionProvider forPath(String dbPath) {
+        String key = new File(dbPath).getAbsolutePath();
+        return SHARED.computeIfAbsent(key, path -> new SQLiteConnectionProvider(path, DEFAULT_READER_COUNT));
+    }
+
+    /** Closes every shared provider. Registered as a JVM shutdown hook. */
+    public static void closeAll() {
+        for (SQLiteConnectionProvider provider : SHARED.values()) {
+            provider.close();
+        }
+        SHARED.clear();
+    }
+
+    /**
+     * Creates a provider that is not shared with other DAOs.
+     * Prefer {@link #forPath(String)} unless the connections must be isolated.
+     * @param dbPath the path to the SQLite database file
+     * @param maxReaders maximum number of reader connections kept open
+     */
+    public SQLiteConnectionProvider(String dbPath, int maxReaders) {
+        if (maxReaders < 1) {
+            throw new IllegalArgumentException("maxReaders must be at least 1");
+        }
+        this.url = DB_URL_PREFIX + dbPath;
+        this.maxReaders = maxReaders;
+        this.idleReaders = new ArrayBlockingQueue<>(maxReaders);
+    }
+
+    /**
+     * Runs read-only work on one of the reader connections.
+     * Blocks if all reader connections are currently in use.
+     */
+    public <T> T read(SqlWork<T> work) throws SQLException {
+        Session session = acquireReader();
+        try {
+            return work.apply(session);
+        } finally {
+            if (closed) {
+                session.close();
+            } else {
+                idleReaders.offer(session);
+            }
+        }
+    }
+
+    /**
+     * Runs work on the single writer connection in autocommit mode.
+     */
+    public <T> T write(SqlWork<T> work) throws SQLException {
+        writeLock.lock();
+        try {
+            return work.apply(writer());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Runs work on the writer connection inside one transaction.
+     * The transaction is rolled back if the work throws.
+     */
+    public <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        writeLock.lock();
+        try {
+            Session session = writer();
+            Connection connection = session.connection();
+            connection.setAutoCommit(false);
+            try {
+                T result = work.apply(session);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Registers work to run before the connections are closed, e.g. flushing
+     * buffered writes. Listeners also run when the JVM shuts down.
+     */
+    public void addCloseListener(Runnable listener) {
+        closeListeners.add(listener);
+    }
+
+    public void removeCloseListener(Runnable listener) {
+        closeListeners.remove(listener);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        for (Runnable listener : closeListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException ex) {
+                System.err.println("Close listener failed: " + ex.getMessage());
+            }
+        }
+        writeLock.lock();
+        try {
+            synchronized (allReaders) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                for (Session reader : allReaders) {
+                    reader.close();
+                }
+                allReaders.clear();
+                idleReaders.clear();
+            }
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Session writer() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection provider is closed: " + url);
+        }
+        if (writer == null) {
+            writer = open();
+        }
+        return writer;
+    }
+
+    private Session acquireReader() throws SQLException {
+        Session session = idleReaders.poll();
+        if (session != null) {
+            return session;
+        }
+        // Make sure the writer has switched the file to WAL before readers attach.
+        write(Session::connection);
+        synchronized (allReaders) {
+            if (closed) {
+                throw new SQLException("Connection provider is closed: " + url);
+            }
+            if (allReaders.size() < maxReaders) {
+                Session opened = open();
+                allReaders.add(opened);
+                return opened;
+            }
+        }
+        try {
+            return idleReaders.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", ex);
+        }
+    }
+
+    private Session open() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MS);
+        }
+        return new Session(connection);
+    }
+
+    /**
+     * A pooled connection together with its prepared-statement cache.
+     * Statements returned by {@link #prepare(String)} are owned by the session
+     * and must not be closed by the caller; result sets still must be.
+     */
+    public static class Session {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        Session(Connection connection) {
+            this.connection = connection;
+        }
+
+        /** @return the underlying JDBC connection (do not close it). */
+        public Connection connection() {
+            return connection;
+        }
+
+        /**
+         * Returns a cached prepared statement for the given SQL, preparing it on first use.
+         * Parameters left over from a previous use are cleared.
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            } else {
+                statement.clearParameters();
+            }
+            return statement;
+        }
+
+        void close() {
+            for (PreparedStatement statement : statements.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException ignored) {
+                    // closing anyway
+                }
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // closing anyway
+            }
+        }
+    }
+}
@@ -2,16 +2,21 @@ package data_access;
 
 import entity.Event;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import java.sql.Statement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 /**
@@ -19,20 +24,127 @@ import java.util.UUID;
  * This class:
  *   1) Ensures the table exists.
  *   2) Provides simple CRUD methods for events.
+ *
+ * Connections come from the shared {@link SQLiteConnectionProvider}, so repeated
+ * calls (e.g. one per day cell while rendering a month) reuse the same open
+ * connection and cached prepared statements.
+ *
+ * Besides the ISO-8601 text columns, every row stores its start and end as
+ * epoch milliseconds (start_epoch / end_epoch). Day and range lookups filter on
+ * start_epoch through the (username, start_epoch) index, so they are index range
+ * scans instead of evaluating date(start_datetime) for every row. Overlap queries
+ * scan a window of start_epoch one day wide plus the query range, and read events
+ * longer than a day from the (username, end_epoch - start_epoch) index.
+ * The schema version is tracked in PRAGMA user_version and upgraded on startup.
  */
-public class SQLiteEventDataAccessObject {
+public class SQLiteEventDataAccessObject implements UserEventDataAccessInterface {
 
     // You can change the path if needed; for now it creates "smartcalendar.db" in the working dir.
-    private static final String DB_URL = "jdbc:sqlite:smartcalendar.db";
+    private static final String DEFAULT_DB_PATH = "smartcalendar.db";
+
+    /** Schema version this DAO expects; see {@link #migrateSchema()}. */
+    static final int SCHEMA_VERSION = 2;
+
+    private static final String SAVE_SQL = """
+            INSERT INTO events (id, username, title, start_datetime, end_datetime,
+                                start_epoch, end_epoch,
+                                location, category, reminder_message)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT(id) DO UPDATE SET
+                title = excluded.title,
+                start_datetime = excluded.start_datetime,
+                end_datetime = excluded.end_datetime,
+                start_epoch = excluded.start_epoch,
+                end_epoch = excluded.end_epoch,
+                location = excluded.location,
+                category = excluded.category,
+                reminder_message = excluded.reminder_message
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM events WHERE id = ? AND username = ?";
+
+    private static final String EVENT_BY_ID_SQL = """
+            SELECT id, title, start_datetime, end_datetime,
+                   location, category, reminder_message
+            FROM events
+            WHERE id = ? AND username = ?
+            """;
+
+    /**
+     * Ids looked up per statement by {@link #getEventsByIds}, well under SQLite's
+     * limit of 999 bound variables in older versions.
+     */
+    static final int IDS_PER_QUERY = 500;
+
+    // Primary-key probes for up to IDS_PER_QUERY ids at once. Shorter lists repeat
+    // their last id, so every lookup shares this one cached statement.
+    private static final String EVENTS_BY_IDS_SQL = """
+            SELECT id, title, start_datetime, end_datetime,
+                   location, category, reminder_message
+            FROM events
+            WHERE username = ? AND id IN (%s)
+            """.formatted(String.join(", ", Collections.nCopies(IDS_PER_QUERY, "?")));
+
+    // Half-open [from, to) range on the indexed start_epoch column; used for days and months.
+    private static final String EVENTS_BETWEEN_SQL = """
+            SELECT id, title, start_datetime, end_datetime,
+                   location, category, reminder_message
+            FROM events
+            WHERE username = ?
+              AND start_epoch >= ?
+              AND start_epoch < ?
+            ORDER BY start_epoch
+            """;
+
+    /** Events longer than this are found through the span index instead of the start window. */
+    static final long LONG_EVENT_MILLIS = 24L * 60 * 60 * 1000;
+
+    // Closed-interval overlap, in two parts so one long event (a multi-week trip) cannot
+    // widen the scan for everyone. Events up to LONG_EVENT_MILLIS long that overlap
+    // [start, end] start within [start - LONG_EVENT_MILLIS, end]: a short range scan on
+    // (username, start_epoch). Longer events are few and are read from the
+    // (username, end_epoch - start_epoch) index, which the planner must use here.
+    static final String EVENTS_OVERLAPPING_SQL = """
+            SELECT id, title, start_datetime, end_datetime,
+                   location, category, reminder_message, start_epoch
+            FROM events
+            WHERE username = ?
+              AND start_epoch <= ?
+              AND start_epoch >= ? - %1$d
+              AND end_epoch - start_epoch <= %1$d
+              AND end_epoch >= ?
+            UNION ALL
+            SELECT id, title, start_datetime, end_datetime,
+                   location, category, reminder_message, start_epoch
+            FROM events INDEXED BY idx_events_user_span
+            WHERE username = ?
+              AND end_epoch - start_epoch > %1$d
+              AND start_epoch <= ?
+              AND end_epoch >= ?
+            ORDER BY start_epoch
+            """.formatted(LONG_EVENT_MILLIS);
+
+    private final SQLiteConnectionProvider connections;
 
     public SQLiteEventDataAccessObject() {
-        // When this DAO is created, make sure the table exists
-        initializeEventsTable();
+        this(DEFAULT_DB_PATH);
     }
 
-    /** Get a connection to the SQLite database. */
-    private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL);
+    /**
+     * @param dbPath the path to the SQLite database file
+     */
+    public SQLiteEventDataAccessObject(String dbPath) {
+        this(SQLiteConnectionProvider.forPath(dbPath));
+    }
+
+    /**
+     * @param connections the connection provider to use for every query
+     */
+    public SQLiteEventDataAccessObject(SQLiteConnectionProvider connections) {
+        this.connections = connections;
+        // When this DAO is created, make sure the table exists and is up to date
+        initializeEventsTable();
+        migrateSchema();
     }
 
     /** Create the "events" table if it does not already exist. */
@@ -51,45 +163,83 @@ public class SQLiteEventDataAccessObject {
             )
             """;
 
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
+        try {
+            connections.write(session -> {
+                try (Statement stmt = session.connection().createStatement()) {
+                    stmt.execute(sql);
+                }
+                return null;
+            });
         } catch (SQLException ex) {
             throw new RuntimeException("Failed to initialize events table", ex);
         }
     }
 
     /**
-     * Insert or update an event for a given user.
-     * If the id already exists, the row is updated.
+     * Upgrade an existing database to {@link #SCHEMA_VERSION}, one step at a time.
+     * Each step runs in its own transaction together with the user_version bump,
+     * so a crash mid-upgrade leaves the file at the previous version.
+     *
+     * Version 1: add start_epoch / end_epoch, backfill them from the text columns
+     *            and index (username, start_epoch).
+     * Version 2: index each user's event durations for overlap queries.
      */
-    public void saveEvent(String username, Event event) {
-        String sql = """
-            INSERT INTO events (id, username, title, start_datetime, end_datetime,
-                                location, category, reminder_message)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-            ON CONFLICT(id) DO UPDATE SET
-                title = excluded.title,
-                start_datetime = excluded.start_datetime,
-                end_datetime = excluded.end_datetime,
-                location = excluded.location,
-                category = excluded.category,
-                reminder_message = excluded.reminder_message
-            """;
+    private void migrateSchema() {
+        try {
+            connections.inTransaction(session -> {
+                try (Statement stmt = session.connection().createStatement()) {
+                    int version;
+                    try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+                        version = rs.next() ? rs.getInt(1) : 0;
+                    }
 
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+                    if (version < 1) {
+                        stmt.execute("ALTER TABLE events ADD COLUMN start_epoch INTEGER");
+                        stmt.execute("ALTER TABLE events ADD COLUMN end_epoch INTEGER");
+                        // strftime('%s') reads the text as UTC, matching toEpochMillis below
+                        stmt.execute("""
+                            UPDATE events SET
+                                start_epoch = CAST(strftime('%s', start_datetime) AS INTEGER) * 1000,
+                                end_epoch = CAST(strftime('%s', end_datetime) AS INTEGER) * 1000
+                            """);
+                        stmt.execute("CREATE INDEX IF NOT EXISTS idx_events_user_start "
+                                + "ON events (username, start_epoch)");
+                        stmt.execute("PRAGMA user_version = 1");
+                    }
+                    if (version < 2) {
+                        stmt.execute("CREATE INDEX IF NOT EXISTS idx_events_user_span "
+                                + "ON events (username, end_epoch - start_epoch)");
+                        stmt.execute("PRAGMA user_version = 2");
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException ex) {
+            throw new RuntimeException("Failed to migrate events table", ex);
+        }
+    }
 
-            ps.setString(1, event.getId().toString());
-            ps.setString(2, username);
-            ps.setString(3, event.getTitle());
-            ps.setString(4, event.getStart().toString()); // ISO-8601, e.g. 2025-11-30T14:30
-            ps.setString(5, event.getEnd().toString());
-            ps.setString(6, event.getLocation());
-            ps.setString(7, event.getCategory() == null ? null : event.getCategory().name());
-            ps.setString(8, event.getReminderMessage());
+    /**
+     * Encodes a wall-clock time as epoch millis, treating it as UTC.
+     * Event times are zone-less, so this keeps the stored value stable no matter
+     * which time zone the app runs in; the values are only compared with each other.
+     */
+    static long toEpochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
 
-            ps.executeUpdate();
+    /**
+     * Insert or update an event for a given user.
+     * If the id already exists, the row is updated.
+     */
+    @Override
+    public void saveEvent(String username, Event event) {
+        try {
+            connections.write(session -> {
+                PreparedStatement ps = session.prepare(SAVE_SQL);
+                bindSave(ps, username, event);
+                return ps.executeUpdate();
+            });
         } catch (SQLException ex) {
             throw new RuntimeException("Failed to save event", ex);
         }
@@ -98,71 +248,249 @@ public class SQLiteEventDataAccessObject {
     /**
      * Delete an event by id for a given user.
      */
+    @Override
     public void deleteEvent(String username, UUID eventId) {
-        String sql = "DELETE FROM events WHERE id = ? AND username = ?";
-
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, eventId.toString());
-            ps.setString(2, username);
-            ps.executeUpdate();
+        try {
+            connections.write(session -> {
+                PreparedStatement ps = session.prepare(DELETE_SQL);
+                bindUserAndId(ps, username, eventId);
+                return ps.executeUpdate();
+            });
         } catch (SQLException ex) {
             throw new RuntimeException("Failed to delete event", ex);
         }
     }
 
     /**
-     * Get all events for a specific user on a given date.
+     * Insert or update several events in one transaction, as one batched statement.
      */
-    public List<Event> getEventsForDay(String username, LocalDate date) {
-        String sql = """
-            SELECT id, title, start_datetime, end_datetime,
-                   location, category, reminder_message
-            FROM events
-            WHERE username = ?
-              AND date(start_datetime) = ?
-            ORDER BY start_datetime
-            """;
+    @Override
+    public void saveEvents(String username, List<Event> events) {
+        List<PendingEventWrite> writes = new ArrayList<>(events.size());
+        for (Event event : events) {
+            writes.add(PendingEventWrite.save(username, event));
+        }
+        writeBatch(writes);
+    }
 
-        List<Event> result = new ArrayList<>();
+    /**
+     * Delete several events in one transaction, as one batched statement.
+     */
+    @Override
+    public void deleteEvents(String username, Collection<UUID> eventIds) {
+        List<PendingEventWrite> writes = new ArrayList<>(eventIds.size());
+        for (UUID eventId : eventIds) {
+            writes.add(PendingEventWrite.delete(username, eventId));
+        }
+        writeBatch(writes);
+    }
+
+    /**
+     * Apply a batch of saves and deletes in one transaction (one fsync),
+     * using one batched prepared statement per kind of write.
+     */
+    void writeBatch(Collection<PendingEventWrite> writes) {
+        try {
+            connections.inTransaction(session -> {
+                PreparedStatement save = session.prepare(SAVE_SQL);
+                PreparedStatement delete = session.prepare(DELETE_SQL);
+                boolean hasSaves = false;
+                boolean hasDeletes = false;
+                for (PendingEventWrite write : writes) {
+                    if (write.isDelete()) {
+                        bindUserAndId(delete, write.getUsername(), write.getEventId());
+                        delete.addBatch();
+                        hasDeletes = true;
+                    } else {
+                        bindSave(save, write.getUsername(), write.getEvent());
+                        save.addBatch();
+                        hasSaves = true;
+                    }
+                }
+                if (hasSaves) {
+                    save.executeBatch();
+                }
+                if (hasDeletes) {
+                    delete.executeBatch();
+                }
+                return null;
+            });
+        } catch (SQLException ex) {
+            throw new RuntimeException("Failed to write event batch", ex);
+        }
+    }
 
-        try (Connection conn = getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    /** The provider this DAO runs on, so decorators can hook into its shutdown. */
+    SQLiteConnectionProvider connectionProvider() {
+        return connections;
+    }
 
-            ps.setString(1, username);
-            ps.setString(2, date.toString()); // e.g. 2025-11-30
-
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    UUID id = UUID.fromString(rs.getString("id"));
-                    String title = rs.getString("title");
-                    LocalDateTime start = LocalDateTime.parse(rs.getString("start_datetime"));
-                    LocalDateTime end   = LocalDateTime.parse(rs.getString("end_datetime"));
-                    String location = rs.getString("location");
-                    String categoryStr = rs.getString("category");
-                    Event.CategoryType category = categoryStr == null
-                            ? null
-                            : Event.CategoryType.valueOf(categoryStr);
-                    String reminder = rs.getString("reminder_message");
-
-                    Event event = new Event(
-                            id,
-                            title,
-                            start,
-                            end,
-                            location,
-                            category,
-                            reminder
-                    );
-                    result.add(event);
+    private static void bindSave(PreparedStatement ps, String username, Event event) throws SQLException {
+        ps.setString(1, event.getId().toString());
+        ps.setString(2, username);
+        ps.setString(3, event.getTitle());
+        ps.setString(4, event.getStart().toString()); // ISO-8601, e.g. 2025-11-30T14:30
+        ps.setString(5, event.getEnd().toString());
+        ps.setLong(6, toEpochMillis(event.getStart()));
+        ps.setLong(7, toEpochMillis(event.getEnd()));
+        ps.setString(8, event.getLocation());
+        ps.setString(9, event.getCategory() == null ? null : event.getCategory().name());
+        ps.setString(10, event.getReminderMessage());
+    }
+
+    private static void bindUserAndId(PreparedStatement ps, String username, UUID eventId) throws SQLException {
+        ps.setString(1, eventId.toString());
+        ps.setString(2, username);
+    }
+
+    /**
+     * Get a single event of a user by id, or null if there is none.
+     */
+    @Override
+    public Event getEvent(String username, UUID eventId) {
+        try {
+            return connections.read(session -> {
+                PreparedStatement ps = session.prepare(EVENT_BY_ID_SQL);
+                bindUserAndId(ps, username, eventId);
+                List<Event> events = readEvents(ps);
+                return events.isEmpty() ? null : events.get(0);
+            });
+        } catch (SQLException ex) {
+            throw new RuntimeException("Failed to query event", ex);
+        }
+    }
+
+    /**
+     * Get several events of a user by id, with one {@code id IN (...)} query per
+     * {@link #IDS_PER_QUERY} ids.
+     */
+    @Override
+    public Map<UUID, Event> getEventsByIds(String username, Collection<UUID> eventIds) {
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(eventIds));
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        try {
+            return connections.read(session -> {
+                PreparedStatement ps = session.prepare(EVENTS_BY_IDS_SQL);
+                Map<UUID, Event> found = new HashMap<>();
+                for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+                    List<UUID> chunk = ids.subList(from, Math.min(from + IDS_PER_QUERY, ids.size()));
+                    ps.setString(1, username);
+                    for (int i = 0; i < IDS_PER_QUERY; i++) {
+                        ps.setString(i + 2, chunk.get(Math.min(i, chunk.size() - 1)).toString());
+                    }
+                    for (Event event : readEvents(ps)) {
+                        found.put(event.getId(), event);
+                    }
                 }
-            }
+                return found;
+            });
+        } catch (SQLException ex) {
+            throw new RuntimeException("Failed to query events", ex);
+        }
+    }
 
+    /**
+     * Get all events for a specific user on a given date.
+     */
+    @Override
+    public List<Event> getEventsForDay(String username, LocalDate date) {
+        try {
+            return queryStartingBetween(username, date, date.plusDays(1));
+        } catch (SQLException ex) {
+            throw new RuntimeException("Failed to query events", ex);
+        }
+    }
+
+    /**
+     * Get all events for a user whose start date falls between two dates (both inclusive),
+     * grouped by start date. Days without events have no entry in the map.
+     * One query covers the whole range, e.g. a full month grid.
+     */
+    @Override
+    public Map<LocalDate, List<Event>> getEventsBetween(String username, LocalDate from, LocalDate to) {
+        List<Event> events;
+        try {
+            events = queryStartingBetween(username, from, to.plusDays(1));
         } catch (SQLException ex) {
             throw new RuntimeException("Failed to query events", ex);
         }
 
+        Map<LocalDate, List<Event>> byDay = new TreeMap<>();
+        for (Event event : events) {
+            byDay.computeIfAbsent(event.getStart().toLocalDate(), day -> new ArrayList<>()).add(event);
+        }
+        return byDay;
+    }
+
+    /**
+     * Get all events for a user that overlap [start, end], touching endpoints included.
+     */
+    @Override
+    public List<Event> getEventsOverlapping(String username, LocalDateTime start, LocalDateTime end) {
+        try {
+            return connections.read(session -> {
+                PreparedStatement ps = session.prepare(EVENTS_OVERLAPPING_SQL);
+                long startMillis = toEpochMillis(start);
+                long endMillis = toEpochMillis(end);
+                ps.setString(1, username);
+                ps.setLong(2, endMillis);
+                ps.setLong(3, startMillis);
+                ps.setLong(4, startMillis);
+                ps.setString(5, username);
+                ps.setLong(6, endMillis);
+                ps.setLong(7, startMillis);
+                return readEvents(ps);
+            });
+        } catch (SQLException ex) {
+            throw new RuntimeException("Failed to query overlapping events", ex);
+        }
+    }
+
+    /** Events starting on or after {@code from} and before {@code toExclusive}, ordered by start. */
+    private List<Event> queryStartingBetween(String username, LocalDate from, LocalDate toExclusive)
+            throws SQLException {
+        return connections.read(session -> {
+            PreparedStatement ps = session.prepare(EVENTS_BETWEEN_SQL);
+            ps.setString(1, username);
+            ps.setLong(2, toEpochMillis(from.atStartOfDay()));
+            ps.setLong(3, toEpochMillis(toExclusive.atStartOfDay()));
+            return readEvents(ps);
+        });
+    }
+
+    /** Run a query and map every row to an Event. */
+    private List<Event> readEvents(PreparedStatement ps) throws SQLException {
+        List<Event> result = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                result.add(readEvent(rs));
+            }
+        }
         return result;
     }
+
+    private Event readEvent(ResultSet rs) throws SQLException {
+        UUID id = UUID.fromString(rs.getString("id"));
+        String title = rs.getString("title");
+        LocalDateTime start = LocalDateTime.parse(rs.getString("start_datetime"));
+        LocalDateTime end   = LocalDateTime.parse(rs.getString("end_datetime"));
+        String location = rs.getString("location");
+        String categoryStr = rs.getString("category");
+        Event.CategoryType category = categoryStr == null
+                ? null
+                : Event.CategoryType.valueOf(categoryStr);
+        String reminder = rs.getString("reminder_message");
+
+        return new Event(
+                id,
+                title,
+                start,
+                end,
+                location,
+                category,
+                reminder
+        );
+    }
 }
@@ -7,8 +7,11 @@ import use_case.login.LoginUserDataAccessInterface;
 import use_case.logout.LogoutUserDataAccessInterface;
 import use_case.signup.SignupUserDataAccessInterface;
 
-import java.sql.*;
-import java.io.File;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
 
 /**
  * DAO for user data implemented using SQLite database.
@@ -18,27 +21,26 @@ public class SQLiteUserDataAccessObject implements SignupUserDataAccessInterface
                                                     ChangePasswordUserDataAccessInterface,
                                                     LogoutUserDataAccessInterface {
 
-    private static final String DB_URL_PREFIX = "jdbc:sqlite:";
-    private final String dbPath;
+    private final SQLiteConnectionProvider connections;
     private final UserFactory userFactory;
     private String currentUsername;
 
-    // Explicitly load the SQLite JDBC driver
-    static {
-        try {
-            Class.forName("org.sqlite.JDBC");
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException("SQLite JDBC driver not found. Make sure sqlite-jdbc is on the classpath.", e);
-        }
-    }
-
     /**
      * Constructs this DAO for saving to and reading from a SQLite database.
      * @param dbPath the path to the SQLite database file
      * @param userFactory factory for creating user objects
      */
     public SQLiteUserDataAccessObject(String dbPath, UserFactory userFactory) {
-        this.dbPath = dbPath;
+        this(SQLiteConnectionProvider.forPath(dbPath), userFactory);
+    }
+
+    /**
+     * Constructs this DAO on top of an existing connection provider.
+     * @param connections the connection provider to use for every query
+     * @param userFactory factory for creating user objects
+     */
+    public SQLiteUserDataAccessObject(SQLiteConnectionProvider connections, UserFactory userFactory) {
+        this.connections = connections;
         this.userFactory = userFactory;
         initializeDatabase();
     }
@@ -47,58 +49,49 @@ public class SQLiteUserDataAccessObject implements SignupUserDataAccessInterface
      * Initializes the database by creating the users table if it doesn't exist.
      */
     private void initializeDatabase() {
-        try (Connection connection = getConnection()) {
-            String createTableSQL = """
-                CREATE TABLE IF NOT EXISTS users (
-                    username TEXT PRIMARY KEY,
-                    password TEXT NOT NULL
-                )
-                """;
-            
-            try (Statement statement = connection.createStatement()) {
-                statement.execute(createTableSQL);
-            }
+        String createTableSQL = """
+            CREATE TABLE IF NOT EXISTS users (
+                username TEXT PRIMARY KEY,
+                password TEXT NOT NULL
+            )
+            """;
+        try {
+            connections.write(session -> {
+                try (Statement statement = session.connection().createStatement()) {
+                    statement.execute(createTableSQL);
+                }
+                return null;
+            });
         } catch (SQLException ex) {
             throw new RuntimeException("Failed to initialize database", ex);
         }
     }
 
-    /**
-     * Gets a connection to the SQLite database.
-     * @return a Connection to the database
-     * @throws SQLException if a database access error occurs
-     */
-    private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL_PREFIX + dbPath);
-    }
-
     @Override
     public boolean existsByName(String username) {
-        try (Connection connection = getConnection()) {
-            String sql = "SELECT COUNT(*) FROM users WHERE username = ?";
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try {
+            return connections.read(session -> {
+                PreparedStatement statement = session.prepare("SELECT COUNT(*) FROM users WHERE username = ?");
                 statement.setString(1, username);
                 try (ResultSet resultSet = statement.executeQuery()) {
-                    if (resultSet.next()) {
-                        return resultSet.getInt(1) > 0;
-                    }
+                    return resultSet.next() && resultSet.getInt(1) > 0;
                 }
-            }
+            });
         } catch (SQLException ex) {
             throw new RuntimeException("Failed to check if user exists", ex);
         }
-        return false;
     }
 
     @Override
     public void save(User user) {
-        try (Connection connection = getConnection()) {
-            String sql = "INSERT OR REPLACE INTO users (username, password) VALUES (?, ?)";
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try {
+            connections.write(session -> {
+                PreparedStatement statement =
+                        session.prepare("INSERT OR REPLACE INTO users (username, password) VALUES (?, ?)");
                 statement.setString(1, user.getName());
                 statement.setString(2, user.getPassword());
-                statement.executeUpdate();
-            }
+                return statement.executeUpdate();
+            });
         } catch (SQLException ex) {
             throw new RuntimeException("Failed to save user", ex);
         }
@@ -106,9 +99,10 @@ public class SQLiteUserDataAccessObject implements SignupUserDataAccessInterface
 
     @Override
     public User get(String username) {
-        try (Connection connection = getConnection()) {
-            String sql = "SELECT username, password FROM users WHERE username = ?";
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try {
+            return connections.read(session -> {
+                PreparedStatement statement =
+                        session.prepare("SELECT username, password FROM users WHERE username = ?");
                 statement.setString(1, username);
                 try (ResultSet resultSet = statement.executeQuery()) {
                     if (resultSet.next()) {
@@ -117,11 +111,20 @@ public class SQLiteUserDataAccessObject implements SignupUserDataAccessInterface
                         return userFactory.create(name, password);
                     }
                 }
-            }
+                return null;
+            });
         } catch (SQLException ex) {
             throw new RuntimeException("Failed to get user", ex);
         }
-        return null;
+    }
+
+    /**
+     * Reads the user with one query; {@link #get(String)} already returns null
+     * for an unknown username, so no separate existence check is needed.
+     */
+    @Override
+    public Optional<User> findByName(String username) {
+        return Optional.ofNullable(get(username));
     }
 
     @Override
@@ -136,18 +139,19 @@ public class SQLiteUserDataAccessObject implements SignupUserDataAccessInterface
 
     @Override
     public void changePassword(User user) {
-        try (Connection connection = getConnection()) {
-            String sql = "UPDATE users SET password = ? WHERE username = ?";
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        int rowsAffected;
+        try {
+            rowsAffected = connections.write(session -> {
+                PreparedStatement statement = session.prepare("UPDATE users SET password = ? WHERE username = ?");
                 statement.setString(1, user.getPassword());
                 statement.setString(2, user.getName());
-                int rowsAffected = statement.executeUpdate();
-                if (rowsAffected == 0) {
-                    throw new RuntimeException("User not found: " + user.getName());
-                }
-            }
+                return statement.executeUpdate();
+            });
         } catch (SQLException ex) {
             throw new RuntimeException("Failed to change password", ex);
         }
+        if (rowsAffected == 0) {
+            throw new RuntimeException("User not found: " + user.getName());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package data_access;
+
+import entity.Event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-user event storage. Implemented by the SQLite DAO and by the decorators
+ * layered on top of it, so the UI can pick whichever stack it needs.
+ */
+public interface UserEventDataAccessInterface {
+
+    /**
+     * Insert or update an event for a given user.
+     * @param username the owner of the event
+     * @param event the event to save
+     */
+    void saveEvent(String username, Event event);
+
+    /**
+     * Delete an event by id for a given user.
+     * @param username the owner of the event
+     * @param eventId the id of the event to delete
+     */
+    void deleteEvent(String username, UUID eventId);
+
+    /**
+     * Insert or update several events of a user in one transaction.
+     */
+    void saveEvents(String username, List<Event> events);
+
+    /**
+     * Delete several events of a user in one transaction; unknown ids are ignored.
+     */
+    void deleteEvents(String username, Collection<UUID> eventIds);
+
+    /**
+     * Get several of the user's events by id.
+     * @return the events found, keyed by id; ids the user has no event for are missing
+     */
+    Map<UUID, Event> getEventsByIds(String username, Collection<UUID> eventIds);
+
+    /**
+     * Get one of the user's events by id.
+     * @param username the owner of the event
+     * @param eventId the id to look for
+     * @return the event, or null if the user has no event with that id
+     */
+    Event getEvent(String username, UUID eventId);
+
+    /**
+     * Get all events for a user starting on the given date, ordered by start.
+     * @param username the owner of the events
+     * @param date the day to look up
+     * @return the events of that day
+     */
+    List<Event> getEventsForDay(String username, LocalDate date);
+
+    /**
+     * Get all events for a user starting between two dates (both inclusive), grouped by start date.
+     * @param username the owner of the events
+     * @param from the first day of the range
+     * @param to the last day of the range
+     * @return events per day; days without events have no entry
+     */
+    Map<LocalDate, List<Event>> getEventsBetween(String username, LocalDate from, LocalDate to);
+
+    /**
+     * Get all events for a user whose time range overlaps [start, end], ordered by start.
+     * Touching endpoints count as overlapping; events that began on an earlier day are included.
+     */
+    List<Event> getEventsOverlapping(String username, LocalDateTime start, LocalDateTime end);
+}
@@ -0,0 +1,25 @@
+package data_access.http;
+
+import java.io.IOException;
+
+/**
+ * An HTTP call that got an answer, but not a 2xx one.
+ */
+public class HttpStatusException extends IOException {
+
+    private final int code;
+
+    public HttpStatusException(int code, String host) {
+        super("Unexpected code " + code + " from " + host);
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /** Server errors and rate limiting may go away on their own; other statuses will not. */
+    public boolean isRetryable() {
+        return code >= 500 || code == 429;
+    }
+}
@@ -0,0 +1,526 @@
+package data_access.http;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Pull parser that reads JSON straight off a response body's {@link BufferedSource}.
+ *
+ * Unlike building an {@code org.json} tree from {@code body().string()}, nothing is
+ * kept but the value being read: gateways walk to the fields they need and
+ * {@link #skipValue()} the rest. Field names can be matched against an
+ * {@link Options} set without creating Strings, and plain decimal numbers are parsed
+ * from the buffered bytes directly. Malformed input throws {@link JSONException},
+ * as {@code org.json} does.
+ */
+public final class JsonReader {
+
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    /** A set of field names for {@link #selectName(Options)}. */
+    public static final class Options {
+        private final okio.Options quotedSuffixes;
+
+        private Options(okio.Options quotedSuffixes) {
+            this.quotedSuffixes = quotedSuffixes;
+        }
+
+        /** Names must not contain quotes or backslashes. */
+        public static Options of(String... names) {
+            ByteString[] suffixes = new ByteString[names.length];
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].indexOf('"') >= 0 || names[i].indexOf('\\') >= 0) {
+                    throw new IllegalArgumentException("Unsupported name: " + names[i]);
+                }
+                // The opening quote is consumed by peek(); match the rest including the closing quote
+                suffixes[i] = ByteString.encodeUtf8(names[i] + "\"");
+            }
+            return new Options(okio.Options.of(suffixes));
+        }
+    }
+
+    // What the enclosing scope expects next
+    private static final int EMPTY_ARRAY = 1;
+    private static final int NONEMPTY_ARRAY = 2;
+    private static final int EMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int EMPTY_DOCUMENT = 6;
+    private static final int NONEMPTY_DOCUMENT = 7;
+
+    // The token found by the last peek and not consumed yet
+    private static final int PEEKED_NONE = 0;
+    private static final int PEEKED_BEGIN_OBJECT = 1;
+    private static final int PEEKED_END_OBJECT = 2;
+    private static final int PEEKED_BEGIN_ARRAY = 3;
+    private static final int PEEKED_END_ARRAY = 4;
+    private static final int PEEKED_TRUE = 5;
+    private static final int PEEKED_FALSE = 6;
+    private static final int PEEKED_NULL = 7;
+    private static final int PEEKED_STRING = 8;     // opening quote consumed
+    private static final int PEEKED_NAME = 9;       // opening quote consumed
+    private static final int PEEKED_NUMBER = 10;    // nothing consumed; peekedNumberLength bytes
+    private static final int PEEKED_EOF = 11;
+
+    private static final ByteString TRUE = ByteString.encodeUtf8("true");
+    private static final ByteString FALSE = ByteString.encodeUtf8("false");
+    private static final ByteString NULL = ByteString.encodeUtf8("null");
+    private static final ByteString QUOTE_OR_BACKSLASH = ByteString.encodeUtf8("\"\\");
+
+    // Integers up to 15 digits and these powers of ten are exact doubles, so
+    // mantissa / 10^scale is correctly rounded, the same as Double.parseDouble
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final BufferedSource source;
+    private final Buffer buffer;
+
+    private int[] stack = new int[16];
+    private int stackSize;
+    private int peeked = PEEKED_NONE;
+    private int peekedNumberLength;
+
+    public JsonReader(BufferedSource source) {
+        this.source = source;
+        this.buffer = source.getBuffer();
+        stack[stackSize++] = EMPTY_DOCUMENT;
+    }
+
+    public Token peek() throws IOException {
+        switch (peekedOrPeek()) {
+            case PEEKED_BEGIN_OBJECT:
+                return Token.BEGIN_OBJECT;
+            case PEEKED_END_OBJECT:
+                return Token.END_OBJECT;
+            case PEEKED_BEGIN_ARRAY:
+                return Token.BEGIN_ARRAY;
+            case PEEKED_END_ARRAY:
+                return Token.END_ARRAY;
+            case PEEKED_NAME:
+                return Token.NAME;
+            case PEEKED_STRING:
+                return Token.STRING;
+            case PEEKED_NUMBER:
+                return Token.NUMBER;
+            case PEEKED_TRUE:
+            case PEEKED_FALSE:
+                return Token.BOOLEAN;
+            case PEEKED_NULL:
+                return Token.NULL;
+            default:
+                return Token.END_DOCUMENT;
+        }
+    }
+
+    public void beginObject() throws IOException {
+        expect(PEEKED_BEGIN_OBJECT, "an object");
+        push(EMPTY_OBJECT);
+        peeked = PEEKED_NONE;
+    }
+
+    public void endObject() throws IOException {
+        expect(PEEKED_END_OBJECT, "the end of an object");
+        stackSize--;
+        peeked = PEEKED_NONE;
+    }
+
+    public void beginArray() throws IOException {
+        expect(PEEKED_BEGIN_ARRAY, "an array");
+        push(EMPTY_ARRAY);
+        peeked = PEEKED_NONE;
+    }
+
+    public void endArray() throws IOException {
+        expect(PEEKED_END_ARRAY, "the end of an array");
+        stackSize--;
+        peeked = PEEKED_NONE;
+    }
+
+    /** Whether the current object or array has another element. */
+    public boolean hasNext() throws IOException {
+        int p = peekedOrPeek();
+        return p != PEEKED_END_OBJECT && p != PEEKED_END_ARRAY && p != PEEKED_EOF;
+    }
+
+    public String nextName() throws IOException {
+        expect(PEEKED_NAME, "a name");
+        peeked = PEEKED_NONE;
+        return readQuoted();
+    }
+
+    /**
+     * Consume the next name if it is one of {@code options} and return its index;
+     * otherwise return -1 and leave the name to {@link #skipName()} or {@link #nextName()}.
+     */
+    public int selectName(Options options) throws IOException {
+        expect(PEEKED_NAME, "a name");
+        int index = source.select(options.quotedSuffixes);
+        if (index != -1) {
+            peeked = PEEKED_NONE;
+        }
+        return index;
+    }
+
+    public void skipName() throws IOException {
+        expect(PEEKED_NAME, "a name");
+        peeked = PEEKED_NONE;
+        skipQuoted();
+    }
+
+    /** The next string, or the next number as written. */
+    public String nextString() throws IOException {
+        int p = peekedOrPeek();
+        if (p == PEEKED_STRING) {
+            peeked = PEEKED_NONE;
+            return readQuoted();
+        }
+        if (p == PEEKED_NUMBER) {
+            peeked = PEEKED_NONE;
+            return buffer.readUtf8(peekedNumberLength);
+        }
+        throw unexpected("a string");
+    }
+
+    public double nextDouble() throws IOException {
+        int p = peekedOrPeek();
+        if (p == PEEKED_NUMBER) {
+            peeked = PEEKED_NONE;
+            return readNumber(peekedNumberLength);
+        }
+        if (p == PEEKED_STRING) {
+            peeked = PEEKED_NONE;
+            String literal = readQuoted();
+            try {
+                return Double.parseDouble(literal);
+            } catch (NumberFormatException ex) {
+                throw new JSONException("Expected a number but was \"" + literal + "\"");
+            }
+        }
+        throw unexpected("a number");
+    }
+
+    public int nextInt() throws IOException {
+        double value = nextDouble();
+        int result = (int) value;
+        if (result != value) {
+            throw new JSONException("Expected an int but was " + value);
+        }
+        return result;
+    }
+
+    public boolean nextBoolean() throws IOException {
+        int p = peekedOrPeek();
+        if (p == PEEKED_TRUE || p == PEEKED_FALSE) {
+            peeked = PEEKED_NONE;
+            return p == PEEKED_TRUE;
+        }
+        throw unexpected("a boolean");
+    }
+
+    public void nextNull() throws IOException {
+        expect(PEEKED_NULL, "null");
+        peeked = PEEKED_NONE;
+    }
+
+    /** Skip the next value, with everything nested in it. */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            switch (peekedOrPeek()) {
+                case PEEKED_BEGIN_OBJECT:
+                    push(EMPTY_OBJECT);
+                    depth++;
+                    break;
+                case PEEKED_BEGIN_ARRAY:
+                    push(EMPTY_ARRAY);
+                    depth++;
+                    break;
+                case PEEKED_END_OBJECT:
+                case PEEKED_END_ARRAY:
+                    if (depth == 0) {
+                        throw unexpected("a value");
+                    }
+                    stackSize--;
+                    depth--;
+                    break;
+                case PEEKED_NAME:
+                case PEEKED_STRING:
+                    skipQuoted();
+                    break;
+                case PEEKED_NUMBER:
+                    buffer.skip(peekedNumberLength);
+                    break;
+                case PEEKED_EOF:
+                    throw unexpected("a value");
+                default:
+                    break;  // literals are consumed by peek
+            }
+            peeked = PEEKED_NONE;
+        } while (depth != 0);
+    }
+
+    // ---- scanning ----
+
+    private int peekedOrPeek() throws IOException {
+        return peeked != PEEKED_NONE ? peeked : doPeek();
+    }
+
+    private void expect(int token, String what) throws IOException {
+        if (peekedOrPeek() != token) {
+            throw unexpected(what);
+        }
+    }
+
+    private int doPeek() throws IOException {
+        int scope = stack[stackSize - 1];
+        if (scope == EMPTY_ARRAY) {
+            stack[stackSize - 1] = NONEMPTY_ARRAY;
+        } else if (scope == NONEMPTY_ARRAY) {
+            int c = nextNonWhitespace(true);
+            buffer.skip(1);
+            if (c == ']') {
+                return peeked = PEEKED_END_ARRAY;
+            }
+            if (c != ',') {
+                throw new JSONException("Unterminated array");
+            }
+        } else if (scope == EMPTY_OBJECT || scope == NONEMPTY_OBJECT) {
+            stack[stackSize - 1] = DANGLING_NAME;
+            if (scope == NONEMPTY_OBJECT) {
+                int c = nextNonWhitespace(true);
+                buffer.skip(1);
+                if (c == '}') {
+                    return peeked = PEEKED_END_OBJECT;
+                }
+                if (c != ',') {
+                    throw new JSONException("Unterminated object");
+                }
+            }
+            int c = nextNonWhitespace(true);
+            buffer.skip(1);
+            if (c == '"') {
+                return peeked = PEEKED_NAME;
+            }
+            if (c == '}' && scope == EMPTY_OBJECT) {
+                return peeked = PEEKED_END_OBJECT;
+            }
+            throw new JSONException("Expected a name");
+        } else if (scope == DANGLING_NAME) {
+            stack[stackSize - 1] = NONEMPTY_OBJECT;
+            int c = nextNonWhitespace(true);
+            buffer.skip(1);
+            if (c != ':') {
+                throw new JSONException("Expected ':'");
+            }
+        } else if (scope == EMPTY_DOCUMENT) {
+            stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+        } else if (nextNonWhitespace(false) == -1) {
+            return peeked = PEEKED_EOF;
+        } else {
+            throw new JSONException("Expected the end of the document");
+        }
+
+        int c = nextNonWhitespace(true);
+        switch (c) {
+            case ']':
+                if (scope == EMPTY_ARRAY) {
+                    buffer.skip(1);
+                    return peeked = PEEKED_END_ARRAY;
+                }
+                throw new JSONException("Unexpected ']'");
+            case '{':
+                buffer.skip(1);
+                return peeked = PEEKED_BEGIN_OBJECT;
+            case '[':
+                buffer.skip(1);
+                return peeked = PEEKED_BEGIN_ARRAY;
+            case '"':
+                buffer.skip(1);
+                return peeked = PEEKED_STRING;
+            case 't':
+                return peekLiteral(TRUE, PEEKED_TRUE);
+            case 'f':
+                return peekLiteral(FALSE, PEEKED_FALSE);
+            case 'n':
+                return peekLiteral(NULL, PEEKED_NULL);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return peekNumber();
+                }
+                throw new JSONException("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private int peekLiteral(ByteString literal, int token) throws IOException {
+        if (!source.rangeEquals(0, literal)) {
+            throw new JSONException("Unexpected value");
+        }
+        buffer.skip(literal.size());
+        return peeked = token;
+    }
+
+    private int peekNumber() throws IOException {
+        int length = 0;
+        while (source.request(length + 1)) {
+            byte b = buffer.getByte(length);
+            if ((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                length++;
+            } else {
+                break;
+            }
+        }
+        peekedNumberLength = length;
+        return peeked = PEEKED_NUMBER;
+    }
+
+    /** The next non-whitespace character without consuming it; -1 at the end of input if allowed. */
+    private int nextNonWhitespace(boolean required) throws IOException {
+        while (source.request(1)) {
+            byte c = buffer.getByte(0);
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                buffer.skip(1);
+                continue;
+            }
+            return c;
+        }
+        if (required) {
+            throw new JSONException("Unexpected end of input");
+        }
+        return -1;
+    }
+
+    private double readNumber(int length) throws IOException {
+        boolean negative = false;
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;     // digits after the point; -1 before a point is seen
+        boolean simple = length > 0;
+        for (int i = 0; i < length && simple; i++) {
+            byte b = buffer.getByte(i);
+            if (b >= '0' && b <= '9') {
+                if (++digits > MAX_FAST_DIGITS) {
+                    simple = false;
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '-' && i == 0) {
+                negative = true;
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                simple = false;     // exponent or malformed; let the JDK deal with it
+            }
+        }
+        if (simple && digits > 0 && scale != 0) {
+            buffer.skip(length);
+            double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+            return negative ? -value : value;
+        }
+        String literal = buffer.readUtf8(length);
+        try {
+            return Double.parseDouble(literal);
+        } catch (NumberFormatException ex) {
+            throw new JSONException("Malformed number " + literal);
+        }
+    }
+
+    private String readQuoted() throws IOException {
+        StringBuilder builder = null;
+        while (true) {
+            long index = source.indexOfElement(QUOTE_OR_BACKSLASH);
+            if (index == -1) {
+                throw new JSONException("Unterminated string");
+            }
+            if (buffer.getByte(index) == '"') {
+                String chunk = buffer.readUtf8(index);
+                buffer.skip(1);
+                return builder == null ? chunk : builder.append(chunk).toString();
+            }
+            if (builder == null) {
+                builder = new StringBuilder();
+            }
+            builder.append(buffer.readUtf8(index));
+            buffer.skip(1);
+            builder.append(readEscape());
+        }
+    }
+
+    private char readEscape() throws IOException {
+        if (!source.request(1)) {
+            throw new JSONException("Unterminated escape");
+        }
+        byte escaped = buffer.readByte();
+        switch (escaped) {
+            case 'u':
+                if (!source.request(4)) {
+                    throw new JSONException("Unterminated escape");
+                }
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(buffer.readByte(), 16);
+                    if (digit < 0) {
+                        throw new JSONException("Malformed \\u escape");
+                    }
+                    code = code * 16 + digit;
+                }
+                return (char) code;
+            case 't':
+                return '\t';
+            case 'b':
+                return '\b';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case '"':
+            case '\\':
+            case '/':
+                return (char) escaped;
+            default:
+                throw new JSONException("Invalid escape \\" + (char) escaped);
+        }
+    }
+
+    private void skipQuoted() throws IOException {
+        while (true) {
+            long index = source.indexOfElement(QUOTE_OR_BACKSLASH);
+            if (index == -1) {
+                throw new JSONException("Unterminated string");
+            }
+            if (buffer.getByte(index) == '"') {
+                buffer.skip(index + 1);
+                return;
+            }
+            // Skip up to and including the escaped character; \\uXXXX digits are plain text
+            if (!source.request(index + 2)) {
+                throw new JSONException("Unterminated escape");
+            }
+            buffer.skip(index + 2);
+        }
+    }
+
+    private void push(int scope) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = scope;
+    }
+
+    private JSONException unexpected(String expected) throws IOException {
+        return new JSONException("Expected " + expected + " but was " + peek());
+    }
+}
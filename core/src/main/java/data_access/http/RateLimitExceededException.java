@@ -0,0 +1,19 @@
+package data_access.http;
+
+import java.io.IOException;
+
+/**
+ * A request that {@link RateLimiter} turned away before it reached the network:
+ * too many requests to the host were already waiting, or no permit became
+ * available within the request's maximum wait.
+ *
+ * It is an {@link IOException} so gateways report it like any failed call, but the
+ * host was never asked: retrying it only adds to the queue, and it says nothing about
+ * the host's health (see {@code ResilientCaller}).
+ */
+public class RateLimitExceededException extends IOException {
+
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
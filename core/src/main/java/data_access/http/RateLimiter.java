@@ -0,0 +1,259 @@
+package data_access.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side rate limiter with a token bucket per host.
+ *
+ * A host with a budget gets {@code permitsPerSecond} permits per second and can save up
+ * at most {@code burst} of them. A request that finds no permit waits in the host's
+ * queue; interactive requests are served before background ones, and requests of the
+ * same priority in arrival order. A request is rejected with
+ * {@link RateLimitExceededException} when {@link #getMaxQueued()} requests to its host
+ * are already waiting, or when it has waited its priority's maximum wait without
+ * getting a permit. Hosts without a budget are not limited.
+ *
+ * A thread can register a {@link WaitListener} to learn when it is queued and when it
+ * gets its permit, so callers that time requests can leave the wait out.
+ */
+public class RateLimiter {
+
+    public static final Duration DEFAULT_MAX_WAIT_INTERACTIVE = Duration.ofSeconds(2);
+    public static final Duration DEFAULT_MAX_WAIT_BACKGROUND = Duration.ofSeconds(30);
+    public static final int DEFAULT_MAX_QUEUED = 64;
+
+    /** Told when a request on the registering thread starts and stops waiting for a permit. */
+    public interface WaitListener {
+        void waitStarted();
+
+        /** Called whether or not the request got its permit. */
+        void waitEnded();
+    }
+
+    private static final ThreadLocal<WaitListener> WAIT_LISTENER = new ThreadLocal<>();
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final long maxWaitInteractiveNanos;
+    private final long maxWaitBackgroundNanos;
+    private final int maxQueued;
+
+    private long acquired;
+    private long queued;
+    private long rejected;
+    private long waitNanosTotal;
+    private long waitNanosMax;
+
+    public RateLimiter() {
+        this(DEFAULT_MAX_WAIT_INTERACTIVE, DEFAULT_MAX_WAIT_BACKGROUND, DEFAULT_MAX_QUEUED);
+    }
+
+    /**
+     * @param maxWaitInteractive longest an interactive request waits for a permit
+     * @param maxWaitBackground  longest a background request waits for a permit
+     * @param maxQueued          most requests that may wait for one host at a time
+     */
+    public RateLimiter(Duration maxWaitInteractive, Duration maxWaitBackground, int maxQueued) {
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("maxQueued must not be negative");
+        }
+        this.maxWaitInteractiveNanos = maxWaitInteractive.toNanos();
+        this.maxWaitBackgroundNanos = maxWaitBackground.toNanos();
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Budgets for the free APIs the application uses: Open-Meteo allows 600 calls a
+     * minute, The Color API publishes no limit and gets a more cautious one.
+     */
+    public static RateLimiter withDefaultBudgets() {
+        return new RateLimiter()
+                .limit("api.open-meteo.com", 10, 10)
+                .limit("geocoding-api.open-meteo.com", 10, 10)
+                .limit("www.thecolorapi.com", 5, 8);
+    }
+
+    /** Give {@code host} a budget of {@code permitsPerSecond}, saving up at most {@code burst}. */
+    public RateLimiter limit(String host, double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive and burst at least 1");
+        }
+        buckets.put(host, new Bucket(host, permitsPerSecond, burst));
+        return this;
+    }
+
+    /**
+     * Take a permit for a request to {@code host}, waiting if needed.
+     *
+     * @throws RateLimitExceededException if the request is rejected
+     * @throws InterruptedIOException     if the thread is interrupted while waiting
+     */
+    public void acquire(String host, RequestPriority priority) throws IOException {
+        Bucket bucket = buckets.get(host);
+        if (bucket != null) {
+            long maxWait = priority == RequestPriority.BACKGROUND ? maxWaitBackgroundNanos : maxWaitInteractiveNanos;
+            bucket.acquire(priority, maxWait);
+        }
+    }
+
+    /** Listen to the permit waits of requests made on the current thread, or stop with null. */
+    public static void setWaitListener(WaitListener listener) {
+        if (listener == null) {
+            WAIT_LISTENER.remove();
+        } else {
+            WAIT_LISTENER.set(listener);
+        }
+    }
+
+    private synchronized void recordAcquired(long waitedNanos) {
+        acquired++;
+        if (waitedNanos > 0) {
+            queued++;
+            waitNanosTotal += waitedNanos;
+            waitNanosMax = Math.max(waitNanosMax, waitedNanos);
+        }
+    }
+
+    private synchronized void recordRejected() {
+        rejected++;
+    }
+
+    // ---- metrics ----
+
+    /** Requests that got a permit, with or without waiting. */
+    public synchronized long getAcquiredCount() {
+        return acquired;
+    }
+
+    /** Requests that had to wait for their permit. */
+    public synchronized long getQueuedCount() {
+        return queued;
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejected;
+    }
+
+    /** Wait of the requests that had to wait, on average. */
+    public synchronized Duration getAverageWait() {
+        return queued == 0 ? Duration.ZERO : Duration.ofNanos(waitNanosTotal / queued);
+    }
+
+    public synchronized Duration getMaxWait() {
+        return Duration.ofNanos(waitNanosMax);
+    }
+
+    /** Requests waiting for a permit right now, over all hosts. */
+    public int getWaitingCount() {
+        int waiting = 0;
+        for (Bucket bucket : buckets.values()) {
+            waiting += bucket.waitingCount();
+        }
+        return waiting;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    private final class Bucket {
+        private final String host;
+        private final double permitsPerNano;
+        private final double burst;
+        // Interactive first, then in arrival order
+        private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+                Comparator.comparing((Waiter w) -> w.priority).thenComparingLong(w -> w.arrival));
+        private double tokens;
+        private long refilledAt;
+        private long arrivals;
+
+        private Bucket(String host, double permitsPerSecond, int burst) {
+            this.host = host;
+            this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.burst = burst;
+            this.tokens = burst;
+            this.refilledAt = System.nanoTime();
+        }
+
+        private synchronized void acquire(RequestPriority priority, long maxWaitNanos) throws IOException {
+            refill();
+            if (waiters.isEmpty() && tokens >= 1) {
+                tokens -= 1;
+                recordAcquired(0);
+                return;
+            }
+            if (waiters.size() >= maxQueued) {
+                recordRejected();
+                throw new RateLimitExceededException(
+                        "Too many requests waiting for " + host + " (" + waiters.size() + ")");
+            }
+
+            Waiter me = new Waiter(priority, arrivals++);
+            waiters.add(me);
+            long start = System.nanoTime();
+            long deadline = start + maxWaitNanos;
+            WaitListener listener = WAIT_LISTENER.get();
+            if (listener != null) {
+                listener.waitStarted();
+            }
+            try {
+                while (true) {
+                    refill();
+                    long now = System.nanoTime();
+                    if (waiters.peek() == me && tokens >= 1) {
+                        tokens -= 1;
+                        waiters.poll();
+                        notifyAll();    // the next waiter may be able to go too
+                        recordAcquired(Math.max(1, now - start));
+                        return;
+                    }
+                    if (now >= deadline) {
+                        waiters.remove(me);
+                        notifyAll();
+                        recordRejected();
+                        throw new RateLimitExceededException("No permit for " + host + " within "
+                                + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+                    }
+                    // Sleep until the next permit is due; an earlier waiter taking it wakes us
+                    long untilPermit = tokens >= 1 ? deadline - now : (long) Math.ceil((1 - tokens) / permitsPerNano);
+                    TimeUnit.NANOSECONDS.timedWait(this, Math.max(1, Math.min(untilPermit, deadline - now)));
+                }
+            } catch (InterruptedException ex) {
+                waiters.remove(me);
+                notifyAll();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a permit for " + host);
+            } finally {
+                if (listener != null) {
+                    listener.waitEnded();
+                }
+            }
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+        }
+
+        private synchronized int waitingCount() {
+            return waiters.size();
+        }
+    }
+
+    private static final class Waiter {
+        private final RequestPriority priority;
+        private final long arrival;
+
+        private Waiter(RequestPriority priority, long arrival) {
+            this.priority = priority;
+            this.arrival = arrival;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package data_access.http;
+
+/**
+ * How urgently a request is needed, for {@link RateLimiter} queueing.
+ *
+ * Set on a request with {@code Request.Builder.tag(RequestPriority.class, priority)};
+ * untagged requests are interactive.
+ */
+public enum RequestPriority {
+    /** Someone is waiting for the answer on screen. */
+    INTERACTIVE,
+    /** Prefetching or refreshing; may wait behind interactive requests. */
+    BACKGROUND
+}
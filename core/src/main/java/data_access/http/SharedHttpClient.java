@@ -0,0 +1,243 @@
+package data_access.http;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.BufferedSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one HTTP client used by every outbound gateway (weather, colors, users).
+ *
+ * All calls share one connection pool and one dispatcher, so connections to a host
+ * are reused across gateways instead of each gateway (or each call) opening its own.
+ * Calls have explicit connect, read and overall timeouts. Responses that the server
+ * marks as cacheable are kept in an on-disk cache. {@link #fetchString(Request)} and
+ * {@link #execute(Request, ResponseHandler)} always close the response, so a body that
+ * is not read or a non-2xx status cannot leak a pooled connection.
+ *
+ * Every call made through {@link #client()} first takes a permit from the
+ * {@link RateLimiter} (see {@link RequestPriority} for overtaking prefetches), and is
+ * then counted and timed, including calls from gateways that use the
+ * {@link OkHttpClient} directly. Time spent waiting for a permit is not latency.
+ */
+public final class SharedHttpClient implements AutoCloseable {
+
+    public static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    public static final Duration READ_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration CALL_TIMEOUT = Duration.ofSeconds(30);
+    public static final int MAX_IDLE_CONNECTIONS = 8;
+    public static final Duration KEEP_ALIVE = Duration.ofMinutes(5);
+    public static final int MAX_REQUESTS_PER_HOST = 8;
+    public static final long CACHE_SIZE_BYTES = 10L * 1024 * 1024;
+
+    private static SharedHttpClient shared;
+
+    private final OkHttpClient client;
+    private final ConnectionPool pool;
+    private final Dispatcher dispatcher;
+    private final Cache cache;
+    private final RateLimiter rateLimiter;
+
+    private long requests;
+    private long failures;
+    private long latencyNanosTotal;
+    private long latencyNanosMax;
+
+    /** Reads a response; the response is closed once this returns or throws. */
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    /** Decodes a successful response body straight from its source. */
+    @FunctionalInterface
+    public interface BodyDecoder<T> {
+        T decode(BufferedSource body) throws IOException;
+    }
+
+    /**
+     * The application-wide client, created on first use with its cache under
+     * {@code java.io.tmpdir} and the default per-host budgets.
+     */
+    public static synchronized SharedHttpClient get() {
+        if (shared == null) {
+            shared = new SharedHttpClient(
+                    new File(System.getProperty("java.io.tmpdir"), "smartcalendar-http-cache"));
+        }
+        return shared;
+    }
+
+    /**
+     * @param cacheDirectory where to keep cacheable responses, or null for no disk cache
+     */
+    public SharedHttpClient(File cacheDirectory) {
+        this(cacheDirectory, RateLimiter.withDefaultBudgets());
+    }
+
+    /**
+     * @param cacheDirectory where to keep cacheable responses, or null for no disk cache
+     * @param rateLimiter    per-host budgets every call has to stay within
+     */
+    public SharedHttpClient(File cacheDirectory, RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.pool = new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE.toMillis(), TimeUnit.MILLISECONDS);
+        this.dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+        this.cache = cacheDirectory == null ? null : new Cache(cacheDirectory, CACHE_SIZE_BYTES);
+        this.client = new OkHttpClient.Builder()
+                .connectionPool(pool)
+                .dispatcher(dispatcher)
+                .cache(cache)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .readTimeout(READ_TIMEOUT)
+                .callTimeout(CALL_TIMEOUT)
+                .addInterceptor(this::limitRate)
+                .addInterceptor(this::timeCall)
+                .build();
+    }
+
+    /** The underlying client, for gateways that build and run their own calls. */
+    public OkHttpClient client() {
+        return client;
+    }
+
+    /**
+     * Run {@code request} and return the response body as a string.
+     *
+     * @throws HttpStatusException if the status is not 2xx
+     * @throws IOException         if the call fails
+     */
+    public String fetchString(Request request) throws IOException {
+        return execute(request, response -> {
+            if (!response.isSuccessful()) {
+                throw new HttpStatusException(response.code(), request.url().host());
+            }
+            return response.body().string();
+        });
+    }
+
+    /**
+     * Run {@code request} and decode the response body as it streams in, without
+     * reading it into a string first (see {@link JsonReader}).
+     *
+     * @throws HttpStatusException if the status is not 2xx
+     * @throws IOException         if the call fails
+     */
+    public <T> T fetch(Request request, BodyDecoder<T> decoder) throws IOException {
+        return execute(request, response -> {
+            if (!response.isSuccessful()) {
+                throw new HttpStatusException(response.code(), request.url().host());
+            }
+            return decoder.decode(response.body().source());
+        });
+    }
+
+    /** Run {@code request}, pass the response to {@code handler} and close it. */
+    public <T> T execute(Request request, ResponseHandler<T> handler) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            return handler.handle(response);
+        }
+    }
+
+    private Response limitRate(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestPriority priority = request.tag(RequestPriority.class);
+        rateLimiter.acquire(request.url().host(), priority == null ? RequestPriority.INTERACTIVE : priority);
+        return chain.proceed(request);
+    }
+
+    private Response timeCall(Interceptor.Chain chain) throws IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Response response = chain.proceed(chain.request());
+            failed = false;
+            return response;
+        } finally {
+            record(System.nanoTime() - start, failed);
+        }
+    }
+
+    private synchronized void record(long nanos, boolean failed) {
+        requests++;
+        if (failed) {
+            failures++;
+        }
+        latencyNanosTotal += nanos;
+        latencyNanosMax = Math.max(latencyNanosMax, nanos);
+    }
+
+    // ---- metrics ----
+
+    /** Calls made, including ones answered from the disk cache. */
+    public synchronized long getRequestCount() {
+        return requests;
+    }
+
+    /** Calls that failed with an I/O error (a non-2xx response is not a failure here). */
+    public synchronized long getFailureCount() {
+        return failures;
+    }
+
+    /** Time to the response headers, averaged over all calls. */
+    public synchronized Duration getAverageLatency() {
+        return requests == 0 ? Duration.ZERO : Duration.ofNanos(latencyNanosTotal / requests);
+    }
+
+    public synchronized Duration getMaxLatency() {
+        return Duration.ofNanos(latencyNanosMax);
+    }
+
+    /** Responses served from the disk cache (fully or after revalidation). */
+    public int getCacheHitCount() {
+        return cache == null ? 0 : cache.hitCount();
+    }
+
+    /** Calls that went to the network (0 without a disk cache, which is what counts them). */
+    public int getNetworkCount() {
+        return cache == null ? 0 : cache.networkCount();
+    }
+
+    public int getConnectionCount() {
+        return pool.connectionCount();
+    }
+
+    /** Pooled connections not carrying a call; a leaked response body keeps its connection busy. */
+    public int getIdleConnectionCount() {
+        return pool.idleConnectionCount();
+    }
+
+    public int getRunningCallCount() {
+        return dispatcher.runningCallsCount();
+    }
+
+    public int getQueuedCallCount() {
+        return dispatcher.queuedCallsCount();
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    public void close() {
+        dispatcher.executorService().shutdown();
+        pool.evictAll();
+        if (cache != null) {
+            try {
+                cache.close();
+            } catch (IOException ex) {
+                System.err.println("Failed to close HTTP cache: " + ex.getMessage());
+            }
+        }
+    }
+}
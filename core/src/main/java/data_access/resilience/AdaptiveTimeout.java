@@ -0,0 +1,62 @@
+package data_access.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Timeout for one endpoint derived from its recent latencies.
+ *
+ * The last {@link #WINDOW} successful call latencies are kept. Once there are at least
+ * {@link #MIN_SAMPLES} of them, the timeout is {@link #MULTIPLIER} times their
+ * {@link #PERCENTILE} percentile, kept between {@code min} and {@code max}; before
+ * that it is {@code max}. A fast endpoint therefore gets a short timeout, and a call
+ * that is far slower than usual is given up on early instead of waiting out the
+ * client's fixed read timeout.
+ */
+public class AdaptiveTimeout {
+
+    public static final int WINDOW = 100;
+    public static final int MIN_SAMPLES = 20;
+    public static final double PERCENTILE = 0.99;
+    public static final int MULTIPLIER = 2;
+
+    private final long minNanos;
+    private final long maxNanos;
+    private final long[] samples = new long[WINDOW];
+    private int count;
+    private int next;
+
+    public AdaptiveTimeout(Duration min, Duration max) {
+        if (min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("min must not be greater than max");
+        }
+        this.minNanos = min.toNanos();
+        this.maxNanos = max.toNanos();
+    }
+
+    /** Record the latency of a call that completed. */
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % WINDOW;
+        count = Math.min(count + 1, WINDOW);
+    }
+
+    public synchronized Duration getTimeout() {
+        if (count < MIN_SAMPLES) {
+            return Duration.ofNanos(maxNanos);
+        }
+        long timeout = percentile(PERCENTILE) * MULTIPLIER;
+        return Duration.ofNanos(Math.max(minNanos, Math.min(maxNanos, timeout)));
+    }
+
+    /** The {@code p} percentile (0..1) of the recorded latencies in nanoseconds, 0 if none. */
+    public synchronized long percentile(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(p * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+}
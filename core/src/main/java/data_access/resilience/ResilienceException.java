@@ -0,0 +1,23 @@
+package data_access.resilience;
+
+/**
+ * A call made through {@link ResilientCaller} that did not produce a result.
+ *
+ * Either the endpoint is unavailable (it failed, timed out or its circuit is open),
+ * in which case the caller may fall back to older data, or the endpoint answered
+ * with an error of its own, which is the cause and should be passed on as is.
+ */
+public class ResilienceException extends Exception {
+
+    private final boolean unavailable;
+
+    public ResilienceException(String message, Throwable cause, boolean unavailable) {
+        super(message, cause);
+        this.unavailable = unavailable;
+    }
+
+    /** True if the endpoint could not be reached in time; false if it answered with an error. */
+    public boolean isUnavailable() {
+        return unavailable;
+    }
+}
@@ -0,0 +1,300 @@
+package data_access.resilience;
+
+import data_access.http.HttpStatusException;
+import data_access.http.RateLimitExceededException;
+import data_access.http.RateLimiter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs calls to upstream endpoints with a circuit breaker, an adaptive timeout and
+ * bounded retries.
+ *
+ * Each named endpoint gets its own {@link CircuitBreaker} and {@link AdaptiveTimeout}.
+ * A call runs on a worker thread and is abandoned (and interrupted) when it takes
+ * longer than the endpoint's current timeout. Calls that time out or fail with an
+ * I/O error, a server error or rate limiting are retried up to {@code maxAttempts}
+ * times in total, after a random pause of up to {@code baseBackoff} doubled for every
+ * further attempt (full jitter). Other errors mean the endpoint did answer; they are
+ * not retried and do not count against the breaker. Once the breaker is open, calls
+ * fail immediately without touching the endpoint.
+ *
+ * Time an attempt spends queued in the {@link RateLimiter} is not part of its timeout
+ * or its latency: the timeout starts once the attempt has its permit. An attempt the
+ * limiter rejects never reached the endpoint, so it is neither retried nor counted
+ * against the breaker; the call fails as unavailable right away.
+ */
+public class ResilientCaller implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(100);
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_MIN_TIMEOUT = Duration.ofMillis(300);
+    public static final Duration DEFAULT_MAX_TIMEOUT = Duration.ofSeconds(3);
+
+    /** One attempt at the upstream call. */
+    @FunctionalInterface
+    public interface UpstreamCall<T> {
+        T call() throws Exception;
+    }
+
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Duration minTimeout;
+    private final Duration maxTimeout;
+    private final LongSupplier clock;
+    private final ExecutorService workers;
+
+    private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ResilientCaller() {
+        this(DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_BACKOFF, DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION,
+                DEFAULT_MIN_TIMEOUT, DEFAULT_MAX_TIMEOUT);
+    }
+
+    /**
+     * @param maxAttempts      attempts per call, including the first one
+     * @param baseBackoff      upper bound of the pause before the first retry
+     * @param failureThreshold failures in a row that open an endpoint's breaker
+     * @param openDuration     how long an open breaker rejects calls
+     * @param minTimeout       shortest timeout an endpoint can get
+     * @param maxTimeout       longest timeout, also used until enough latencies are known
+     */
+    public ResilientCaller(int maxAttempts,
+                           Duration baseBackoff,
+                           int failureThreshold,
+                           Duration openDuration,
+                           Duration minTimeout,
+                           Duration maxTimeout) {
+        this(maxAttempts, baseBackoff, failureThreshold, openDuration, minTimeout, maxTimeout, System::nanoTime);
+    }
+
+    /** Full constructor for tests: {@code clock} drives the breakers, in nanoseconds. */
+    ResilientCaller(int maxAttempts,
+                    Duration baseBackoff,
+                    int failureThreshold,
+                    Duration openDuration,
+                    Duration minTimeout,
+                    Duration maxTimeout,
+                    LongSupplier clock) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffNanos = baseBackoff.toNanos();
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.minTimeout = minTimeout;
+        this.maxTimeout = maxTimeout;
+        this.clock = clock;
+        this.workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "upstream-call");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Call {@code endpoint}.
+     *
+     * @throws ResilienceException if no attempt produced a result; see
+     *                             {@link ResilienceException#isUnavailable()}
+     */
+    public <T> T call(String endpoint, UpstreamCall<T> upstream) throws ResilienceException {
+        calls.incrementAndGet();
+        Endpoint target = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        ResilienceException last = null;
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (attempt > 1) {
+                retries.incrementAndGet();
+                pause(attempt, endpoint);
+            }
+            if (!target.breaker.tryAcquire()) {
+                rejected.incrementAndGet();
+                throw new ResilienceException(endpoint + " is unavailable (circuit open)",
+                        last == null ? null : last.getCause(), true);
+            }
+
+            Duration timeout = target.timeout.getTimeout();
+            Attempt timing = new Attempt();
+            Future<T> future = workers.submit(() -> {
+                RateLimiter.setWaitListener(timing);
+                try {
+                    return upstream.call();
+                } finally {
+                    RateLimiter.setWaitListener(null);
+                }
+            });
+            try {
+                T result = timing.await(future, timeout.toNanos());
+                target.timeout.record(System.nanoTime() - timing.start);
+                target.breaker.onSuccess();
+                return result;
+            } catch (TimeoutException ex) {
+                future.cancel(true);
+                timeouts.incrementAndGet();
+                target.breaker.onFailure();
+                last = new ResilienceException(
+                        endpoint + " did not answer within " + timeout.toMillis() + " ms", ex, true);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (isRateLimited(cause)) {
+                    // Turned away locally: the endpoint was never asked
+                    target.breaker.onAbandoned();
+                    throw new ResilienceException(endpoint + " failed: " + cause.getMessage(), cause, true);
+                }
+                if (!isTransient(cause)) {
+                    // The endpoint answered; the answer just is not a result
+                    target.timeout.record(System.nanoTime() - timing.start);
+                    target.breaker.onSuccess();
+                    throw new ResilienceException(cause.getMessage(), cause, false);
+                }
+                target.breaker.onFailure();
+                last = new ResilienceException(endpoint + " failed: " + cause.getMessage(), cause, true);
+            } catch (InterruptedException ex) {
+                // Our caller gave up, e.g. a superseded lookup; the endpoint did nothing wrong
+                future.cancel(true);
+                target.breaker.onAbandoned();
+                Thread.currentThread().interrupt();
+                throw new ResilienceException("Interrupted while calling " + endpoint, ex, true);
+            }
+        }
+        throw last;
+    }
+
+    private void pause(int attempt, String endpoint) throws ResilienceException {
+        long cap = baseBackoffNanos << Math.min(attempt - 2, 20);
+        if (cap <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResilienceException("Interrupted while calling " + endpoint, ex, true);
+        }
+    }
+
+    /**
+     * Whether a failure may go away by itself: I/O errors, server errors and rate
+     * limiting by the server. A rejection by our own {@link RateLimiter} is not.
+     */
+    static boolean isTransient(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof RateLimitExceededException) {
+                return false;
+            }
+            if (t instanceof HttpStatusException) {
+                return ((HttpStatusException) t).isRetryable();
+            }
+            if (t instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isRateLimited(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof RateLimitExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ---- metrics ----
+
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    /** Attempts after the first one. */
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    /** Attempts abandoned because they took longer than the endpoint's timeout. */
+    public long getTimeoutCount() {
+        return timeouts.get();
+    }
+
+    /** Attempts refused because the endpoint's breaker was open. */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /** State of the endpoint's breaker; closed for endpoints that were never called. */
+    public CircuitBreaker.State getState(String endpoint) {
+        Endpoint target = endpoints.get(endpoint);
+        return target == null ? CircuitBreaker.State.CLOSED : target.breaker.getState();
+    }
+
+    /** The timeout the next call to the endpoint will get. */
+    public Duration getTimeout(String endpoint) {
+        Endpoint target = endpoints.get(endpoint);
+        return target == null ? maxTimeout : target.timeout.getTimeout();
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    /** One attempt, timed from when it got its rate limiter permit. */
+    private static final class Attempt implements RateLimiter.WaitListener {
+        private volatile long start = System.nanoTime();
+        private volatile boolean waiting;
+
+        @Override
+        public void waitStarted() {
+            waiting = true;
+        }
+
+        @Override
+        public void waitEnded() {
+            start = System.nanoTime();
+            waiting = false;
+        }
+
+        /** The result, waiting up to {@code timeoutNanos} after the permit (the limiter bounds the queueing). */
+        private <T> T await(Future<T> future, long timeoutNanos)
+                throws ExecutionException, InterruptedException, TimeoutException {
+            while (true) {
+                long remaining = waiting ? timeoutNanos : start + timeoutNanos - System.nanoTime();
+                try {
+                    return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException ex) {
+                    if (!waiting && System.nanoTime() - start >= timeoutNanos) {
+                        throw ex;
+                    }
+                }
+            }
+        }
+    }
+
+    private final class Endpoint {
+        private final CircuitBreaker breaker = new CircuitBreaker(failureThreshold, openDuration, clock);
+        private final AdaptiveTimeout timeout = new AdaptiveTimeout(minTimeout, maxTimeout);
+    }
+}
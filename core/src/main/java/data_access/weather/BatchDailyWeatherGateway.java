@@ -0,0 +1,337 @@
+package data_access.weather;
+
+import data_access.http.RequestPriority;
+import entity.DailyWeather;
+import entity.Location;
+import use_case.get_current_weather.DailyForecastApiGateway;
+import use_case.get_current_weather.DailyWeatherBatchGateway;
+import use_case.get_current_weather.GeocodingApiGateway;
+import use_case.get_current_weather.WeatherGatewayException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongSupplier;
+
+/**
+ * Batch weather lookups for many (place, date) pairs, e.g. every event location in
+ * the displayed month.
+ *
+ * A call dedupes the places on their normalized (city, country) and the dates, and
+ * geocodes each distinct place on at most {@code maxParallelGeocodes} threads. Give
+ * it the application's geocoder, such as {@link SQLiteGeocodeStore} over
+ * {@link ResilientWeatherApiGateway}, so places already known cost no request. It
+ * then fetches the days that are not cached for all locations with one multi-coordinate forecast
+ * request per {@link #MAX_LOCATIONS_PER_REQUEST} locations. Results are cached per
+ * (location, date) for {@code ttl}. Dates the API has no forecast for are cached as
+ * such, so asking again does not cost a request either.
+ *
+ * Places that cannot be geocoded are left out of the result; a failing forecast
+ * request fails the whole call.
+ */
+public class BatchDailyWeatherGateway implements DailyWeatherBatchGateway, AutoCloseable {
+
+    public static final int DEFAULT_MAX_PARALLEL_GEOCODES = 4;
+    public static final int MAX_LOCATIONS_PER_REQUEST = 50;
+    public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+    private final GeocodingApiGateway geocoder;
+    private final DailyForecastApiGateway forecaster;
+    private final ExecutorService geocodePool;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    // Access-ordered, so iteration starts at the least recently used day
+    private final LinkedHashMap<DayKey, DayEntry> days;
+
+    private long hits;
+    private long misses;
+    private long forecastRequests;
+    private long geocodeFailures;
+    private long evictions;
+
+    /**
+     * Batch lookups with the application's {@code geocoder} and forecasts from {@code api},
+     * which queue behind interactive requests when rate limited.
+     */
+    public BatchDailyWeatherGateway(GeocodingApiGateway geocoder, OpenMeteoWeatherApiGateway api) {
+        this(geocoder, api.withPriority(RequestPriority.BACKGROUND),
+                DEFAULT_MAX_PARALLEL_GEOCODES, DEFAULT_TTL, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param geocoder            where to geocode places (typically the application's stored one)
+     * @param forecaster          where to fetch daily forecasts
+     * @param maxParallelGeocodes how many places are geocoded at the same time
+     * @param ttl                 how long a cached day is served
+     * @param maxEntries          maximum number of (location, date) entries kept
+     */
+    public BatchDailyWeatherGateway(GeocodingApiGateway geocoder,
+                                    DailyForecastApiGateway forecaster,
+                                    int maxParallelGeocodes,
+                                    Duration ttl,
+                                    int maxEntries) {
+        this(geocoder, forecaster, maxParallelGeocodes, ttl, maxEntries, System::nanoTime);
+    }
+
+    /** Full constructor for tests: {@code clock} returns the time in nanoseconds. */
+    BatchDailyWeatherGateway(GeocodingApiGateway geocoder,
+                             DailyForecastApiGateway forecaster,
+                             int maxParallelGeocodes,
+                             Duration ttl,
+                             int maxEntries,
+                             LongSupplier clock) {
+        if (maxParallelGeocodes < 1) {
+            throw new IllegalArgumentException("maxParallelGeocodes must be at least 1");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.geocoder = geocoder;
+        this.forecaster = forecaster;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.geocodePool = Executors.newFixedThreadPool(maxParallelGeocodes, runnable -> {
+            Thread thread = new Thread(runnable, "weather-geocode");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.days = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DayKey, DayEntry> eldest) {
+                if (size() > BatchDailyWeatherGateway.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Map<String, Map<LocalDate, DailyWeather>> getDailyWeather(Collection<String> places,
+                                                                     Collection<LocalDate> dates)
+            throws WeatherGatewayException {
+        Map<String, Map<LocalDate, DailyWeather>> result = new LinkedHashMap<>();
+        TreeSet<LocalDate> wantedDates = new TreeSet<>(dates);
+        if (places.isEmpty() || wantedDates.isEmpty()) {
+            return result;
+        }
+
+        // ---- 1. Geocode each distinct place once ----
+        Map<String, Location> locationByPlace = geocodeAll(places);
+        Set<Location> locations = new LinkedHashSet<>(locationByPlace.values());
+
+        // ---- 2. Collect cached days; note which locations miss which dates ----
+        Map<Location, Map<LocalDate, DailyWeather>> found = new HashMap<>();
+        List<Location> missing = new ArrayList<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        synchronized (this) {
+            long now = clock.getAsLong();
+            for (Location location : locations) {
+                Map<LocalDate, DailyWeather> byDate = new HashMap<>();
+                found.put(location, byDate);
+                boolean locationMisses = false;
+                for (LocalDate date : wantedDates) {
+                    DayEntry entry = days.get(new DayKey(location, date));
+                    if (entry != null && now - entry.fetchedAt < ttlNanos) {
+                        hits++;
+                        if (entry.weather != null) {
+                            byDate.put(date, entry.weather);
+                        }
+                        continue;
+                    }
+                    misses++;
+                    locationMisses = true;
+                    if (firstMissing == null || date.isBefore(firstMissing)) {
+                        firstMissing = date;
+                    }
+                    if (lastMissing == null || date.isAfter(lastMissing)) {
+                        lastMissing = date;
+                    }
+                }
+                if (locationMisses) {
+                    missing.add(location);
+                }
+            }
+        }
+
+        // ---- 3. One forecast request per chunk of locations for the missing days ----
+        for (int i = 0; i < missing.size(); i += MAX_LOCATIONS_PER_REQUEST) {
+            List<Location> chunk = missing.subList(i, Math.min(missing.size(), i + MAX_LOCATIONS_PER_REQUEST));
+            synchronized (this) {
+                forecastRequests++;
+            }
+            Map<Location, List<DailyWeather>> fetched =
+                    forecaster.getDailyForecasts(chunk, firstMissing, lastMissing);
+            store(chunk, fetched, wantedDates.subSet(firstMissing, true, lastMissing, true), found);
+        }
+
+        // ---- 4. Answer per place as it was passed in ----
+        for (Map.Entry<String, Location> entry : locationByPlace.entrySet()) {
+            Map<LocalDate, DailyWeather> byDate = new LinkedHashMap<>();
+            Map<LocalDate, DailyWeather> forLocation = found.get(entry.getValue());
+            for (LocalDate date : wantedDates) {
+                DailyWeather weather = forLocation.get(date);
+                if (weather != null) {
+                    byDate.put(date, weather);
+                }
+            }
+            result.put(entry.getKey(), byDate);
+        }
+        return result;
+    }
+
+    /**
+     * Geocode every distinct place on the pool; places that fail are left out (and
+     * tried again next time).
+     */
+    private Map<String, Location> geocodeAll(Collection<String> places) throws WeatherGatewayException {
+        Map<GeocodeKey, Future<Location>> lookups = new LinkedHashMap<>();
+        Map<String, GeocodeKey> keyByPlace = new LinkedHashMap<>();
+        Map<GeocodeKey, Location> locationByKey = new HashMap<>();
+        for (String place : places) {
+            if (place == null || place.isBlank() || keyByPlace.containsKey(place)) {
+                continue;
+            }
+            int comma = place.lastIndexOf(',');
+            String city = comma < 0 ? place : place.substring(0, comma);
+            String country = comma < 0 ? null : place.substring(comma + 1);
+            GeocodeKey key = GeocodeKey.of(city, country);
+            keyByPlace.put(place, key);
+            if (!lookups.containsKey(key)) {
+                lookups.put(key, geocodePool.submit(() -> geocoder.geocode(city, country)));
+            }
+        }
+
+        for (Map.Entry<GeocodeKey, Future<Location>> lookup : lookups.entrySet()) {
+            try {
+                Location location = lookup.getValue().get();
+                if (location != null) {
+                    locationByKey.put(lookup.getKey(), location);
+                }
+            } catch (ExecutionException ex) {
+                System.err.println("Failed to geocode " + lookup.getKey() + ": " + ex.getCause().getMessage());
+                synchronized (this) {
+                    geocodeFailures++;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new WeatherGatewayException("Interrupted while geocoding", ex);
+            }
+        }
+
+        Map<String, Location> locationByPlace = new LinkedHashMap<>();
+        for (Map.Entry<String, GeocodeKey> entry : keyByPlace.entrySet()) {
+            Location location = locationByKey.get(entry.getValue());
+            if (location != null) {
+                locationByPlace.put(entry.getKey(), location);
+            }
+        }
+        return locationByPlace;
+    }
+
+    private synchronized void store(List<Location> chunk,
+                                    Map<Location, List<DailyWeather>> fetched,
+                                    Set<LocalDate> requestedDates,
+                                    Map<Location, Map<LocalDate, DailyWeather>> found) {
+        long now = clock.getAsLong();
+        for (Location location : chunk) {
+            Map<LocalDate, DailyWeather> byDate = found.get(location);
+            for (DailyWeather day : fetched.getOrDefault(location, List.of())) {
+                days.put(new DayKey(location, day.getDate()), new DayEntry(day, now));
+                byDate.put(day.getDate(), day);
+            }
+            // Remember the days the API had nothing for, so they are not asked for again
+            for (LocalDate date : requestedDates) {
+                if (!byDate.containsKey(date)) {
+                    days.put(new DayKey(location, date), new DayEntry(null, now));
+                }
+            }
+        }
+    }
+
+    // ---- metrics ----
+
+    /** (location, date) pairs answered from the cache. */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /** (location, date) pairs that had to be fetched. */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getForecastRequestCount() {
+        return forecastRequests;
+    }
+
+    public synchronized long getGeocodeFailureCount() {
+        return geocodeFailures;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized int getCachedDayCount() {
+        return days.size();
+    }
+
+    @Override
+    public void close() {
+        geocodePool.shutdown();
+    }
+
+    private static final class DayKey {
+        private final Location location;
+        private final LocalDate date;
+
+        private DayKey(Location location, LocalDate date) {
+            this.location = location;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof DayKey)) {
+                return false;
+            }
+            DayKey other = (DayKey) o;
+            return location.equals(other.location) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(location, date);
+        }
+    }
+
+    private static final class DayEntry {
+        private final DailyWeather weather;   // null: the API had no forecast for the day
+        private final long fetchedAt;
+
+        private DayEntry(DailyWeather weather, long fetchedAt) {
+            this.weather = weather;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package data_access.weather;
+
+import data_access.http.RequestPriority;
+import entity.Forecast;
+import entity.Location;
+import entity.WeatherInfo;
+import use_case.get_current_weather.ForecastApiGateway;
+import use_case.get_current_weather.GeocodingApiGateway;
+import use_case.get_current_weather.WeatherApiGateway;
+import use_case.get_current_weather.WeatherGatewayException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+
+/**
+ * Caching decorator for the two steps of a weather lookup.
+ *
+ * Geocoding results are kept until evicted: a city does not move. Forecasts (the
+ * current conditions together with the daily series, so every day shown for a place
+ * comes from one cached request) are fresh for {@code forecastTtl}. For another
+ * {@code maxStale} after that, the old forecast is still returned immediately while
+ * a background refresh fetches a new one (stale-while-revalidate); older entries are
+ * fetched again before returning.
+ *
+ * Background refreshes may go to a separate {@code backgroundForecaster}, e.g. the
+ * same API tagged {@link RequestPriority#BACKGROUND}, so they queue behind lookups
+ * someone is waiting for when the API's rate limit is reached.
+ *
+ * Each of the two caches holds at most {@code maxEntries} entries and evicts the
+ * least recently used one first. Failed lookups are not cached.
+ */
+public class CachingWeatherApiGateway implements WeatherApiGateway,
+                                                 GeocodingApiGateway,
+                                                 ForecastApiGateway,
+                                                 AutoCloseable {
+
+    public static final Duration DEFAULT_FORECAST_TTL = Duration.ofMinutes(10);
+    public static final Duration DEFAULT_MAX_STALE = Duration.ofHours(1);
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final GeocodingApiGateway geocoder;
+    private final ForecastApiGateway forecaster;
+    private final ForecastApiGateway backgroundForecaster;
+    private final long forecastTtlNanos;
+    private final long maxStaleNanos;
+    private final int maxEntries;
+    private final Executor refresher;
+    private final ExecutorService ownedRefresher;
+    private final LongSupplier clock;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<GeocodeKey, Location> locations;
+    private final LinkedHashMap<Location, ForecastEntry> forecasts;
+
+    private long geocodeHits;
+    private long geocodeMisses;
+    private long forecastHits;
+    private long staleHits;
+    private long forecastMisses;
+    private long evictions;
+    private long refreshCount;
+    private long refreshNanosTotal;
+    private long refreshNanosMax;
+
+    /**
+     * Cache both steps of {@code api} with the default TTL, stale window and size;
+     * background refreshes are sent with {@link RequestPriority#BACKGROUND}.
+     */
+    public CachingWeatherApiGateway(OpenMeteoWeatherApiGateway api) {
+        this(api, api, api.withPriority(RequestPriority.BACKGROUND));
+    }
+
+    /** Cache geocoding and forecasts with the default TTL, stale window and size. */
+    public CachingWeatherApiGateway(GeocodingApiGateway geocoder, ForecastApiGateway forecaster) {
+        this(geocoder, forecaster, forecaster);
+    }
+
+    /**
+     * Cache geocoding and forecasts with the default TTL, stale window and size.
+     * @param backgroundForecaster where background refreshes of stale forecasts are fetched
+     */
+    public CachingWeatherApiGateway(GeocodingApiGateway geocoder,
+                                    ForecastApiGateway forecaster,
+                                    ForecastApiGateway backgroundForecaster) {
+        this(geocoder, forecaster, backgroundForecaster, DEFAULT_FORECAST_TTL, DEFAULT_MAX_STALE,
+                DEFAULT_MAX_ENTRIES, null, System::nanoTime);
+    }
+
+    /**
+     * @param geocoder    where to geocode cache misses
+     * @param forecaster  where to fetch forecasts
+     * @param forecastTtl how long a forecast is served without refreshing
+     * @param maxStale    how long after that it is still served while refreshing
+     * @param maxEntries  maximum number of locations and of forecasts kept
+     */
+    public CachingWeatherApiGateway(GeocodingApiGateway geocoder,
+                                    ForecastApiGateway forecaster,
+                                    Duration forecastTtl,
+                                    Duration maxStale,
+                                    int maxEntries) {
+        this(geocoder, forecaster, forecaster, forecastTtl, maxStale, maxEntries, null, System::nanoTime);
+    }
+
+    /**
+     * Full constructor for tests: {@code refresher} runs background refreshes (a daemon
+     * thread is created when null) and {@code clock} returns the time in nanoseconds.
+     */
+    CachingWeatherApiGateway(GeocodingApiGateway geocoder,
+                             ForecastApiGateway forecaster,
+                             ForecastApiGateway backgroundForecaster,
+                             Duration forecastTtl,
+                             Duration maxStale,
+                             int maxEntries,
+                             Executor refresher,
+                             LongSupplier clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.geocoder = geocoder;
+        this.forecaster = forecaster;
+        this.backgroundForecaster = backgroundForecaster;
+        this.forecastTtlNanos = forecastTtl.toNanos();
+        this.maxStaleNanos = maxStale.toNanos();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        if (refresher == null) {
+            this.ownedRefresher = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "weather-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.refresher = ownedRefresher;
+        } else {
+            this.ownedRefresher = null;
+            this.refresher = refresher;
+        }
+        this.locations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GeocodeKey, Location> eldest) {
+                return evictIfFull(size());
+            }
+        };
+        this.forecasts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Location, ForecastEntry> eldest) {
+                return evictIfFull(size());
+            }
+        };
+    }
+
+    @Override
+    public WeatherInfo getCurrentWeather(String city, String country) throws WeatherGatewayException {
+        return getCurrentWeather(geocode(city, country));
+    }
+
+    @Override
+    public Location geocode(String city, String country) throws WeatherGatewayException {
+        GeocodeKey key = GeocodeKey.of(city, country);
+        synchronized (this) {
+            Location cached = locations.get(key);
+            if (cached != null) {
+                geocodeHits++;
+                return cached;
+            }
+            geocodeMisses++;
+        }
+        Location location = geocoder.geocode(city, country);
+        synchronized (this) {
+            locations.put(key, location);
+        }
+        return location;
+    }
+
+    @Override
+    public Forecast getForecast(Location location) throws WeatherGatewayException {
+        synchronized (this) {
+            ForecastEntry entry = forecasts.get(location);
+            if (entry != null) {
+                long age = clock.getAsLong() - entry.fetchedAt;
+                if (age < forecastTtlNanos) {
+                    forecastHits++;
+                    return entry.forecast;
+                }
+                if (age < forecastTtlNanos + maxStaleNanos) {
+                    staleHits++;
+                    if (!entry.refreshing) {
+                        entry.refreshing = true;
+                        refresher.execute(() -> refreshInBackground(location, entry));
+                    }
+                    return entry.forecast;
+                }
+            }
+            forecastMisses++;
+        }
+        return fetch(forecaster, location);
+    }
+
+    private void refreshInBackground(Location location, ForecastEntry entry) {
+        try {
+            fetch(backgroundForecaster, location);
+        } catch (WeatherGatewayException | RuntimeException ex) {
+            System.err.println("Failed to refresh weather for " + location.getName() + ": " + ex.getMessage());
+            synchronized (this) {
+                entry.refreshing = false;    // let the next stale hit try again
+            }
+        }
+    }
+
+    private Forecast fetch(ForecastApiGateway source, Location location) throws WeatherGatewayException {
+        long start = clock.getAsLong();
+        Forecast forecast = source.getForecast(location);
+        long end = clock.getAsLong();
+        synchronized (this) {
+            long nanos = end - start;
+            refreshCount++;
+            refreshNanosTotal += nanos;
+            refreshNanosMax = Math.max(refreshNanosMax, nanos);
+            forecasts.put(location, new ForecastEntry(forecast, end));
+        }
+        return forecast;
+    }
+
+    private boolean evictIfFull(int size) {
+        if (size > maxEntries) {
+            evictions++;
+            return true;
+        }
+        return false;
+    }
+
+    // ---- metrics ----
+
+    public synchronized long getGeocodeHitCount() {
+        return geocodeHits;
+    }
+
+    public synchronized long getGeocodeMissCount() {
+        return geocodeMisses;
+    }
+
+    /** Forecasts served fresh from the cache. */
+    public synchronized long getForecastHitCount() {
+        return forecastHits;
+    }
+
+    /** Forecasts served from the cache after their TTL, while a refresh was started. */
+    public synchronized long getStaleHitCount() {
+        return staleHits;
+    }
+
+    /** Forecasts that had to be fetched before returning. */
+    public synchronized long getForecastMissCount() {
+        return forecastMisses;
+    }
+
+    /** Share of forecast lookups answered without waiting for the API (fresh or stale). */
+    public synchronized double getHitRatio() {
+        long served = forecastHits + staleHits;
+        long total = served + forecastMisses;
+        return total == 0 ? 0.0 : (double) served / total;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /** Number of forecasts fetched from the API, in the foreground or background. */
+    public synchronized long getRefreshCount() {
+        return refreshCount;
+    }
+
+    public synchronized Duration getAverageRefreshLatency() {
+        return refreshCount == 0 ? Duration.ZERO : Duration.ofNanos(refreshNanosTotal / refreshCount);
+    }
+
+    public synchronized Duration getMaxRefreshLatency() {
+        return Duration.ofNanos(refreshNanosMax);
+    }
+
+    public synchronized int getCachedLocationCount() {
+        return locations.size();
+    }
+
+    public synchronized int getCachedForecastCount() {
+        return forecasts.size();
+    }
+
+    /** Drop every cached location and forecast. */
+    public synchronized void invalidateAll() {
+        locations.clear();
+        forecasts.clear();
+    }
+
+    @Override
+    public void close() {
+        if (ownedRefresher != null) {
+            ownedRefresher.shutdown();
+        }
+    }
+
+    private static final class ForecastEntry {
+        private final Forecast forecast;
+        private final long fetchedAt;
+        private boolean refreshing;     // guarded by the gateway's lock
+
+        private ForecastEntry(Forecast forecast, long fetchedAt) {
+            this.forecast = forecast;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package data_access.weather;
+
+import entity.Forecast;
+import entity.Location;
+import entity.WeatherInfo;
+import use_case.get_current_weather.ForecastApiGateway;
+import use_case.get_current_weather.GeocodingApiGateway;
+import use_case.get_current_weather.WeatherApiGateway;
+import use_case.get_current_weather.WeatherGatewayException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-flight decorator: concurrent identical lookups share one upstream call.
+ *
+ * The first caller for a key makes the call on its own thread; callers that arrive
+ * while it is in flight wait on the same {@link CompletableFuture} and get the same
+ * result or the same exception. Geocoding is keyed on the normalized (city, country),
+ * forecasts on the geocoded location. Nothing is kept once a call completes, so this
+ * is not a cache; put {@link CachingWeatherApiGateway} in front of it for that.
+ */
+public class CoalescingWeatherApiGateway implements WeatherApiGateway,
+                                                    GeocodingApiGateway,
+                                                    ForecastApiGateway {
+
+    private final GeocodingApiGateway geocoder;
+    private final ForecastApiGateway forecaster;
+
+    private final ConcurrentHashMap<GeocodeKey, CompletableFuture<Location>> geocodesInFlight =
+            new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Location, CompletableFuture<Forecast>> forecastsInFlight =
+            new ConcurrentHashMap<>();
+
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public CoalescingWeatherApiGateway(OpenMeteoWeatherApiGateway api) {
+        this(api, api);
+    }
+
+    public CoalescingWeatherApiGateway(GeocodingApiGateway geocoder, ForecastApiGateway forecaster) {
+        this.geocoder = geocoder;
+        this.forecaster = forecaster;
+    }
+
+    @FunctionalInterface
+    private interface UpstreamCall<V> {
+        V call() throws WeatherGatewayException;
+    }
+
+    @Override
+    public WeatherInfo getCurrentWeather(String city, String country) throws WeatherGatewayException {
+        return getCurrentWeather(geocode(city, country));
+    }
+
+    @Override
+    public Location geocode(String city, String country) throws WeatherGatewayException {
+        return singleFlight(geocodesInFlight, GeocodeKey.of(city, country),
+                () -> geocoder.geocode(city, country));
+    }
+
+    @Override
+    public Forecast getForecast(Location location) throws WeatherGatewayException {
+        return singleFlight(forecastsInFlight, location, () -> forecaster.getForecast(location));
+    }
+
+    private <K, V> V singleFlight(ConcurrentHashMap<K, CompletableFuture<V>> inFlight,
+                                  K key,
+                                  UpstreamCall<V> upstream) throws WeatherGatewayException {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> shared = inFlight.putIfAbsent(key, mine);
+        if (shared == null) {
+            upstreamCalls.incrementAndGet();
+            try {
+                mine.complete(upstream.call());
+            } catch (WeatherGatewayException | RuntimeException ex) {
+                mine.completeExceptionally(ex);
+            } catch (Error error) {
+                // Callers already waiting on this call would otherwise block forever
+                mine.completeExceptionally(error);
+                throw error;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+            shared = mine;
+        } else {
+            coalesced.incrementAndGet();
+        }
+
+        try {
+            return shared.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof WeatherGatewayException) {
+                throw (WeatherGatewayException) ex.getCause();
+            }
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /** Geocoding and forecast calls actually made upstream. */
+    public long getUpstreamCallCount() {
+        return upstreamCalls.get();
+    }
+
+    /** Lookups that joined a call already in flight instead of making their own. */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+}
@@ -0,0 +1,54 @@
+package data_access.weather;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A geocoding query as used for caching: city and country, trimmed and lower-cased,
+ * so "Toronto, Canada" and " toronto , CANADA" are the same lookup. A missing
+ * country is the empty string.
+ */
+final class GeocodeKey {
+    private final String city;
+    private final String country;
+
+    private GeocodeKey(String city, String country) {
+        this.city = city;
+        this.country = country;
+    }
+
+    static GeocodeKey of(String city, String country) {
+        return new GeocodeKey(normalize(city), normalize(country));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    String city() {
+        return city;
+    }
+
+    String country() {
+        return country;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof GeocodeKey)) {
+            return false;
+        }
+        GeocodeKey other = (GeocodeKey) o;
+        return city.equals(other.city) && country.equals(other.country);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(city, country);
+    }
+
+    @Override
+    public String toString() {
+        return country.isEmpty() ? city : city + ", " + country;
+    }
+}
@@ -0,0 +1,326 @@
+package data_access.weather;
+
+import data_access.http.JsonReader;
+import entity.DailyWeather;
+import entity.Forecast;
+import entity.Location;
+import entity.WeatherInfo;
+import okio.BufferedSource;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads Open-Meteo responses off the body with a {@link JsonReader}.
+ *
+ * Only the fields the gateway uses are decoded; everything else (units, timezone,
+ * elevation, the rest of each geocoding result) is skipped. Malformed or missing
+ * fields throw {@link JSONException}, like the {@code org.json} code this replaced.
+ */
+final class OpenMeteoJsonDecoder {
+
+    private static final JsonReader.Options GEOCODING_FIELDS = JsonReader.Options.of("results");
+    private static final JsonReader.Options RESULT_FIELDS =
+            JsonReader.Options.of("name", "country", "latitude", "longitude");
+    private static final JsonReader.Options FORECAST_FIELDS =
+            JsonReader.Options.of("current_weather", "daily");
+    private static final JsonReader.Options CURRENT_FIELDS =
+            JsonReader.Options.of("temperature", "weathercode", "is_day");
+    private static final JsonReader.Options DAILY_FIELDS =
+            JsonReader.Options.of("time", "temperature_2m_max", "temperature_2m_min", "weathercode");
+
+    private OpenMeteoJsonDecoder() {
+    }
+
+    /** The first geocoding result, or null if there is none. */
+    static Location decodeLocation(BufferedSource body) throws IOException {
+        JsonReader reader = new JsonReader(body);
+        Location location = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.selectName(GEOCODING_FIELDS) != 0) {
+                skipField(reader);
+            } else if (reader.peek() != JsonReader.Token.BEGIN_ARRAY) {
+                reader.skipValue();
+            } else {
+                reader.beginArray();
+                if (reader.hasNext()) {
+                    location = decodeResult(reader);
+                }
+                while (reader.hasNext()) {
+                    reader.skipValue();
+                }
+                reader.endArray();
+            }
+        }
+        reader.endObject();
+        return location;
+    }
+
+    /** Current conditions and the daily series of a single-location forecast. */
+    static Forecast decodeForecast(BufferedSource body, Location location) throws IOException {
+        JsonReader reader = new JsonReader(body);
+        Current current = null;
+        DailyColumns daily = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(FORECAST_FIELDS)) {
+                case 0:
+                    current = decodeCurrent(reader);
+                    break;
+                case 1:
+                    daily = decodeDaily(reader);
+                    break;
+                default:
+                    skipField(reader);
+            }
+        }
+        reader.endObject();
+        if (current == null) {
+            throw new JSONException("JSONObject[\"current_weather\"] not found.");
+        }
+        if (daily == null) {
+            throw new JSONException("JSONObject[\"daily\"] not found.");
+        }
+
+        WeatherInfo currentWeather = new WeatherInfo(
+                location.getName(),
+                current.temperature,
+                daily.first(daily.min, "temperature_2m_min"),
+                daily.first(daily.max, "temperature_2m_max"),
+                current.weatherCode,
+                current.isDay
+        );
+        return new Forecast(location, currentWeather, daily.toDays());
+    }
+
+    /**
+     * The daily series of a multi-location forecast, in response order. One location
+     * gives a single object, several give an array.
+     */
+    static List<List<DailyWeather>> decodeDailyForecasts(BufferedSource body) throws IOException {
+        JsonReader reader = new JsonReader(body);
+        List<List<DailyWeather>> perLocation = new ArrayList<>();
+        if (reader.peek() == JsonReader.Token.BEGIN_ARRAY) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                perLocation.add(decodeDailyOnly(reader));
+            }
+            reader.endArray();
+        } else {
+            perLocation.add(decodeDailyOnly(reader));
+        }
+        return perLocation;
+    }
+
+    private static Location decodeResult(JsonReader reader) throws IOException {
+        String name = null;
+        String country = null;
+        double latitude = Double.NaN;
+        double longitude = Double.NaN;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(RESULT_FIELDS)) {
+                case 0:
+                    name = reader.nextString();
+                    break;
+                case 1:
+                    country = reader.nextString();
+                    break;
+                case 2:
+                    latitude = reader.nextDouble();
+                    break;
+                case 3:
+                    longitude = reader.nextDouble();
+                    break;
+                default:
+                    skipField(reader);
+            }
+        }
+        reader.endObject();
+        if (name == null || Double.isNaN(latitude) || Double.isNaN(longitude)) {
+            throw new JSONException("Geocoding result is missing its name or coordinates");
+        }
+        return new Location(country == null ? name : name + ", " + country, latitude, longitude);
+    }
+
+    private static Current decodeCurrent(JsonReader reader) throws IOException {
+        Current current = new Current();
+        int found = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            int field = reader.selectName(CURRENT_FIELDS);
+            switch (field) {
+                case 0:
+                    current.temperature = reader.nextDouble();
+                    break;
+                case 1:
+                    current.weatherCode = reader.nextInt();
+                    break;
+                case 2:
+                    current.isDay = reader.nextInt() == 1;
+                    break;
+                default:
+                    skipField(reader);
+                    continue;
+            }
+            found |= 1 << field;
+        }
+        reader.endObject();
+        if (found != 0b111) {
+            throw new JSONException("current_weather is missing temperature, weathercode or is_day");
+        }
+        return current;
+    }
+
+    private static List<DailyWeather> decodeDailyOnly(JsonReader reader) throws IOException {
+        DailyColumns daily = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(FORECAST_FIELDS)) {
+                case -1:
+                    skipField(reader);
+                    break;
+                case 1:
+                    daily = decodeDaily(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (daily == null) {
+            throw new JSONException("JSONObject[\"daily\"] not found.");
+        }
+        return daily.toDays();
+    }
+
+    private static DailyColumns decodeDaily(JsonReader reader) throws IOException {
+        DailyColumns daily = new DailyColumns();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(DAILY_FIELDS)) {
+                case 0:
+                    daily.dates = readDates(reader);
+                    break;
+                case 1:
+                    daily.max = readNumbers(reader);
+                    break;
+                case 2:
+                    daily.min = readNumbers(reader);
+                    break;
+                case 3:
+                    daily.codes = readNumbers(reader);
+                    break;
+                default:
+                    skipField(reader);
+            }
+        }
+        reader.endObject();
+        if (daily.dates == null || daily.max == null || daily.min == null || daily.codes == null) {
+            throw new JSONException("daily is missing time, temperature_2m_max, temperature_2m_min or weathercode");
+        }
+        return daily;
+    }
+
+    /** Numbers of a column; null entries become NaN. */
+    private static double[] readNumbers(JsonReader reader) throws IOException {
+        double[] values = new double[16];
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            if (reader.peek() == JsonReader.Token.NULL) {
+                reader.nextNull();
+                values[size++] = Double.NaN;
+            } else {
+                values[size++] = reader.nextDouble();
+            }
+        }
+        reader.endArray();
+        return Arrays.copyOf(values, size);
+    }
+
+    private static LocalDate[] readDates(JsonReader reader) throws IOException {
+        List<LocalDate> dates = new ArrayList<>(16);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            dates.add(parseDate(reader.nextString()));
+        }
+        reader.endArray();
+        return dates.toArray(new LocalDate[0]);
+    }
+
+    // Open-Meteo always sends yyyy-MM-dd; anything else goes through the full parser
+    private static LocalDate parseDate(String text) {
+        if (text.length() == 10 && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 7);
+            int day = digits(text, 8, 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                try {
+                    return LocalDate.of(year, month, day);
+                } catch (DateTimeException ex) {
+                    // fall through to LocalDate.parse for its error
+                }
+            }
+        }
+        return LocalDate.parse(text);
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void skipField(JsonReader reader) throws IOException {
+        reader.skipName();
+        reader.skipValue();
+    }
+
+    private static final class Current {
+        double temperature;
+        int weatherCode;
+        boolean isDay;
+    }
+
+    private static final class DailyColumns {
+        LocalDate[] dates;
+        double[] max;
+        double[] min;
+        double[] codes;
+
+        double first(double[] column, String name) {
+            if (column.length == 0 || Double.isNaN(column[0])) {
+                throw new JSONException("JSONArray[0] of " + name + " is not a number.");
+            }
+            return column[0];
+        }
+
+        List<DailyWeather> toDays() {
+            List<DailyWeather> days = new ArrayList<>(dates.length);
+            for (int i = 0; i < dates.length; i++) {
+                if (i >= max.length || i >= min.length || i >= codes.length
+                        || Double.isNaN(max[i]) || Double.isNaN(min[i]) || Double.isNaN(codes[i])) {
+                    continue;   // no data for this day
+                }
+                days.add(new DailyWeather(dates[i], max[i], min[i], (int) codes[i]));
+            }
+            return days;
+        }
+    }
+}
@@ -1,42 +1,109 @@
 package data_access.weather;
 
+import data_access.http.HttpStatusException;
+import data_access.http.RequestPriority;
+import data_access.http.SharedHttpClient;
+import entity.DailyWeather;
+import entity.Forecast;
+import entity.Location;
 import entity.WeatherInfo;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import org.json.JSONException;
-import org.json.JSONObject;
+import use_case.get_current_weather.DailyForecastApiGateway;
+import use_case.get_current_weather.ForecastApiGateway;
+import use_case.get_current_weather.GeocodingApiGateway;
 import use_case.get_current_weather.WeatherApiGateway;
 import use_case.get_current_weather.WeatherGatewayException;
 
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 
 /**
  * Weather API gateway using Open-Meteo geocoding + forecast APIs.
+ *
+ * A lookup is two HTTP calls: geocoding (city -> coordinates), then the forecast
+ * at those coordinates. Both steps are also available on their own, so they can
+ * be cached separately (see {@link CachingWeatherApiGateway}). Daily forecasts for
+ * many locations are fetched with one multi-coordinate request. Responses are decoded
+ * as they stream in (see {@link OpenMeteoJsonDecoder}).
  */
-public class OpenMeteoWeatherApiGateway implements WeatherApiGateway {
+public class OpenMeteoWeatherApiGateway implements WeatherApiGateway,
+                                                   GeocodingApiGateway,
+                                                   ForecastApiGateway,
+                                                   DailyForecastApiGateway {
 
-    private static final String GEOCODING_BASE =
+    public static final String DEFAULT_GEOCODING_BASE =
             "https://geocoding-api.open-meteo.com/v1/search";
-    private static final String FORECAST_BASE =
+    public static final String DEFAULT_FORECAST_BASE =
             "https://api.open-meteo.com/v1/forecast";
 
-    private final OkHttpClient client = new OkHttpClient();
+    // Open-Meteo serves daily data from 92 days back up to 16 days ahead (including today)
+    public static final int MAX_PAST_DAYS = 92;
+    public static final int MAX_FORECAST_DAYS = 16;
+
+    private final OkHttpClient client;
+    private final String geocodingBase;
+    private final String forecastBase;
+    private final RequestPriority priority;
+
+    public OpenMeteoWeatherApiGateway() {
+        this(SharedHttpClient.get().client(), DEFAULT_GEOCODING_BASE, DEFAULT_FORECAST_BASE);
+    }
+
+    /**
+     * @param client        HTTP client to use
+     * @param geocodingBase URL of the geocoding search endpoint
+     * @param forecastBase  URL of the forecast endpoint
+     */
+    public OpenMeteoWeatherApiGateway(OkHttpClient client, String geocodingBase, String forecastBase) {
+        this(client, geocodingBase, forecastBase, RequestPriority.INTERACTIVE);
+    }
+
+    private OpenMeteoWeatherApiGateway(OkHttpClient client,
+                                       String geocodingBase,
+                                       String forecastBase,
+                                       RequestPriority priority) {
+        this.client = client;
+        this.geocodingBase = geocodingBase;
+        this.forecastBase = forecastBase;
+        this.priority = priority;
+    }
+
+    /**
+     * The same gateway, but its requests queue with {@code priority} when the API's
+     * rate limit is reached, e.g. {@link RequestPriority#BACKGROUND} for prefetching.
+     */
+    public OpenMeteoWeatherApiGateway withPriority(RequestPriority priority) {
+        return new OpenMeteoWeatherApiGateway(client, geocodingBase, forecastBase, priority);
+    }
 
     @Override
     public WeatherInfo getCurrentWeather(String city, String country)
             throws WeatherGatewayException {
+        return getCurrentWeather(geocode(city, country));
+    }
 
+    @Override
+    public Location geocode(String city, String country) throws WeatherGatewayException {
         if (city == null || city.isBlank()) {
             throw new WeatherGatewayException("City must not be empty.");
         }
 
         try {
-            // ---- 1) Geocoding: city + optional country ----
+            // ---- Geocoding: city + optional country ----
             String encodedCity = URLEncoder.encode(city, StandardCharsets.UTF_8);
-            StringBuilder geoUrl = new StringBuilder(GEOCODING_BASE)
+            StringBuilder geoUrl = new StringBuilder(geocodingBase)
                     .append("?name=").append(encodedCity)
                     .append("&count=1&language=en&format=json");
 
@@ -47,75 +114,125 @@ public class OpenMeteoWeatherApiGateway implements WeatherApiGateway {
 
             Request geoRequest = new Request.Builder()
                     .url(geoUrl.toString())
+                    .tag(RequestPriority.class, priority)
                     .build();
 
-            double latitude;
-            double longitude;
-            String resolvedName;
-
             try (Response response = client.newCall(geoRequest).execute()) {
                 if (!response.isSuccessful() || response.body() == null) {
                     throw new WeatherGatewayException(
-                            "Geocoding API error: HTTP " + response.code());
+                            "Geocoding API error: HTTP " + response.code(),
+                            new HttpStatusException(response.code(), response.request().url().host()));
                 }
 
-                String body = response.body().string();
-                JSONObject json = new JSONObject(body);
-
-                if (!json.has("results") || json.getJSONArray("results").isEmpty()) {
+                Location location = OpenMeteoJsonDecoder.decodeLocation(response.body().source());
+                if (location == null) {
                     throw new WeatherGatewayException(
                             "No location found for " + city +
                                     (country == null || country.isBlank() ? "" : ", " + country));
                 }
-
-                JSONObject first = json.getJSONArray("results").getJSONObject(0);
-                latitude = first.getDouble("latitude");
-                longitude = first.getDouble("longitude");
-                resolvedName = first.getString("name");
-                if (first.has("country")) {
-                    resolvedName += ", " + first.getString("country");
-                }
+                return location;
             }
 
-            // ---- 2) Forecast API ----
-            String forecastUrl = FORECAST_BASE
-                    + "?latitude=" + latitude
-                    + "&longitude=" + longitude
+        } catch (IOException | JSONException e) {
+            throw new WeatherGatewayException("Error calling Open-Meteo API", e);
+        }
+    }
+
+    /**
+     * Fetch the current conditions and the daily series for the next
+     * {@link #MAX_FORECAST_DAYS} days (including today) in one request.
+     */
+    @Override
+    public Forecast getForecast(Location location) throws WeatherGatewayException {
+        try {
+            // ---- Forecast API ----
+            String forecastUrl = forecastBase
+                    + "?latitude=" + location.getLatitude()
+                    + "&longitude=" + location.getLongitude()
                     + "&current_weather=true"
                     + "&daily=temperature_2m_max,temperature_2m_min,weathercode"
+                    + "&forecast_days=" + MAX_FORECAST_DAYS
                     + "&timezone=auto";
 
             Request forecastRequest = new Request.Builder()
                     .url(forecastUrl)
+                    .tag(RequestPriority.class, priority)
                     .build();
 
             try (Response response = client.newCall(forecastRequest).execute()) {
                 if (!response.isSuccessful() || response.body() == null) {
                     throw new WeatherGatewayException(
-                            "Forecast API error: HTTP " + response.code());
+                            "Forecast API error: HTTP " + response.code(),
+                            new HttpStatusException(response.code(), response.request().url().host()));
                 }
 
-                String body = response.body().string();
-                JSONObject json = new JSONObject(body);
+                return OpenMeteoJsonDecoder.decodeForecast(response.body().source(), location);
+            }
 
-                JSONObject current = json.getJSONObject("current_weather");
-                JSONObject daily = json.getJSONObject("daily");
+        } catch (IOException | JSONException e) {
+            throw new WeatherGatewayException("Error calling Open-Meteo API", e);
+        }
+    }
+
+    @Override
+    public Map<Location, List<DailyWeather>> getDailyForecasts(Collection<Location> locations,
+                                                               LocalDate from,
+                                                               LocalDate to) throws WeatherGatewayException {
+        List<Location> unique = new ArrayList<>(new LinkedHashSet<>(locations));
+        Map<Location, List<DailyWeather>> result = new LinkedHashMap<>();
+        for (Location location : unique) {
+            result.put(location, new ArrayList<>());
+        }
 
-                double currentTemp = current.getDouble("temperature");
-                int weatherCode = current.getInt("weathercode");
-                boolean isDay = current.getInt("is_day") == 1;
+        // Only ask for the days the API can answer
+        LocalDate today = LocalDate.now();
+        LocalDate start = from.isBefore(today.minusDays(MAX_PAST_DAYS)) ? today.minusDays(MAX_PAST_DAYS) : from;
+        LocalDate end = to.isAfter(today.plusDays(MAX_FORECAST_DAYS - 1)) ? today.plusDays(MAX_FORECAST_DAYS - 1) : to;
+        if (unique.isEmpty() || start.isAfter(end)) {
+            return result;
+        }
+
+        StringJoiner latitudes = new StringJoiner(",");
+        StringJoiner longitudes = new StringJoiner(",");
+        for (Location location : unique) {
+            latitudes.add(Double.toString(location.getLatitude()));
+            longitudes.add(Double.toString(location.getLongitude()));
+        }
 
-                double minToday = daily.getJSONArray("temperature_2m_min").getDouble(0);
-                double maxToday = daily.getJSONArray("temperature_2m_max").getDouble(0);
+        try {
+            // ---- Forecast API, all coordinates in one request ----
+            String forecastUrl = forecastBase
+                    + "?latitude=" + latitudes
+                    + "&longitude=" + longitudes
+                    + "&daily=temperature_2m_max,temperature_2m_min,weathercode"
+                    + "&timezone=auto"
+                    + "&start_date=" + start
+                    + "&end_date=" + end;
 
-                return new WeatherInfo(
-                        resolvedName,
-                        currentTemp,
-                        minToday,
-                        maxToday,
-                        weatherCode,
-                        isDay
-                );
+            Request forecastRequest = new Request.Builder()
+                    .url(forecastUrl)
+                    .tag(RequestPriority.class, priority)
+                    .build();
+
+            try (Response response = client.newCall(forecastRequest).execute()) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    throw new WeatherGatewayException(
+                            "Forecast API error: HTTP " + response.code(),
+                            new HttpStatusException(response.code(), response.request().url().host()));
+                }
+
+                // One location gives an object, several give an array in request order
+                List<List<DailyWeather>> perLocation =
+                        OpenMeteoJsonDecoder.decodeDailyForecasts(response.body().source());
+                if (perLocation.size() != unique.size()) {
+                    throw new WeatherGatewayException("Forecast API returned " + perLocation.size()
+                            + " results for " + unique.size() + " locations");
+                }
+
+                for (int i = 0; i < unique.size(); i++) {
+                    result.put(unique.get(i), perLocation.get(i));
+                }
+                return result;
             }
 
         } catch (IOException | JSONException e) {
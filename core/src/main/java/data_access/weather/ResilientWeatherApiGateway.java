@@ -0,0 +1,148 @@
+package data_access.weather;
+
+import data_access.resilience.ResilienceException;
+import data_access.resilience.ResilientCaller;
+import entity.Forecast;
+import entity.Location;
+import entity.WeatherInfo;
+import use_case.get_current_weather.ForecastApiGateway;
+import use_case.get_current_weather.GeocodingApiGateway;
+import use_case.get_current_weather.WeatherApiGateway;
+import use_case.get_current_weather.WeatherGatewayException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Weather gateway that stays responsive while Open-Meteo is slow or down.
+ *
+ * Geocoding and forecast calls go through a {@link ResilientCaller}, one endpoint
+ * each, so they get their own circuit breaker, latency-based timeout and retries.
+ * The last good result for each query is remembered (at most {@code maxFallbackEntries}
+ * of each, least recently used evicted first). When a call cannot be completed, that
+ * result is returned however old it is; only queries never answered before fail.
+ * Errors the API itself reports, such as an unknown city, are passed on unchanged.
+ */
+public class ResilientWeatherApiGateway implements WeatherApiGateway,
+                                                   GeocodingApiGateway,
+                                                   ForecastApiGateway {
+
+    public static final String GEOCODING_ENDPOINT = "open-meteo-geocoding";
+    public static final String FORECAST_ENDPOINT = "open-meteo-forecast";
+    public static final int DEFAULT_MAX_FALLBACK_ENTRIES = 256;
+
+    private final GeocodingApiGateway geocoder;
+    private final ForecastApiGateway forecaster;
+    private final ResilientCaller caller;
+    private final int maxFallbackEntries;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<GeocodeKey, Location> lastLocations;
+    private final LinkedHashMap<Location, Forecast> lastForecasts;
+
+    private long fallbacks;
+
+    public ResilientWeatherApiGateway(OpenMeteoWeatherApiGateway api) {
+        this(api, api, new ResilientCaller(), DEFAULT_MAX_FALLBACK_ENTRIES);
+    }
+
+    /**
+     * @param geocoder           where to geocode
+     * @param forecaster         where to fetch forecasts
+     * @param caller             runs the calls with breaker, timeout and retries
+     * @param maxFallbackEntries maximum number of last good locations and of forecasts kept
+     */
+    public ResilientWeatherApiGateway(GeocodingApiGateway geocoder,
+                                      ForecastApiGateway forecaster,
+                                      ResilientCaller caller,
+                                      int maxFallbackEntries) {
+        if (maxFallbackEntries < 1) {
+            throw new IllegalArgumentException("maxFallbackEntries must be at least 1");
+        }
+        this.geocoder = geocoder;
+        this.forecaster = forecaster;
+        this.caller = caller;
+        this.maxFallbackEntries = maxFallbackEntries;
+        this.lastLocations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GeocodeKey, Location> eldest) {
+                return size() > ResilientWeatherApiGateway.this.maxFallbackEntries;
+            }
+        };
+        this.lastForecasts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Location, Forecast> eldest) {
+                return size() > ResilientWeatherApiGateway.this.maxFallbackEntries;
+            }
+        };
+    }
+
+    @Override
+    public WeatherInfo getCurrentWeather(String city, String country) throws WeatherGatewayException {
+        return getCurrentWeather(geocode(city, country));
+    }
+
+    @Override
+    public Location geocode(String city, String country) throws WeatherGatewayException {
+        GeocodeKey key = GeocodeKey.of(city, country);
+        try {
+            Location location = caller.call(GEOCODING_ENDPOINT, () -> geocoder.geocode(city, country));
+            synchronized (this) {
+                lastLocations.put(key, location);
+            }
+            return location;
+        } catch (ResilienceException ex) {
+            Location last;
+            synchronized (this) {
+                last = lastLocations.get(key);
+            }
+            return fallBack(last, ex);
+        }
+    }
+
+    @Override
+    public Forecast getForecast(Location location) throws WeatherGatewayException {
+        try {
+            Forecast forecast = caller.call(FORECAST_ENDPOINT, () -> forecaster.getForecast(location));
+            synchronized (this) {
+                lastForecasts.put(location, forecast);
+            }
+            return forecast;
+        } catch (ResilienceException ex) {
+            Forecast last;
+            synchronized (this) {
+                last = lastForecasts.get(location);
+            }
+            return fallBack(last, ex);
+        }
+    }
+
+    private <V> V fallBack(V last, ResilienceException ex) throws WeatherGatewayException {
+        if (!ex.isUnavailable()) {
+            if (ex.getCause() instanceof WeatherGatewayException) {
+                throw (WeatherGatewayException) ex.getCause();
+            }
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new WeatherGatewayException(ex.getMessage(), ex.getCause());
+        }
+        if (last == null) {
+            throw new WeatherGatewayException(ex.getMessage(), ex);
+        }
+        synchronized (this) {
+            fallbacks++;
+        }
+        System.err.println("Serving last known weather: " + ex.getMessage());
+        return last;
+    }
+
+    /** Lookups answered with an earlier result because the API could not be reached in time. */
+    public synchronized long getFallbackCount() {
+        return fallbacks;
+    }
+
+    public ResilientCaller getCaller() {
+        return caller;
+    }
+}
@@ -0,0 +1,139 @@
+package data_access.weather;
+
+import data_access.SQLiteConnectionProvider;
+import entity.Location;
+import use_case.get_current_weather.GeocodingApiGateway;
+import use_case.get_current_weather.WeatherGatewayException;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent geocoding results, stored in a {@code geocodes} table next to
+ * {@code events} and {@code users}.
+ *
+ * The table is consulted before calling the geocoding API, and every successful
+ * API result is written to it. Places do not move, so entries never expire: once
+ * a city has been looked up, later lookups (including after a restart) only need
+ * the forecast call. Queries are keyed on the normalized city and country.
+ */
+public class SQLiteGeocodeStore implements GeocodingApiGateway {
+
+    private static final String SELECT_SQL = """
+            SELECT name, latitude, longitude FROM geocodes
+            WHERE query_city = ? AND query_country = ?
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT OR REPLACE INTO geocodes (query_city, query_country, name, latitude, longitude)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final SQLiteConnectionProvider connections;
+    private final GeocodingApiGateway delegate;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param dbPath   the path to the SQLite database file
+     * @param delegate where to geocode queries that are not stored yet
+     */
+    public SQLiteGeocodeStore(String dbPath, GeocodingApiGateway delegate) {
+        this(SQLiteConnectionProvider.forPath(dbPath), delegate);
+    }
+
+    public SQLiteGeocodeStore(SQLiteConnectionProvider connections, GeocodingApiGateway delegate) {
+        this.connections = connections;
+        this.delegate = delegate;
+        initializeDatabase();
+    }
+
+    private void initializeDatabase() {
+        String createTableSQL = """
+            CREATE TABLE IF NOT EXISTS geocodes (
+                query_city    TEXT NOT NULL,
+                query_country TEXT NOT NULL,
+                name          TEXT NOT NULL,
+                latitude      REAL NOT NULL,
+                longitude     REAL NOT NULL,
+                PRIMARY KEY (query_city, query_country)
+            )
+            """;
+        try {
+            connections.write(session -> {
+                try (Statement statement = session.connection().createStatement()) {
+                    statement.execute(createTableSQL);
+                }
+                return null;
+            });
+        } catch (SQLException ex) {
+            throw new RuntimeException("Failed to initialize geocodes table", ex);
+        }
+    }
+
+    @Override
+    public Location geocode(String city, String country) throws WeatherGatewayException {
+        GeocodeKey key = GeocodeKey.of(city, country);
+        Location stored = find(key);
+        if (stored != null) {
+            hits.incrementAndGet();
+            return stored;
+        }
+        misses.incrementAndGet();
+        Location location = delegate.geocode(city, country);
+        store(key, location);
+        return location;
+    }
+
+    /** The stored result for a query, or null if it was never looked up. */
+    private Location find(GeocodeKey key) {
+        try {
+            return connections.read(session -> {
+                PreparedStatement statement = session.prepare(SELECT_SQL);
+                statement.setString(1, key.city());
+                statement.setString(2, key.country());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return new Location(resultSet.getString("name"),
+                                resultSet.getDouble("latitude"),
+                                resultSet.getDouble("longitude"));
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException ex) {
+            throw new RuntimeException("Failed to read geocode", ex);
+        }
+    }
+
+    private void store(GeocodeKey key, Location location) {
+        try {
+            connections.write(session -> {
+                PreparedStatement statement = session.prepare(UPSERT_SQL);
+                statement.setString(1, key.city());
+                statement.setString(2, key.country());
+                statement.setString(3, location.getName());
+                statement.setDouble(4, location.getLatitude());
+                statement.setDouble(5, location.getLongitude());
+                return statement.executeUpdate();
+            });
+        } catch (SQLException ex) {
+            // The lookup itself succeeded; it will simply be fetched again next time
+            System.err.println("Failed to store geocode for " + key + ": " + ex.getMessage());
+        }
+    }
+
+    /** Lookups answered from the table. */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /** Lookups that had to call the geocoding API. */
+    public long getMissCount() {
+        return misses.get();
+    }
+}
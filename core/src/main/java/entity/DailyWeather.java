@@ -0,0 +1,37 @@
+package entity;
+
+import java.time.LocalDate;
+
+/**
+ * Forecast for one day at one place: the temperature range and an Open-Meteo
+ * weather code for the day's dominant conditions.
+ */
+public class DailyWeather {
+    private final LocalDate date;
+    private final double maxTempC;
+    private final double minTempC;
+    private final int weatherCode;   // Open-Meteo weather code
+
+    public DailyWeather(LocalDate date, double maxTempC, double minTempC, int weatherCode) {
+        this.date = date;
+        this.maxTempC = maxTempC;
+        this.minTempC = minTempC;
+        this.weatherCode = weatherCode;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public double getMaxTempC() {
+        return maxTempC;
+    }
+
+    public double getMinTempC() {
+        return minTempC;
+    }
+
+    public int getWeatherCode() {
+        return weatherCode;
+    }
+}
@@ -0,0 +1,47 @@
+package entity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Everything one forecast request returns for a place: the current conditions and
+ * the daily series (today and the following days), sorted by date.
+ */
+public class Forecast {
+    private final Location location;
+    private final WeatherInfo current;
+    private final List<DailyWeather> days;
+
+    public Forecast(Location location, WeatherInfo current, List<DailyWeather> days) {
+        this.location = location;
+        this.current = current;
+        List<DailyWeather> sorted = new ArrayList<>(days);
+        sorted.sort(Comparator.comparing(DailyWeather::getDate));
+        this.days = Collections.unmodifiableList(sorted);
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    public WeatherInfo getCurrent() {
+        return current;
+    }
+
+    public List<DailyWeather> getDays() {
+        return days;
+    }
+
+    /** The forecast for {@code date}, or null if it is outside the series. */
+    public DailyWeather getDay(LocalDate date) {
+        for (DailyWeather day : days) {
+            if (day.getDate().equals(date)) {
+                return day;
+            }
+        }
+        return null;
+    }
+}
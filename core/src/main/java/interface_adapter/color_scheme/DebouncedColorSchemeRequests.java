@@ -0,0 +1,146 @@
+package interface_adapter.color_scheme;
+
+import use_case.get_color_scheme.GetColorSchemeOutputBoundary;
+import use_case.get_color_scheme.GetColorSchemeOutputData;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Debounces color scheme requests between the color picker and
+ * {@link ColorSchemeController}, and keeps the fetching off the caller's thread.
+ *
+ * A picker fires for every value it passes through while being dragged. Each
+ * {@link #request(String)} replaces the previous one, and a color is only fetched
+ * once no newer one has been requested for the quiet period. A newer request also
+ * interrupts a fetch that is still running. The presenter returned by
+ * {@link #latestOnly(GetColorSchemeOutputBoundary)} drops the result of any fetch that
+ * is no longer the latest request, so an old color can never replace a newer one.
+ *
+ * Fetches run one at a time on a daemon thread, and the presenter is called there.
+ */
+public class DebouncedColorSchemeRequests implements AutoCloseable {
+
+    public static final Duration DEFAULT_QUIET_PERIOD = Duration.ofMillis(250);
+
+    private final Consumer<String> fetch;
+    private final long quietNanos;
+    private final ScheduledExecutorService scheduler;
+
+    private long latest;            // guarded by this: generation of the newest request
+    private long fetching;          // guarded by this: generation being fetched, 0 if none
+    private Future<?> pending;      // guarded by this
+
+    private long requests;
+    private long fetches;
+    private long dropped;
+
+    /**
+     * @param fetch fetches the schemes for a color, e.g. {@code colorSchemeController::execute}
+     */
+    public DebouncedColorSchemeRequests(Consumer<String> fetch) {
+        this(fetch, DEFAULT_QUIET_PERIOD);
+    }
+
+    /**
+     * @param fetch       fetches the schemes for a color
+     * @param quietPeriod how long the color must stay unchanged before it is fetched
+     */
+    public DebouncedColorSchemeRequests(Consumer<String> fetch, Duration quietPeriod) {
+        this.fetch = fetch;
+        this.quietNanos = quietPeriod.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "color-scheme-requests");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Fetch {@code hexColor} once the quiet period passes without a newer request. */
+    public synchronized void request(String hexColor) {
+        long generation = ++latest;
+        requests++;
+        if (pending != null) {
+            // Not started yet: never runs. Running: interrupted, and its result dropped.
+            pending.cancel(true);
+        }
+        pending = scheduler.schedule(() -> run(generation, hexColor), quietNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void run(long generation, String hexColor) {
+        synchronized (this) {
+            if (generation != latest) {
+                return;
+            }
+            fetching = generation;
+            fetches++;
+        }
+        try {
+            fetch.accept(hexColor);
+        } finally {
+            synchronized (this) {
+                fetching = 0;
+            }
+        }
+    }
+
+    /**
+     * {@code presenter}, but only shown the results of the latest request; the
+     * results of superseded fetches are dropped.
+     */
+    public GetColorSchemeOutputBoundary latestOnly(GetColorSchemeOutputBoundary presenter) {
+        return new GetColorSchemeOutputBoundary() {
+            @Override
+            public void prepareSuccessView(GetColorSchemeOutputData outputData) {
+                synchronized (DebouncedColorSchemeRequests.this) {
+                    if (isLatest()) {
+                        presenter.prepareSuccessView(outputData);
+                    }
+                }
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                synchronized (DebouncedColorSchemeRequests.this) {
+                    if (isLatest()) {
+                        presenter.prepareFailView(errorMessage);
+                    }
+                }
+            }
+        };
+    }
+
+    // Called with the lock held, on the fetching thread
+    private boolean isLatest() {
+        if (fetching != 0 && fetching == latest) {
+            return true;
+        }
+        dropped++;
+        return false;
+    }
+
+    // ---- metrics ----
+
+    public synchronized long getRequestCount() {
+        return requests;
+    }
+
+    /** Requests that were fetched; the rest were replaced during their quiet period. */
+    public synchronized long getFetchCount() {
+        return fetches;
+    }
+
+    /** Results that arrived after a newer request and were not presented. */
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,17 +1,31 @@
 package interface_adapter.controllers;
 
+import use_case.get_current_weather.GetCurrentWeatherAsyncInputBoundary;
 import use_case.get_current_weather.GetCurrentWeatherInputBoundary;
 import use_case.get_current_weather.GetCurrentWeatherRequestModel;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controller called by the UI / UI services to trigger the use case.
  */
 public class GetCurrentWeatherController {
 
     private final GetCurrentWeatherInputBoundary interactor;
+    private final GetCurrentWeatherAsyncInputBoundary asyncInteractor;
 
     public GetCurrentWeatherController(GetCurrentWeatherInputBoundary interactor) {
+        this(interactor, null);
+    }
+
+    /**
+     * @param interactor      runs blocking lookups
+     * @param asyncInteractor runs non-blocking lookups, or null if only blocking ones are used
+     */
+    public GetCurrentWeatherController(GetCurrentWeatherInputBoundary interactor,
+                                       GetCurrentWeatherAsyncInputBoundary asyncInteractor) {
         this.interactor = interactor;
+        this.asyncInteractor = asyncInteractor;
     }
 
     /**
@@ -22,4 +36,17 @@ public class GetCurrentWeatherController {
                 new GetCurrentWeatherRequestModel(city, country);
         interactor.execute(request);
     }
+
+    /**
+     * Same as {@link #onGetCurrentWeather(String, String)}, without blocking the caller.
+     * A request still in flight is cancelled.
+     */
+    public CompletableFuture<Void> onGetCurrentWeatherAsync(String city, String country) {
+        if (asyncInteractor == null) {
+            throw new IllegalStateException("No asynchronous weather interactor configured");
+        }
+        GetCurrentWeatherRequestModel request =
+                new GetCurrentWeatherRequestModel(city, country);
+        return asyncInteractor.executeAsync(request);
+    }
 }
@@ -2,7 +2,6 @@ package use_case.addEvent;
 
 import entity.Event;
 
-import java.util.List;
 
 /**
  * The Add Event Interactor
@@ -39,15 +38,11 @@ public class AddEventInteractor implements AddEventInputBoundary{
                 inputData.getReminder()
         );
 
-        //Duplicates checking
-        List<Event> eventsInDay = repo.getEventsForDay(event.getStart().toLocalDate());
-        for (Event existing : eventsInDay) {
-            boolean checkLocation = existing.getLocation().equalsIgnoreCase(event.getLocation());
-            boolean checkTime = !(event.getEnd().isBefore(existing.getStart()) || event.getStart().isAfter(existing.getEnd()));
-            if (checkLocation && checkTime) {
-                presenter.present(new AddEventOutputData(false, event, "Conflict: overlapping events"));
-                return;
-            }
+        //Duplicates checking: an event at the same location that overlaps in time,
+        //including one that started on an earlier day
+        if (repo.hasConflict(event.getStart(), event.getEnd(), event.getLocation())) {
+            presenter.present(new AddEventOutputData(false, event, "Conflict: overlapping events"));
+            return;
         }
 
         repo.save(event);
@@ -0,0 +1,36 @@
+package use_case.addEvent;
+
+import entity.Event;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Finds conflicts among the events of one batch (bulk add or bulk edit) without
+ * comparing every pair.
+ *
+ * Events must be offered in order of start time. An event conflicts with the
+ * already accepted ones at the same location (ignoring case) iff it starts no
+ * later than the latest end among them, because they all started before it.
+ * Touching endpoints count as a conflict, as in {@link AddEventInteractor}.
+ */
+public class BatchConflictTracker {
+
+    private final Map<String, Event> latestEndingByLocation = new HashMap<>();
+
+    /**
+     * Accept the event unless it overlaps an accepted event at the same location.
+     * @param event the next event, starting no earlier than any event offered before
+     * @return true if the event was accepted
+     */
+    public boolean tryAccept(Event event) {
+        String location = event.getLocation() == null ? "" : event.getLocation().toLowerCase(Locale.ROOT);
+        Event latest = latestEndingByLocation.get(location);
+        if (latest != null && !event.getStart().isAfter(latest.getEnd())) {
+            return false;
+        }
+        latestEndingByLocation.put(location, event);
+        return true;
+    }
+}
@@ -0,0 +1,13 @@
+package use_case.addEvent;
+
+/**
+ * Input Boundary for adding many events at once, e.g. a calendar import
+ */
+
+public interface BulkAddEventsInputBoundary {
+    /**
+     * Add every valid, non-conflicting event of the batch
+     * @param inputData is the input data
+     */
+    void addEvents(BulkAddEventsInputData inputData);
+}
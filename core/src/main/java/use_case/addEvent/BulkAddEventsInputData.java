@@ -0,0 +1,17 @@
+package use_case.addEvent;
+
+import java.util.List;
+
+/**
+ * The Input Data for the Bulk Add Events Use Case
+ */
+
+public class BulkAddEventsInputData {
+    private final List<AddEventInputData> events;
+
+    public BulkAddEventsInputData(List<AddEventInputData> events) {
+        this.events = List.copyOf(events);
+    }
+
+    public List<AddEventInputData> getEvents() { return events; }
+}
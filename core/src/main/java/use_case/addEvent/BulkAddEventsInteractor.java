@@ -0,0 +1,72 @@
+package use_case.addEvent;
+
+import entity.Event;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The Bulk Add Events Interactor.
+ *
+ * Applies the same rules as {@link AddEventInteractor} to every event of the batch
+ * (end not before start, no overlap with an event at the same location), both
+ * against the stored events and against the other events of the batch, then saves
+ * all accepted events with a single {@code saveAll}.
+ */
+
+public class BulkAddEventsInteractor implements BulkAddEventsInputBoundary {
+    private final EventMethodsDataAccessInterface repo;
+    private final BulkAddEventsOutputBoundary presenter;
+
+    public BulkAddEventsInteractor(EventMethodsDataAccessInterface repo,
+                                   BulkAddEventsOutputBoundary presenter) {
+        this.repo = repo;
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void addEvents(BulkAddEventsInputData inputData) {
+        Map<UUID, String> failures = new LinkedHashMap<>();
+        List<Event> candidates = new ArrayList<>();
+
+        for (AddEventInputData item : inputData.getEvents()) {
+            if (item.getEnd().isBefore(item.getStart())) {
+                failures.put(item.getId(), "End time cannot be before start time");
+                continue;
+            }
+            candidates.add(new Event(
+                    item.getId(),
+                    item.getTitle(),
+                    item.getStart(),
+                    item.getEnd(),
+                    item.getLocation(),
+                    item.getCategory(),
+                    item.getReminder()));
+        }
+
+        // In start order, so the tracker can check the batch against itself in one pass
+        candidates.sort(Comparator.comparing(Event::getStart));
+        BatchConflictTracker batch = new BatchConflictTracker();
+        List<Event> accepted = new ArrayList<>();
+        for (Event event : candidates) {
+            if (conflictsWithStored(event) || !batch.tryAccept(event)) {
+                failures.put(event.getId(), "Conflict: overlapping events");
+            } else {
+                accepted.add(event);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            repo.saveAll(accepted);
+        }
+        presenter.present(new BulkAddEventsOutputData(accepted, failures));
+    }
+
+    private boolean conflictsWithStored(Event event) {
+        return repo.hasConflict(event.getStart(), event.getEnd(), event.getLocation());
+    }
+}
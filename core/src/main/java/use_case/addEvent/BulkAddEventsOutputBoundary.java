@@ -0,0 +1,12 @@
+package use_case.addEvent;
+
+/**
+ * The output boundary for the Bulk Add Events Use Case
+ */
+public interface BulkAddEventsOutputBoundary {
+    /**
+     * Prepares the presenter for the Bulk Add Events Use Case
+     * @param outputData is the output data
+     */
+    void present(BulkAddEventsOutputData outputData);
+}
@@ -0,0 +1,26 @@
+package use_case.addEvent;
+
+import entity.Event;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Output Data for the Bulk Add Events Use Case.
+ * Lists the events that were saved and, for every rejected one, why.
+ */
+
+public class BulkAddEventsOutputData {
+    private final List<Event> added;
+    private final Map<UUID, String> failures;
+
+    public BulkAddEventsOutputData(List<Event> added, Map<UUID, String> failures) {
+        this.added = List.copyOf(added);
+        this.failures = Map.copyOf(failures);
+    }
+
+    public List<Event> getAdded() {return added;}
+    public Map<UUID, String> getFailures() {return failures;}
+    public boolean getSuccess() {return failures.isEmpty();}
+}
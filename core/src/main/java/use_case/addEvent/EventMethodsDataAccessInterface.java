@@ -1,5 +1,8 @@
 package use_case.addEvent;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 import java.util.List;
 
@@ -32,4 +35,52 @@ public interface EventMethodsDataAccessInterface {
      */
     void delete(UUID id);
     List<Event> getEventsForDay(java.time.LocalDate date);
+
+    /**
+     * Save several events at once, in a single transaction where the store supports it
+     * @param events the events to save
+     */
+    void saveAll(List<Event> events);
+
+    /**
+     * Return the events with the given IDs that exist
+     * @param ids the IDs to look for
+     * @return the events found, keyed by ID; missing IDs have no entry
+     */
+    Map<UUID, Event> getByIds(Collection<UUID> ids);
+
+    /**
+     * Delete the events with the given IDs, in a single transaction where the store
+     * supports it. IDs that do not exist are ignored.
+     * @param ids the events to delete
+     */
+    void deleteAll(Collection<UUID> ids);
+
+    /**
+     * Return every event whose time range overlaps [start, end].
+     * Events that only touch at an endpoint count as overlapping, and events that
+     * started on an earlier day (e.g. spanning midnight) are included.
+     * @param start the start of the range
+     * @param end the end of the range
+     * @return the overlapping events, ordered by start
+     */
+    List<Event> getEventsOverlapping(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Whether an event at the given location (ignoring case) overlaps [start, end],
+     * by the same rules as {@link #getEventsOverlapping(LocalDateTime, LocalDateTime)}.
+     * Stores that index events by location can answer this without the full list.
+     * @param start the start of the range
+     * @param end the end of the range
+     * @param location the location of the event being added
+     * @return true if the event would conflict with a stored one
+     */
+    default boolean hasConflict(LocalDateTime start, LocalDateTime end, String location) {
+        for (Event existing : getEventsOverlapping(start, end)) {
+            if (existing.getLocation().equalsIgnoreCase(location)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package use_case.deleteEvent;
+
+public interface BulkDeleteEventsInputBoundary {
+    void deleteAll(BulkDeleteEventsInputData inputData);
+}
@@ -0,0 +1,16 @@
+package use_case.deleteEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BulkDeleteEventsInputData {
+    private final List<UUID> ids;
+
+    public BulkDeleteEventsInputData(List<UUID> ids) {
+        this.ids = List.copyOf(ids);
+    }
+
+    public List<UUID> getIds() {
+        return ids;
+    }
+}
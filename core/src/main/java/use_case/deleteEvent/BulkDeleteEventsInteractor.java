@@ -0,0 +1,47 @@
+package use_case.deleteEvent;
+
+import entity.Event;
+import use_case.addEvent.EventMethodsDataAccessInterface;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Deletes many events at once: one {@code getByIds} to find which exist and one
+ * {@code deleteAll} for those, instead of an existById/delete pair per event.
+ */
+public class BulkDeleteEventsInteractor implements BulkDeleteEventsInputBoundary {
+
+    private final EventMethodsDataAccessInterface repo;
+    private final BulkDeleteEventsOutputBoundary presenter;
+
+    public BulkDeleteEventsInteractor(EventMethodsDataAccessInterface repo,
+                                      BulkDeleteEventsOutputBoundary presenter) {
+        this.repo = repo;
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void deleteAll(BulkDeleteEventsInputData inputData) {
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(inputData.getIds()));
+        Map<UUID, Event> existing = repo.getByIds(ids);
+
+        List<UUID> deleted = new ArrayList<>();
+        List<UUID> notFound = new ArrayList<>();
+        for (UUID id : ids) {
+            if (existing.containsKey(id)) {
+                deleted.add(id);
+            } else {
+                notFound.add(id);
+            }
+        }
+
+        if (!deleted.isEmpty()) {
+            repo.deleteAll(deleted);
+        }
+        presenter.present(new BulkDeleteEventsOutputData(deleted, notFound));
+    }
+}
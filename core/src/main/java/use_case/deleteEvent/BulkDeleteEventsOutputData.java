@@ -0,0 +1,18 @@
+package use_case.deleteEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BulkDeleteEventsOutputData {
+    private final List<UUID> deleted;
+    private final List<UUID> notFound;
+
+    public BulkDeleteEventsOutputData(List<UUID> deleted, List<UUID> notFound) {
+        this.deleted = List.copyOf(deleted);
+        this.notFound = List.copyOf(notFound);
+    }
+
+    public boolean isSuccess() { return notFound.isEmpty(); }
+    public List<UUID> getDeleted() { return deleted; }
+    public List<UUID> getNotFound() { return notFound; }
+}
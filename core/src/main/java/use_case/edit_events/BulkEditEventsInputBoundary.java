@@ -0,0 +1,9 @@
+package use_case.edit_events;
+
+public interface BulkEditEventsInputBoundary {
+    /**
+     * Apply several edits at once.
+     * @param inputData one {@link EditEventInputData} per event to edit
+     */
+    void execute(BulkEditEventsInputData inputData);
+}
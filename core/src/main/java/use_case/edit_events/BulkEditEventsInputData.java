@@ -0,0 +1,18 @@
+package use_case.edit_events;
+
+import java.util.List;
+
+/**
+ * Input data for editing many events at once.
+ * Each edit follows the same rules as {@link EditEventInputData}.
+ */
+public class BulkEditEventsInputData {
+
+    private final List<EditEventInputData> edits;
+
+    public BulkEditEventsInputData(List<EditEventInputData> edits) {
+        this.edits = List.copyOf(edits);
+    }
+
+    public List<EditEventInputData> getEdits() { return edits; }
+}
@@ -0,0 +1,120 @@
+package use_case.edit_events;
+
+import entity.Event;
+import use_case.addEvent.BatchConflictTracker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Interactor for editing many events at once.
+ *
+ * Every edit is merged and validated exactly like {@link EditEventInteractor} does
+ * it, but the events are loaded with one {@code getByIds} and the accepted edits
+ * are written with one {@code saveAll}. Edits are also checked against each other,
+ * so a batch cannot move two events onto the same slot, while two events can swap
+ * slots or one can take the slot another is leaving. An event whose edit is refused
+ * stays where it was, so edits that counted on its slot being free are refused too.
+ */
+public class BulkEditEventsInteractor implements BulkEditEventsInputBoundary {
+
+    private final EditEventEventDataAccessInterface eventDataAccess;
+    private final BulkEditEventsOutputBoundary presenter;
+
+    public BulkEditEventsInteractor(EditEventEventDataAccessInterface eventDataAccess,
+                                    BulkEditEventsOutputBoundary presenter) {
+        this.eventDataAccess = eventDataAccess;
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void execute(BulkEditEventsInputData inputData) {
+        List<UUID> ids = new ArrayList<>();
+        for (EditEventInputData edit : inputData.getEdits()) {
+            ids.add(edit.getId());
+        }
+        Map<UUID, Event> existing = eventDataAccess.getByIds(ids);
+
+        // ===== 1. Merge and validate each edit =====
+        Map<UUID, String> failures = new LinkedHashMap<>();
+        Map<UUID, Event> candidates = new LinkedHashMap<>(); // later edits of the same id win
+        for (EditEventInputData edit : inputData.getEdits()) {
+            Event event = candidates.getOrDefault(edit.getId(), existing.get(edit.getId()));
+            if (event == null) {
+                failures.put(edit.getId(), "Event does not exist.");
+                continue;
+            }
+            Event updated = EditEventInteractor.applyChanges(event, edit);
+            if (updated.getEnd().isBefore(updated.getStart())) {
+                failures.put(edit.getId(), "End time cannot be before start time.");
+                continue;
+            }
+            candidates.put(edit.getId(), updated);
+            failures.remove(edit.getId());
+        }
+
+        // ===== 2. Conflicts with stored events and within the batch =====
+        // Stored events being edited are checked at their new times, by the tracker
+        List<Event> sorted = new ArrayList<>(candidates.values());
+        sorted.sort(Comparator.comparing(Event::getStart));
+        BatchConflictTracker batch = new BatchConflictTracker();
+        List<Event> accepted = new ArrayList<>();
+        List<Event> staying = new ArrayList<>();
+        for (Event updated : sorted) {
+            if (conflictsWithStored(updated, candidates.keySet()) || !batch.tryAccept(updated)) {
+                failures.put(updated.getId(), "Conflict: overlapping events.");
+                staying.add(existing.get(updated.getId()));
+            } else {
+                accepted.add(updated);
+            }
+        }
+        refuseEditsOntoStayingEvents(accepted, staying, existing, failures);
+
+        if (accepted.isEmpty()) {
+            presenter.prepareFailView(failures.isEmpty()
+                    ? "No events to edit."
+                    : failures.values().iterator().next());
+            return;
+        }
+
+        // ===== 3. Save and present =====
+        eventDataAccess.saveAll(accepted);
+
+        List<EditEventOutputData> updated = new ArrayList<>();
+        for (Event event : accepted) {
+            updated.add(EditEventInteractor.toOutputData(event));
+        }
+        presenter.prepareSuccessView(new BulkEditEventsOutputData(updated, failures));
+    }
+
+    private boolean conflictsWithStored(Event updated, Set<UUID> batchIds) {
+        // The batch ids include the edited event itself
+        return eventDataAccess.hasConflict(updated.getStart(), updated.getEnd(), updated.getLocation(), batchIds);
+    }
+
+    /**
+     * Refuse accepted edits that overlap an event staying at its old time. Each one
+     * refused stays where it was in turn, so it is checked against the rest as well.
+     */
+    private static void refuseEditsOntoStayingEvents(List<Event> accepted, List<Event> staying,
+                                                     Map<UUID, Event> existing, Map<UUID, String> failures) {
+        for (int i = 0; i < staying.size(); i++) {
+            Event stay = staying.get(i);
+            for (Iterator<Event> it = accepted.iterator(); it.hasNext(); ) {
+                Event moved = it.next();
+                if (moved.getLocation().equalsIgnoreCase(stay.getLocation())
+                        && !moved.getStart().isAfter(stay.getEnd()) && !moved.getEnd().isBefore(stay.getStart())) {
+                    it.remove();
+                    failures.put(moved.getId(), "Conflict: overlapping events.");
+                    staying.add(existing.get(moved.getId()));
+                }
+            }
+        }
+    }
+}
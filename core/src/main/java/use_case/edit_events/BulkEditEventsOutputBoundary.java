@@ -0,0 +1,15 @@
+package use_case.edit_events;
+
+public interface BulkEditEventsOutputBoundary {
+    /**
+     * Prepares the success view when at least one edit was saved.
+     * @param outputData the saved edits and the reasons the others were rejected
+     */
+    void prepareSuccessView(BulkEditEventsOutputData outputData);
+
+    /**
+     * Prepares the failure view when no edit could be saved.
+     * @param errorMessage the explanation of the failure
+     */
+    void prepareFailView(String errorMessage);
+}
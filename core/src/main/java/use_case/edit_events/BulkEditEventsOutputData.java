@@ -0,0 +1,23 @@
+package use_case.edit_events;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Output data returned to the presenter after a bulk edit.
+ */
+public class BulkEditEventsOutputData {
+
+    private final List<EditEventOutputData> updated;
+    private final Map<UUID, String> failures;
+
+    public BulkEditEventsOutputData(List<EditEventOutputData> updated, Map<UUID, String> failures) {
+        this.updated = List.copyOf(updated);
+        this.failures = Map.copyOf(failures);
+    }
+
+    public List<EditEventOutputData> getUpdated() { return updated; }
+
+    public Map<UUID, String> getFailures() { return failures; }
+}
@@ -1,5 +1,9 @@
 package use_case.edit_events;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import entity.Event;
 
@@ -7,4 +11,47 @@ public interface EditEventEventDataAccessInterface {
     Event get(UUID id);
     void save(Event event);
     boolean exists(UUID id);
+
+    /**
+     * Return the events with the given IDs that exist, keyed by ID.
+     * @param ids the IDs to look for
+     * @return the events found; missing IDs have no entry
+     */
+    Map<UUID, Event> getByIds(Collection<UUID> ids);
+
+    /**
+     * Save several events at once, in a single transaction where the store supports it.
+     * @param events the events to save
+     */
+    void saveAll(List<Event> events);
+
+    /**
+     * Return every event other than {@code excludeId} whose time range overlaps [start, end].
+     * Touching endpoints count as overlapping, the same rule used when adding events.
+     * @param start the start of the range
+     * @param end the end of the range
+     * @param excludeId the event being edited, which must not conflict with itself
+     * @return the overlapping events, ordered by start
+     */
+    List<Event> getEventsOverlapping(LocalDateTime start, LocalDateTime end, UUID excludeId);
+
+    /**
+     * Whether an event at the given location (ignoring case), other than those in
+     * {@code excludeIds}, overlaps [start, end]. Stores that index events by location
+     * can answer this without the full list.
+     * @param start the start of the range
+     * @param end the end of the range
+     * @param location the location of the edited event
+     * @param excludeIds the events being edited, which must not conflict with themselves
+     * @return true if the edit would conflict with a stored event
+     */
+    default boolean hasConflict(LocalDateTime start, LocalDateTime end, String location,
+                                Collection<UUID> excludeIds) {
+        for (Event other : getEventsOverlapping(start, end, null)) {
+            if (!excludeIds.contains(other.getId()) && other.getLocation().equalsIgnoreCase(location)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import entity.Event;
 import entity.Event.CategoryType;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -35,13 +36,41 @@ public class EditEventInteractor implements EditEventInputBoundary {
             return;
         }
 
-        // ===== 2. Title =====
+        // ===== 2. Create updated Event (no setters on Event) =====
+        Event updatedEvent = applyChanges(event, inputData);
+
+        // basic validation: end must not be before start
+        if (updatedEvent.getEnd().isBefore(updatedEvent.getStart())) {
+            presenter.prepareFailView("End time cannot be before start time.");
+            return;
+        }
+
+        // ===== 3. Conflicts: same location and overlapping time, like adding an event =====
+        if (eventDataAccess.hasConflict(updatedEvent.getStart(), updatedEvent.getEnd(),
+                updatedEvent.getLocation(), Set.of(id))) {
+            presenter.prepareFailView("Conflict: overlapping events.");
+            return;
+        }
+
+        // Save via data access
+        eventDataAccess.save(updatedEvent);
+
+        // ===== 4. Prepare output and call presenter =====
+        presenter.prepareSuccessView(toOutputData(updatedEvent));
+    }
+
+    /**
+     * Build the edited copy of an event. Null fields of the input (and blank title or
+     * location) keep the original value. Shared with {@link BulkEditEventsInteractor}.
+     */
+    static Event applyChanges(Event event, EditEventInputData inputData) {
+        // Title
         String newTitle = inputData.getTitle();
         if (newTitle == null || newTitle.isBlank()) {
             newTitle = event.getTitle();   // keep old title if none provided
         }
 
-        // ===== 3. Start & End time =====
+        // Start & End time
         LocalDateTime newStart = inputData.getStart();
         LocalDateTime newEnd   = inputData.getEnd();
 
@@ -52,32 +81,25 @@ public class EditEventInteractor implements EditEventInputBoundary {
             newEnd = event.getEnd();
         }
 
-        // basic validation: end must not be before start
-        if (newEnd.isBefore(newStart)) {
-            presenter.prepareFailView("End time cannot be before start time.");
-            return;
-        }
-
-        // ===== 4. Location =====
+        // Location
         String newLocation = inputData.getLocation();
         if (newLocation == null || newLocation.isBlank()) {
             newLocation = event.getLocation();
         }
 
-        // ===== 5. Category =====
+        // Category
         CategoryType newCategory = inputData.getCategory();
         if (newCategory == null) {
             newCategory = event.getCategory();
         }
 
-        // ===== 6. Reminder ====
+        // Reminder
         String newReminderMessage = inputData.getReminderMessage();
         if (newReminderMessage == null) {
             newReminderMessage = event.getReminderMessage();
         }
 
-        // ===== 7. Create updated Event (no setters on Event) =====
-        Event updatedEvent = new Event(
+        return new Event(
                 event.getId(),          // keep same id
                 newTitle,
                 newStart,
@@ -86,12 +108,10 @@ public class EditEventInteractor implements EditEventInputBoundary {
                 newCategory,
                 newReminderMessage
         );
+    }
 
-        // Save via data access
-        eventDataAccess.save(updatedEvent);
-
-        // ===== 8. Prepare output and call presenter =====
-        EditEventOutputData output = new EditEventOutputData(
+    static EditEventOutputData toOutputData(Event updatedEvent) {
+        return new EditEventOutputData(
                 updatedEvent.getId(),
                 updatedEvent.getTitle(),
                 updatedEvent.getStart(),
@@ -100,7 +120,5 @@ public class EditEventInteractor implements EditEventInputBoundary {
                 updatedEvent.getCategory(),
                 updatedEvent.getReminderMessage()
         );
-
-        presenter.prepareSuccessView(output);
     }
 }
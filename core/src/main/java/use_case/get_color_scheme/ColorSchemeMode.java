@@ -0,0 +1,15 @@
+package use_case.get_color_scheme;
+
+/**
+ * The color schemes built around a picked color, one per row in the color view.
+ */
+public enum ColorSchemeMode {
+    /** Shades of the picked color. */
+    MONOCHROMATIC,
+    /** Neighbouring hues. */
+    ANALOGOUS,
+    /** The opposite hue. */
+    COMPLEMENTARY,
+    /** Light, desaturated shades (monochrome-light). */
+    NEUTRAL
+}
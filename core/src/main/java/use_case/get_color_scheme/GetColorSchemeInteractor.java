@@ -1,50 +1,154 @@
 package use_case.get_color_scheme;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * The Get Color Scheme Interactor.
+ *
+ * The four schemes are requested at the same time, so a lookup takes as long as the
+ * slowest scheme rather than all four one after another. Schemes that fail, or are
+ * not back within the deadline, are presented empty alongside the others; only when
+ * every scheme fails is the fail view shown.
+ *
+ * Lookups still running at the deadline are cancelled, which interrupts them. The
+ * shared lookup threads are bounded, and so is the queue in front of them: when a
+ * hung API keeps them all busy, further lookups fail at once instead of piling up.
  */
 public class GetColorSchemeInteractor implements GetColorSchemeInputBoundary {
+
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(5);
+    public static final int DEFAULT_LOOKUP_THREADS = ColorSchemeMode.values().length;
+    public static final int DEFAULT_MAX_QUEUED_LOOKUPS = 32;
+
+    private static ExecutorService sharedExecutor;
+
     private final GetColorSchemeUserDataAccessInterface colorApiDataAccessObject;
     private final GetColorSchemeOutputBoundary colorSchemePresenter;
+    private final Executor executor;
+    private final Duration deadline;
 
     public GetColorSchemeInteractor(GetColorSchemeUserDataAccessInterface colorApiDataAccessObject,
                                     GetColorSchemeOutputBoundary colorSchemePresenter) {
+        this(colorApiDataAccessObject, colorSchemePresenter, null, DEFAULT_DEADLINE);
+    }
+
+    /**
+     * @param colorApiDataAccessObject where to get the schemes
+     * @param colorSchemePresenter     presents the result
+     * @param executor                 runs the blocking lookups (a shared, bounded pool of daemon
+     *                                 threads when null)
+     * @param deadline                 how long to wait for all four schemes
+     */
+    public GetColorSchemeInteractor(GetColorSchemeUserDataAccessInterface colorApiDataAccessObject,
+                                    GetColorSchemeOutputBoundary colorSchemePresenter,
+                                    Executor executor,
+                                    Duration deadline) {
         this.colorApiDataAccessObject = colorApiDataAccessObject;
         this.colorSchemePresenter = colorSchemePresenter;
+        this.executor = executor == null ? sharedExecutor() : executor;
+        this.deadline = deadline;
+    }
+
+    private static synchronized ExecutorService sharedExecutor() {
+        if (sharedExecutor == null) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    DEFAULT_LOOKUP_THREADS, DEFAULT_LOOKUP_THREADS, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(DEFAULT_MAX_QUEUED_LOOKUPS),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "color-scheme-lookup");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            sharedExecutor = pool;
+        }
+        return sharedExecutor;
     }
 
     @Override
     public void execute(GetColorSchemeInputData inputData) {
         String hexColor = inputData.getHexColor();
-        
+
         // Remove # if present
         hexColor = hexColor.replace("#", "").trim();
-        
+
         // Validate hex color format
         if (!hexColor.matches("^[0-9A-Fa-f]{6}$")) {
             colorSchemePresenter.prepareFailView("Invalid hex color format. Please use 6-digit hex code (e.g., FF5733).");
             return;
         }
 
+        Map<ColorSchemeMode, CompletableFuture<List<String>>> pending = new EnumMap<>(ColorSchemeMode.class);
+        for (ColorSchemeMode mode : ColorSchemeMode.values()) {
+            try {
+                pending.put(mode, colorApiDataAccessObject.getSchemeAsync(mode, hexColor, executor));
+            } catch (RuntimeException e) {
+                pending.put(mode, CompletableFuture.failedFuture(e));
+            }
+        }
+
+        boolean interrupted = false;
         try {
-            List<String> monochromaticColors = colorApiDataAccessObject.getMonochromaticScheme(hexColor);
-            List<String> analogousColors = colorApiDataAccessObject.getAnalogousScheme(hexColor);
-            List<String> complementaryColors = colorApiDataAccessObject.getComplementaryScheme(hexColor);
-            List<String> neutralColors = colorApiDataAccessObject.getNeutralScheme(hexColor);
-
-            GetColorSchemeOutputData outputData = new GetColorSchemeOutputData(
-                    monochromaticColors,
-                    analogousColors,
-                    complementaryColors,
-                    neutralColors
-            );
-
-            colorSchemePresenter.prepareSuccessView(outputData);
-        } catch (Exception e) {
-            colorSchemePresenter.prepareFailView("Failed to fetch color schemes: " + e.getMessage());
+            CompletableFuture.allOf(pending.values().toArray(new CompletableFuture<?>[0]))
+                    .get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Sorted out per scheme below
+        } catch (InterruptedException e) {
+            interrupted = true;
+            Thread.currentThread().interrupt();
+        }
+
+        Map<ColorSchemeMode, List<String>> schemes = new EnumMap<>(ColorSchemeMode.class);
+        int failed = 0;
+        String firstError = null;
+        for (ColorSchemeMode mode : ColorSchemeMode.values()) {
+            CompletableFuture<List<String>> scheme = pending.get(mode);
+            String error;
+            if (scheme.isDone()) {
+                try {
+                    schemes.put(mode, scheme.join());
+                    continue;
+                } catch (CompletionException | CancellationException e) {
+                    Throwable cause = e.getCause() == null ? e : e.getCause();
+                    error = cause.getMessage();
+                }
+            } else {
+                scheme.cancel(true);
+                error = interrupted ? "interrupted while waiting" : "timed out after " + deadline.toMillis() + " ms";
+            }
+            schemes.put(mode, new ArrayList<>());
+            failed++;
+            if (firstError == null) {
+                firstError = error;
+            }
+        }
+
+        if (failed == schemes.size()) {
+            colorSchemePresenter.prepareFailView("Failed to fetch color schemes: " + firstError);
+            return;
         }
+
+        GetColorSchemeOutputData outputData = new GetColorSchemeOutputData(
+                schemes.get(ColorSchemeMode.MONOCHROMATIC),
+                schemes.get(ColorSchemeMode.ANALOGOUS),
+                schemes.get(ColorSchemeMode.COMPLEMENTARY),
+                schemes.get(ColorSchemeMode.NEUTRAL)
+        );
+
+        colorSchemePresenter.prepareSuccessView(outputData);
     }
 }
-
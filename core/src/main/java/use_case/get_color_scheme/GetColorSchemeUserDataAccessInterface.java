@@ -1,6 +1,9 @@
 package use_case.get_color_scheme;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 /**
  * Data Access Interface for the Get Color Scheme Use Case.
@@ -33,5 +36,54 @@ public interface GetColorSchemeUserDataAccessInterface {
      * @return list of 5 hex color codes
      */
     List<String> getNeutralScheme(String hexColor);
-}
 
+    /**
+     * Gets the color scheme of the given mode.
+     * @param mode the scheme to get
+     * @param hexColor the hex color (without #)
+     * @return list of 5 hex color codes
+     */
+    default List<String> getScheme(ColorSchemeMode mode, String hexColor) {
+        switch (mode) {
+            case MONOCHROMATIC:
+                return getMonochromaticScheme(hexColor);
+            case ANALOGOUS:
+                return getAnalogousScheme(hexColor);
+            case COMPLEMENTARY:
+                return getComplementaryScheme(hexColor);
+            default:
+                return getNeutralScheme(hexColor);
+        }
+    }
+
+    /**
+     * Starts getting the color scheme of the given mode without blocking the caller.
+     * By default the lookup runs on {@code executor}, and cancelling the returned
+     * future interrupts it if it is running; implementations that can do the lookup
+     * without holding a thread may override this.
+     * @param mode the scheme to get
+     * @param hexColor the hex color (without #)
+     * @param executor where blocking work may run
+     * @return the list of 5 hex color codes, or the lookup's exception
+     * @throws java.util.concurrent.RejectedExecutionException if {@code executor} takes no more work
+     */
+    default CompletableFuture<List<String>> getSchemeAsync(ColorSchemeMode mode,
+                                                           String hexColor,
+                                                           Executor executor) {
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        FutureTask<Void> lookup = new FutureTask<>(() -> {
+            try {
+                result.complete(getScheme(mode, hexColor));
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        }, null);
+        result.whenComplete((scheme, error) -> {
+            if (result.isCancelled()) {
+                lookup.cancel(true);
+            }
+        });
+        executor.execute(lookup);
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package use_case.get_current_weather;
+
+import entity.DailyWeather;
+import entity.Location;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Port for daily forecasts at several geocoded locations at once.
+ */
+public interface DailyForecastApiGateway {
+
+    /**
+     * Fetch the daily forecast of every location for the days {@code from} to
+     * {@code to} (inclusive), in as few requests as the API allows.
+     * Days the API has no forecast for are left out of the lists.
+     */
+    Map<Location, List<DailyWeather>> getDailyForecasts(Collection<Location> locations,
+                                                        LocalDate from,
+                                                        LocalDate to) throws WeatherGatewayException;
+}
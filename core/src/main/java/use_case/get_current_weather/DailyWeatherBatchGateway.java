@@ -0,0 +1,27 @@
+package use_case.get_current_weather;
+
+import entity.DailyWeather;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Port for looking up the weather of many (place, date) pairs in one go, e.g. for
+ * the locations of every event in the displayed month.
+ */
+public interface DailyWeatherBatchGateway {
+
+    /**
+     * Weather for each place on each date.
+     *
+     * @param places free-text places as typed into events, e.g. "Toronto" or
+     *               "Toronto, Canada" (the part after the last comma is the country)
+     * @param dates  the dates wanted for every place
+     * @return place -> date -> weather; places that cannot be found and dates
+     *         without a forecast are missing
+     */
+    Map<String, Map<LocalDate, DailyWeather>> getDailyWeather(Collection<String> places,
+                                                              Collection<LocalDate> dates)
+            throws WeatherGatewayException;
+}
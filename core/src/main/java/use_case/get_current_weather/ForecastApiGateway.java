@@ -0,0 +1,23 @@
+package use_case.get_current_weather;
+
+import entity.Forecast;
+import entity.Location;
+import entity.WeatherInfo;
+
+/**
+ * Port for the second half of a weather lookup: the forecast at known coordinates.
+ */
+public interface ForecastApiGateway {
+
+    /**
+     * Fetch the current conditions and the whole daily series at a geocoded location.
+     */
+    Forecast getForecast(Location location) throws WeatherGatewayException;
+
+    /**
+     * Fetch current weather and today's range at a geocoded location.
+     */
+    default WeatherInfo getCurrentWeather(Location location) throws WeatherGatewayException {
+        return getForecast(location).getCurrent();
+    }
+}
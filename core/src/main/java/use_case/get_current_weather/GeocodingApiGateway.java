@@ -0,0 +1,17 @@
+package use_case.get_current_weather;
+
+import entity.Location;
+
+/**
+ * Port for the first half of a weather lookup: turning a city name into coordinates.
+ */
+public interface GeocodingApiGateway {
+
+    /**
+     * Find the location best matching a city and country.
+     *
+     * @param city    city name
+     * @param country country name or ISO code (may be null/blank)
+     */
+    Location geocode(String city, String country) throws WeatherGatewayException;
+}
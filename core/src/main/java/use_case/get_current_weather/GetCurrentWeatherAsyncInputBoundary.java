@@ -0,0 +1,21 @@
+package use_case.get_current_weather;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking input boundary for the "Get Current Weather" use case.
+ *
+ * Only the latest request counts: starting a new one cancels the one still in
+ * flight, whose result is then never presented.
+ */
+public interface GetCurrentWeatherAsyncInputBoundary {
+
+    /**
+     * Start the use case with the given request model and return immediately.
+     *
+     * @return completes once the presenter has been called with the result or the
+     *         error, on the thread that ran the lookup; cancelled if a newer request
+     *         replaced this one first
+     */
+    CompletableFuture<Void> executeAsync(GetCurrentWeatherRequestModel requestModel);
+}
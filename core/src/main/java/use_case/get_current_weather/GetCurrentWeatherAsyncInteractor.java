@@ -0,0 +1,112 @@
+package use_case.get_current_weather;
+
+import entity.WeatherInfo;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Interactor for the "Get Current Weather" use case that runs the lookup off the
+ * caller's thread.
+ *
+ * Each request supersedes the previous one. A superseded request that has not
+ * started yet never calls the gateway; one that is already waiting on the API is
+ * left to finish (so a lookup shared with other callers is not broken off) but its
+ * result is dropped. The presenter therefore only ever sees the latest request.
+ */
+public class GetCurrentWeatherAsyncInteractor implements GetCurrentWeatherAsyncInputBoundary, AutoCloseable {
+
+    private final WeatherApiGateway gateway;
+    private final GetCurrentWeatherOutputBoundary presenter;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    private CompletableFuture<Void> latest;    // guarded by this
+    private long superseded;                   // guarded by this
+
+    public GetCurrentWeatherAsyncInteractor(WeatherApiGateway gateway,
+                                            GetCurrentWeatherOutputBoundary presenter) {
+        this(gateway, presenter, null);
+    }
+
+    /**
+     * Full constructor for tests: {@code executor} runs the lookups (daemon threads
+     * are created when null).
+     */
+    GetCurrentWeatherAsyncInteractor(WeatherApiGateway gateway,
+                                     GetCurrentWeatherOutputBoundary presenter,
+                                     Executor executor) {
+        this.gateway = gateway;
+        this.presenter = presenter;
+        if (executor == null) {
+            this.ownedExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "weather-lookup");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor = ownedExecutor;
+        } else {
+            this.ownedExecutor = null;
+            this.executor = executor;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> executeAsync(GetCurrentWeatherRequestModel requestModel) {
+        CompletableFuture<Void> request = new CompletableFuture<>();
+        synchronized (this) {
+            if (latest != null && latest.cancel(false)) {
+                superseded++;
+            }
+            latest = request;
+        }
+        try {
+            executor.execute(() -> run(requestModel, request));
+        } catch (RejectedExecutionException ex) {
+            request.completeExceptionally(ex);
+        }
+        return request;
+    }
+
+    private void run(GetCurrentWeatherRequestModel requestModel, CompletableFuture<Void> request) {
+        if (request.isDone()) {
+            return;     // superseded before it started
+        }
+
+        WeatherInfo info = null;
+        String error = null;
+        try {
+            info = gateway.getCurrentWeather(requestModel.getCity(), requestModel.getCountry());
+        } catch (WeatherGatewayException | RuntimeException e) {
+            error = "Failed to fetch weather: " + e.getMessage();
+        }
+
+        synchronized (this) {
+            // Checked under the lock so an older result can never overwrite a newer one
+            if (request != latest || request.isDone()) {
+                return;
+            }
+            if (info != null) {
+                presenter.present(new GetCurrentWeatherResponseModel(info));
+            } else {
+                presenter.presentError(error);
+            }
+        }
+        request.complete(null);
+    }
+
+    /** Requests cancelled because a newer one was started. */
+    public synchronized long getSupersededCount() {
+        return superseded;
+    }
+
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+}
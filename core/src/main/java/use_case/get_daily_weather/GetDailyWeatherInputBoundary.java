@@ -0,0 +1,12 @@
+package use_case.get_daily_weather;
+
+/**
+ * Input boundary for the "Get Daily Weather" use case.
+ */
+public interface GetDailyWeatherInputBoundary {
+
+    /**
+     * Execute the use case with the given request model.
+     */
+    void execute(GetDailyWeatherRequestModel requestModel);
+}
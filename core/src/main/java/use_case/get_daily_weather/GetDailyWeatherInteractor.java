@@ -0,0 +1,69 @@
+package use_case.get_daily_weather;
+
+import entity.DailyWeather;
+import entity.Forecast;
+import entity.Location;
+import use_case.get_current_weather.ForecastApiGateway;
+import use_case.get_current_weather.GeocodingApiGateway;
+import use_case.get_current_weather.WeatherGatewayException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interactor for the "Get Daily Weather" use case: the weather on date D (and the
+ * days after it) at location L.
+ *
+ * Every day is read from one forecast of the location, so with a caching gateway
+ * a whole week or the full 16 days shown next to the calendar cost one request per
+ * location rather than one per day.
+ */
+public class GetDailyWeatherInteractor implements GetDailyWeatherInputBoundary {
+
+    private final GeocodingApiGateway geocoder;
+    private final ForecastApiGateway forecaster;
+    private final GetDailyWeatherOutputBoundary presenter;
+
+    public GetDailyWeatherInteractor(GeocodingApiGateway geocoder,
+                                     ForecastApiGateway forecaster,
+                                     GetDailyWeatherOutputBoundary presenter) {
+        this.geocoder = geocoder;
+        this.forecaster = forecaster;
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void execute(GetDailyWeatherRequestModel requestModel) {
+        if (requestModel.getDate() == null || requestModel.getDays() < 1) {
+            presenter.presentError("Choose a date and at least one day.");
+            return;
+        }
+
+        try {
+            Location location = geocoder.geocode(requestModel.getCity(), requestModel.getCountry());
+            Forecast forecast = forecaster.getForecast(location);
+
+            // Walk the forecast rather than the requested days, so the work is bounded by
+            // the series the API returned however many days are asked for
+            LocalDate first = requestModel.getDate();
+            List<DailyWeather> days = new ArrayList<>();
+            for (DailyWeather day : forecast.getDays()) {
+                long offset = ChronoUnit.DAYS.between(first, day.getDate());
+                if (offset >= 0 && offset < requestModel.getDays()) {
+                    days.add(day);
+                }
+            }
+            if (days.isEmpty() || !days.get(0).getDate().equals(first)) {
+                presenter.presentError("No forecast for " + first + " at " + location.getName() + ".");
+                return;
+            }
+
+            presenter.present(new GetDailyWeatherResponseModel(location.getName(), days));
+
+        } catch (WeatherGatewayException e) {
+            presenter.presentError("Failed to fetch weather: " + e.getMessage());
+        }
+    }
+}
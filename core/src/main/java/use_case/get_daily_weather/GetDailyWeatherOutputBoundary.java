@@ -0,0 +1,9 @@
+package use_case.get_daily_weather;
+
+/**
+ * Output boundary for the Get Daily Weather use case.
+ */
+public interface GetDailyWeatherOutputBoundary {
+    void present(GetDailyWeatherResponseModel responseModel);
+    void presentError(String errorMessage);
+}
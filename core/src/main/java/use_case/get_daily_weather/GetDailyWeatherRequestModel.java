@@ -0,0 +1,42 @@
+package use_case.get_daily_weather;
+
+import java.time.LocalDate;
+
+/**
+ * Request model for the Get Daily Weather use case: the place, the first date
+ * and how many consecutive days are wanted (1 for a single date).
+ */
+public class GetDailyWeatherRequestModel {
+
+    private final String city;
+    private final String country;
+    private final LocalDate date;
+    private final int days;
+
+    public GetDailyWeatherRequestModel(String city, String country, LocalDate date) {
+        this(city, country, date, 1);
+    }
+
+    public GetDailyWeatherRequestModel(String city, String country, LocalDate date, int days) {
+        this.city = city;
+        this.country = country;
+        this.date = date;
+        this.days = days;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getDays() {
+        return days;
+    }
+}
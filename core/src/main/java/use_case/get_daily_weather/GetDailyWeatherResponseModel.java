@@ -0,0 +1,27 @@
+package use_case.get_daily_weather;
+
+import entity.DailyWeather;
+
+import java.util.List;
+
+/**
+ * Response model: the resolved location name and the forecast for each requested
+ * day, in date order. Days past the end of the forecast are not included.
+ */
+public class GetDailyWeatherResponseModel {
+    private final String locationName;
+    private final List<DailyWeather> days;
+
+    public GetDailyWeatherResponseModel(String locationName, List<DailyWeather> days) {
+        this.locationName = locationName;
+        this.days = days;
+    }
+
+    public String getLocationName() {
+        return locationName;
+    }
+
+    public List<DailyWeather> getDays() {
+        return days;
+    }
+}
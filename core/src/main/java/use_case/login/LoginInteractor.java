@@ -2,6 +2,8 @@ package use_case.login;
 
 import entity.User;
 
+import java.util.Optional;
+
 /**
  * The Login Interactor.
  */
@@ -19,18 +21,17 @@ public class LoginInteractor implements LoginInputBoundary {
     public void execute(LoginInputData loginInputData) {
         final String username = loginInputData.getUsername();
         final String password = loginInputData.getPassword();
-        if (!userDataAccessObject.existsByName(username)) {
+        // One lookup answers both "does the account exist" and "what is its password"
+        final Optional<User> found = userDataAccessObject.findByName(username);
+        if (found.isEmpty()) {
             loginPresenter.prepareFailView(username + ": Account does not exist.");
         }
         else {
-            final String pwd = userDataAccessObject.get(username).getPassword();
-            if (!password.equals(pwd)) {
+            final User user = found.get();
+            if (!password.equals(user.getPassword())) {
                 loginPresenter.prepareFailView("Incorrect password for \"" + username + "\".");
             }
             else {
-
-                final User user = userDataAccessObject.get(loginInputData.getUsername());
-
                 userDataAccessObject.setCurrentUsername(username);
 
                 final LoginOutputData loginOutputData = new LoginOutputData(user.getName());
@@ -2,6 +2,8 @@ package use_case.login;
 
 import entity.User;
 
+import java.util.Optional;
+
 /**
  * DAO interface for the Login Use Case.
  */
@@ -27,6 +29,17 @@ public interface LoginUserDataAccessInterface {
      */
     User get(String username);
 
+    /**
+     * Looks up the user with the given username.
+     * Implementations should answer this with a single lookup; the default
+     * falls back to {@link #existsByName(String)} followed by {@link #get(String)}.
+     * @param username the username to look up
+     * @return the user with the given username, or empty if there is none
+     */
+    default Optional<User> findByName(String username) {
+        return existsByName(username) ? Optional.ofNullable(get(username)) : Optional.empty();
+    }
+
     void setCurrentUsername(String name);
 
     String getCurrentUsername();
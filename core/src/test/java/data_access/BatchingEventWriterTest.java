@@ -0,0 +1,107 @@
+package data_access;
+
+import entity.Event;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingEventWriterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 30);
+
+    @TempDir
+    Path tempDir;
+
+    private SQLiteEventDataAccessObject newDao() {
+        return new SQLiteEventDataAccessObject(tempDir.resolve("events.db").toString());
+    }
+
+    private static Event event(String title, LocalDateTime start) {
+        return new Event(UUID.randomUUID(), title, start, start.plusHours(1),
+                "Office", Event.CategoryType.WORK, null);
+    }
+
+    @Test
+    void readsSeeQueuedWritesBeforeFlush() {
+        SQLiteEventDataAccessObject dao = newDao();
+        Event stored = event("Stored", DAY.atTime(8, 0));
+        Event toDelete = event("To delete", DAY.atTime(12, 0));
+        dao.saveEvent("paul", stored);
+        dao.saveEvent("paul", toDelete);
+
+        try (BatchingEventWriter writer = new BatchingEventWriter(dao, 100, Duration.ofHours(1))) {
+            Event renamed = new Event(stored.getId(), "Renamed", stored.getStart(), stored.getEnd(),
+                    stored.getLocation(), stored.getCategory(), null);
+            writer.saveEvent("paul", renamed);
+            writer.saveEvent("paul", event("Queued", DAY.atTime(9, 0)));
+            writer.deleteEvent("paul", toDelete.getId());
+            writer.saveEvent("anna", event("Anna's", DAY.atTime(10, 0)));
+
+            // Nothing has reached SQLite yet
+            assertEquals(List.of("Stored", "To delete"), titles(dao.getEventsForDay("paul", DAY)));
+
+            assertEquals(List.of("Renamed", "Queued"), titles(writer.getEventsForDay("paul", DAY)));
+            Map<LocalDate, List<Event>> month = writer.getEventsBetween("paul", DAY.withDayOfMonth(1), DAY);
+            assertEquals(List.of("Renamed", "Queued"), titles(month.get(DAY)));
+        }
+    }
+
+    @Test
+    void flushWritesCoalescedBatch() {
+        SQLiteEventDataAccessObject dao = newDao();
+        BatchingEventWriter writer = new BatchingEventWriter(dao, 100, Duration.ofHours(1));
+
+        Event kept = event("Kept", DAY.atTime(9, 0));
+        Event dropped = event("Dropped", DAY.atTime(10, 0));
+        writer.saveEvent("paul", kept);
+        writer.saveEvent("paul", dropped);
+        writer.deleteEvent("paul", dropped.getId());
+        assertEquals(2, writer.getPendingCount());
+
+        writer.flush();
+
+        assertEquals(0, writer.getPendingCount());
+        assertEquals(List.of("Kept"), titles(dao.getEventsForDay("paul", DAY)));
+        writer.close();
+    }
+
+    @Test
+    void flushesWhenBatchIsFull() {
+        SQLiteEventDataAccessObject dao = newDao();
+        try (BatchingEventWriter writer = new BatchingEventWriter(dao, 3, Duration.ofHours(1))) {
+            writer.saveEvent("paul", event("1", DAY.atTime(9, 0)));
+            writer.saveEvent("paul", event("2", DAY.atTime(10, 0)));
+            assertTrue(dao.getEventsForDay("paul", DAY).isEmpty());
+
+            writer.saveEvent("paul", event("3", DAY.atTime(11, 0)));
+            assertEquals(3, dao.getEventsForDay("paul", DAY).size());
+        }
+    }
+
+    @Test
+    void flushesAfterDelay() throws InterruptedException {
+        SQLiteEventDataAccessObject dao = newDao();
+        try (BatchingEventWriter writer = new BatchingEventWriter(dao, 100, Duration.ofMillis(20))) {
+            writer.saveEvent("paul", event("Later", DAY.atTime(9, 0)));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (dao.getEventsForDay("paul", DAY).isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(List.of("Later"), titles(dao.getEventsForDay("paul", DAY)));
+        }
+    }
+
+    private static List<String> titles(List<Event> events) {
+        return events.stream().map(Event::getTitle).toList();
+    }
+}
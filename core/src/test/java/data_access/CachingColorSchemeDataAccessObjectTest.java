@@ -0,0 +1,138 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import use_case.get_color_scheme.ColorSchemeMode;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingColorSchemeDataAccessObjectTest {
+
+    @TempDir
+    Path tempDir;
+
+    /** The in-memory mock API, counting how often it is asked. */
+    private static class CountingColorApi extends InMemoryColorApiDataAccessObject {
+        int calls;
+        boolean down;
+
+        @Override
+        public List<String> getMonochromaticScheme(String hexColor) {
+            return count(super.getMonochromaticScheme(hexColor));
+        }
+
+        @Override
+        public List<String> getAnalogousScheme(String hexColor) {
+            return count(super.getAnalogousScheme(hexColor));
+        }
+
+        @Override
+        public List<String> getComplementaryScheme(String hexColor) {
+            return count(super.getComplementaryScheme(hexColor));
+        }
+
+        @Override
+        public List<String> getNeutralScheme(String hexColor) {
+            return count(super.getNeutralScheme(hexColor));
+        }
+
+        private List<String> count(List<String> scheme) {
+            calls++;
+            if (down) {
+                throw new RuntimeException("Network error");
+            }
+            return scheme;
+        }
+    }
+
+    @Test
+    void repeatedSchemesAreServedFromMemory() {
+        CountingColorApi api = new CountingColorApi();
+        CachingColorSchemeDataAccessObject colors = new CachingColorSchemeDataAccessObject(api);
+
+        List<String> first = colors.getAnalogousScheme("FF5733");
+        assertEquals(first, colors.getAnalogousScheme("#ff5733"));
+        assertEquals(first, colors.getScheme(ColorSchemeMode.ANALOGOUS, " FF5733 "));
+        colors.getNeutralScheme("FF5733");
+
+        assertEquals(2, api.calls);
+        assertEquals(2, colors.getHitCount());
+        assertEquals(2, colors.getMissCount());
+        assertEquals(0.5, colors.getHitRatio());
+    }
+
+    @Test
+    void leastRecentlyUsedSchemeIsEvictedFirst() {
+        CountingColorApi api = new CountingColorApi();
+        CachingColorSchemeDataAccessObject colors = new CachingColorSchemeDataAccessObject(api, 2, null);
+
+        colors.getMonochromaticScheme("111111");
+        colors.getMonochromaticScheme("222222");
+        colors.getMonochromaticScheme("111111");    // 222222 is now the least recently used
+        colors.getMonochromaticScheme("333333");
+
+        assertEquals(2, colors.getCachedSchemeCount());
+        assertEquals(1, colors.getEvictionCount());
+        colors.getMonochromaticScheme("111111");
+        colors.getMonochromaticScheme("333333");
+        assertEquals(3, api.calls);
+        colors.getMonochromaticScheme("222222");
+        assertEquals(4, api.calls);
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        CountingColorApi api = new CountingColorApi();
+        CachingColorSchemeDataAccessObject colors = new CachingColorSchemeDataAccessObject(api);
+
+        api.down = true;
+        assertThrows(RuntimeException.class, () -> colors.getComplementaryScheme("FF5733"));
+        assertTrue(colors.getSchemeAsync(ColorSchemeMode.COMPLEMENTARY, "FF5733", Runnable::run)
+                .isCompletedExceptionally());
+        api.down = false;
+        assertEquals(5, colors.getComplementaryScheme("FF5733").size());
+
+        assertEquals(3, api.calls);
+        assertEquals(0, colors.getHitCount());
+    }
+
+    @Test
+    void cachedSchemesCompleteWithoutTheExecutor() {
+        CountingColorApi api = new CountingColorApi();
+        CachingColorSchemeDataAccessObject colors = new CachingColorSchemeDataAccessObject(api);
+
+        List<String> scheme = colors.getSchemeAsync(ColorSchemeMode.NEUTRAL, "FF5733", Runnable::run).join();
+
+        assertEquals(scheme, colors.getSchemeAsync(ColorSchemeMode.NEUTRAL, "ff5733",
+                command -> fail("A cached scheme should not need a thread")).join());
+        assertEquals(1, api.calls);
+    }
+
+    @Test
+    void persistedSchemesSurviveEvictionAndRestart() throws Exception {
+        CountingColorApi api = new CountingColorApi();
+        String dbPath = tempDir.resolve("colors.db").toString();
+        List<String> first;
+        try (SQLiteConnectionProvider connections = new SQLiteConnectionProvider(dbPath, 1)) {
+            CachingColorSchemeDataAccessObject colors = new CachingColorSchemeDataAccessObject(api, 1, connections);
+            first = colors.getMonochromaticScheme("FF5733");
+            colors.getMonochromaticScheme("0047AB");    // evicts FF5733 from memory
+            assertEquals(first, colors.getMonochromaticScheme("FF5733"));
+            assertEquals(1, colors.getStoredHitCount());
+        }
+
+        // New connections, as after restarting the app
+        try (SQLiteConnectionProvider connections = new SQLiteConnectionProvider(dbPath, 1)) {
+            CachingColorSchemeDataAccessObject colors = new CachingColorSchemeDataAccessObject(api, 16, connections);
+            assertEquals(first, colors.getMonochromaticScheme("ff5733"));
+            assertEquals(first, colors.getMonochromaticScheme("FF5733"));
+            assertEquals(1, colors.getStoredHitCount());
+            assertEquals(1, colors.getHitCount());
+            assertEquals(0, colors.getMissCount());
+        }
+        assertEquals(2, api.calls);
+    }
+}
@@ -0,0 +1,266 @@
+package data_access;
+
+import entity.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingEventDataAccessObjectTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 30);
+
+    private static Event event(String title, LocalDateTime start) {
+        return new Event(UUID.randomUUID(), title, start, start.plusHours(1),
+                "Office", Event.CategoryType.WORK, null);
+    }
+
+    @Test
+    void secondReadOfMonthIsServedFromMemory() {
+        CountingEventRepo repo = new CountingEventRepo();
+        repo.saveEvent("paul", event("Meeting", DAY.atTime(9, 0)));
+        CachingEventDataAccessObject cache = new CachingEventDataAccessObject(repo);
+
+        assertEquals(1, cache.getEventsForDay("paul", DAY).size());
+        assertTrue(cache.getEventsForDay("paul", DAY.minusDays(3)).isEmpty());
+        assertEquals(1, cache.getEventsBetween("paul", DAY.withDayOfMonth(1), DAY).size());
+
+        assertEquals(1, repo.rangeQueries);
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2.0 / 3, cache.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    void writesAreVisibleWithoutReloading() {
+        CountingEventRepo repo = new CountingEventRepo();
+        Event meeting = event("Meeting", DAY.atTime(9, 0));
+        CachingEventDataAccessObject cache = new CachingEventDataAccessObject(repo);
+        cache.setCurrentUsername("paul");
+        cache.save(meeting);
+
+        // Load both months, then move the event from November to December
+        assertEquals(List.of("Meeting"), titles(cache.getEventsForDay(DAY)));
+        assertTrue(cache.getEventsForDay(DAY.plusDays(1)).isEmpty());
+        Event moved = new Event(meeting.getId(), "Moved", DAY.plusDays(1).atTime(9, 0),
+                DAY.plusDays(1).atTime(10, 0), "Office", Event.CategoryType.WORK, null);
+        cache.save(moved);
+
+        assertTrue(cache.getEventsForDay(DAY).isEmpty());
+        assertEquals(List.of("Moved"), titles(cache.getEventsForDay(DAY.plusDays(1))));
+        assertEquals("Moved", cache.get(meeting.getId()).getTitle());
+        assertEquals("Moved", repo.getEvent("paul", meeting.getId()).getTitle());
+
+        cache.delete(meeting.getId());
+        assertFalse(cache.existById(meeting.getId()));
+        assertTrue(cache.getEventsForDay(DAY.plusDays(1)).isEmpty());
+        assertNull(repo.getEvent("paul", meeting.getId()));
+        assertEquals(2, repo.rangeQueries);
+    }
+
+    @Test
+    void leastRecentlyUsedMonthIsEvictedAcrossUsers() {
+        CountingEventRepo repo = new CountingEventRepo();
+        CachingEventDataAccessObject cache = new CachingEventDataAccessObject(repo, 2);
+
+        cache.getEventsForDay("paul", DAY);                 // paul / Nov
+        cache.getEventsForDay("anna", DAY);                 // anna / Nov
+        cache.getEventsForDay("paul", DAY.minusDays(1));    // touch paul / Nov
+        cache.getEventsForDay("anna", DAY.plusMonths(1));   // evicts anna / Nov
+        assertEquals(3, repo.rangeQueries);
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getCachedMonthCount());
+
+        cache.getEventsForDay("paul", DAY);
+        assertEquals(3, repo.rangeQueries);
+        cache.getEventsForDay("anna", DAY);
+        assertEquals(4, repo.rangeQueries);
+    }
+
+    @Test
+    void memoryOnlyReadsNeverQueryTheDelegate() {
+        CountingEventRepo repo = new CountingEventRepo();
+        repo.saveEvent("paul", event("Meeting", DAY.atTime(9, 0)));
+        CachingEventDataAccessObject cache = new CachingEventDataAccessObject(repo);
+
+        assertFalse(cache.isMonthLoaded("paul", YearMonth.from(DAY)));
+        assertTrue(cache.getLoadedEventsForDay("paul", DAY).isEmpty());
+        assertEquals(0, repo.rangeQueries);
+
+        cache.getEventsBetween("paul", DAY.withDayOfMonth(1), DAY);
+        cache.saveEvent("paul", event("Lunch", DAY.atTime(12, 0)));
+        assertTrue(cache.isMonthLoaded("paul", YearMonth.from(DAY)));
+        assertEquals(List.of("Meeting", "Lunch"), titles(cache.getLoadedEventsForDay("paul", DAY)));
+        assertFalse(cache.isMonthLoaded("anna", YearMonth.from(DAY)));
+        assertEquals(1, repo.rangeQueries);
+    }
+
+    @Test
+    void returnedListsDoNotExposeCacheState() {
+        CountingEventRepo repo = new CountingEventRepo();
+        repo.saveEvent("paul", event("Meeting", DAY.atTime(9, 0)));
+        CachingEventDataAccessObject cache = new CachingEventDataAccessObject(repo);
+
+        cache.getEventsForDay("paul", DAY).clear();
+
+        assertEquals(1, cache.getEventsForDay("paul", DAY).size());
+    }
+
+    @Test
+    void overlapQueriesAreAnsweredFromTheIntervalIndex() {
+        CountingEventRepo repo = new CountingEventRepo();
+        Event trip = new Event(UUID.randomUUID(), "Trip", DAY.minusDays(20).atTime(8, 0),
+                DAY.atTime(20, 0), "Office", Event.CategoryType.WORK, null);
+        repo.saveEvent("paul", trip);
+        repo.saveEvent("paul", event("Meeting", DAY.atTime(9, 0)));
+        repo.saveEvent("anna", event("Not Paul's", DAY.atTime(9, 0)));
+        CachingEventDataAccessObject cache = new CachingEventDataAccessObject(repo);
+        cache.setCurrentUsername("paul");
+
+        assertEquals(List.of("Trip", "Meeting"),
+                titles(cache.getEventsOverlapping(DAY.atTime(9, 30), DAY.atTime(10, 0))));
+        Event gym = new Event(UUID.randomUUID(), "Gym", DAY.atTime(9, 45), DAY.atTime(11, 0),
+                "gym", Event.CategoryType.WORK, null);
+        cache.save(gym);
+        assertEquals(List.of("Trip", "Meeting", "Gym"),
+                titles(cache.getEventsOverlapping(DAY.atTime(9, 30), DAY.atTime(10, 0))));
+        cache.delete(trip.getId());
+        assertEquals(List.of("Meeting", "Gym"),
+                titles(cache.getEventsOverlapping(DAY.atTime(9, 30), DAY.atTime(10, 0), UUID.randomUUID())));
+        assertEquals(List.of("Gym"),
+                titles(cache.getEventsOverlapping(DAY.atTime(10, 30), DAY.atTime(12, 0))));
+
+        // One bounded query loaded November's window; the rest came from memory
+        assertEquals(0, repo.rangeQueries);
+        assertEquals(1, repo.overlapQueries);
+    }
+
+    @Test
+    void conflictChecksOnlySearchTheEventsLocation() {
+        CountingEventRepo repo = new CountingEventRepo();
+        Event trip = new Event(UUID.randomUUID(), "Trip", DAY.minusDays(40).atTime(8, 0),
+                DAY.atTime(20, 0), "Airport", Event.CategoryType.WORK, null);
+        Event meeting = event("Meeting", DAY.atTime(9, 0));
+        repo.saveEvent("paul", trip);
+        repo.saveEvent("paul", meeting);
+        CachingEventDataAccessObject cache = new CachingEventDataAccessObject(repo, 2);
+        cache.setCurrentUsername("paul");
+
+        assertTrue(cache.hasConflict(DAY.atTime(9, 30), DAY.atTime(9, 45), "office"));
+        assertFalse(cache.hasConflict(DAY.atTime(9, 30), DAY.atTime(9, 45), "Gym"));
+        assertFalse(cache.hasConflict(DAY.atTime(9, 30), DAY.atTime(9, 45), "Office", List.of(meeting.getId())));
+        // The trip started the month before, but is in November's window too
+        assertTrue(cache.hasConflict(DAY.atTime(12, 0), DAY.atTime(13, 0), "AIRPORT"));
+        assertTrue(cache.hasConflict(DAY.minusDays(35).atTime(12, 0), DAY.minusDays(35).atTime(13, 0), "Airport"));
+        assertEquals(2, repo.overlapQueries);
+
+        cache.save(new Event(meeting.getId(), "Meeting", DAY.atTime(14, 0), DAY.atTime(15, 0),
+                "Office", Event.CategoryType.WORK, null));
+        assertFalse(cache.hasConflict(DAY.atTime(9, 30), DAY.atTime(9, 45), "Office"));
+        assertTrue(cache.hasConflict(DAY.atTime(14, 30), DAY.atTime(14, 45), "Office"));
+        assertEquals(2, repo.overlapQueries);
+
+        // A range over more months than the cache holds is not loaded into it
+        assertTrue(cache.hasConflict(DAY.minusMonths(5).atStartOfDay(), DAY.atTime(10, 0), "Airport"));
+        assertEquals(3, repo.overlapQueries);
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    private static List<String> titles(List<Event> events) {
+        return events.stream().map(Event::getTitle).toList();
+    }
+
+    /** In-memory delegate that counts range and overlap queries. */
+    private static class CountingEventRepo implements UserEventDataAccessInterface {
+        private final Map<UUID, String> owners = new HashMap<>();
+        private final Map<UUID, Event> events = new HashMap<>();
+        int rangeQueries = 0;
+        int overlapQueries = 0;
+
+        @Override
+        public void saveEvent(String username, Event event) {
+            owners.put(event.getId(), username);
+            events.put(event.getId(), event);
+        }
+
+        @Override
+        public void deleteEvent(String username, UUID eventId) {
+            if (username.equals(owners.get(eventId))) {
+                owners.remove(eventId);
+                events.remove(eventId);
+            }
+        }
+
+        @Override
+        public void saveEvents(String username, List<Event> toSave) {
+            for (Event event : toSave) {
+                saveEvent(username, event);
+            }
+        }
+
+        @Override
+        public void deleteEvents(String username, Collection<UUID> eventIds) {
+            for (UUID eventId : eventIds) {
+                deleteEvent(username, eventId);
+            }
+        }
+
+        @Override
+        public Map<UUID, Event> getEventsByIds(String username, Collection<UUID> eventIds) {
+            Map<UUID, Event> found = new HashMap<>();
+            for (UUID eventId : eventIds) {
+                Event event = getEvent(username, eventId);
+                if (event != null) {
+                    found.put(eventId, event);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public Event getEvent(String username, UUID eventId) {
+            return username.equals(owners.get(eventId)) ? events.get(eventId) : null;
+        }
+
+        @Override
+        public List<Event> getEventsForDay(String username, LocalDate date) {
+            return getEventsBetween(username, date, date).getOrDefault(date, List.of());
+        }
+
+        @Override
+        public Map<LocalDate, List<Event>> getEventsBetween(String username, LocalDate from, LocalDate to) {
+            rangeQueries++;
+            Map<LocalDate, List<Event>> byDay = new TreeMap<>();
+            for (Event event : events.values()) {
+                LocalDate day = event.getStart().toLocalDate();
+                if (username.equals(owners.get(event.getId())) && !day.isBefore(from) && !day.isAfter(to)) {
+                    byDay.computeIfAbsent(day, d -> new ArrayList<>()).add(event);
+                }
+            }
+            return byDay;
+        }
+
+        @Override
+        public List<Event> getEventsOverlapping(String username, LocalDateTime start, LocalDateTime end) {
+            overlapQueries++;
+            List<Event> result = new ArrayList<>();
+            for (Event event : events.values()) {
+                if (username.equals(owners.get(event.getId()))
+                        && !event.getStart().isAfter(end) && !event.getEnd().isBefore(start)) {
+                    result.add(event);
+                }
+            }
+            return result;
+        }
+    }
+}
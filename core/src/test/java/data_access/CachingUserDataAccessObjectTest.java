@@ -0,0 +1,102 @@
+package data_access;
+
+import entity.User;
+import entity.UserFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingUserDataAccessObjectTest {
+
+    private final UserFactory factory = new UserFactory();
+
+    /** The in-memory DAO, counting how often users are looked up in it. */
+    private static class CountingUsers extends InMemoryUserDataAccessObject {
+        int lookups;
+
+        @Override
+        public Optional<User> findByName(String username) {
+            lookups++;
+            return super.findByName(username);
+        }
+
+        @Override
+        public User get(String username) {
+            lookups++;
+            return super.get(username);
+        }
+
+        @Override
+        public boolean existsByName(String identifier) {
+            lookups++;
+            return super.existsByName(identifier);
+        }
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromMemory() {
+        CountingUsers delegate = new CountingUsers();
+        delegate.save(factory.create("Paul", "password"));
+        CachingUserDataAccessObject users = new CachingUserDataAccessObject(delegate);
+
+        assertEquals("password", users.findByName("Paul").orElseThrow().getPassword());
+        assertEquals("password", users.get("Paul").getPassword());
+        assertTrue(users.existsByName("Paul"));
+
+        assertEquals(1, delegate.lookups);
+        assertEquals(2, users.getHitCount());
+        assertEquals(1, users.getMissCount());
+    }
+
+    @Test
+    void unknownUsersAreNotCached() {
+        CountingUsers delegate = new CountingUsers();
+        CachingUserDataAccessObject users = new CachingUserDataAccessObject(delegate);
+
+        assertTrue(users.findByName("Paul").isEmpty());
+        assertNull(users.get("Paul"));
+        delegate.save(factory.create("Paul", "password"));    // e.g. signed up elsewhere
+
+        assertTrue(users.findByName("Paul").isPresent());
+        assertEquals(3, delegate.lookups);
+    }
+
+    @Test
+    void saveAndChangePasswordDropTheCachedUser() {
+        CountingUsers delegate = new CountingUsers();
+        CachingUserDataAccessObject users = new CachingUserDataAccessObject(delegate);
+        users.save(factory.create("Paul", "password"));
+        users.findByName("Paul");
+
+        users.changePassword(factory.create("Paul", "changed"));
+        assertEquals("changed", users.findByName("Paul").orElseThrow().getPassword());
+
+        users.save(factory.create("Paul", "again"));
+        assertEquals("again", users.get("Paul").getPassword());
+        assertEquals(3, delegate.lookups);
+    }
+
+    @Test
+    void leastRecentlyUsedUserIsEvictedFirst() {
+        CountingUsers delegate = new CountingUsers();
+        for (String name : new String[]{"a", "b", "c"}) {
+            delegate.save(factory.create(name, "pw"));
+        }
+        CachingUserDataAccessObject users = new CachingUserDataAccessObject(delegate, 2);
+
+        users.get("a");
+        users.get("b");
+        users.get("a");    // b is now the least recently used
+        users.get("c");
+
+        assertEquals(2, users.getCachedUserCount());
+        assertEquals(1, users.getEvictionCount());
+        users.get("a");
+        users.get("c");
+        assertEquals(3, delegate.lookups);
+        users.get("b");
+        assertEquals(4, delegate.lookups);
+    }
+}
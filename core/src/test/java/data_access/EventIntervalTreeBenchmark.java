@@ -0,0 +1,106 @@
+package data_access;
+
+import entity.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conflict check cost: {@link EventIntervalTree} against the linear
+ * isBefore/isAfter scan AddEventInteractor used to do, for calendars of
+ * 10, 1k and 100k one-hour events spread over a year.
+ *
+ * Run the main method (or any JMH runner) from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class EventIntervalTreeBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int QUERIES = 1024;
+
+    @Param({"10", "1000", "100000"})
+    public int events;
+
+    private List<Event> list;
+    private EventIntervalTree tree;
+    private LocalDateTime[] queryStarts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        list = new ArrayList<>(events);
+        tree = new EventIntervalTree();
+        for (int i = 0; i < events; i++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(365 * 24 * 60));
+            Event event = new Event(UUID.randomUUID(), "bench", start, start.plusHours(1),
+                    "Office", Event.CategoryType.WORK, null);
+            list.add(event);
+            tree.insert(event);
+        }
+        queryStarts = new LocalDateTime[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryStarts[i] = BASE.plusMinutes(random.nextInt(365 * 24 * 60));
+        }
+    }
+
+    @Benchmark
+    public int linearScan() {
+        LocalDateTime start = nextQuery();
+        LocalDateTime end = start.plusHours(1);
+        int found = 0;
+        for (Event existing : list) {
+            if (!(end.isBefore(existing.getStart()) || start.isAfter(existing.getEnd()))) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int intervalTree() {
+        LocalDateTime start = nextQuery();
+        return tree.overlapping(start, start.plusHours(1)).size();
+    }
+
+    @Benchmark
+    public boolean intervalTreeAny() {
+        LocalDateTime start = nextQuery();
+        return tree.anyOverlap(start, start.plusHours(1));
+    }
+
+    private LocalDateTime nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return queryStarts[next];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventIntervalTreeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,83 @@
+package data_access;
+
+import entity.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventIntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static Event event(LocalDateTime start, LocalDateTime end) {
+        return new Event(UUID.randomUUID(), "e", start, end, "Office", Event.CategoryType.WORK, null);
+    }
+
+    @Test
+    void touchingEndpointsOverlap() {
+        EventIntervalTree tree = new EventIntervalTree();
+        tree.insert(event(BASE.withHour(10), BASE.withHour(11)));
+
+        assertTrue(tree.anyOverlap(BASE.withHour(11), BASE.withHour(12)));
+        assertTrue(tree.anyOverlap(BASE.withHour(9), BASE.withHour(10)));
+        assertFalse(tree.anyOverlap(BASE.withHour(11).plusMinutes(1), BASE.withHour(12)));
+    }
+
+    @Test
+    void insertReplacesAndRemoveDropsById() {
+        EventIntervalTree tree = new EventIntervalTree();
+        Event original = event(BASE.withHour(10), BASE.withHour(11));
+        tree.insert(original);
+        Event moved = new Event(original.getId(), "moved", BASE.withHour(15), BASE.withHour(16),
+                "Office", Event.CategoryType.WORK, null);
+        tree.insert(moved);
+
+        assertEquals(1, tree.size());
+        assertFalse(tree.anyOverlap(BASE.withHour(10), BASE.withHour(11)));
+        assertEquals(List.of(moved), tree.overlapping(BASE.withHour(15), BASE.withHour(15)));
+
+        assertTrue(tree.remove(original.getId()));
+        assertFalse(tree.remove(original.getId()));
+        assertEquals(0, tree.size());
+        assertTrue(tree.overlapping(BASE, BASE.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void matchesLinearScanOnRandomData() {
+        Random random = new Random(42);
+        EventIntervalTree tree = new EventIntervalTree();
+        List<Event> all = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(60 * 24 * 60));
+            Event event = event(start, start.plusMinutes(random.nextInt(60 * 30)));
+            tree.insert(event);
+            all.add(event);
+        }
+        // Remove a third so rebalancing after deletes is covered too
+        for (int i = 0; i < 700; i++) {
+            Event removed = all.remove(random.nextInt(all.size()));
+            assertTrue(tree.remove(removed.getId()));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(60 * 24 * 60));
+            LocalDateTime end = start.plusMinutes(random.nextInt(180));
+            List<Event> expected = all.stream()
+                    .filter(e -> !e.getStart().isAfter(end) && !e.getEnd().isBefore(start))
+                    .sorted(Comparator.comparing(Event::getStart).thenComparing(Event::getEnd))
+                    .toList();
+            List<Event> actual = tree.overlapping(start, end);
+
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+            assertEquals(!expected.isEmpty(), tree.anyOverlap(start, end));
+        }
+    }
+}
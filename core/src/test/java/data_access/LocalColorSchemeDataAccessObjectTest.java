@@ -0,0 +1,86 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+import use_case.get_color_scheme.ColorSchemeMode;
+import use_case.get_color_scheme.GetColorSchemeInputData;
+import use_case.get_color_scheme.GetColorSchemeInteractor;
+import use_case.get_color_scheme.GetColorSchemeOutputBoundary;
+import use_case.get_color_scheme.GetColorSchemeOutputData;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalColorSchemeDataAccessObjectTest {
+
+    private final LocalColorSchemeDataAccessObject colors = new LocalColorSchemeDataAccessObject();
+
+    @Test
+    void schemesAreBuiltAroundThePickedColor() {
+        // FF5733 is hue 10.6, saturation 100%, lightness 60%
+        List<String> mono = colors.getMonochromaticScheme("FF5733");
+        List<String> analogous = colors.getAnalogousScheme("FF5733");
+        List<String> complement = colors.getComplementaryScheme("FF5733");
+        List<String> neutral = colors.getNeutralScheme("FF5733");
+
+        assertEquals(List.of("3D0B00", "7A1600", "B82000", "F52B00", "FF5733"), mono);
+        assertEquals("FF5733", analogous.get(2));
+        assertEquals("FF33DB", analogous.get(0));
+        assertEquals("DBFF33", analogous.get(4));
+        assertEquals("33DBFF", complement.get(4));
+        assertEquals(List.of("FF5733", "FF795C", "FF9A85", "FFBCAD", "FFDDD6"), neutral);
+    }
+
+    @Test
+    void everySchemeHasFiveUppercaseHexColors() {
+        for (String hex : new String[]{"000000", "FFFFFF", "0047AB", "7fff00", "#123456"}) {
+            for (ColorSchemeMode mode : ColorSchemeMode.values()) {
+                List<String> scheme = colors.getScheme(mode, hex);
+                assertEquals(5, scheme.size(), mode + " " + hex);
+                for (String color : scheme) {
+                    assertTrue(color.matches("[0-9A-F]{6}"), mode + " " + hex + " gave " + color);
+                }
+            }
+        }
+    }
+
+    @Test
+    void graysStayGray() {
+        for (ColorSchemeMode mode : ColorSchemeMode.values()) {
+            for (String color : colors.getScheme(mode, "808080")) {
+                assertEquals(color.substring(0, 2), color.substring(2, 4), mode + " gave " + color);
+                assertEquals(color.substring(0, 2), color.substring(4, 6), mode + " gave " + color);
+            }
+        }
+    }
+
+    @Test
+    void invalidColorsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> colors.getMonochromaticScheme("FF57"));
+        assertThrows(IllegalArgumentException.class, () -> colors.getNeutralScheme("GG5733"));
+        assertTrue(colors.getSchemeAsync(ColorSchemeMode.ANALOGOUS, "nope", Runnable::run)
+                .isCompletedExceptionally());
+    }
+
+    @Test
+    void interactorGetsAllSchemesWithoutAnExecutor() {
+        AtomicReference<GetColorSchemeOutputData> success = new AtomicReference<>();
+        GetColorSchemeInteractor interactor = new GetColorSchemeInteractor(colors, new GetColorSchemeOutputBoundary() {
+            @Override
+            public void prepareSuccessView(GetColorSchemeOutputData outputData) {
+                success.set(outputData);
+            }
+
+            @Override
+            public void prepareFailView(String error) {
+                fail("Use case failure is unexpected. Error: " + error);
+            }
+        }, command -> fail("Local schemes should not need a thread"), GetColorSchemeInteractor.DEFAULT_DEADLINE);
+
+        interactor.execute(new GetColorSchemeInputData("#ff5733"));
+
+        assertEquals("FF5733", success.get().getMonochromaticColors().get(4));
+        assertEquals(5, success.get().getComplementaryColors().size());
+    }
+}
@@ -0,0 +1,104 @@
+package data_access;
+
+import data_access.resilience.ResilientCaller;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import use_case.get_color_scheme.GetColorSchemeUserDataAccessInterface;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientColorSchemeDataAccessObjectTest {
+
+    private final ResilientCaller caller = new ResilientCaller(2, Duration.ZERO, 3, Duration.ofMinutes(1),
+            Duration.ofMillis(200), Duration.ofSeconds(1));
+
+    @AfterEach
+    void tearDown() {
+        caller.close();
+    }
+
+    @Test
+    void unreachableApiIsAnsweredWithTheLastScheme() {
+        FlakyColorApi api = new FlakyColorApi();
+        ResilientColorSchemeDataAccessObject colors = new ResilientColorSchemeDataAccessObject(api, caller, 16);
+        List<String> first = colors.getAnalogousScheme("ff5733");
+
+        api.down = true;
+        assertEquals(first, colors.getAnalogousScheme("FF5733"));
+        assertEquals(1, colors.getFallbackCount());
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> colors.getNeutralScheme("FF5733"));
+        assertTrue(ex.getMessage().startsWith("Failed to fetch color scheme"));
+    }
+
+    @Test
+    void outageStopsCallingTheApiOnceTheCircuitOpens() {
+        FlakyColorApi api = new FlakyColorApi();
+        ResilientColorSchemeDataAccessObject colors = new ResilientColorSchemeDataAccessObject(api, caller, 16);
+        api.down = true;
+
+        // The four schemes of one action: two attempts each until three failures open the circuit
+        assertThrows(RuntimeException.class, () -> colors.getMonochromaticScheme("FF5733"));
+        assertThrows(RuntimeException.class, () -> colors.getAnalogousScheme("FF5733"));
+        assertThrows(RuntimeException.class, () -> colors.getComplementaryScheme("FF5733"));
+        assertThrows(RuntimeException.class, () -> colors.getNeutralScheme("FF5733"));
+
+        assertEquals(3, api.calls);
+        assertEquals(3, caller.getRejectedCount());
+    }
+
+    @Test
+    void malformedAnswersArePassedOnUnchanged() {
+        FlakyColorApi api = new FlakyColorApi();
+        ResilientColorSchemeDataAccessObject colors = new ResilientColorSchemeDataAccessObject(api, caller, 16);
+        api.malformed = true;
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> colors.getMonochromaticScheme("FF5733"));
+        assertEquals("no colors", ex.getMessage());
+        assertEquals(1, api.calls);
+    }
+
+    /** Fails like ColorApiDataAccessObject does when the API is down or answers nonsense. */
+    private static class FlakyColorApi implements GetColorSchemeUserDataAccessInterface {
+        volatile boolean down;
+        volatile boolean malformed;
+        volatile int calls;
+
+        private List<String> scheme(String hexColor, String mode) {
+            calls++;
+            if (down) {
+                throw new RuntimeException("Failed to fetch color scheme from API",
+                        new IOException("connection refused"));
+            }
+            if (malformed) {
+                throw new IllegalStateException("no colors");
+            }
+            return List.of(mode + ":" + hexColor.toUpperCase());
+        }
+
+        @Override
+        public List<String> getMonochromaticScheme(String hexColor) {
+            return scheme(hexColor, "monochrome");
+        }
+
+        @Override
+        public List<String> getAnalogousScheme(String hexColor) {
+            return scheme(hexColor, "analogic");
+        }
+
+        @Override
+        public List<String> getComplementaryScheme(String hexColor) {
+            return scheme(hexColor, "complement");
+        }
+
+        @Override
+        public List<String> getNeutralScheme(String hexColor) {
+            return scheme(hexColor, "monochrome-light");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package data_access;
+
+import entity.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compares the old connection-per-call access pattern with the pooled
+ * {@link SQLiteConnectionProvider} for the month view's hot path
+ * (one getEventsForDay per day cell) and for single-event saves.
+ *
+ * Run the main method (or any JMH runner) from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SQLiteConnectionBenchmark {
+
+    private static final String USER = "bench";
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 15);
+
+    private File dbFile;
+    private SQLiteEventDataAccessObject dao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dbFile = Files.createTempFile("smartcalendar-bench", ".db").toFile();
+        dao = new SQLiteEventDataAccessObject(dbFile.getPath());
+        for (int day = 1; day <= 30; day++) {
+            for (int i = 0; i < 3; i++) {
+                LocalDateTime start = LocalDateTime.of(2025, 11, day, 9 + i, 0);
+                dao.saveEvent(USER, newEvent(start));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SQLiteConnectionProvider.closeAll();
+        dbFile.delete();
+    }
+
+    /** The pre-pool behaviour: open the file, prepare, query, close. */
+    @Benchmark
+    public int readPerCallConnection() throws SQLException {
+        int rows = 0;
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getPath());
+             PreparedStatement ps = conn.prepareStatement(
+                     "SELECT * FROM events WHERE username = ? AND date(start_datetime) = ?")) {
+            ps.setString(1, USER);
+            ps.setString(2, DAY.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public List<Event> readPooled() {
+        return dao.getEventsForDay(USER, DAY);
+    }
+
+    /** The pre-pool behaviour for writes: one connection per save. */
+    @Benchmark
+    public int savePerCallConnection() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getPath());
+             PreparedStatement ps = conn.prepareStatement(
+                     "INSERT INTO events (id, username, title, start_datetime, end_datetime) VALUES (?, ?, ?, ?, ?)")) {
+            LocalDateTime start = LocalDateTime.of(2025, 12, 1, 9, 0);
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setString(2, USER + "-write");
+            ps.setString(3, "bench");
+            ps.setString(4, start.toString());
+            ps.setString(5, start.plusHours(1).toString());
+            return ps.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public void savePooled() {
+        dao.saveEvent(USER + "-write", newEvent(LocalDateTime.of(2025, 12, 1, 9, 0)));
+    }
+
+    private static Event newEvent(LocalDateTime start) {
+        return new Event(UUID.randomUUID(), "bench", start, start.plusHours(1),
+                "Office", Event.CategoryType.WORK, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SQLiteConnectionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,260 @@
+package data_access;
+
+import entity.Event;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SQLiteEventDataAccessObjectTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SQLiteEventDataAccessObject newDao() {
+        return new SQLiteEventDataAccessObject(tempDir.resolve("events.db").toString());
+    }
+
+    private static Event event(String title, LocalDateTime start) {
+        return new Event(UUID.randomUUID(), title, start, start.plusHours(1),
+                "Office", Event.CategoryType.WORK, null);
+    }
+
+    @Test
+    void saveThenReadBackForDay() {
+        SQLiteEventDataAccessObject dao = newDao();
+        Event morning = event("Morning", LocalDateTime.of(2025, 11, 30, 9, 0));
+        Event evening = event("Evening", LocalDateTime.of(2025, 11, 30, 18, 0));
+        Event otherDay = event("Other", LocalDateTime.of(2025, 12, 1, 9, 0));
+
+        dao.saveEvent("paul", evening);
+        dao.saveEvent("paul", morning);
+        dao.saveEvent("paul", otherDay);
+        dao.saveEvent("anna", event("Not Paul's", LocalDateTime.of(2025, 11, 30, 12, 0)));
+
+        List<Event> events = dao.getEventsForDay("paul", LocalDate.of(2025, 11, 30));
+        assertEquals(2, events.size());
+        assertEquals("Morning", events.get(0).getTitle());
+        assertEquals("Evening", events.get(1).getTitle());
+    }
+
+    @Test
+    void saveExistingIdUpdatesRow() {
+        SQLiteEventDataAccessObject dao = newDao();
+        Event original = event("Original", LocalDateTime.of(2025, 11, 30, 9, 0));
+        dao.saveEvent("paul", original);
+
+        Event updated = new Event(original.getId(), "Updated", original.getStart(), original.getEnd(),
+                "Home", Event.CategoryType.CASUAL, "bring notes");
+        dao.saveEvent("paul", updated);
+
+        List<Event> events = dao.getEventsForDay("paul", LocalDate.of(2025, 11, 30));
+        assertEquals(1, events.size());
+        assertEquals("Updated", events.get(0).getTitle());
+        assertEquals("Home", events.get(0).getLocation());
+        assertEquals("bring notes", events.get(0).getReminderMessage());
+    }
+
+    @Test
+    void deleteRemovesOnlyThatUsersEvent() {
+        SQLiteEventDataAccessObject dao = newDao();
+        Event event = event("Meeting", LocalDateTime.of(2025, 11, 30, 9, 0));
+        dao.saveEvent("paul", event);
+
+        dao.deleteEvent("anna", event.getId());
+        assertEquals(1, dao.getEventsForDay("paul", LocalDate.of(2025, 11, 30)).size());
+
+        dao.deleteEvent("paul", event.getId());
+        assertTrue(dao.getEventsForDay("paul", LocalDate.of(2025, 11, 30)).isEmpty());
+    }
+
+    @Test
+    void getEventIsScopedToUser() {
+        SQLiteEventDataAccessObject dao = newDao();
+        Event event = event("Meeting", LocalDateTime.of(2025, 11, 30, 9, 0));
+        dao.saveEvent("paul", event);
+
+        assertEquals("Meeting", dao.getEvent("paul", event.getId()).getTitle());
+        assertNull(dao.getEvent("anna", event.getId()));
+        assertNull(dao.getEvent("paul", UUID.randomUUID()));
+    }
+
+    @Test
+    void batchSaveLookupAndDelete() {
+        SQLiteEventDataAccessObject dao = newDao();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            events.add(event("Event " + i, LocalDateTime.of(2025, 11, 30, 0, 0).plusMinutes(15L * i)));
+        }
+        dao.saveEvents("paul", events);
+        assertEquals(50, dao.getEventsForDay("paul", LocalDate.of(2025, 11, 30)).size());
+
+        UUID missing = UUID.randomUUID();
+        Map<UUID, Event> found = dao.getEventsByIds("paul", List.of(events.get(0).getId(), missing));
+        assertEquals(Map.of(events.get(0).getId(), events.get(0)).keySet(), found.keySet());
+        assertTrue(dao.getEventsByIds("anna", List.of(events.get(0).getId())).isEmpty());
+
+        dao.deleteEvents("paul", events.subList(0, 40).stream().map(Event::getId).toList());
+        assertEquals(10, dao.getEventsForDay("paul", LocalDate.of(2025, 11, 30)).size());
+    }
+
+    @Test
+    void lookupByIdsCoversMoreIdsThanOneQueryTakes() {
+        SQLiteEventDataAccessObject dao = newDao();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < SQLiteEventDataAccessObject.IDS_PER_QUERY * 2 + 7; i++) {
+            events.add(event("Event " + i, LocalDateTime.of(2025, 11, 1, 0, 0).plusMinutes(30L * i)));
+        }
+        dao.saveEvents("paul", events);
+
+        List<UUID> ids = new ArrayList<>(events.stream().map(Event::getId).toList());
+        ids.add(UUID.randomUUID());
+        ids.add(events.get(0).getId());
+        Map<UUID, Event> found = dao.getEventsByIds("paul", ids);
+
+        assertEquals(events.size(), found.size());
+        assertEquals("Event 1006", found.get(events.get(1006).getId()).getTitle());
+        assertTrue(dao.getEventsByIds("paul", List.of()).isEmpty());
+    }
+
+    @Test
+    void getEventsBetweenGroupsByDayInclusive() {
+        SQLiteEventDataAccessObject dao = newDao();
+        dao.saveEvent("paul", event("Before", LocalDateTime.of(2025, 10, 31, 23, 0)));
+        dao.saveEvent("paul", event("First", LocalDateTime.of(2025, 11, 1, 0, 0)));
+        dao.saveEvent("paul", event("Mid A", LocalDateTime.of(2025, 11, 15, 9, 0)));
+        dao.saveEvent("paul", event("Mid B", LocalDateTime.of(2025, 11, 15, 8, 0)));
+        dao.saveEvent("paul", event("Last", LocalDateTime.of(2025, 11, 30, 23, 30)));
+        dao.saveEvent("paul", event("After", LocalDateTime.of(2025, 12, 1, 0, 0)));
+        dao.saveEvent("anna", event("Not Paul's", LocalDateTime.of(2025, 11, 15, 9, 0)));
+
+        Map<LocalDate, List<Event>> byDay =
+                dao.getEventsBetween("paul", LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 30));
+
+        assertEquals(3, byDay.size());
+        assertEquals("First", byDay.get(LocalDate.of(2025, 11, 1)).get(0).getTitle());
+        assertEquals(List.of("Mid B", "Mid A"),
+                byDay.get(LocalDate.of(2025, 11, 15)).stream().map(Event::getTitle).toList());
+        assertEquals("Last", byDay.get(LocalDate.of(2025, 11, 30)).get(0).getTitle());
+    }
+
+    @Test
+    void getEventsOverlappingIncludesEventsFromEarlierDays() {
+        SQLiteEventDataAccessObject dao = newDao();
+        Event overnight = new Event(UUID.randomUUID(), "Overnight", LocalDateTime.of(2025, 11, 29, 22, 0),
+                LocalDateTime.of(2025, 11, 30, 6, 0), "Office", Event.CategoryType.WORK, null);
+        dao.saveEvent("paul", overnight);
+        dao.saveEvent("paul", event("Touching", LocalDateTime.of(2025, 11, 30, 4, 0)));  // ends 05:00
+        dao.saveEvent("paul", event("Later", LocalDateTime.of(2025, 11, 30, 8, 0)));
+        dao.saveEvent("anna", event("Not Paul's", LocalDateTime.of(2025, 11, 30, 5, 0)));
+
+        List<Event> events = dao.getEventsOverlapping("paul",
+                LocalDateTime.of(2025, 11, 30, 5, 0), LocalDateTime.of(2025, 11, 30, 7, 0));
+
+        assertEquals(List.of("Overnight", "Touching"), events.stream().map(Event::getTitle).toList());
+    }
+
+    @Test
+    void getEventsOverlappingFindsEventsLongerThanADay() {
+        SQLiteEventDataAccessObject dao = newDao();
+        Event trip = new Event(UUID.randomUUID(), "Trip", LocalDateTime.of(2025, 11, 1, 8, 0),
+                LocalDateTime.of(2025, 11, 21, 20, 0), "Office", Event.CategoryType.WORK, null);
+        dao.saveEvent("paul", trip);
+        dao.saveEvent("paul", event("Meeting", LocalDateTime.of(2025, 11, 15, 9, 0)));
+        dao.saveEvent("paul", event("Before", LocalDateTime.of(2025, 11, 14, 9, 0)));
+
+        List<Event> events = dao.getEventsOverlapping("paul",
+                LocalDateTime.of(2025, 11, 15, 9, 30), LocalDateTime.of(2025, 11, 15, 11, 0));
+
+        assertEquals(List.of("Trip", "Meeting"), events.stream().map(Event::getTitle).toList());
+    }
+
+    @Test
+    void overlapQueryIsBoundedByIndexes() throws SQLException {
+        String dbPath = tempDir.resolve("events.db").toString();
+        SQLiteEventDataAccessObject dao = new SQLiteEventDataAccessObject(dbPath);
+        dao.saveEvent("paul", event("Meeting", LocalDateTime.of(2025, 11, 30, 9, 0)));
+
+        List<String> plan = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+             PreparedStatement ps = conn.prepareStatement(
+                     "EXPLAIN QUERY PLAN " + SQLiteEventDataAccessObject.EVENTS_OVERLAPPING_SQL)) {
+            ps.setString(1, "paul");
+            ps.setLong(2, 1);
+            ps.setLong(3, 0);
+            ps.setLong(4, 0);
+            ps.setString(5, "paul");
+            ps.setLong(6, 1);
+            ps.setLong(7, 0);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.add(rs.getString("detail"));
+                }
+            }
+        }
+
+        String joined = String.join("\n", plan);
+        assertTrue(joined.contains("idx_events_user_start (username=? AND start_epoch>? AND start_epoch<?)"), joined);
+        assertTrue(joined.contains("idx_events_user_span"), joined);
+        assertFalse(joined.contains("SCAN"), joined);
+    }
+
+    @Test
+    void legacyDatabaseIsMigratedOnStartup() throws SQLException {
+        String dbPath = tempDir.resolve("legacy.db").toString();
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE events (
+                    id TEXT PRIMARY KEY,
+                    username TEXT NOT NULL,
+                    title TEXT NOT NULL,
+                    start_datetime TEXT NOT NULL,
+                    end_datetime TEXT NOT NULL,
+                    location TEXT,
+                    category TEXT,
+                    reminder_message TEXT
+                )
+                """);
+            stmt.execute("INSERT INTO events VALUES ('" + UUID.randomUUID() + "', 'paul', 'Legacy', "
+                    + "'2025-11-30T14:30', '2025-11-30T15:30', 'Office', 'WORK', NULL)");
+        }
+
+        SQLiteEventDataAccessObject dao = new SQLiteEventDataAccessObject(dbPath);
+
+        List<Event> events = dao.getEventsForDay("paul", LocalDate.of(2025, 11, 30));
+        assertEquals(1, events.size());
+        assertEquals("Legacy", events.get(0).getTitle());
+        assertEquals(LocalDateTime.of(2025, 11, 30, 14, 30), events.get(0).getStart());
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+                assertEquals(SQLiteEventDataAccessObject.SCHEMA_VERSION, rs.getInt(1));
+            }
+            try (ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN SELECT id FROM events "
+                    + "WHERE username = 'paul' AND start_epoch >= 0 AND start_epoch < 1")) {
+                assertTrue(rs.next());
+                assertTrue(rs.getString("detail").contains("idx_events_user_start"),
+                        rs.getString("detail"));
+            }
+        }
+
+        // Opening the DAO again must not try to re-run the migration
+        new SQLiteEventDataAccessObject(dbPath);
+    }
+}
@@ -0,0 +1,109 @@
+package data_access.http;
+
+import okio.Buffer;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonReaderTest {
+
+    private static JsonReader reader(String json) {
+        return new JsonReader(new Buffer().writeUtf8(json));
+    }
+
+    @Test
+    void readsNestedValuesOfEveryKind() throws IOException {
+        JsonReader reader = reader(" { \"s\" : \"text\", \"n\": -12.5, \"b\": true, \"z\": null,"
+                + " \"a\": [1, 2, 3], \"o\": {} }\n");
+
+        reader.beginObject();
+        assertEquals("s", reader.nextName());
+        assertEquals("text", reader.nextString());
+        assertEquals("n", reader.nextName());
+        assertEquals(-12.5, reader.nextDouble());
+        assertEquals("b", reader.nextName());
+        assertTrue(reader.nextBoolean());
+        assertEquals("z", reader.nextName());
+        assertEquals(JsonReader.Token.NULL, reader.peek());
+        reader.nextNull();
+        assertEquals("a", reader.nextName());
+        reader.beginArray();
+        List<Integer> numbers = new ArrayList<>();
+        while (reader.hasNext()) {
+            numbers.add(reader.nextInt());
+        }
+        reader.endArray();
+        assertEquals(List.of(1, 2, 3), numbers);
+        assertEquals("o", reader.nextName());
+        reader.beginObject();
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        reader.endObject();
+        assertEquals(JsonReader.Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    void selectNameMatchesKnownNamesAndLeavesOthersToSkip() throws IOException {
+        JsonReader.Options options = JsonReader.Options.of("temperature", "weathercode");
+        JsonReader reader = reader("{\"temperature_unit\":\"C\",\"weathercode\":3,"
+                + "\"extra\":{\"deep\":[{\"x\":\"}]\\\"\"}]},\"temperature\":7.25}");
+
+        double temperature = 0;
+        int code = 0;
+        List<String> skipped = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(options)) {
+                case 0:
+                    temperature = reader.nextDouble();
+                    break;
+                case 1:
+                    code = reader.nextInt();
+                    break;
+                default:
+                    skipped.add(reader.nextName());
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        assertEquals(7.25, temperature);
+        assertEquals(3, code);
+        assertEquals(List.of("temperature_unit", "extra"), skipped);
+    }
+
+    @Test
+    void numbersMatchTheJdkParser() throws IOException {
+        String[] literals = {"0", "-0.0", "21.7", "-3.4", "1013.25", "0.1", "123456789012345",
+                "1234567890123456789", "1.5e3", "-2E-4", "0.000001", "52.52437", "13.41053"};
+        for (String literal : literals) {
+            assertEquals(Double.parseDouble(literal), reader(literal).nextDouble(), literal);
+        }
+    }
+
+    @Test
+    void decodesEscapesLikeOrgJson() throws IOException {
+        String json = "{\"k\":\"a\\\"b\\\\c\\/d\\n\\u00e9\\u4e2d end\"}";
+        JsonReader reader = reader(json);
+
+        reader.beginObject();
+        reader.nextName();
+        assertEquals(new JSONObject(json).getString("k"), reader.nextString());
+    }
+
+    @Test
+    void malformedInputThrowsJsonException() {
+        assertThrows(JSONException.class, () -> reader("{\"a\" 1}").skipValue());
+        assertThrows(JSONException.class, () -> reader("[1, 2").skipValue());
+        assertThrows(JSONException.class, () -> reader("\"open").nextString());
+        assertThrows(JSONException.class, () -> reader("1.2.3").nextDouble());
+        assertThrows(JSONException.class, () -> reader("[true]").nextBoolean());
+        assertThrows(JSONException.class, () -> reader("nul").nextNull());
+    }
+}
@@ -0,0 +1,100 @@
+package data_access.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    /** Wait until {@code expected} requests are queued in {@code limiter}. */
+    private static void awaitWaiting(RateLimiter limiter, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getWaitingCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, limiter.getWaitingCount());
+    }
+
+    @Test
+    void burstGoesThroughAndTheRestWaitsForTheRate() throws Exception {
+        RateLimiter limiter = new RateLimiter().limit("api.example.org", 20, 2);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire("api.example.org", RequestPriority.INTERACTIVE);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // Two permits saved up, then one every 50 ms
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(90), "took " + elapsed + " ns");
+        assertEquals(4, limiter.getAcquiredCount());
+        assertEquals(2, limiter.getQueuedCount());
+        assertTrue(limiter.getMaxWait().compareTo(Duration.ZERO) > 0);
+        assertEquals(0, limiter.getRejectedCount());
+    }
+
+    @Test
+    void interactiveRequestsOvertakeBackgroundOnes() throws Exception {
+        RateLimiter limiter = new RateLimiter().limit("api.example.org", 5, 1);
+        limiter.acquire("api.example.org", RequestPriority.INTERACTIVE);    // use up the burst
+        List<RequestPriority> served = Collections.synchronizedList(new ArrayList<>());
+
+        Thread background = new Thread(() -> acquireAndRecord(limiter, RequestPriority.BACKGROUND, served));
+        background.start();
+        awaitWaiting(limiter, 1);
+        Thread interactive = new Thread(() -> acquireAndRecord(limiter, RequestPriority.INTERACTIVE, served));
+        interactive.start();
+        awaitWaiting(limiter, 2);
+
+        background.join(5000);
+        interactive.join(5000);
+        assertEquals(List.of(RequestPriority.INTERACTIVE, RequestPriority.BACKGROUND), served);
+    }
+
+    private static void acquireAndRecord(RateLimiter limiter, RequestPriority priority, List<RequestPriority> served) {
+        try {
+            limiter.acquire("api.example.org", priority);
+            served.add(priority);
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    @Test
+    void requestsAreRejectedWhenTheQueueIsFullOrTheyWaitTooLong() throws Exception {
+        RateLimiter noQueue = new RateLimiter(Duration.ofSeconds(1), Duration.ofSeconds(1), 0)
+                .limit("api.example.org", 0.1, 1);
+        noQueue.acquire("api.example.org", RequestPriority.INTERACTIVE);
+        assertThrows(RateLimitExceededException.class,
+                () -> noQueue.acquire("api.example.org", RequestPriority.INTERACTIVE));
+
+        RateLimiter shortWait = new RateLimiter(Duration.ofMillis(50), Duration.ofMillis(50), 8)
+                .limit("api.example.org", 0.1, 1);
+        shortWait.acquire("api.example.org", RequestPriority.INTERACTIVE);
+        long start = System.nanoTime();
+        assertThrows(RateLimitExceededException.class,
+                () -> shortWait.acquire("api.example.org", RequestPriority.BACKGROUND));
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, shortWait.getRejectedCount());
+        assertEquals(0, shortWait.getWaitingCount());
+    }
+
+    @Test
+    void hostsWithoutABudgetAreNotLimited() throws Exception {
+        RateLimiter limiter = new RateLimiter().limit("api.example.org", 0.1, 1);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire("other.example.org", RequestPriority.BACKGROUND);
+        }
+
+        assertEquals(0, limiter.getAcquiredCount());
+        assertEquals(0, limiter.getRejectedCount());
+    }
+}
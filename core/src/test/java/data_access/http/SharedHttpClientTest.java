@@ -0,0 +1,134 @@
+package data_access.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import data_access.ColorApiDataAccessObject;
+import okhttp3.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedHttpClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger served = new AtomicInteger();
+    private SharedHttpClient http;
+
+    @TempDir
+    Path cacheDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/plain", exchange -> respond(exchange, 200, "hello", null));
+        server.createContext("/error", exchange -> respond(exchange, 500, "boom", null));
+        server.createContext("/cached", exchange -> respond(exchange, 200, "cached", "max-age=60"));
+        server.createContext("/scheme", exchange -> respond(exchange, 200,
+                "{\"colors\":[{\"hex\":{\"value\":\"#112233\",\"clean\":\"112233\"}},"
+                        + "{\"hex\":{\"value\":\"#445566\",\"clean\":\"445566\"}}]}", null));
+        server.start();
+        http = new SharedHttpClient(cacheDir.toFile());
+    }
+
+    @AfterEach
+    void tearDown() {
+        http.close();
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body, String cacheControl) throws IOException {
+        served.incrementAndGet();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (cacheControl != null) {
+            exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private Request get(String path) {
+        return new Request.Builder()
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + path)
+                .build();
+    }
+
+    @Test
+    void reusesOnePooledConnectionAcrossCalls() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("hello", http.fetchString(get("/plain")));
+        }
+
+        assertEquals(1, http.getConnectionCount());
+        assertEquals(1, http.getIdleConnectionCount());
+        assertEquals(5, http.getRequestCount());
+        assertEquals(0, http.getFailureCount());
+        assertTrue(http.getMaxLatency().compareTo(http.getAverageLatency()) >= 0);
+    }
+
+    @Test
+    void errorStatusThrowsAndReturnsTheConnectionToThePool() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            IOException ex = assertThrows(IOException.class, () -> http.fetchString(get("/error")));
+            assertTrue(ex.getMessage().contains("500"));
+        }
+        assertEquals("hello", http.fetchString(get("/plain")));
+
+        // An unclosed error body would keep its connection busy and force new ones
+        assertEquals(1, http.getConnectionCount());
+        assertEquals(1, http.getIdleConnectionCount());
+    }
+
+    @Test
+    void cacheableResponsesAreServedFromDisk() throws IOException {
+        assertEquals("cached", http.fetchString(get("/cached")));
+        assertEquals("cached", http.fetchString(get("/cached")));
+
+        assertEquals(1, served.get());
+        assertEquals(1, http.getCacheHitCount());
+        assertEquals(1, http.getNetworkCount());
+        assertEquals(2, http.getRequestCount());
+    }
+
+    @Test
+    void colorApiReadsSchemesWithoutLeakingConnections() {
+        ColorApiDataAccessObject colors = new ColorApiDataAccessObject(http,
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/scheme");
+
+        assertEquals(List.of("112233", "445566"), colors.getMonochromaticScheme("112233"));
+        assertEquals(List.of("112233", "445566"), colors.getAnalogousScheme("112233"));
+        assertEquals(List.of("112233", "445566"), colors.getComplementaryScheme("112233"));
+        assertEquals(List.of("112233", "445566"), colors.getNeutralScheme("112233"));
+
+        assertEquals(1, http.getConnectionCount());
+        assertEquals(1, http.getIdleConnectionCount());
+    }
+
+    @Test
+    void callsOverTheHostsBudgetAreRejectedBeforeReachingIt() throws IOException {
+        RateLimiter limiter = new RateLimiter(Duration.ofMillis(50), Duration.ofMillis(50), 8)
+                .limit("127.0.0.1", 0.1, 2);
+        try (SharedHttpClient limited = new SharedHttpClient(null, limiter)) {
+            limited.fetchString(get("/plain"));
+            limited.fetchString(get("/plain"));
+            assertThrows(RateLimitExceededException.class, () -> limited.fetchString(get("/plain")));
+
+            assertEquals(2, served.get());
+            assertEquals(2, limited.getRequestCount());
+            assertEquals(1, limiter.getRejectedCount());
+        }
+    }
+}
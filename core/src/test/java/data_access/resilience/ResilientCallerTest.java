@@ -0,0 +1,204 @@
+package data_access.resilience;
+
+import data_access.http.HttpStatusException;
+import data_access.http.RateLimitExceededException;
+import data_access.http.RateLimiter;
+import data_access.http.RequestPriority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientCallerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private ResilientCaller caller;
+
+    @AfterEach
+    void tearDown() {
+        if (caller != null) {
+            caller.close();
+        }
+    }
+
+    private ResilientCaller caller(int maxAttempts, int failureThreshold, Duration timeout) {
+        caller = new ResilientCaller(maxAttempts, Duration.ofMillis(1), failureThreshold,
+                Duration.ofSeconds(30), timeout, timeout, now::get);
+        return caller;
+    }
+
+    @Test
+    void transientFailuresAreRetried() throws Exception {
+        ResilientCaller caller = caller(3, 5, Duration.ofSeconds(5));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = caller.call("api", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("connection reset");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, caller.getRetryCount());
+        assertEquals(CircuitBreaker.State.CLOSED, caller.getState("api"));
+    }
+
+    @Test
+    void errorsTheEndpointReportsAreNotRetriedNorCounted() {
+        ResilientCaller caller = caller(3, 1, Duration.ofSeconds(5));
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResilienceException ex = assertThrows(ResilienceException.class, () -> caller.call("api", () -> {
+            attempts.incrementAndGet();
+            throw new HttpStatusException(404, "example.org");
+        }));
+
+        assertFalse(ex.isUnavailable());
+        assertInstanceOf(HttpStatusException.class, ex.getCause());
+        assertEquals(1, attempts.get());
+        assertEquals(CircuitBreaker.State.CLOSED, caller.getState("api"));
+    }
+
+    @Test
+    void openBreakerRejectsUntilATrialCallSucceeds() throws Exception {
+        ResilientCaller caller = caller(1, 2, Duration.ofSeconds(5));
+        AtomicInteger attempts = new AtomicInteger();
+        ResilientCaller.UpstreamCall<String> failing = () -> {
+            attempts.incrementAndGet();
+            throw new HttpStatusException(503, "example.org");
+        };
+
+        assertThrows(ResilienceException.class, () -> caller.call("api", failing));
+        assertThrows(ResilienceException.class, () -> caller.call("api", failing));
+        assertEquals(CircuitBreaker.State.OPEN, caller.getState("api"));
+
+        ResilienceException rejected = assertThrows(ResilienceException.class, () -> caller.call("api", failing));
+        assertTrue(rejected.isUnavailable());
+        assertEquals(2, attempts.get());
+        assertEquals(1, caller.getRejectedCount());
+
+        // Other endpoints are not affected
+        assertEquals("ok", caller.call("other", () -> "ok"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertEquals("ok", caller.call("api", () -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, caller.getState("api"));
+    }
+
+    @Test
+    void slowCallIsAbandonedAtTheTimeout() {
+        ResilientCaller caller = caller(1, 5, Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        ResilienceException ex = assertThrows(ResilienceException.class, () -> caller.call("api", () -> {
+            Thread.sleep(10_000);
+            return "late";
+        }));
+
+        assertTrue(ex.isUnavailable());
+        assertEquals(1, caller.getTimeoutCount());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    void saturatedRateLimiterLeavesTheBreakerClosed() throws Exception {
+        ResilientCaller caller = caller(3, 1, Duration.ofSeconds(5));
+        RateLimiter limiter = new RateLimiter(Duration.ZERO, Duration.ZERO, 0).limit("example.org", 0.001, 1);
+        AtomicInteger attempts = new AtomicInteger();
+        ResilientCaller.UpstreamCall<String> limited = () -> {
+            attempts.incrementAndGet();
+            limiter.acquire("example.org", RequestPriority.INTERACTIVE);
+            return "ok";
+        };
+
+        assertEquals("ok", caller.call("api", limited));
+        for (int i = 0; i < 5; i++) {
+            ResilienceException ex = assertThrows(ResilienceException.class, () -> caller.call("api", limited));
+            assertTrue(ex.isUnavailable());
+            assertInstanceOf(RateLimitExceededException.class, ex.getCause());
+        }
+
+        assertEquals(6, attempts.get());
+        assertEquals(0, caller.getRetryCount());
+        assertEquals(CircuitBreaker.State.CLOSED, caller.getState("api"));
+    }
+
+    @Test
+    void waitingForAPermitDoesNotCountTowardsTheTimeout() throws Exception {
+        ResilientCaller caller = caller(1, 1, Duration.ofMillis(100));
+        // The second permit is due 400 ms after the first, four times the timeout
+        RateLimiter limiter = new RateLimiter().limit("example.org", 2.5, 1);
+        ResilientCaller.UpstreamCall<String> limited = () -> {
+            limiter.acquire("example.org", RequestPriority.INTERACTIVE);
+            return "ok";
+        };
+
+        assertEquals("ok", caller.call("api", limited));
+        assertEquals("ok", caller.call("api", limited));
+
+        assertEquals(1, limiter.getQueuedCount());
+        assertEquals(0, caller.getTimeoutCount());
+        assertEquals(CircuitBreaker.State.CLOSED, caller.getState("api"));
+    }
+
+    @Test
+    void interruptedCallerLeavesTheBreakerClosed() throws Exception {
+        ResilientCaller caller = caller(3, 1, Duration.ofSeconds(5));
+
+        for (int i = 0; i < 5; i++) {
+            Thread.currentThread().interrupt();
+            try {
+                ResilienceException ex = assertThrows(ResilienceException.class, () -> caller.call("api", () -> {
+                    Thread.sleep(10_000);
+                    return "late";
+                }));
+                assertInstanceOf(InterruptedException.class, ex.getCause());
+                assertTrue(Thread.currentThread().isInterrupted());
+            } finally {
+                Thread.interrupted();
+            }
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, caller.getState("api"));
+        assertEquals(0, caller.getRetryCount());
+        assertEquals("ok", caller.call("api", () -> "ok"));
+
+        // An interrupted trial call does not keep a half-open breaker from trying again
+        assertThrows(ResilienceException.class, () -> caller.call("other", () -> {
+            throw new HttpStatusException(503, "example.org");
+        }));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ResilienceException.class, () -> caller.call("other", () -> {
+                Thread.sleep(10_000);
+                return "late";
+            }));
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals("ok", caller.call("other", () -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, caller.getState("other"));
+    }
+
+    @Test
+    void timeoutFollowsRecentLatencies() {
+        AdaptiveTimeout timeout = new AdaptiveTimeout(Duration.ofMillis(50), Duration.ofSeconds(3));
+        assertEquals(Duration.ofSeconds(3), timeout.getTimeout());
+
+        for (int i = 1; i <= AdaptiveTimeout.MIN_SAMPLES * 5; i++) {
+            timeout.record(TimeUnit.MILLISECONDS.toNanos(i));    // 1..100 ms
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(99), timeout.percentile(AdaptiveTimeout.PERCENTILE));
+        assertEquals(Duration.ofMillis(198), timeout.getTimeout());
+    }
+}
@@ -0,0 +1,165 @@
+package data_access.weather;
+
+import data_access.SQLiteConnectionProvider;
+import entity.DailyWeather;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchDailyWeatherGatewayTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @TempDir
+    Path tempDir;
+
+    private FakeOpenMeteoServer server;
+    private SQLiteConnectionProvider connections;
+    private SQLiteGeocodeStore geocodes;
+    private BatchDailyWeatherGateway batch;
+    private long now;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeOpenMeteoServer();
+        connections = new SQLiteConnectionProvider(tempDir.resolve("geocodes.db").toString(), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (batch != null) {
+            batch.close();
+        }
+        connections.close();
+        server.close();
+    }
+
+    private BatchDailyWeatherGateway batch(int maxParallelGeocodes, int maxEntries) {
+        // Geocoded through a store, as the application does
+        OpenMeteoWeatherApiGateway api = server.gateway();
+        geocodes = new SQLiteGeocodeStore(connections, api);
+        batch = new BatchDailyWeatherGateway(geocodes, api, maxParallelGeocodes, Duration.ofHours(1),
+                maxEntries, () -> now);
+        return batch;
+    }
+
+    private static List<LocalDate> week() {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            dates.add(TODAY.plusDays(i));
+        }
+        return dates;
+    }
+
+    @Test
+    void monthOfEventsCostsOneForecastRequest() throws Exception {
+        BatchDailyWeatherGateway batch = batch(4, 4096);
+        // Event locations as typed, with duplicates and different spellings
+        List<String> places = List.of("Toronto", "toronto ", "Ottawa, Canada", "OTTAWA,canada",
+                "Montreal", "Toronto", "Quebec", "Kingston");
+
+        Map<String, Map<LocalDate, DailyWeather>> weather = batch.getDailyWeather(places, week());
+
+        assertEquals(5, server.getGeocodeRequests());
+        assertEquals(1, server.getForecastRequests());
+        assertEquals(7, weather.size());     // one entry per distinct place string
+        DailyWeather day = weather.get("Ottawa, Canada").get(TODAY.plusDays(2));
+        assertEquals(TODAY.plusDays(2), day.getDate());
+        assertEquals(10 + TODAY.plusDays(2).getDayOfMonth(), day.getMaxTempC());
+        assertEquals(TODAY.plusDays(2).getDayOfMonth() - 20, day.getMinTempC());
+        assertEquals(3, day.getWeatherCode());
+        assertEquals(7, weather.get("toronto ").size());
+
+        // Same month again: everything is cached, locations included
+        batch.getDailyWeather(places, week());
+        assertEquals(5, server.getGeocodeRequests());
+        assertEquals(5, geocodes.getHitCount());
+        assertEquals(1, server.getForecastRequests());
+        assertEquals(5 * 7, batch.getHitCount());
+        assertEquals(5 * 7, batch.getMissCount());
+    }
+
+    @Test
+    void onlyMissingDaysAreFetchedAgain() throws Exception {
+        BatchDailyWeatherGateway batch = batch(4, 4096);
+        batch.getDailyWeather(List.of("Toronto"), week().subList(0, 3));
+
+        Map<String, Map<LocalDate, DailyWeather>> weather = batch.getDailyWeather(List.of("Toronto"), week());
+        assertEquals(7, weather.get("Toronto").size());
+        assertEquals(2, server.getForecastRequests());
+
+        now += Duration.ofHours(2).toNanos();   // past the TTL
+        batch.getDailyWeather(List.of("Toronto"), week());
+        assertEquals(3, server.getForecastRequests());
+    }
+
+    @Test
+    void daysOutsideTheForecastAreRememberedAsMissing() throws Exception {
+        BatchDailyWeatherGateway batch = batch(4, 4096);
+        List<LocalDate> dates = List.of(TODAY, TODAY.plusDays(40));
+
+        Map<LocalDate, DailyWeather> weather = batch.getDailyWeather(List.of("Toronto"), dates).get("Toronto");
+        assertTrue(weather.containsKey(TODAY));
+        assertFalse(weather.containsKey(TODAY.plusDays(40)));
+
+        batch.getDailyWeather(List.of("Toronto"), dates);
+        assertEquals(1, server.getForecastRequests());
+    }
+
+    @Test
+    void unknownPlacesAreLeftOut() throws Exception {
+        BatchDailyWeatherGateway batch = batch(4, 4096);
+
+        Map<String, Map<LocalDate, DailyWeather>> weather =
+                batch.getDailyWeather(List.of("Toronto", "Nowhere", " "), week());
+
+        assertEquals(List.of("Toronto"), new ArrayList<>(weather.keySet()));
+        assertEquals(1, batch.getGeocodeFailureCount());
+    }
+
+    @Test
+    void geocodingConcurrencyIsBounded() throws Exception {
+        BatchDailyWeatherGateway batch = batch(2, 4096);
+        server.holdGeocodes();
+
+        CompletableFuture<Map<String, Map<LocalDate, DailyWeather>>> result = CompletableFuture.supplyAsync(() -> {
+            try {
+                return batch.getDailyWeather(List.of("A1", "B2", "C3", "D4", "E5", "F6"), week());
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (server.getGeocodeRequests() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(100);
+        assertEquals(2, server.getGeocodeRequests());
+        server.releaseGeocodes();
+
+        assertEquals(6, result.get(10, TimeUnit.SECONDS).size());
+        assertEquals(2, server.getMaxConcurrentGeocodes());
+        assertEquals(1, server.getForecastRequests());
+    }
+
+    @Test
+    void cacheIsBounded() throws Exception {
+        BatchDailyWeatherGateway batch = batch(4, 10);
+        batch.getDailyWeather(List.of("Toronto", "Ottawa"), week());
+
+        assertEquals(10, batch.getCachedDayCount());
+        assertEquals(4, batch.getEvictionCount());
+    }
+}
@@ -0,0 +1,165 @@
+package data_access.weather;
+
+import data_access.http.RequestPriority;
+import entity.Forecast;
+import entity.Location;
+import entity.WeatherInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import use_case.get_current_weather.WeatherGatewayException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingWeatherApiGatewayTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration MAX_STALE = Duration.ofMinutes(50);
+
+    private FakeOpenMeteoServer server;
+    private long now;
+    // Background refreshes are queued here and run by the test
+    private final List<Runnable> refreshes = new ArrayList<>();
+    // Locations fetched by background refreshes
+    private final List<Location> backgroundFetches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeOpenMeteoServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private CachingWeatherApiGateway cache(int maxEntries) {
+        OpenMeteoWeatherApiGateway api = server.gateway();
+        OpenMeteoWeatherApiGateway background = api.withPriority(RequestPriority.BACKGROUND);
+        return new CachingWeatherApiGateway(api, api, location -> {
+            backgroundFetches.add(location);
+            return background.getForecast(location);
+        }, TTL, MAX_STALE, maxEntries, refreshes::add, () -> now);
+    }
+
+    @Test
+    void openMeteoGatewayParsesBothSteps() throws Exception {
+        WeatherInfo info = server.gateway().getCurrentWeather("toronto", "Canada");
+
+        assertEquals("Toronto, Canada", info.getLocationName());
+        assertEquals(1.0, info.getCurrentTempC());
+        assertEquals(3, info.getWeatherCode());
+        assertTrue(info.isDay());
+        assertEquals(1, server.getGeocodeRequests());
+        assertEquals(1, server.getForecastRequests());
+    }
+
+    @Test
+    void repeatedLookupIsServedFromCache() throws Exception {
+        CachingWeatherApiGateway cache = cache(16);
+
+        WeatherInfo first = cache.getCurrentWeather("Toronto", "Canada");
+        now += Duration.ofMinutes(5).toNanos();
+        WeatherInfo second = cache.getCurrentWeather("  TORONTO ", "canada");
+
+        assertSame(first, second);
+        assertEquals(1, server.getGeocodeRequests());
+        assertEquals(1, server.getForecastRequests());
+        assertEquals(1, cache.getGeocodeHitCount());
+        assertEquals(1, cache.getForecastHitCount());
+        assertEquals(1, cache.getForecastMissCount());
+        assertEquals(0.5, cache.getHitRatio(), 1e-9);
+        assertEquals(1, cache.getRefreshCount());
+    }
+
+    @Test
+    void staleForecastIsServedWhileRefreshing() throws Exception {
+        CachingWeatherApiGateway cache = cache(16);
+        assertEquals(1.0, cache.getCurrentWeather("Toronto", "Canada").getCurrentTempC());
+
+        now += TTL.plusMinutes(1).toNanos();
+        assertEquals(1.0, cache.getCurrentWeather("Toronto", "Canada").getCurrentTempC());
+        assertEquals(1.0, cache.getCurrentWeather("Toronto", "Canada").getCurrentTempC());
+        assertEquals(1, refreshes.size(), "only one refresh per stale entry");
+        assertEquals(1, server.getForecastRequests());
+
+        assertTrue(backgroundFetches.isEmpty());
+        refreshes.remove(0).run();
+        assertEquals(1, backgroundFetches.size(), "refreshes go to the background forecaster");
+        assertEquals(2.0, cache.getCurrentWeather("Toronto", "Canada").getCurrentTempC());
+        assertEquals(2, cache.getStaleHitCount());
+        assertEquals(1, cache.getForecastHitCount());
+        assertEquals(2, cache.getRefreshCount());
+        assertEquals(1, server.getGeocodeRequests());
+    }
+
+    @Test
+    void forecastPastStaleWindowIsFetchedBeforeReturning() throws Exception {
+        CachingWeatherApiGateway cache = cache(16);
+        cache.getCurrentWeather("Toronto", "Canada");
+
+        now += TTL.plus(MAX_STALE).toNanos();
+        assertEquals(2.0, cache.getCurrentWeather("Toronto", "Canada").getCurrentTempC());
+        assertTrue(refreshes.isEmpty());
+        assertEquals(2, cache.getForecastMissCount());
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvicted() throws Exception {
+        CachingWeatherApiGateway cache = cache(2);
+        cache.getCurrentWeather("Toronto", null);
+        cache.getCurrentWeather("Ottawa", null);
+        cache.getCurrentWeather("Toronto", null);      // Ottawa is now the eldest
+        cache.getCurrentWeather("Montreal", null);
+
+        assertEquals(2, cache.getCachedLocationCount());
+        assertEquals(2, cache.getCachedForecastCount());
+        assertTrue(cache.getEvictionCount() >= 2);
+
+        int geocodes = server.getGeocodeRequests();
+        cache.getCurrentWeather("Toronto", null);
+        assertEquals(geocodes, server.getGeocodeRequests());
+        cache.getCurrentWeather("Ottawa", null);
+        assertEquals(geocodes + 1, server.getGeocodeRequests());
+    }
+
+    @Test
+    void failedLookupsAreNotCached() throws Exception {
+        CachingWeatherApiGateway cache = cache(16);
+
+        assertThrows(WeatherGatewayException.class, () -> cache.getCurrentWeather("Nowhere", null));
+        assertThrows(WeatherGatewayException.class, () -> cache.getCurrentWeather("Nowhere", null));
+        assertEquals(2, server.getGeocodeRequests());
+        assertEquals(0, cache.getCachedLocationCount());
+    }
+
+    @Test
+    void currentWeatherAndDailySeriesShareOneRequest() throws Exception {
+        CachingWeatherApiGateway cache = cache(16);
+        Location toronto = cache.geocode("Toronto", "Canada");
+
+        WeatherInfo current = cache.getCurrentWeather(toronto);
+        Forecast forecast = cache.getForecast(toronto);
+
+        assertSame(current, forecast.getCurrent());
+        assertEquals(OpenMeteoWeatherApiGateway.MAX_FORECAST_DAYS, forecast.getDays().size());
+        assertEquals(LocalDate.now(), forecast.getDays().get(0).getDate());
+        assertNotNull(forecast.getDay(LocalDate.now().plusDays(15)));
+        assertNull(forecast.getDay(LocalDate.now().plusDays(16)));
+        assertEquals(1, server.getForecastRequests());
+    }
+
+    @Test
+    void geocodeAndForecastCanBeUsedSeparately() throws Exception {
+        CachingWeatherApiGateway cache = cache(16);
+        Location toronto = cache.geocode("Toronto", "Canada");
+
+        assertSame(cache.getCurrentWeather(toronto), cache.getCurrentWeather("toronto", "CANADA"));
+        assertEquals(1, server.getForecastRequests());
+    }
+}
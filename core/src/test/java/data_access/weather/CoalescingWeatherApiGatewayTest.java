@@ -0,0 +1,135 @@
+package data_access.weather;
+
+import entity.WeatherInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import use_case.get_current_weather.WeatherGatewayException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingWeatherApiGatewayTest {
+
+    private static final int CALLERS = 16;
+
+    private FakeOpenMeteoServer server;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeOpenMeteoServer();
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        server.close();
+    }
+
+    /** Wait until the given count reaches {@code expected} (all callers have joined). */
+    private static void awaitCount(LongSupplier count, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (count.getAsLong() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, count.getAsLong());
+    }
+
+    @Test
+    void concurrentIdenticalLookupsMakeOneUpstreamCallPerStep() throws Exception {
+        CoalescingWeatherApiGateway gateway = new CoalescingWeatherApiGateway(server.gateway());
+        server.holdGeocodes();
+        server.holdForecasts();
+
+        List<Future<WeatherInfo>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            // Differently written, but the same normalized query
+            String city = i % 2 == 0 ? "Toronto" : " TORONTO ";
+            results.add(callers.submit(() -> gateway.getCurrentWeather(city, "canada")));
+        }
+
+        awaitCount(gateway::getCoalescedCount, CALLERS - 1);
+        server.releaseGeocodes();
+        awaitCount(gateway::getCoalescedCount, 2 * (CALLERS - 1));
+        server.releaseForecasts();
+
+        WeatherInfo first = results.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<WeatherInfo> result : results) {
+            assertSame(first, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, server.getGeocodeRequests());
+        assertEquals(1, server.getForecastRequests());
+        assertEquals(2, gateway.getUpstreamCallCount());
+    }
+
+    @Test
+    void failureIsSharedButNotRemembered() throws Exception {
+        CoalescingWeatherApiGateway gateway = new CoalescingWeatherApiGateway(server.gateway());
+        server.holdGeocodes();
+
+        List<Future<WeatherInfo>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> gateway.getCurrentWeather("Nowhere", null)));
+        }
+        awaitCount(gateway::getCoalescedCount, CALLERS - 1);
+        server.releaseGeocodes();
+
+        for (Future<WeatherInfo> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class,
+                    () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(WeatherGatewayException.class, ex.getCause());
+        }
+        assertEquals(1, server.getGeocodeRequests());
+
+        assertThrows(WeatherGatewayException.class, () -> gateway.getCurrentWeather("Nowhere", null));
+        assertEquals(2, server.getGeocodeRequests());
+    }
+
+    @Test
+    void errorInTheUpstreamCallReleasesWaitingCallers() throws Exception {
+        CountDownLatch waitersJoined = new CountDownLatch(1);
+        CoalescingWeatherApiGateway gateway = new CoalescingWeatherApiGateway((city, country) -> {
+            try {
+                waitersJoined.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            throw new StackOverflowError("deep");
+        }, server.gateway());
+
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> gateway.geocode("Toronto", null)));
+        }
+        awaitCount(gateway::getCoalescedCount, CALLERS - 1);
+        waitersJoined.countDown();
+
+        for (Future<?> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class,
+                    () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, ex.getCause());
+        }
+        assertEquals(1, gateway.getUpstreamCallCount());
+    }
+
+    @Test
+    void sequentialLookupsAreNotCoalesced() throws Exception {
+        CoalescingWeatherApiGateway gateway = new CoalescingWeatherApiGateway(server.gateway());
+
+        assertEquals(1.0, gateway.getCurrentWeather("Toronto", "Canada").getCurrentTempC());
+        assertEquals(2.0, gateway.getCurrentWeather("Toronto", "Canada").getCurrentTempC());
+        assertEquals(0, gateway.getCoalescedCount());
+        assertEquals(4, gateway.getUpstreamCallCount());
+    }
+}
@@ -0,0 +1,207 @@
+package data_access.weather;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Open-Meteo geocoding and forecast APIs, for tests.
+ *
+ * Every city resolves to "(City), Canada" at coordinates derived from its name, except
+ * "Nowhere", which has no results. The current temperature of each forecast is the
+ * number of forecast requests served so far, so tests can tell a fresh fetch from a
+ * cached one. The daily series covers forecast_days days from today, or exactly
+ * start_date..end_date for every comma-separated coordinate (an array when there are
+ * several), with a maximum of 10 + (day of month) and a minimum of (day of month) - 20.
+ *
+ * Requests are handled concurrently. Responses of either API can be held back until
+ * the test releases them, to line up concurrent callers.
+ */
+public class FakeOpenMeteoServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final AtomicInteger geocodeRequests = new AtomicInteger();
+    private final AtomicInteger forecastRequests = new AtomicInteger();
+    private final AtomicInteger activeGeocodes = new AtomicInteger();
+    private final AtomicInteger maxActiveGeocodes = new AtomicInteger();
+    private final ExecutorService handlers = Executors.newCachedThreadPool();
+    private volatile CountDownLatch geocodeGate;
+    private volatile CountDownLatch forecastGate;
+
+    public FakeOpenMeteoServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/search", this::handleGeocode);
+        server.createContext("/v1/forecast", this::handleForecast);
+        server.setExecutor(handlers);
+        server.start();
+    }
+
+    /** A gateway that talks to this server instead of open-meteo.com. */
+    public OpenMeteoWeatherApiGateway gateway() {
+        return new OpenMeteoWeatherApiGateway(new okhttp3.OkHttpClient(),
+                baseUrl() + "/v1/search", baseUrl() + "/v1/forecast");
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int getGeocodeRequests() {
+        return geocodeRequests.get();
+    }
+
+    public int getForecastRequests() {
+        return forecastRequests.get();
+    }
+
+    /** The most geocoding requests that were being handled at the same time. */
+    public int getMaxConcurrentGeocodes() {
+        return maxActiveGeocodes.get();
+    }
+
+    /** Hold geocoding responses until {@link #releaseGeocodes()}. */
+    public void holdGeocodes() {
+        geocodeGate = new CountDownLatch(1);
+    }
+
+    public void releaseGeocodes() {
+        if (geocodeGate != null) {
+            geocodeGate.countDown();
+        }
+    }
+
+    /** Hold forecast responses until {@link #releaseForecasts()}. */
+    public void holdForecasts() {
+        forecastGate = new CountDownLatch(1);
+    }
+
+    public void releaseForecasts() {
+        if (forecastGate != null) {
+            forecastGate.countDown();
+        }
+    }
+
+    private void handleGeocode(HttpExchange exchange) throws IOException {
+        geocodeRequests.incrementAndGet();
+        maxActiveGeocodes.accumulateAndGet(activeGeocodes.incrementAndGet(), Math::max);
+        try {
+            await(geocodeGate);
+            respondGeocode(exchange);
+        } finally {
+            activeGeocodes.decrementAndGet();
+        }
+    }
+
+    private void respondGeocode(HttpExchange exchange) throws IOException {
+        String name = query(exchange).getOrDefault("name", "");
+        if (name.equalsIgnoreCase("Nowhere")) {
+            respond(exchange, "{\"results\":[]}");
+            return;
+        }
+        String resolved = Character.toUpperCase(name.charAt(0)) + name.substring(1).toLowerCase();
+        double latitude = Math.floorMod(resolved.hashCode(), 90);
+        double longitude = -Math.floorMod(resolved.hashCode(), 180);
+        respond(exchange, "{\"results\":[{\"name\":\"" + resolved + "\",\"country\":\"Canada\","
+                + "\"latitude\":" + latitude + ",\"longitude\":" + longitude + "}]}");
+    }
+
+    private void handleForecast(HttpExchange exchange) throws IOException {
+        int served = forecastRequests.incrementAndGet();
+        await(forecastGate);
+        Map<String, String> params = query(exchange);
+        if (params.containsKey("start_date")) {
+            respond(exchange, dailyForecasts(params));
+            return;
+        }
+        int days = Integer.parseInt(params.getOrDefault("forecast_days", "7"));
+        LocalDate today = LocalDate.now();
+        respond(exchange, "{\"current_weather\":{\"temperature\":" + served + ".0,\"weathercode\":3,\"is_day\":1},"
+                + "\"daily\":" + dailySeries(today, today.plusDays(days - 1)) + "}");
+    }
+
+    private static String dailyForecasts(Map<String, String> params) {
+        LocalDate start = LocalDate.parse(params.get("start_date"));
+        LocalDate end = LocalDate.parse(params.get("end_date"));
+        String one = "{\"daily\":" + dailySeries(start, end) + "}";
+
+        int locations = params.get("latitude").split(",").length;
+        if (locations == 1) {
+            return one;
+        }
+        StringBuilder all = new StringBuilder("[");
+        for (int i = 0; i < locations; i++) {
+            all.append(i == 0 ? "" : ",").append(one);
+        }
+        return all.append(']').toString();
+    }
+
+    private static String dailySeries(LocalDate start, LocalDate end) {
+        StringBuilder time = new StringBuilder();
+        StringBuilder max = new StringBuilder();
+        StringBuilder min = new StringBuilder();
+        StringBuilder codes = new StringBuilder();
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            String sep = day.equals(start) ? "" : ",";
+            time.append(sep).append('"').append(day).append('"');
+            max.append(sep).append(10 + day.getDayOfMonth());
+            min.append(sep).append(day.getDayOfMonth() - 20);
+            codes.append(sep).append(3);
+        }
+        return "{\"time\":[" + time + "],\"temperature_2m_max\":[" + max
+                + "],\"temperature_2m_min\":[" + min + "],\"weathercode\":[" + codes + "]}";
+    }
+
+    private static void await(CountDownLatch gate) {
+        if (gate == null) {
+            return;
+        }
+        try {
+            gate.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(pair.substring(0, eq),
+                            URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+}
@@ -0,0 +1,90 @@
+package data_access.weather;
+
+import entity.DailyWeather;
+import entity.Forecast;
+import entity.Location;
+import okio.Buffer;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenMeteoJsonDecoderTest {
+
+    // Shaped like a real response, with the fields the gateway does not use
+    private static final String FORECAST = "{\"latitude\":43.70,\"longitude\":-79.42,"
+            + "\"generationtime_ms\":0.0410079956,\"utc_offset_seconds\":-14400,"
+            + "\"timezone\":\"America/Toronto\",\"elevation\":175.0,"
+            + "\"current_weather_units\":{\"time\":\"iso8601\",\"temperature\":\"°C\"},"
+            + "\"current_weather\":{\"time\":\"2026-10-18T14:00\",\"interval\":900,"
+            + "\"temperature\":-1.5,\"windspeed\":12.4,\"winddirection\":250,\"is_day\":1,\"weathercode\":71},"
+            + "\"daily_units\":{\"time\":\"iso8601\",\"temperature_2m_max\":\"°C\"},"
+            + "\"daily\":{\"time\":[\"2026-10-18\",\"2026-10-19\",\"2026-10-20\"],"
+            + "\"weathercode\":[71,null,3],"
+            + "\"temperature_2m_max\":[2.1,4.0,6.25],"
+            + "\"temperature_2m_min\":[-3.2,0.5,1.0]}}";
+
+    private static Buffer body(String json) {
+        return new Buffer().writeUtf8(json);
+    }
+
+    private static List<String> describe(List<DailyWeather> days) {
+        List<String> described = new ArrayList<>();
+        for (DailyWeather day : days) {
+            described.add(day.getDate() + " " + day.getMaxTempC() + "/" + day.getMinTempC() + " " + day.getWeatherCode());
+        }
+        return described;
+    }
+
+    @Test
+    void decodesForecastAndSkipsDaysWithMissingData() throws IOException {
+        Location toronto = new Location("Toronto, Canada", 43.70, -79.42);
+
+        Forecast forecast = OpenMeteoJsonDecoder.decodeForecast(body(FORECAST), toronto);
+
+        assertEquals("Toronto, Canada", forecast.getCurrent().getLocationName());
+        assertEquals(-1.5, forecast.getCurrent().getCurrentTempC());
+        assertEquals(71, forecast.getCurrent().getWeatherCode());
+        assertTrue(forecast.getCurrent().isDay());
+        assertEquals(List.of("2026-10-18 2.1/-3.2 71", "2026-10-20 6.25/1.0 3"), describe(forecast.getDays()));
+    }
+
+    @Test
+    void decodesFirstGeocodingResultOrNothing() throws IOException {
+        String json = "{\"results\":[{\"id\":6167865,\"name\":\"Toronto\",\"latitude\":43.70011,"
+                + "\"longitude\":-79.4163,\"feature_code\":\"PPLA\",\"country\":\"Canada\","
+                + "\"postcodes\":[\"M5A\",\"M5B\"]},{\"name\":\"Toronto\",\"latitude\":1,\"longitude\":2}],"
+                + "\"generationtime_ms\":0.7}";
+
+        assertEquals(new Location("Toronto, Canada", 43.70011, -79.4163),
+                OpenMeteoJsonDecoder.decodeLocation(body(json)));
+        assertNull(OpenMeteoJsonDecoder.decodeLocation(body("{\"generationtime_ms\":0.5}")));
+        assertNull(OpenMeteoJsonDecoder.decodeLocation(body("{\"results\":[]}")));
+    }
+
+    @Test
+    void decodesOneObjectOrAnArrayOfDailyForecasts() throws IOException {
+        String one = "{\"current_weather\":{\"temperature\":1},\"daily\":{\"time\":[\"2026-10-18\"],"
+                + "\"temperature_2m_max\":[5],\"temperature_2m_min\":[1],\"weathercode\":[2]}}";
+
+        assertEquals(1, OpenMeteoJsonDecoder.decodeDailyForecasts(body(one)).size());
+        List<List<DailyWeather>> many = OpenMeteoJsonDecoder.decodeDailyForecasts(body("[" + one + "," + one + "]"));
+        assertEquals(2, many.size());
+        assertEquals(List.of("2026-10-18 5.0/1.0 2"), describe(many.get(1)));
+    }
+
+    @Test
+    void missingFieldsThrowJsonException() {
+        Location somewhere = new Location("Somewhere", 0, 0);
+
+        assertThrows(JSONException.class, () -> OpenMeteoJsonDecoder.decodeForecast(
+                body(FORECAST.replace("\"current_weather\":", "\"current\":")), somewhere));
+        assertThrows(JSONException.class, () -> OpenMeteoJsonDecoder.decodeForecast(
+                body(FORECAST.replace("\"temperature_2m_min\":[-3.2", "\"temperature_2m_min\":[null")), somewhere));
+        assertThrows(JSONException.class, () -> OpenMeteoJsonDecoder.decodeDailyForecasts(body("[{}]")));
+    }
+}
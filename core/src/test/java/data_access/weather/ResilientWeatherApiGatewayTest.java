@@ -0,0 +1,90 @@
+package data_access.weather;
+
+import data_access.resilience.CircuitBreaker;
+import data_access.resilience.ResilientCaller;
+import entity.Forecast;
+import entity.Location;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import use_case.get_current_weather.WeatherGatewayException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientWeatherApiGatewayTest {
+
+    private FakeOpenMeteoServer server;
+    private ResilientCaller caller;
+    private ResilientWeatherApiGateway gateway;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeOpenMeteoServer();
+        // One attempt, a 200 ms timeout and a breaker that opens after two failures
+        caller = new ResilientCaller(1, Duration.ZERO, 2, Duration.ofMinutes(1),
+                Duration.ofMillis(200), Duration.ofMillis(200));
+        OpenMeteoWeatherApiGateway api = server.gateway();
+        gateway = new ResilientWeatherApiGateway(api, api, caller, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.releaseForecasts();
+        caller.close();
+        server.close();
+    }
+
+    @Test
+    void hangingApiIsAnsweredWithTheLastForecast() throws Exception {
+        Location toronto = gateway.geocode("Toronto", "Canada");
+        Forecast first = gateway.getForecast(toronto);
+
+        server.holdForecasts();
+        long start = System.nanoTime();
+        Forecast second = gateway.getForecast(toronto);
+
+        assertSame(first, second);
+        assertEquals(1, gateway.getFallbackCount());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    void hangingApiWithNothingToFallBackOnFails() throws Exception {
+        Location toronto = gateway.geocode("Toronto", "Canada");
+
+        server.holdForecasts();
+        assertThrows(WeatherGatewayException.class, () -> gateway.getForecast(toronto));
+        assertEquals(0, gateway.getFallbackCount());
+    }
+
+    @Test
+    void openCircuitFailsWithoutCallingTheApi() throws Exception {
+        Location toronto = gateway.geocode("Toronto", "Canada");
+        gateway.getForecast(toronto);
+        server.holdForecasts();
+        gateway.getForecast(toronto);
+        gateway.getForecast(toronto);
+        assertEquals(CircuitBreaker.State.OPEN, caller.getState(ResilientWeatherApiGateway.FORECAST_ENDPOINT));
+        int requests = server.getForecastRequests();
+
+        long start = System.nanoTime();
+        gateway.getForecast(toronto);
+
+        assertEquals(requests, server.getForecastRequests());
+        assertEquals(3, gateway.getFallbackCount());
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void unknownCityIsReportedAsIsAndNotRetried() {
+        WeatherGatewayException ex = assertThrows(WeatherGatewayException.class,
+                () -> gateway.geocode("Nowhere", null));
+
+        assertEquals("No location found for Nowhere", ex.getMessage());
+        assertEquals(1, server.getGeocodeRequests());
+        assertEquals(CircuitBreaker.State.CLOSED, caller.getState(ResilientWeatherApiGateway.GEOCODING_ENDPOINT));
+    }
+}
@@ -0,0 +1,168 @@
+package data_access.weather;
+
+import entity.DailyWeather;
+import entity.Forecast;
+import entity.Location;
+import entity.WeatherInfo;
+import okio.Buffer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding cost of Open-Meteo responses: {@link OpenMeteoJsonDecoder} reading the
+ * body as it streams in, against the previous {@code body().string()} plus
+ * {@code org.json} tree. Cases are a 16-day forecast with current conditions and a
+ * 30-day daily response for 50 locations, both with the fields the API sends but
+ * the gateway ignores. The GC profiler's {@code gc.alloc.rate.norm} is the
+ * allocation per response.
+ *
+ * Run the main method (or any JMH runner) from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ResponseDecodingBenchmark {
+
+    private static final Location LOCATION = new Location("Toronto, Canada", 43.70011, -79.4163);
+    private static final LocalDate START = LocalDate.of(2026, 10, 18);
+
+    private byte[] forecast;
+    private byte[] dailyForecasts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        forecast = forecastJson(random, true, 16).getBytes(StandardCharsets.UTF_8);
+        StringBuilder many = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            many.append(i == 0 ? "" : ",").append(forecastJson(random, false, 30));
+        }
+        dailyForecasts = many.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Forecast forecastStreaming() throws IOException {
+        return OpenMeteoJsonDecoder.decodeForecast(new Buffer().write(forecast), LOCATION);
+    }
+
+    @Benchmark
+    public Forecast forecastOrgJson() {
+        JSONObject json = new JSONObject(new String(forecast, StandardCharsets.UTF_8));
+        JSONObject current = json.getJSONObject("current_weather");
+        JSONObject daily = json.getJSONObject("daily");
+        WeatherInfo currentWeather = new WeatherInfo(LOCATION.getName(),
+                current.getDouble("temperature"),
+                daily.getJSONArray("temperature_2m_min").getDouble(0),
+                daily.getJSONArray("temperature_2m_max").getDouble(0),
+                current.getInt("weathercode"),
+                current.getInt("is_day") == 1);
+        return new Forecast(LOCATION, currentWeather, parseDaily(daily));
+    }
+
+    @Benchmark
+    public List<List<DailyWeather>> dailyForecastsStreaming() throws IOException {
+        return OpenMeteoJsonDecoder.decodeDailyForecasts(new Buffer().write(dailyForecasts));
+    }
+
+    @Benchmark
+    public List<List<DailyWeather>> dailyForecastsOrgJson() {
+        Object json = new JSONTokener(new String(dailyForecasts, StandardCharsets.UTF_8)).nextValue();
+        JSONArray perLocation = json instanceof JSONArray ? (JSONArray) json : new JSONArray().put(json);
+        List<List<DailyWeather>> result = new ArrayList<>(perLocation.length());
+        for (int i = 0; i < perLocation.length(); i++) {
+            result.add(parseDaily(perLocation.getJSONObject(i).getJSONObject("daily")));
+        }
+        return result;
+    }
+
+    // The gateway's decoding before streaming
+    private static List<DailyWeather> parseDaily(JSONObject daily) {
+        JSONArray dates = daily.getJSONArray("time");
+        JSONArray max = daily.getJSONArray("temperature_2m_max");
+        JSONArray min = daily.getJSONArray("temperature_2m_min");
+        JSONArray codes = daily.getJSONArray("weathercode");
+
+        List<DailyWeather> days = new ArrayList<>(dates.length());
+        for (int i = 0; i < dates.length(); i++) {
+            if (max.isNull(i) || min.isNull(i) || codes.isNull(i)) {
+                continue;
+            }
+            days.add(new DailyWeather(LocalDate.parse(dates.getString(i)),
+                    max.getDouble(i), min.getDouble(i), codes.getInt(i)));
+        }
+        return days;
+    }
+
+    private static String forecastJson(Random random, boolean withCurrent, int days) {
+        StringBuilder json = new StringBuilder()
+                .append("{\"latitude\":43.70455,\"longitude\":-79.4046,\"generationtime_ms\":0.0569820404,")
+                .append("\"utc_offset_seconds\":-14400,\"timezone\":\"America/Toronto\",")
+                .append("\"timezone_abbreviation\":\"EDT\",\"elevation\":175.0,");
+        if (withCurrent) {
+            json.append("\"current_weather_units\":{\"time\":\"iso8601\",\"interval\":\"seconds\",")
+                    .append("\"temperature\":\"°C\",\"windspeed\":\"km/h\",\"winddirection\":\"°\",")
+                    .append("\"is_day\":\"\",\"weathercode\":\"wmo code\"},")
+                    .append("\"current_weather\":{\"time\":\"2026-10-18T14:00\",\"interval\":900,")
+                    .append("\"temperature\":").append(temperature(random))
+                    .append(",\"windspeed\":12.4,\"winddirection\":250,\"is_day\":1,\"weathercode\":3},");
+        }
+        json.append("\"daily_units\":{\"time\":\"iso8601\",\"temperature_2m_max\":\"°C\",")
+                .append("\"temperature_2m_min\":\"°C\",\"weathercode\":\"wmo code\"},")
+                .append("\"daily\":{\"time\":[");
+        for (int i = 0; i < days; i++) {
+            json.append(i == 0 ? "\"" : ",\"").append(START.plusDays(i)).append('"');
+        }
+        json.append("],\"temperature_2m_max\":[");
+        for (int i = 0; i < days; i++) {
+            json.append(i == 0 ? "" : ",").append(temperature(random));
+        }
+        json.append("],\"temperature_2m_min\":[");
+        for (int i = 0; i < days; i++) {
+            json.append(i == 0 ? "" : ",").append(temperature(random));
+        }
+        json.append("],\"weathercode\":[");
+        for (int i = 0; i < days; i++) {
+            json.append(i == 0 ? "" : ",").append(random.nextInt(100));
+        }
+        return json.append("]}}").toString();
+    }
+
+    private static String temperature(Random random) {
+        return String.format(Locale.ROOT, "%.1f", random.nextDouble() * 40 - 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResponseDecodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package data_access.weather;
+
+import data_access.SQLiteConnectionProvider;
+import entity.Location;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import use_case.get_current_weather.WeatherGatewayException;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SQLiteGeocodeStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FakeOpenMeteoServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeOpenMeteoServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private String dbPath() {
+        return tempDir.resolve("geocodes.db").toString();
+    }
+
+    @Test
+    void storedLookupsSurviveARestart() throws Exception {
+        Location first;
+        try (SQLiteConnectionProvider connections = new SQLiteConnectionProvider(dbPath(), 1)) {
+            SQLiteGeocodeStore store = new SQLiteGeocodeStore(connections, server.gateway());
+            first = store.geocode("Toronto", "Canada");
+            assertEquals(first, store.geocode(" toronto", "CANADA "));
+            assertEquals(1, store.getHitCount());
+            assertEquals(1, store.getMissCount());
+        }
+
+        // New connections, as after restarting the app
+        try (SQLiteConnectionProvider connections = new SQLiteConnectionProvider(dbPath(), 1)) {
+            SQLiteGeocodeStore store = new SQLiteGeocodeStore(connections, server.gateway());
+            assertEquals(first, store.geocode("Toronto", "Canada"));
+            assertEquals(1, store.getHitCount());
+            assertEquals(0, store.getMissCount());
+        }
+        assertEquals(1, server.getGeocodeRequests());
+    }
+
+    @Test
+    void countryIsPartOfTheKey() throws Exception {
+        try (SQLiteConnectionProvider connections = new SQLiteConnectionProvider(dbPath(), 1)) {
+            SQLiteGeocodeStore store = new SQLiteGeocodeStore(connections, server.gateway());
+            store.geocode("London", "Canada");
+            store.geocode("London", null);
+            store.geocode("London", "");
+
+            assertEquals(2, server.getGeocodeRequests());
+        }
+    }
+
+    @Test
+    void failedLookupsAreNotStored() throws Exception {
+        try (SQLiteConnectionProvider connections = new SQLiteConnectionProvider(dbPath(), 1)) {
+            SQLiteGeocodeStore store = new SQLiteGeocodeStore(connections, server.gateway());
+
+            assertThrows(WeatherGatewayException.class, () -> store.geocode("Nowhere", null));
+            assertThrows(WeatherGatewayException.class, () -> store.geocode("Nowhere", null));
+            assertEquals(2, server.getGeocodeRequests());
+        }
+    }
+
+    @Test
+    void warmLookupCostsOneRoundTrip() throws Exception {
+        try (SQLiteConnectionProvider connections = new SQLiteConnectionProvider(dbPath(), 1)) {
+            OpenMeteoWeatherApiGateway api = server.gateway();
+            new SQLiteGeocodeStore(connections, api).geocode("Toronto", "Canada");
+            int before = server.getGeocodeRequests() + server.getForecastRequests();
+
+            // A fresh in-memory cache, as after a restart, in front of the warmed-up store
+            CachingWeatherApiGateway gateway =
+                    new CachingWeatherApiGateway(new SQLiteGeocodeStore(connections, api), api);
+            assertEquals("Toronto, Canada", gateway.getCurrentWeather("Toronto", "Canada").getLocationName());
+
+            assertEquals(before + 1, server.getGeocodeRequests() + server.getForecastRequests());
+            gateway.close();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package interface_adapter.color_scheme;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import use_case.get_color_scheme.GetColorSchemeOutputBoundary;
+import use_case.get_color_scheme.GetColorSchemeOutputData;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DebouncedColorSchemeRequestsTest {
+
+    private final List<String> fetched = new CopyOnWriteArrayList<>();
+    private final List<String> presented = new CopyOnWriteArrayList<>();
+    private final CountDownLatch presentedOne = new CountDownLatch(1);
+    private DebouncedColorSchemeRequests requests;
+
+    @AfterEach
+    void tearDown() {
+        if (requests != null) {
+            requests.close();
+        }
+    }
+
+    /** Records what reaches the presenter; the scheme is just the requested color. */
+    private final GetColorSchemeOutputBoundary presenter = new GetColorSchemeOutputBoundary() {
+        @Override
+        public void prepareSuccessView(GetColorSchemeOutputData outputData) {
+            presented.add(outputData.getMonochromaticColors().get(0));
+            presentedOne.countDown();
+        }
+
+        @Override
+        public void prepareFailView(String error) {
+            fail("Use case failure is unexpected. Error: " + error);
+        }
+    };
+
+    private static GetColorSchemeOutputData scheme(String hexColor) {
+        return new GetColorSchemeOutputData(List.of(hexColor), List.of(), List.of(), List.of());
+    }
+
+    /** Requests whose fetch runs {@code beforePresenting} and then presents the color. */
+    private DebouncedColorSchemeRequests requests(Duration quietPeriod, Consumer<String> beforePresenting) {
+        GetColorSchemeOutputBoundary[] latestOnly = new GetColorSchemeOutputBoundary[1];
+        requests = new DebouncedColorSchemeRequests(hexColor -> {
+            fetched.add(hexColor + " on " + Thread.currentThread().getName());
+            beforePresenting.accept(hexColor);
+            latestOnly[0].prepareSuccessView(scheme(hexColor));
+        }, quietPeriod);
+        latestOnly[0] = requests.latestOnly(presenter);
+        return requests;
+    }
+
+    @Test
+    void onlyTheLastColorOfABurstIsFetched() throws InterruptedException {
+        DebouncedColorSchemeRequests requests = requests(Duration.ofMillis(100), hexColor -> { });
+
+        for (String color : new String[]{"110000", "220000", "330000", "440000"}) {
+            requests.request(color);
+        }
+
+        assertTrue(presentedOne.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("440000 on color-scheme-requests"), fetched);
+        assertEquals(List.of("440000"), presented);
+        assertEquals(4, requests.getRequestCount());
+        assertEquals(1, requests.getFetchCount());
+    }
+
+    @Test
+    void resultOfASupersededFetchIsDropped() throws InterruptedException {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DebouncedColorSchemeRequests requests = requests(Duration.ZERO, hexColor -> {
+            if (hexColor.equals("111111")) {
+                firstStarted.countDown();
+                // Keeps going after the interrupt, like a fetch that finishes anyway
+                boolean released = false;
+                while (!released) {
+                    try {
+                        released = release.await(2, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        release.countDown();
+                    }
+                }
+            }
+        });
+
+        requests.request("111111");
+        assertTrue(firstStarted.await(2, TimeUnit.SECONDS));
+        requests.request("222222");
+
+        assertTrue(presentedOne.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("222222"), presented);
+        assertEquals(2, requests.getFetchCount());
+        assertEquals(1, requests.getDroppedCount());
+    }
+}
@@ -39,6 +39,42 @@ public class AddEventInteractorTest {
             }
             return result;
         }
+
+        @Override
+        public List<Event> getEventsOverlapping(LocalDateTime start, LocalDateTime end) {
+            List<Event> result = new ArrayList<>();
+            for (Event event: events.values()) {
+                if (!event.getStart().isAfter(end) && !event.getEnd().isBefore(start)) {
+                    result.add(event);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void saveAll(List<Event> toSave) {
+            for (Event event: toSave) {
+                events.put(event.getId(), event);
+            }
+        }
+
+        @Override
+        public Map<UUID, Event> getByIds(Collection<UUID> ids) {
+            Map<UUID, Event> found = new HashMap<>();
+            for (UUID id: ids) {
+                if (events.containsKey(id)) {
+                    found.put(id, events.get(id));
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void deleteAll(Collection<UUID> ids) {
+            for (UUID id: ids) {
+                events.remove(id);
+            }
+        }
     static class TestPresenter implements AddEventOutputBoundary {
             AddEventOutputData lastOutput;
 
@@ -315,6 +351,43 @@ public class AddEventInteractorTest {
             assertEquals(2, testRepo.getEventsForDay(LocalDate.of(2025, 12, 10)).size());
         }
 
+        @Test
+        void testConflictWithEventSpanningMidnight() {
+            TestRepo testRepo = new TestRepo();
+            TestPresenter testPresenter = new TestPresenter();
+            AddEventInteractor interactor = new AddEventInteractor(testRepo, testPresenter);
+
+            Event existing = new Event(UUID.randomUUID(),
+                    "Night shift",
+                    LocalDateTime.of(2025, 12, 9, 22, 0),
+                    LocalDateTime.of(2025, 12, 10, 6, 0),
+                    "Office",
+                    Event.CategoryType.WORK,
+                    null);
+            testRepo.save(existing);
+
+            Event newEvent = new Event(UUID.randomUUID(),
+                    "Early meeting",
+                    LocalDateTime.of(2025, 12, 10, 5, 0),
+                    LocalDateTime.of(2025, 12, 10, 7, 0),
+                    "office",
+                    Event.CategoryType.WORK,
+                    null);
+
+            interactor.addEvent(new AddEventInputData(
+                    newEvent.getId(),
+                    newEvent.getTitle(),
+                    newEvent.getStart(),
+                    newEvent.getEnd(),
+                    newEvent.getLocation(),
+                    newEvent.getCategory(),
+                    newEvent.getReminderMessage()));
+
+            assertFalse(testPresenter.lastOutput.getSuccess());
+            assertEquals("Conflict: overlapping events", testPresenter.lastOutput.getMessage());
+            assertFalse(testRepo.existById(newEvent.getId()));
+        }
+
         @Test
         void testAddEventInputDataGetters() {
             UUID id = UUID.randomUUID();
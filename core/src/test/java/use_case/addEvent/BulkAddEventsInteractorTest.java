@@ -0,0 +1,79 @@
+package use_case.addEvent;
+
+import data_access.InMemoryEventDataAccessObject;
+import entity.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkAddEventsInteractorTest {
+
+    private static AddEventInputData input(String title, LocalDateTime start, LocalDateTime end, String location) {
+        return new AddEventInputData(UUID.randomUUID(), title, start, end, location,
+                Event.CategoryType.WORK, null);
+    }
+
+    private static class CapturingPresenter implements BulkAddEventsOutputBoundary {
+        BulkAddEventsOutputData output;
+
+        @Override
+        public void present(BulkAddEventsOutputData outputData) {
+            this.output = outputData;
+        }
+    }
+
+    @Test
+    void addsValidEventsAndReportsRejectedOnes() {
+        InMemoryEventDataAccessObject repo = new InMemoryEventDataAccessObject();
+        Event stored = new Event(UUID.randomUUID(), "Stored", LocalDateTime.of(2025, 12, 1, 9, 0),
+                LocalDateTime.of(2025, 12, 1, 10, 0), "Office", Event.CategoryType.WORK, null);
+        repo.save(stored);
+
+        AddEventInputData ok = input("Ok", LocalDateTime.of(2025, 12, 1, 11, 0),
+                LocalDateTime.of(2025, 12, 1, 12, 0), "Office");
+        AddEventInputData clashesWithStored = input("Clash", LocalDateTime.of(2025, 12, 1, 9, 30),
+                LocalDateTime.of(2025, 12, 1, 9, 45), "office");
+        AddEventInputData clashesWithBatch = input("Clash 2", LocalDateTime.of(2025, 12, 1, 11, 30),
+                LocalDateTime.of(2025, 12, 1, 13, 0), "Office");
+        AddEventInputData otherRoom = input("Other room", LocalDateTime.of(2025, 12, 1, 11, 30),
+                LocalDateTime.of(2025, 12, 1, 13, 0), "Lab");
+        AddEventInputData backwards = input("Backwards", LocalDateTime.of(2025, 12, 1, 15, 0),
+                LocalDateTime.of(2025, 12, 1, 14, 0), "Office");
+
+        CapturingPresenter presenter = new CapturingPresenter();
+        new BulkAddEventsInteractor(repo, presenter).addEvents(new BulkAddEventsInputData(
+                List.of(ok, clashesWithStored, clashesWithBatch, otherRoom, backwards)));
+
+        assertFalse(presenter.output.getSuccess());
+        assertEquals(List.of("Ok", "Other room"),
+                presenter.output.getAdded().stream().map(Event::getTitle).toList());
+        assertEquals("Conflict: overlapping events", presenter.output.getFailures().get(clashesWithStored.getId()));
+        assertEquals("Conflict: overlapping events", presenter.output.getFailures().get(clashesWithBatch.getId()));
+        assertEquals("End time cannot be before start time", presenter.output.getFailures().get(backwards.getId()));
+        assertEquals(3, repo.getEventsForDay(LocalDate.of(2025, 12, 1)).size());
+    }
+
+    @Test
+    void importsTenThousandEvents() {
+        InMemoryEventDataAccessObject repo = new InMemoryEventDataAccessObject();
+        List<AddEventInputData> events = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime slot = start.plusHours(2L * i);
+            events.add(input("Event " + i, slot, slot.plusHours(1), "Office"));
+        }
+
+        CapturingPresenter presenter = new CapturingPresenter();
+        new BulkAddEventsInteractor(repo, presenter).addEvents(new BulkAddEventsInputData(events));
+
+        assertTrue(presenter.output.getSuccess());
+        assertEquals(10_000, presenter.output.getAdded().size());
+        assertTrue(repo.existById(events.get(9_999).getId()));
+    }
+}
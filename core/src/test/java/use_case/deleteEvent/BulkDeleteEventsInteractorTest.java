@@ -0,0 +1,41 @@
+package use_case.deleteEvent;
+
+import data_access.InMemoryEventDataAccessObject;
+import entity.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkDeleteEventsInteractorTest {
+
+    private static Event event(String title) {
+        LocalDateTime start = LocalDateTime.of(2025, 12, 1, 9, 0);
+        return new Event(UUID.randomUUID(), title, start, start.plusHours(1),
+                title, Event.CategoryType.WORK, null);
+    }
+
+    @Test
+    void deletesExistingAndReportsMissing() {
+        InMemoryEventDataAccessObject repo = new InMemoryEventDataAccessObject();
+        Event first = event("First");
+        Event second = event("Second");
+        Event kept = event("Kept");
+        repo.saveAll(List.of(first, second, kept));
+        UUID missing = UUID.randomUUID();
+
+        BulkDeleteEventsOutputData[] output = new BulkDeleteEventsOutputData[1];
+        new BulkDeleteEventsInteractor(repo, data -> output[0] = data).deleteAll(
+                new BulkDeleteEventsInputData(List.of(first.getId(), missing, second.getId(), first.getId())));
+
+        assertFalse(output[0].isSuccess());
+        assertEquals(List.of(first.getId(), second.getId()), output[0].getDeleted());
+        assertEquals(List.of(missing), output[0].getNotFound());
+        assertFalse(repo.existById(first.getId()));
+        assertFalse(repo.existById(second.getId()));
+        assertTrue(repo.existById(kept.getId()));
+    }
+}
@@ -49,6 +49,43 @@ class DeleteEventInteractorTest {
             }
             return result;
         }
+
+        @Override
+        public List<Event> getEventsOverlapping(LocalDateTime start, LocalDateTime end) {
+            List<Event> result = new ArrayList<>();
+            for (Event e : store.values()) {
+                if (!e.getStart().isAfter(end) && !e.getEnd().isBefore(start)) {
+                    result.add(e);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void saveAll(List<Event> events) {
+            for (Event e : events) {
+                store.put(e.getId(), e);
+            }
+        }
+
+        @Override
+        public Map<UUID, Event> getByIds(Collection<UUID> ids) {
+            Map<UUID, Event> found = new HashMap<>();
+            for (UUID id : ids) {
+                if (store.containsKey(id)) {
+                    found.put(id, store.get(id));
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void deleteAll(Collection<UUID> ids) {
+            deleteCalled = true;
+            for (UUID id : ids) {
+                store.remove(id);
+            }
+        }
     }
     //delete event successfully
     @Test
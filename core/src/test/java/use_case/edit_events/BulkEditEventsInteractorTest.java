@@ -0,0 +1,144 @@
+package use_case.edit_events;
+
+import data_access.InMemoryEventDataAccessObject;
+import entity.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkEditEventsInteractorTest {
+
+    private static class CapturingPresenter implements BulkEditEventsOutputBoundary {
+        BulkEditEventsOutputData successData;
+        String failMessage;
+
+        @Override
+        public void prepareSuccessView(BulkEditEventsOutputData outputData) {
+            this.successData = outputData;
+        }
+
+        @Override
+        public void prepareFailView(String error) {
+            this.failMessage = error;
+        }
+    }
+
+    private static Event event(String title, int hour) {
+        return new Event(UUID.randomUUID(), title, LocalDateTime.of(2025, 12, 1, hour, 0),
+                LocalDateTime.of(2025, 12, 1, hour, 30), "Office", Event.CategoryType.WORK, null);
+    }
+
+    // Saves valid edits and reports the rest
+    @Test
+    void partialSuccessTest() {
+        InMemoryEventDataAccessObject repository = new InMemoryEventDataAccessObject();
+        Event a = event("A", 9);
+        Event b = event("B", 11);
+        Event c = event("C", 13);
+        repository.saveAll(List.of(a, b, c));
+        UUID missing = UUID.randomUUID();
+
+        CapturingPresenter presenter = new CapturingPresenter();
+        new BulkEditEventsInteractor(repository, presenter).execute(new BulkEditEventsInputData(List.of(
+                new EditEventInputData(a.getId(), "A renamed", null, null, null, null, null),
+                // moves onto C, which stays where it is
+                new EditEventInputData(b.getId(), null, LocalDateTime.of(2025, 12, 1, 13, 15),
+                        LocalDateTime.of(2025, 12, 1, 14, 0), null, null, null),
+                new EditEventInputData(missing, "Nope", null, null, null, null, null),
+                new EditEventInputData(c.getId(), null, null, LocalDateTime.of(2025, 12, 1, 12, 0),
+                        null, null, null))));
+
+        assertNull(presenter.failMessage);
+        assertEquals(List.of("A renamed"),
+                presenter.successData.getUpdated().stream().map(EditEventOutputData::getTitle).toList());
+        assertEquals("Conflict: overlapping events.", presenter.successData.getFailures().get(b.getId()));
+        assertEquals("Event does not exist.", presenter.successData.getFailures().get(missing));
+        assertEquals("End time cannot be before start time.", presenter.successData.getFailures().get(c.getId()));
+        assertEquals("A renamed", repository.get(a.getId()).getTitle());
+        assertEquals(b.getStart(), repository.get(b.getId()).getStart());
+    }
+
+    // Two edits in the same batch may not end up overlapping each other
+    @Test
+    void conflictWithinBatchTest() {
+        InMemoryEventDataAccessObject repository = new InMemoryEventDataAccessObject();
+        Event a = event("A", 9);
+        Event b = event("B", 11);
+        repository.saveAll(List.of(a, b));
+
+        CapturingPresenter presenter = new CapturingPresenter();
+        LocalDateTime slot = LocalDateTime.of(2025, 12, 1, 16, 0);
+        new BulkEditEventsInteractor(repository, presenter).execute(new BulkEditEventsInputData(List.of(
+                new EditEventInputData(a.getId(), null, slot, slot.plusMinutes(30), null, null, null),
+                new EditEventInputData(b.getId(), null, slot, slot.plusMinutes(30), null, null, null))));
+
+        assertEquals(1, presenter.successData.getUpdated().size());
+        assertEquals(1, presenter.successData.getFailures().size());
+    }
+
+    // Two events at the same location may trade slots in one batch
+    @Test
+    void swapTest() {
+        InMemoryEventDataAccessObject repository = new InMemoryEventDataAccessObject();
+        Event a = event("A", 9);
+        Event b = event("B", 11);
+        repository.saveAll(List.of(a, b));
+
+        CapturingPresenter presenter = new CapturingPresenter();
+        new BulkEditEventsInteractor(repository, presenter).execute(new BulkEditEventsInputData(List.of(
+                new EditEventInputData(a.getId(), null, b.getStart(), b.getEnd(), null, null, null),
+                new EditEventInputData(b.getId(), null, a.getStart(), a.getEnd(), null, null, null))));
+
+        assertTrue(presenter.successData.getFailures().isEmpty());
+        assertEquals(b.getStart(), repository.get(a.getId()).getStart());
+        assertEquals(a.getStart(), repository.get(b.getId()).getStart());
+    }
+
+    // Moving into a slot is only allowed if the event there really leaves it
+    @Test
+    void moveIntoVacatedSlotTest() {
+        InMemoryEventDataAccessObject repository = new InMemoryEventDataAccessObject();
+        Event a = event("A", 9);
+        Event b = event("B", 11);
+        Event c = event("C", 13);
+        repository.saveAll(List.of(a, b, c));
+
+        CapturingPresenter presenter = new CapturingPresenter();
+        new BulkEditEventsInteractor(repository, presenter).execute(new BulkEditEventsInputData(List.of(
+                // B leaves for 15:00, so A may take its slot
+                new EditEventInputData(a.getId(), null, b.getStart(), b.getEnd(), null, null, null),
+                new EditEventInputData(b.getId(), null, LocalDateTime.of(2025, 12, 1, 15, 0),
+                        LocalDateTime.of(2025, 12, 1, 15, 30), null, null, null))));
+
+        assertTrue(presenter.successData.getFailures().isEmpty());
+        assertEquals(b.getStart(), repository.get(a.getId()).getStart());
+
+        presenter = new CapturingPresenter();
+        new BulkEditEventsInteractor(repository, presenter).execute(new BulkEditEventsInputData(List.of(
+                // C's move onto B (now 15:00) is refused, so C stays at 13:00 and A cannot go there
+                new EditEventInputData(a.getId(), null, c.getStart(), c.getEnd(), null, null, null),
+                new EditEventInputData(c.getId(), null, LocalDateTime.of(2025, 12, 1, 15, 0),
+                        LocalDateTime.of(2025, 12, 1, 15, 30), null, null, null))));
+
+        assertNull(presenter.successData);
+        assertEquals("Conflict: overlapping events.", presenter.failMessage);
+        assertEquals(b.getStart(), repository.get(a.getId()).getStart());
+        assertEquals(c.getStart(), repository.get(c.getId()).getStart());
+    }
+
+    // Nothing could be saved
+    @Test
+    void failureTest() {
+        CapturingPresenter presenter = new CapturingPresenter();
+        new BulkEditEventsInteractor(new InMemoryEventDataAccessObject(), presenter).execute(
+                new BulkEditEventsInputData(List.of(
+                        new EditEventInputData(UUID.randomUUID(), "Title", null, null, null, null, null))));
+
+        assertNull(presenter.successData);
+        assertEquals("Event does not exist.", presenter.failMessage);
+    }
+}
@@ -4,7 +4,10 @@ import entity.Event;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -28,6 +31,36 @@ public class EditEventInteractorTest {
         public boolean exists(UUID id) {
             return events.containsKey(id);
         }
+
+        @Override
+        public Map<UUID, Event> getByIds(Collection<UUID> ids) {
+            Map<UUID, Event> found = new HashMap<>();
+            for (UUID id : ids) {
+                if (events.containsKey(id)) {
+                    found.put(id, events.get(id));
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void saveAll(List<Event> toSave) {
+            for (Event event : toSave) {
+                events.put(event.getId(), event);
+            }
+        }
+
+        @Override
+        public List<Event> getEventsOverlapping(LocalDateTime start, LocalDateTime end, UUID excludeId) {
+            List<Event> result = new ArrayList<>();
+            for (Event event : events.values()) {
+                if (!event.getId().equals(excludeId)
+                        && !event.getStart().isAfter(end) && !event.getEnd().isBefore(start)) {
+                    result.add(event);
+                }
+            }
+            return result;
+        }
     }
 
     private static class CapturingPresenter implements EditEventOutputBoundary {
@@ -277,4 +310,50 @@ public class EditEventInteractorTest {
         // Should keep original location because input was blank
         assertEquals("Keep This Location", presenter.successData.getLocation());
     }
+
+    // Moving an event onto another one at the same location is rejected
+    @Test
+    void failureOverlappingEventTest() {
+        Event other = new Event(
+                UUID.randomUUID(), "Standup", LocalDateTime.of(2025, 12, 1, 9, 0),
+                LocalDateTime.of(2025, 12, 1, 9, 30), "Office", Event.CategoryType.WORK, null);
+        Event moving = new Event(
+                UUID.randomUUID(), "Review", LocalDateTime.of(2025, 12, 1, 14, 0),
+                LocalDateTime.of(2025, 12, 1, 15, 0), "office", Event.CategoryType.WORK, null);
+
+        InMemoryEditDataAccessObject repository = new InMemoryEditDataAccessObject();
+        repository.save(other);
+        repository.save(moving);
+
+        CapturingPresenter presenter = new CapturingPresenter();
+        EditEventInteractor interactor = new EditEventInteractor(repository, presenter);
+        interactor.execute(new EditEventInputData(
+                moving.getId(), null, LocalDateTime.of(2025, 12, 1, 9, 15),
+                LocalDateTime.of(2025, 12, 1, 10, 15), null, null, null));
+
+        assertNull(presenter.successData);
+        assertEquals("Conflict: overlapping events.", presenter.failMessage);
+        assertEquals(LocalDateTime.of(2025, 12, 1, 14, 0), repository.get(moving.getId()).getStart());
+    }
+
+    // Shifting an event so it overlaps its own old time slot is not a conflict
+    @Test
+    void successOverlapsOnlyItselfTest() {
+        UUID id = UUID.randomUUID();
+        Event event = new Event(
+                id, "Review", LocalDateTime.of(2025, 12, 1, 14, 0),
+                LocalDateTime.of(2025, 12, 1, 15, 0), "Office", Event.CategoryType.WORK, null);
+
+        InMemoryEditDataAccessObject repository = new InMemoryEditDataAccessObject();
+        repository.save(event);
+
+        CapturingPresenter presenter = new CapturingPresenter();
+        EditEventInteractor interactor = new EditEventInteractor(repository, presenter);
+        interactor.execute(new EditEventInputData(
+                id, null, LocalDateTime.of(2025, 12, 1, 14, 30),
+                LocalDateTime.of(2025, 12, 1, 15, 30), null, null, null));
+
+        assertNull(presenter.failMessage);
+        assertEquals(LocalDateTime.of(2025, 12, 1, 14, 30), repository.get(id).getStart());
+    }
 }
@@ -3,7 +3,12 @@ package use_case.get_color_scheme;
 import data_access.InMemoryColorApiDataAccessObject;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -271,5 +276,191 @@ class GetColorSchemeInteractorTest {
                 colorApiDataAccess, successPresenter);
         interactor.execute(inputData);
     }
-}
 
+    /**
+     * Data access whose schemes come from {@code scheme}, called with a mode name, so
+     * tests can make single modes slow or failing.
+     */
+    private static GetColorSchemeUserDataAccessInterface dataAccess(Function<String, List<String>> scheme) {
+        return new GetColorSchemeUserDataAccessInterface() {
+            @Override
+            public List<String> getMonochromaticScheme(String hexColor) {
+                return scheme.apply("mono");
+            }
+
+            @Override
+            public List<String> getAnalogousScheme(String hexColor) {
+                return scheme.apply("analog");
+            }
+
+            @Override
+            public List<String> getComplementaryScheme(String hexColor) {
+                return scheme.apply("comp");
+            }
+
+            @Override
+            public List<String> getNeutralScheme(String hexColor) {
+                return scheme.apply("neutral");
+            }
+        };
+    }
+
+    /** Presenter that records what it was given. */
+    private static GetColorSchemeOutputBoundary recording(AtomicReference<GetColorSchemeOutputData> success,
+                                                          AtomicReference<String> failure) {
+        return new GetColorSchemeOutputBoundary() {
+            @Override
+            public void prepareSuccessView(GetColorSchemeOutputData outputData) {
+                success.set(outputData);
+            }
+
+            @Override
+            public void prepareFailView(String error) {
+                failure.set(error);
+            }
+        };
+    }
+
+    @Test
+    void allFourSchemesAreRequestedAtTheSameTime() {
+        // Each scheme waits until all four are in flight, which only happens if they run concurrently
+        CountDownLatch inFlight = new CountDownLatch(4);
+        GetColorSchemeUserDataAccessInterface concurrentOnly = dataAccess(mode -> {
+            inFlight.countDown();
+            try {
+                if (!inFlight.await(2, TimeUnit.SECONDS)) {
+                    throw new RuntimeException("Schemes were requested one after another");
+                }
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return List.of(mode);
+        });
+        AtomicReference<GetColorSchemeOutputData> success = new AtomicReference<>();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        new GetColorSchemeInteractor(concurrentOnly, recording(success, failure))
+                .execute(new GetColorSchemeInputData("FF5733"));
+
+        assertNull(failure.get());
+        assertEquals(List.of("mono"), success.get().getMonochromaticColors());
+        assertEquals(List.of("analog"), success.get().getAnalogousColors());
+        assertEquals(List.of("comp"), success.get().getComplementaryColors());
+        assertEquals(List.of("neutral"), success.get().getNeutralColors());
+    }
+
+    @Test
+    void failedSchemeIsPresentedEmptyAlongsideTheOthers() {
+        GetColorSchemeUserDataAccessInterface complementFails = dataAccess(mode -> {
+            if (mode.equals("comp")) {
+                throw new RuntimeException("Network error");
+            }
+            return List.of(mode);
+        });
+        AtomicReference<GetColorSchemeOutputData> success = new AtomicReference<>();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        new GetColorSchemeInteractor(complementFails, recording(success, failure))
+                .execute(new GetColorSchemeInputData("FF5733"));
+
+        assertNull(failure.get());
+        assertEquals(List.of("mono"), success.get().getMonochromaticColors());
+        assertTrue(success.get().getComplementaryColors().isEmpty());
+        assertEquals(List.of("neutral"), success.get().getNeutralColors());
+    }
+
+    @Test
+    void schemesStillMissingAtTheDeadlineAreDropped() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        GetColorSchemeUserDataAccessInterface hangs = dataAccess(mode -> {
+            if (!mode.equals("mono")) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return List.of(mode);
+        });
+        AtomicReference<GetColorSchemeOutputData> success = new AtomicReference<>();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        try {
+            long start = System.nanoTime();
+            new GetColorSchemeInteractor(hangs, recording(success, failure), null, Duration.ofMillis(100))
+                    .execute(new GetColorSchemeInputData("FF5733"));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+
+            assertEquals(List.of("mono"), success.get().getMonochromaticColors());
+            assertTrue(success.get().getAnalogousColors().isEmpty());
+
+            // With nothing back in time the fail view is shown, as when every scheme fails
+            success.set(null);
+            new GetColorSchemeInteractor(dataAccess(mode -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return List.of(mode);
+            }), recording(success, failure), null, Duration.ofMillis(100))
+                    .execute(new GetColorSchemeInputData("FF5733"));
+            assertNull(success.get());
+            assertTrue(failure.get().contains("timed out"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void lookupsStillRunningAtTheDeadlineAreInterrupted() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(4);
+        GetColorSchemeUserDataAccessInterface hangs = dataAccess(mode -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new RuntimeException(e);
+            }
+            return List.of(mode);
+        });
+        AtomicReference<GetColorSchemeOutputData> success = new AtomicReference<>();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        new GetColorSchemeInteractor(hangs, recording(success, failure), null, Duration.ofMillis(100))
+                .execute(new GetColorSchemeInputData("FF5733"));
+
+        // The lookup threads are freed instead of waiting on the API forever
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS));
+        assertTrue(failure.get().contains("timed out"));
+    }
+
+    @Test
+    void interruptingTheCallerIsNotReportedAsATimeout() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        GetColorSchemeUserDataAccessInterface hangs = dataAccess(mode -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return List.of(mode);
+        });
+        AtomicReference<GetColorSchemeOutputData> success = new AtomicReference<>();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread caller = new Thread(() -> new GetColorSchemeInteractor(
+                hangs, recording(success, failure), null, Duration.ofSeconds(30))
+                .execute(new GetColorSchemeInputData("FF5733")));
+        caller.start();
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        caller.interrupt();
+        caller.join(TimeUnit.SECONDS.toMillis(2));
+
+        assertFalse(caller.isAlive());
+        assertNull(success.get());
+        assertTrue(failure.get().contains("interrupted"));
+        assertFalse(failure.get().contains("timed out"));
+    }
+}
@@ -0,0 +1,145 @@
+package use_case.get_current_weather;
+
+import entity.WeatherInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GetCurrentWeatherAsyncInteractorTest {
+
+    @Test
+    void presentsTheResultOffTheCallersThread() throws Exception {
+        FakeWeatherApi api = new FakeWeatherApi();
+        RecordingPresenter presenter = new RecordingPresenter();
+        try (GetCurrentWeatherAsyncInteractor interactor = new GetCurrentWeatherAsyncInteractor(api, presenter)) {
+            interactor.executeAsync(new GetCurrentWeatherRequestModel("Toronto", "Canada"))
+                    .get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of("Toronto"), presenter.presented);
+        assertNotEquals(Thread.currentThread(), presenter.thread);
+    }
+
+    @Test
+    void gatewayFailureIsPresentedAsError() throws Exception {
+        FakeWeatherApi api = new FakeWeatherApi();
+        RecordingPresenter presenter = new RecordingPresenter();
+        try (GetCurrentWeatherAsyncInteractor interactor = new GetCurrentWeatherAsyncInteractor(api, presenter)) {
+            interactor.executeAsync(new GetCurrentWeatherRequestModel("Nowhere", null))
+                    .get(5, TimeUnit.SECONDS);
+        }
+
+        assertTrue(presenter.presented.isEmpty());
+        assertEquals("Failed to fetch weather: No location found for Nowhere", presenter.error);
+    }
+
+    @Test
+    void newerRequestDropsTheResultOfOneInFlight() throws Exception {
+        FakeWeatherApi api = new FakeWeatherApi();
+        CountDownLatch slow = api.hold("Toronto");
+        RecordingPresenter presenter = new RecordingPresenter();
+        ExecutorService lookups = Executors.newCachedThreadPool();
+        GetCurrentWeatherAsyncInteractor interactor = new GetCurrentWeatherAsyncInteractor(api, presenter, lookups);
+
+        CompletableFuture<Void> first = interactor.executeAsync(new GetCurrentWeatherRequestModel("Toronto", null));
+        api.awaitStarted("Toronto");
+        CompletableFuture<Void> second = interactor.executeAsync(new GetCurrentWeatherRequestModel("Paris", null));
+        second.get(5, TimeUnit.SECONDS);
+        assertTrue(first.isCancelled());
+
+        // The first lookup finishes after the second one; it must not overwrite it
+        slow.countDown();
+        lookups.shutdown();
+        assertTrue(lookups.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(2, api.calls.size());
+        assertEquals(List.of("Paris"), presenter.presented);
+        assertEquals(1, interactor.getSupersededCount());
+    }
+
+    @Test
+    void requestSupersededBeforeItStartsNeverCallsTheGateway() {
+        FakeWeatherApi api = new FakeWeatherApi();
+        RecordingPresenter presenter = new RecordingPresenter();
+        ArrayDeque<Runnable> queued = new ArrayDeque<>();
+        GetCurrentWeatherAsyncInteractor interactor =
+                new GetCurrentWeatherAsyncInteractor(api, presenter, queued::add);
+
+        CompletableFuture<Void> first = interactor.executeAsync(new GetCurrentWeatherRequestModel("Toronto", null));
+        CompletableFuture<Void> second = interactor.executeAsync(new GetCurrentWeatherRequestModel("Paris", null));
+        while (!queued.isEmpty()) {
+            queued.poll().run();
+        }
+
+        assertTrue(first.isCancelled());
+        assertTrue(second.isDone() && !second.isCompletedExceptionally());
+        assertEquals(List.of("Paris"), api.calls);
+        assertEquals(List.of("Paris"), presenter.presented);
+    }
+
+    /** Every city but "Nowhere" is found; lookups for a city can be held back. */
+    private static class FakeWeatherApi implements WeatherApiGateway {
+        final List<String> calls = new ArrayList<>();
+        private final Map<String, CountDownLatch> gates = new ConcurrentHashMap<>();
+        private final Map<String, CountDownLatch> started = new ConcurrentHashMap<>();
+
+        CountDownLatch hold(String city) {
+            CountDownLatch gate = new CountDownLatch(1);
+            gates.put(city, gate);
+            started.put(city, new CountDownLatch(1));
+            return gate;
+        }
+
+        void awaitStarted(String city) throws InterruptedException {
+            assertTrue(started.get(city).await(5, TimeUnit.SECONDS));
+        }
+
+        @Override
+        public WeatherInfo getCurrentWeather(String city, String country) throws WeatherGatewayException {
+            synchronized (calls) {
+                calls.add(city);
+            }
+            CountDownLatch gate = gates.get(city);
+            if (gate != null) {
+                started.get(city).countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    throw new WeatherGatewayException("Interrupted", ex);
+                }
+            }
+            if (city.equals("Nowhere")) {
+                throw new WeatherGatewayException("No location found for Nowhere");
+            }
+            return new WeatherInfo(city, 1.0, 5.0, -5.0, 3, true);
+        }
+    }
+
+    private static class RecordingPresenter implements GetCurrentWeatherOutputBoundary {
+        final List<String> presented = new ArrayList<>();
+        volatile String error;
+        volatile Thread thread;
+
+        @Override
+        public synchronized void present(GetCurrentWeatherResponseModel responseModel) {
+            presented.add(responseModel.getWeatherInfo().getLocationName());
+            thread = Thread.currentThread();
+        }
+
+        @Override
+        public void presentError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
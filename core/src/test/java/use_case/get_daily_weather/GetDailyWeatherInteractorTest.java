@@ -0,0 +1,149 @@
+package use_case.get_daily_weather;
+
+import data_access.weather.CachingWeatherApiGateway;
+import entity.DailyWeather;
+import entity.Forecast;
+import entity.Location;
+import entity.WeatherInfo;
+import org.junit.jupiter.api.Test;
+import use_case.get_current_weather.ForecastApiGateway;
+import use_case.get_current_weather.GeocodingApiGateway;
+import use_case.get_current_weather.WeatherGatewayException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GetDailyWeatherInteractorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 11, 30);
+    private static final Location TORONTO = new Location("Toronto, Canada", 43.7, -79.4);
+
+    @Test
+    void presentsTheRequestedDays() {
+        FakeWeatherApi api = new FakeWeatherApi();
+        RecordingPresenter presenter = new RecordingPresenter();
+        GetDailyWeatherInteractor interactor = new GetDailyWeatherInteractor(api, api, presenter);
+
+        interactor.execute(new GetDailyWeatherRequestModel("Toronto", "Canada", TODAY.plusDays(2), 7));
+
+        assertNull(presenter.error);
+        assertEquals("Toronto, Canada", presenter.response.getLocationName());
+        List<DailyWeather> days = presenter.response.getDays();
+        assertEquals(7, days.size());
+        assertEquals(TODAY.plusDays(2), days.get(0).getDate());
+        assertEquals(TODAY.plusDays(8), days.get(6).getDate());
+        assertEquals(2.0, days.get(0).getMaxTempC());
+    }
+
+    @Test
+    void daysPastTheForecastAreLeftOut() {
+        FakeWeatherApi api = new FakeWeatherApi();
+        RecordingPresenter presenter = new RecordingPresenter();
+        GetDailyWeatherInteractor interactor = new GetDailyWeatherInteractor(api, api, presenter);
+
+        interactor.execute(new GetDailyWeatherRequestModel("Toronto", "Canada", TODAY.plusDays(14), 7));
+
+        assertEquals(2, presenter.response.getDays().size());
+    }
+
+    @Test
+    void hugeDayCountStopsAtTheEndOfTheForecast() {
+        FakeWeatherApi api = new FakeWeatherApi();
+        RecordingPresenter presenter = new RecordingPresenter();
+        GetDailyWeatherInteractor interactor = new GetDailyWeatherInteractor(api, api, presenter);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> interactor.execute(
+                new GetDailyWeatherRequestModel("Toronto", "Canada", TODAY.plusDays(10), Integer.MAX_VALUE)));
+
+        assertNull(presenter.error);
+        assertEquals(6, presenter.response.getDays().size());
+        assertEquals(TODAY.plusDays(15), presenter.response.getDays().get(5).getDate());
+    }
+
+    @Test
+    void dateOutsideTheForecastIsAnError() {
+        FakeWeatherApi api = new FakeWeatherApi();
+        RecordingPresenter presenter = new RecordingPresenter();
+        GetDailyWeatherInteractor interactor = new GetDailyWeatherInteractor(api, api, presenter);
+
+        interactor.execute(new GetDailyWeatherRequestModel("Toronto", "Canada", TODAY.plusDays(30)));
+
+        assertNull(presenter.response);
+        assertEquals("No forecast for 2025-12-30 at Toronto, Canada.", presenter.error);
+    }
+
+    @Test
+    void gatewayFailureIsPresentedAsError() {
+        FakeWeatherApi api = new FakeWeatherApi();
+        RecordingPresenter presenter = new RecordingPresenter();
+        GetDailyWeatherInteractor interactor = new GetDailyWeatherInteractor(api, api, presenter);
+
+        interactor.execute(new GetDailyWeatherRequestModel("Nowhere", null, TODAY));
+
+        assertEquals("Failed to fetch weather: No location found for Nowhere", presenter.error);
+    }
+
+    @Test
+    void everyDayComesFromOneCachedForecast() {
+        FakeWeatherApi api = new FakeWeatherApi();
+        CachingWeatherApiGateway cache = new CachingWeatherApiGateway(api, api,
+                Duration.ofMinutes(10), Duration.ofHours(1), 16);
+        RecordingPresenter presenter = new RecordingPresenter();
+        GetDailyWeatherInteractor interactor = new GetDailyWeatherInteractor(cache, cache, presenter);
+
+        for (int i = 0; i < 16; i++) {
+            interactor.execute(new GetDailyWeatherRequestModel("Toronto", "Canada", TODAY.plusDays(i)));
+            assertEquals((double) i, presenter.response.getDays().get(0).getMaxTempC());
+        }
+
+        assertEquals(1, api.geocodeCalls);
+        assertEquals(1, api.forecastCalls);
+        cache.close();
+    }
+
+    /** Geocodes every city to Toronto; forecasts 16 days from TODAY with max = day index. */
+    private static class FakeWeatherApi implements GeocodingApiGateway, ForecastApiGateway {
+        int geocodeCalls;
+        int forecastCalls;
+
+        @Override
+        public Location geocode(String city, String country) throws WeatherGatewayException {
+            geocodeCalls++;
+            if (city.equals("Nowhere")) {
+                throw new WeatherGatewayException("No location found for Nowhere");
+            }
+            return TORONTO;
+        }
+
+        @Override
+        public Forecast getForecast(Location location) {
+            forecastCalls++;
+            List<DailyWeather> days = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                days.add(new DailyWeather(TODAY.plusDays(i), i, i - 10, 3));
+            }
+            return new Forecast(location, new WeatherInfo(location.getName(), 1.0, 0.0, -10.0, 3, true), days);
+        }
+    }
+
+    private static class RecordingPresenter implements GetDailyWeatherOutputBoundary {
+        GetDailyWeatherResponseModel response;
+        String error;
+
+        @Override
+        public void present(GetDailyWeatherResponseModel responseModel) {
+            response = responseModel;
+            error = null;
+        }
+
+        @Override
+        public void presentError(String errorMessage) {
+            response = null;
+            error = errorMessage;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import entity.UserFactory;
 import entity.User;
 import org.junit.jupiter.api.Test;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class LoginInteractorTest {
@@ -91,4 +93,44 @@ class LoginInteractorTest {
         LoginInputBoundary interactor = new LoginInteractor(userRepository, failurePresenter);
         interactor.execute(inputData);
     }
-}
\ No newline at end of file
+
+    @Test
+    void loginLooksTheUserUpOnce() {
+        int[] lookups = new int[1];
+        LoginUserDataAccessInterface userRepository = new InMemoryUserDataAccessObject() {
+            @Override
+            public Optional<User> findByName(String username) {
+                lookups[0]++;
+                return super.findByName(username);
+            }
+
+            @Override
+            public User get(String username) {
+                fail("Login should only use findByName.");
+                return null;
+            }
+
+            @Override
+            public boolean existsByName(String identifier) {
+                fail("Login should only use findByName.");
+                return false;
+            }
+        };
+        userRepository.save(new UserFactory().create("Paul", "password"));
+
+        LoginOutputBoundary successPresenter = new LoginOutputBoundary() {
+            @Override
+            public void prepareSuccessView(LoginOutputData user) {
+                assertEquals("Paul", user.getUsername());
+            }
+
+            @Override
+            public void prepareFailView(String error) {
+                fail("Use case failure is unexpected.");
+            }
+        };
+
+        new LoginInteractor(userRepository, successPresenter).execute(new LoginInputData("Paul", "password"));
+        assertEquals(1, lookups[0]);
+    }
+}
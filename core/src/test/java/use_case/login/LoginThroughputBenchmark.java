@@ -0,0 +1,119 @@
+package use_case.login;
+
+import data_access.CachingUserDataAccessObject;
+import data_access.SQLiteConnectionProvider;
+import data_access.SQLiteUserDataAccessObject;
+import entity.User;
+import entity.UserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Logins per second against a SQLite user table: the old existsByName + get + get
+ * sequence, {@link LoginInteractor} with its single findByName, and the interactor
+ * behind {@link CachingUserDataAccessObject}.
+ *
+ * Run the main method (or any JMH runner) from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class LoginThroughputBenchmark {
+
+    private static final int USERS = 100;
+
+    private File dbFile;
+    private SQLiteUserDataAccessObject users;
+    private LoginInteractor login;
+    private LoginInteractor cachedLogin;
+    private int next;
+
+    /** Counts logins so the work cannot be optimized away. */
+    private static final class CountingPresenter implements LoginOutputBoundary {
+        long successes;
+
+        @Override
+        public void prepareSuccessView(LoginOutputData outputData) {
+            successes++;
+        }
+
+        @Override
+        public void prepareFailView(String errorMessage) {
+            throw new IllegalStateException(errorMessage);
+        }
+    }
+
+    private final CountingPresenter presenter = new CountingPresenter();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dbFile = Files.createTempFile("smartcalendar-bench", ".db").toFile();
+        UserFactory userFactory = new UserFactory();
+        users = new SQLiteUserDataAccessObject(dbFile.getPath(), userFactory);
+        for (int i = 0; i < USERS; i++) {
+            users.save(userFactory.create("user" + i, "password" + i));
+        }
+        login = new LoginInteractor(users, presenter);
+        cachedLogin = new LoginInteractor(new CachingUserDataAccessObject(users), presenter);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SQLiteConnectionProvider.closeAll();
+        dbFile.delete();
+    }
+
+    private LoginInputData nextLogin() {
+        int i = next++ % USERS;
+        return new LoginInputData("user" + i, "password" + i);
+    }
+
+    /** The pre-findByName login: three queries. */
+    @Benchmark
+    public long threeLookups() {
+        LoginInputData input = nextLogin();
+        if (users.existsByName(input.getUsername())
+                && input.getPassword().equals(users.get(input.getUsername()).getPassword())) {
+            User user = users.get(input.getUsername());
+            users.setCurrentUsername(user.getName());
+            presenter.prepareSuccessView(new LoginOutputData(user.getName()));
+        }
+        return presenter.successes;
+    }
+
+    @Benchmark
+    public long singleLookup() {
+        login.execute(nextLogin());
+        return presenter.successes;
+    }
+
+    @Benchmark
+    public long cached() {
+        cachedLogin.execute(nextLogin());
+        return presenter.successes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginThroughputBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}